@@ -1,10 +1,12 @@
 package com.learning.authservice;
 
+import com.learning.common.infra.cache.CommonCacheConfiguration;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
 
 @Slf4j
 @EnableDiscoveryClient
@@ -13,6 +15,7 @@ import org.springframework.context.annotation.ComponentScan;
         "com.learning.authservice",
         "com.learning.common.infra.ratelimit"
 })
+@Import(CommonCacheConfiguration.class)
 public class AuthServiceApplication {
 
     public static void main(String[] args) {
@@ -1,6 +1,7 @@
 package com.learning.authservice.account;
 
 import com.learning.authservice.security.repository.UserRoleRepository;
+import com.learning.authservice.security.service.AuthorizationService;
 import com.learning.authservice.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +20,7 @@ public class AccountDeletionService {
 
     private final UserRepository userRepository;
     private final UserRoleRepository userRoleRepository;
+    private final AuthorizationService authorizationService;
 
     /**
      * Delete user's account from local database.
@@ -44,6 +46,7 @@ public class AccountDeletionService {
                 .forEach(userRoleRepository::delete);
 
         userRepository.delete(user.get());
+        authorizationService.evictPermissions(actualUserId);
         log.info("Account deleted from database: userId={}, email={}", actualUserId, userEmail);
     }
 
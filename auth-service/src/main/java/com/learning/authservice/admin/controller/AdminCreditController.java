@@ -5,6 +5,7 @@ import com.learning.authservice.admin.dto.AdminTransactionDto;
 import com.learning.authservice.admin.service.AdminCreditService;
 import com.learning.authservice.credit.dto.WalletDto;
 import com.learning.authservice.credit.service.CreditService;
+import com.learning.authservice.credit.service.PlatformStatsRollup;
 import com.learning.common.constants.HeaderNames;
 import com.learning.common.infra.security.RequirePermission;
 import jakarta.servlet.http.HttpServletRequest;
@@ -14,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Platform admin endpoints for credit and wallet management.
@@ -25,6 +27,7 @@ public class AdminCreditController {
 
     private final AdminCreditService adminCreditService;
     private final CreditService creditService;
+    private final PlatformStatsRollup platformStatsRollup;
 
     @GetMapping("/wallets/{userId}")
     @RequirePermission(resource = "credit", action = "read")
@@ -50,4 +53,14 @@ public class AdminCreditController {
                 userId, request.credits(), request.description(), adminId);
         return ResponseEntity.ok(wallet);
     }
+
+    /**
+     * Turn the trigger-maintained dashboard rollup on (reseeding it, which briefly holds
+     * credit writes) or off. Responds with the state the slot rows report afterwards.
+     */
+    @PutMapping("/stats-rollup")
+    @RequirePermission(resource = "credit", action = "manage")
+    public ResponseEntity<Map<String, Boolean>> setStatsRollup(@RequestParam boolean enabled) {
+        return ResponseEntity.ok(Map.of("enabled", platformStatsRollup.setEnabled(enabled)));
+    }
 }
@@ -9,6 +9,7 @@ import com.learning.authservice.credit.entity.ReferenceType;
 import com.learning.authservice.credit.entity.UserCreditWallet;
 import com.learning.authservice.credit.repository.CreditTransactionRepository;
 import com.learning.authservice.credit.repository.PlanRepository;
+import com.learning.authservice.credit.repository.PlatformStatsRepository;
 import com.learning.authservice.credit.repository.UserCreditWalletRepository;
 import com.learning.authservice.credit.service.CreditService;
 import com.learning.authservice.user.repository.UserRepository;
@@ -36,6 +37,7 @@ public class AdminCreditService {
     private final PlanRepository planRepository;
     private final UserRepository userRepository;
     private final CreditService creditService;
+    private final PlatformStatsRepository platformStatsRepository;
 
     @Transactional(readOnly = true)
     public Page<WalletSummaryDto> listAllWallets(Pageable pageable) {
@@ -57,6 +59,10 @@ public class AdminCreditService {
                 userId, credits, ReferenceType.ADMIN_GRANT, adminUserId, idempotencyKey, desc);
     }
 
+    /**
+     * Credit figures come from the {@code platform_stats} rollup slots when it is enabled,
+     * otherwise from SUM/COUNT queries; the ledger itself is never loaded.
+     */
     @Transactional(readOnly = true)
     public AdminDashboardStatsDto getDashboardStats() {
         var userStats = userRepository.countUsersByStatusGrouped();
@@ -77,17 +83,34 @@ public class AdminCreditService {
             }
         }
 
-        List<UserCreditWallet> allWallets = walletRepository.findAll();
-        long totalGranted = allWallets.stream().mapToLong(UserCreditWallet::getTotalCredits).sum();
-        long totalConsumed = allWallets.stream().mapToLong(UserCreditWallet::getConsumedCredits).sum();
+        long totalGranted;
+        long totalConsumed;
+        long totalTransactions;
+        long planPurchaseCredits;
 
-        long activePlans = planRepository.findByIsActiveTrueOrderBySortOrderAsc().size();
-        long totalTransactions = transactionRepository.count();
+        var rollup = platformStatsRepository.totals();
+        if (rollup.getEnabled()) {
+            totalGranted = rollup.getCreditsGranted();
+            totalConsumed = rollup.getCreditsConsumed();
+            totalTransactions = rollup.getTransactions();
+            planPurchaseCredits = rollup.getPlanPurchaseCredits();
+        } else {
+            var walletTotals = walletRepository.sumCredits();
+            totalGranted = walletTotals.getTotalCredits();
+            totalConsumed = walletTotals.getConsumedCredits();
 
-        BigDecimal totalRevenue = transactionRepository.findAll().stream()
-                .filter(t -> t.getReferenceType() == ReferenceType.PLAN_PURCHASE)
-                .map(t -> BigDecimal.valueOf(t.getCredits()))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+            totalTransactions = 0;
+            planPurchaseCredits = 0;
+            for (var row : transactionRepository.sumByReferenceType()) {
+                totalTransactions += row.getTransactions();
+                if (row.getReferenceType() == ReferenceType.PLAN_PURCHASE) {
+                    planPurchaseCredits = row.getCredits();
+                }
+            }
+        }
+
+        long activePlans = planRepository.findByIsActiveTrueOrderBySortOrderAsc().size();
+        BigDecimal totalRevenue = BigDecimal.valueOf(planPurchaseCredits);
 
         return AdminDashboardStatsDto.builder()
                 .totalUsers(totalUsers)
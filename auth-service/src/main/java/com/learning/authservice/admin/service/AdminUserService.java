@@ -6,6 +6,7 @@ import com.learning.authservice.credit.entity.UserCreditWallet;
 import com.learning.authservice.credit.repository.UserCreditWalletRepository;
 import com.learning.authservice.security.entity.UserRole;
 import com.learning.authservice.security.repository.UserRoleRepository;
+import com.learning.authservice.security.service.AuthorizationService;
 import com.learning.authservice.user.domain.User;
 import com.learning.authservice.user.repository.UserRepository;
 import com.learning.common.infra.exception.NotFoundException;
@@ -30,6 +31,7 @@ public class AdminUserService {
     private final UserRepository userRepository;
     private final UserRoleRepository userRoleRepository;
     private final UserCreditWalletRepository walletRepository;
+    private final AuthorizationService authorizationService;
 
     @Transactional(readOnly = true)
     public Page<AdminUserDetailDto> listAllUsers(Pageable pageable) {
@@ -67,6 +69,7 @@ public class AdminUserService {
         userRoleRepository.findByUserId(userId)
                 .forEach(ur -> userRoleRepository.delete(ur));
         userRepository.delete(user);
+        authorizationService.evictPermissions(userId);
         log.info("Admin deleted user: {}", userId);
     }
 
@@ -83,6 +86,7 @@ public class AdminUserService {
                 .assignedBy(assignedBy)
                 .build();
         userRoleRepository.save(ur);
+        authorizationService.evictPermissions(userId);
         log.info("Admin assigned role {} to user {}", roleId, userId);
     }
 
@@ -90,6 +94,7 @@ public class AdminUserService {
     public void removeRole(String userId, String roleId) {
         requireUser(userId);
         userRoleRepository.deleteByUserIdAndRoleId(userId, roleId);
+        authorizationService.evictPermissions(userId);
         log.info("Admin removed role {} from user {}", roleId, userId);
     }
 
@@ -133,6 +138,8 @@ public class AdminUserService {
                     .build();
             userRoleRepository.save(newRole);
         }
+        authorizationService.evictPermissions(placeholder.getUserId());
+        authorizationService.evictPermissions(cognitoSub);
 
         log.info("System admin bootstrapped: email={}, cognitoSub={}", email, cognitoSub);
         return toDetailDto(admin);
@@ -168,6 +175,7 @@ public class AdminUserService {
                 .assignedBy("SYSTEM_BOOTSTRAP")
                 .build();
         userRoleRepository.save(newRole);
+        authorizationService.evictPermissions(cognitoSub);
 
         log.info("New Super Admin manually created: email={}, cognitoSub={}", email, cognitoSub);
         return toDetailDto(admin);
@@ -74,6 +74,7 @@ public class SecurityConfiguration {
                                                                 "/api/v1/plans",
                                                                 "/api/v1/credits",
                                                                 "/api/v1/credits/consume",
+                                                                "/api/v1/credits/consume/batch",
                                                                 "/api/v1/credits/transactions",
                                                                 // Payment endpoints (gateway-authenticated)
                                                                 "/api/v1/payments/**",
@@ -1,5 +1,7 @@
 package com.learning.authservice.credit.controller;
 
+import com.learning.authservice.credit.dto.BatchConsumeCreditsRequest;
+import com.learning.authservice.credit.dto.BatchConsumeCreditsResponse;
 import com.learning.authservice.credit.dto.ConsumeCreditsRequest;
 import com.learning.authservice.credit.dto.WalletDto;
 import com.learning.authservice.credit.entity.ReferenceType;
@@ -20,6 +22,7 @@ import org.springframework.web.server.ResponseStatusException;
  * <p>
  * - GET /credits: Authenticated user's wallet balance (gateway-authenticated)
  * - POST /credits/consume: Internal endpoint for backend-service to deduct credits
+ * - POST /credits/consume/batch: Internal endpoint for the backend-service outbox relay
  * - POST /credits/grant: Restricted internal endpoint for admin/system to grant credits
  */
 @RestController
@@ -48,6 +51,16 @@ public class CreditController {
         return ResponseEntity.ok(wallet);
     }
 
+    /**
+     * Consume credits for several runs. Always 200: per-item outcomes are in the body,
+     * so one insufficient wallet does not fail the whole batch.
+     */
+    @PostMapping("/consume/batch")
+    public ResponseEntity<BatchConsumeCreditsResponse> consumeCreditsBatch(
+            @Valid @RequestBody BatchConsumeCreditsRequest req) {
+        return ResponseEntity.ok(new BatchConsumeCreditsResponse(creditService.consumeCreditsBatch(req.items())));
+    }
+
     /**
      * Grant credits to a user. Restricted to internal callers with a valid API key.
      */
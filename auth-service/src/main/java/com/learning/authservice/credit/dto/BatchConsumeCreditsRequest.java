@@ -0,0 +1,15 @@
+package com.learning.authservice.credit.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request DTO for consuming credits for several analysis runs in one call.
+ * Sent by the backend-service credit outbox relay.
+ */
+public record BatchConsumeCreditsRequest(
+        @NotEmpty @Size(max = 500) List<@Valid ConsumeCreditsRequest> items) {
+}
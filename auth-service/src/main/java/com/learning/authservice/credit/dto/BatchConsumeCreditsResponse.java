@@ -0,0 +1,9 @@
+package com.learning.authservice.credit.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for a batch consume: one result per request item, in request order.
+ */
+public record BatchConsumeCreditsResponse(List<ConsumeCreditsResult> results) {
+}
@@ -0,0 +1,24 @@
+package com.learning.authservice.credit.dto;
+
+import lombok.Builder;
+
+/**
+ * Outcome of one item of a {@link BatchConsumeCreditsRequest}.
+ * {@code wallet} is set for {@link Status#CONSUMED}, {@code error} otherwise.
+ */
+@Builder
+public record ConsumeCreditsResult(
+        String idempotencyKey,
+        Status status,
+        WalletDto wallet,
+        String error) {
+
+    public enum Status {
+        /** Consumed now, or already consumed under the same idempotency key. */
+        CONSUMED,
+        /** Wallet balance too low; retrying will not help. */
+        INSUFFICIENT_CREDITS,
+        /** Unexpected error; safe to retry with the same idempotency key. */
+        FAILED
+    }
+}
@@ -0,0 +1,50 @@
+package com.learning.authservice.credit.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * One slot row of the platform credit rollup ({@code platform_stats}, V4).
+ * Each wallet's changes go to the slot {@code platform_stats_slot(user_id, tenant_id)};
+ * the platform totals are the sum over all {@value #SLOTS} slots. Maintained by database
+ * triggers on {@code user_credit_wallets} and {@code credit_transactions} while
+ * {@code enabled}; read-only from Java.
+ */
+@Entity
+@Table(name = "platform_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PlatformStats {
+
+    public static final int SLOTS = 16;
+
+    @Id
+    private Short slot;
+
+    @Column(nullable = false)
+    private Boolean enabled;
+
+    /** Sum of wallet {@code total_credits}. */
+    @Column(name = "credits_granted", nullable = false)
+    private Long creditsGranted;
+
+    /** Sum of wallet {@code consumed_credits}. */
+    @Column(name = "credits_consumed", nullable = false)
+    private Long creditsConsumed;
+
+    /** Number of ledger rows. */
+    @Column(nullable = false)
+    private Long transactions;
+
+    /** Sum of {@code credits} over PLAN_PURCHASE ledger rows. */
+    @Column(name = "plan_purchase_credits", nullable = false)
+    private Long planPurchaseCredits;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -10,8 +10,10 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.Instant;
 
 /**
- * Per-user credit wallet. Uses optimistic locking ({@code @Version})
- * to prevent concurrent over-spend of credits.
+ * Per-user credit wallet. Uses optimistic locking ({@code @Version}) for
+ * grants; debits go through
+ * {@link com.learning.authservice.credit.repository.UserCreditWalletRepository#consume},
+ * which locks the row and bumps the version itself.
  */
 @Entity
 @Table(name = "user_credit_wallets", uniqueConstraints = {
@@ -75,17 +77,4 @@ public class UserCreditWallet implements TenantAware {
     public void addCredits(int credits) {
         this.totalCredits += credits;
     }
-
-    /**
-     * Consume credits from this wallet.
-     * 
-     * @throws IllegalStateException if insufficient balance
-     */
-    public void deductCredits(int credits) {
-        if (getRemainingCredits() < credits) {
-            throw new IllegalStateException(
-                    "Insufficient credits: required=" + credits + ", remaining=" + getRemainingCredits());
-        }
-        this.consumedCredits += credits;
-    }
 }
@@ -1,7 +1,9 @@
 package com.learning.authservice.credit.repository;
 
 import com.learning.authservice.credit.entity.CreditTransaction;
+import com.learning.authservice.credit.entity.ReferenceType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -23,4 +25,21 @@ public interface CreditTransactionRepository extends JpaRepository<CreditTransac
      * Transaction history for a user, most recent first.
      */
     List<CreditTransaction> findByUserIdOrderByCreatedAtDesc(String userId);
+
+    /**
+     * Ledger row count and credit sum per reference type, computed in the database.
+     */
+    @Query("SELECT t.referenceType AS referenceType, COUNT(t) AS transactions,"
+            + " COALESCE(SUM(t.credits), 0) AS credits"
+            + " FROM CreditTransaction t GROUP BY t.referenceType")
+    List<ReferenceTypeTotals> sumByReferenceType();
+
+    /** One row of {@link #sumByReferenceType}. */
+    interface ReferenceTypeTotals {
+        ReferenceType getReferenceType();
+
+        long getTransactions();
+
+        long getCredits();
+    }
 }
@@ -0,0 +1,38 @@
+package com.learning.authservice.credit.repository;
+
+/**
+ * Native SQL of the credit wallet that is also run outside the repository.
+ *
+ * <p>{@link UserCreditWalletRepository#consume} declares its {@code @Query} from
+ * {@link #CONSUME}, and the credit contention benchmark in {@code backend-benchmarks}
+ * executes the same constant, so the benchmark always measures the production statement.</p>
+ */
+public final class CreditWalletSql {
+
+    /**
+     * Debit {@code :credits} and append the CONSUME ledger row in one statement.
+     *
+     * <p>Named parameters: {@code userId}, {@code tenantId}, {@code credits},
+     * {@code referenceId}, {@code idempotencyKey}, {@code description}. Returns one
+     * {@code totalCredits, consumedCredits} row after a debit, no row otherwise.</p>
+     */
+    public static final String CONSUME = "WITH wallet AS ("
+            + "  SELECT id, user_id, tenant_id, total_credits, consumed_credits FROM user_credit_wallets"
+            + "  WHERE user_id = :userId AND tenant_id = :tenantId"
+            + "  AND total_credits - consumed_credits >= :credits FOR UPDATE"
+            + "), ledger AS ("
+            + "  INSERT INTO credit_transactions (user_id, tenant_id, type, credits, balance_after,"
+            + "    reference_type, reference_id, idempotency_key, description, created_at)"
+            + "  SELECT user_id, tenant_id, 'CONSUME', :credits, total_credits - consumed_credits - :credits,"
+            + "    'ANALYSIS', :referenceId, :idempotencyKey, :description, NOW() FROM wallet"
+            + "  ON CONFLICT (idempotency_key) DO NOTHING RETURNING id"
+            + "), debit AS ("
+            + "  UPDATE user_credit_wallets w SET consumed_credits = w.consumed_credits + :credits,"
+            + "    version = w.version + 1"
+            + "  FROM wallet WHERE w.id = wallet.id AND EXISTS (SELECT 1 FROM ledger)"
+            + "  RETURNING w.total_credits, w.consumed_credits"
+            + ") SELECT total_credits AS \"totalCredits\", consumed_credits AS \"consumedCredits\" FROM debit";
+
+    private CreditWalletSql() {
+    }
+}
@@ -0,0 +1,79 @@
+package com.learning.authservice.credit.repository;
+
+import com.learning.authservice.credit.entity.PlatformStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for the {@link PlatformStats} rollup slots.
+ * The totals are written by triggers; Java only sums them and switches maintenance on and off.
+ */
+@Repository
+public interface PlatformStatsRepository extends JpaRepository<PlatformStats, Short> {
+
+    /**
+     * Platform totals over all slots; {@code enabled} is true only when every slot is maintained.
+     */
+    @Query(value = "SELECT COALESCE(bool_and(enabled), false) AS \"enabled\","
+            + " CAST(COALESCE(SUM(credits_granted), 0) AS BIGINT) AS \"creditsGranted\","
+            + " CAST(COALESCE(SUM(credits_consumed), 0) AS BIGINT) AS \"creditsConsumed\","
+            + " CAST(COALESCE(SUM(transactions), 0) AS BIGINT) AS \"transactions\","
+            + " CAST(COALESCE(SUM(plan_purchase_credits), 0) AS BIGINT) AS \"planPurchaseCredits\""
+            + " FROM platform_stats",
+           nativeQuery = true)
+    Totals totals();
+
+    /**
+     * Wait for in-flight wallet and ledger writes to commit, and hold new ones until the
+     * surrounding transaction ends, so {@link #enableAndReseed} neither misses nor
+     * double-counts a write.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE user_credit_wallets, credit_transactions IN SHARE MODE", nativeQuery = true)
+    void lockCreditTables();
+
+    /**
+     * Recompute every slot from the tables and let the triggers maintain them from now on.
+     * Must run after {@link #lockCreditTables} in the same transaction.
+     */
+    @Modifying
+    @Query(value = "UPDATE platform_stats s SET enabled = true,"
+            + " credits_granted = COALESCE(w.granted, 0),"
+            + " credits_consumed = COALESCE(w.consumed, 0),"
+            + " transactions = COALESCE(t.transactions, 0),"
+            + " plan_purchase_credits = COALESCE(t.plan_purchase_credits, 0),"
+            + " updated_at = NOW()"
+            + " FROM platform_stats p"
+            + " LEFT JOIN (SELECT platform_stats_slot(user_id, tenant_id) AS slot,"
+            + "   SUM(total_credits) AS granted, SUM(consumed_credits) AS consumed"
+            + "   FROM user_credit_wallets GROUP BY 1) w ON w.slot = p.slot"
+            + " LEFT JOIN (SELECT platform_stats_slot(user_id, tenant_id) AS slot, COUNT(*) AS transactions,"
+            + "   SUM(credits) FILTER (WHERE reference_type = 'PLAN_PURCHASE') AS plan_purchase_credits"
+            + "   FROM credit_transactions GROUP BY 1) t ON t.slot = p.slot"
+            + " WHERE s.slot = p.slot",
+           nativeQuery = true)
+    int enableAndReseed();
+
+    /**
+     * Stop trigger maintenance; the dashboard falls back to aggregate queries.
+     */
+    @Modifying
+    @Query(value = "UPDATE platform_stats SET enabled = false, updated_at = NOW() WHERE enabled",
+           nativeQuery = true)
+    int disable();
+
+    /** Sum of all slots. */
+    interface Totals {
+        boolean getEnabled();
+
+        long getCreditsGranted();
+
+        long getCreditsConsumed();
+
+        long getTransactions();
+
+        long getPlanPurchaseCredits();
+    }
+}
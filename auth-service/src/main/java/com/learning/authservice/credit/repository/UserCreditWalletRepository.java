@@ -4,13 +4,17 @@ import com.learning.authservice.credit.entity.UserCreditWallet;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 /**
  * Repository for {@link UserCreditWallet} entities.
- * Uses optimistic locking via {@code @Version} on the entity.
+ * Uses optimistic locking via {@code @Version} on the entity, except for
+ * {@link #consume}, which debits in a single locking statement.
  */
 @Repository
 public interface UserCreditWalletRepository extends JpaRepository<UserCreditWallet, Long> {
@@ -26,4 +30,49 @@ public interface UserCreditWalletRepository extends JpaRepository<UserCreditWall
      */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<UserCreditWallet> findWithLockByUserIdAndTenantId(String userId, String tenantId);
+
+    /**
+     * Debit {@code credits} and append the CONSUME ledger row in one statement.
+     *
+     * <ol>
+     *   <li>Lock the wallet row if it still has {@code credits} remaining. Under READ
+     *       COMMITTED, {@code FOR UPDATE} waits for concurrent debits and re-checks the
+     *       balance against the committed row.</li>
+     *   <li>Claim the idempotency key with {@code ON CONFLICT DO NOTHING}.</li>
+     *   <li>Debit only if the key was claimed, bumping {@code version} so a concurrent
+     *       JPA grant fails its optimistic check instead of overwriting the debit.</li>
+     * </ol>
+     *
+     * @return the balance after the debit, or empty if the wallet is missing, the balance
+     *         is too low, or the key was already used
+     */
+    @Transactional
+    @Query(value = CreditWalletSql.CONSUME, nativeQuery = true)
+    Optional<Balance> consume(@Param("userId") String userId,
+                              @Param("tenantId") String tenantId,
+                              @Param("credits") int credits,
+                              @Param("referenceId") String referenceId,
+                              @Param("idempotencyKey") String idempotencyKey,
+                              @Param("description") String description);
+
+    /**
+     * Platform-wide credit totals across all wallets, computed in the database.
+     */
+    @Query("SELECT COALESCE(SUM(w.totalCredits), 0) AS totalCredits,"
+            + " COALESCE(SUM(w.consumedCredits), 0) AS consumedCredits FROM UserCreditWallet w")
+    CreditTotals sumCredits();
+
+    /** Result of {@link #sumCredits}. */
+    interface CreditTotals {
+        long getTotalCredits();
+
+        long getConsumedCredits();
+    }
+
+    /** Wallet balance returned by {@link #consume}. */
+    interface Balance {
+        int getTotalCredits();
+
+        int getConsumedCredits();
+    }
 }
@@ -1,8 +1,12 @@
 package com.learning.authservice.credit.service;
 
+import com.learning.authservice.credit.dto.ConsumeCreditsRequest;
+import com.learning.authservice.credit.dto.ConsumeCreditsResult;
 import com.learning.authservice.credit.dto.WalletDto;
 import com.learning.authservice.credit.entity.ReferenceType;
 
+import java.util.List;
+
 /**
  * Core credit management service.
  * All mutation methods are transactional and idempotent.
@@ -51,6 +55,15 @@ public interface CreditService {
      */
     WalletDto consumeCredits(String userId, int credits, String referenceId, String idempotencyKey);
 
+    /**
+     * Consume credits for several runs. Each item is applied independently with the
+     * same idempotency semantics as {@link #consumeCredits}; one failing item does not
+     * affect the others.
+     *
+     * @return one result per request, in request order
+     */
+    List<ConsumeCreditsResult> consumeCreditsBatch(List<ConsumeCreditsRequest> requests);
+
     /**
      * Validate that the user has sufficient credits without consuming them.
      * Throws
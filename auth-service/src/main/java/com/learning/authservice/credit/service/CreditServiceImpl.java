@@ -1,5 +1,8 @@
 package com.learning.authservice.credit.service;
 
+import com.learning.authservice.credit.dto.ConsumeCreditsRequest;
+import com.learning.authservice.credit.dto.ConsumeCreditsResult;
+import com.learning.authservice.credit.dto.ConsumeCreditsResult.Status;
 import com.learning.authservice.credit.dto.WalletDto;
 import com.learning.authservice.credit.entity.*;
 import com.learning.authservice.credit.exception.InsufficientCreditsException;
@@ -9,25 +12,26 @@ import com.learning.authservice.credit.repository.UserCreditWalletRepository;
 import com.learning.common.tenant.TenantContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Implementation of {@link CreditService}.
  * <p>
  * Handles credit mutations within database transactions.
- * Uses optimistic locking with retry for concurrent access safety.
- * All credit-granting methods are idempotent via idempotency keys.
+ * Grants use optimistic locking on the wallet; consumption is a single conditional
+ * statement ({@link UserCreditWalletRepository#consume}), so concurrent debits of one
+ * wallet queue on its row lock instead of failing and retrying.
+ * All credit mutations are idempotent via idempotency keys.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class CreditServiceImpl implements CreditService {
 
-    private static final int MAX_RETRIES = 3;
-
     private final UserCreditWalletRepository walletRepository;
     private final CreditTransactionRepository transactionRepository;
     private final PlanRepository planRepository;
@@ -111,46 +115,45 @@ public class CreditServiceImpl implements CreditService {
             throw new IllegalArgumentException("Credits must be positive, got: " + credits);
         }
 
-        // ISSUE-008: Idempotency check moved INSIDE the transaction (consumeCreditsInNewTx)
-        // to eliminate the TOCTOU race. The outer check is removed.
-        try {
-            return executeWithOptimisticRetry(() -> consumeCreditsInNewTx(userId, credits, referenceId, idempotencyKey));
-        } catch (org.springframework.dao.DataIntegrityViolationException e) {
-            // Safety net: unique constraint on idempotency_key caught a concurrent duplicate.
-            // This is expected under race conditions — return current wallet gracefully.
-            log.warn("Concurrent duplicate caught by DB constraint: idempotencyKey={}", idempotencyKey);
-            return getWallet(userId);
+        // ISSUE-008: the idempotency key is claimed by the same statement that debits,
+        // so there is no check-then-act gap and no duplicate to catch afterwards.
+        String tenantId = resolveTenantId();
+        var balance = walletRepository.consume(userId, tenantId, credits, referenceId, idempotencyKey,
+                "Analysis: " + credits + " credit(s) consumed");
+        if (balance.isPresent()) {
+            log.info("Consumed {} credits for userId={}, refId={}", credits, userId, referenceId);
+            int total = balance.get().getTotalCredits();
+            int used = balance.get().getConsumedCredits();
+            return WalletDto.builder().total(total).used(used).remaining(total - used).build();
         }
-    }
 
-    /**
-     * Each retry gets a fresh transaction so that an optimistic lock failure
-     * does not poison subsequent attempts.
-     */
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public WalletDto consumeCreditsInNewTx(String userId, int credits,
-            String referenceId, String idempotencyKey) {
-        // ISSUE-008: Idempotency check INSIDE the transaction — no TOCTOU gap
+        // Nothing debited: tell a replay apart from a missing or short wallet
         if (idempotencyKey != null && transactionRepository.existsByIdempotencyKey(idempotencyKey)) {
             log.info("Consumption already processed: idempotencyKey={}", idempotencyKey);
             return getWallet(userId);
         }
-
         var wallet = getOrCreateWallet(userId);
+        throw new InsufficientCreditsException(credits, wallet.getRemainingCredits());
+    }
 
-        if (wallet.getRemainingCredits() < credits) {
-            throw new InsufficientCreditsException(credits, wallet.getRemainingCredits());
+    @Override
+    public List<ConsumeCreditsResult> consumeCreditsBatch(List<ConsumeCreditsRequest> requests) {
+        List<ConsumeCreditsResult> results = new ArrayList<>(requests.size());
+        for (ConsumeCreditsRequest req : requests) {
+            var result = ConsumeCreditsResult.builder().idempotencyKey(req.idempotencyKey());
+            try {
+                result.status(Status.CONSUMED)
+                        .wallet(consumeCredits(req.userId(), req.credits(), req.referenceId(), req.idempotencyKey()));
+            } catch (InsufficientCreditsException e) {
+                result.status(Status.INSUFFICIENT_CREDITS).error(e.getMessage());
+            } catch (RuntimeException e) {
+                log.error("Batch consume item failed: idempotencyKey={}", req.idempotencyKey(), e);
+                result.status(Status.FAILED).error(e.getMessage());
+            }
+            results.add(result.build());
         }
-
-        wallet.deductCredits(credits);
-        wallet = walletRepository.save(wallet);
-
-        recordTransaction(wallet, TransactionType.CONSUME, credits,
-                ReferenceType.ANALYSIS, referenceId, idempotencyKey,
-                "Analysis: " + credits + " credit(s) consumed");
-
-        log.info("Consumed {} credits for userId={}, refId={}", credits, userId, referenceId);
-        return toDto(wallet);
+        log.info("Batch consume processed {} item(s)", requests.size());
+        return results;
     }
 
     @Override
@@ -217,27 +220,6 @@ public class CreditServiceImpl implements CreditService {
                 .build();
     }
 
-    /**
-     * Execute a credit operation with optimistic lock retry.
-     * On {@link ObjectOptimisticLockingFailureException}, retries up to MAX_RETRIES
-     * times.
-     */
-    private WalletDto executeWithOptimisticRetry(java.util.function.Supplier<WalletDto> operation) {
-        int attempts = 0;
-        while (true) {
-            try {
-                return operation.get();
-            } catch (ObjectOptimisticLockingFailureException e) {
-                attempts++;
-                if (attempts >= MAX_RETRIES) {
-                    log.error("Optimistic lock failed after {} retries", MAX_RETRIES);
-                    throw e;
-                }
-                log.warn("Optimistic lock conflict, retry {}/{}", attempts, MAX_RETRIES);
-            }
-        }
-    }
-
     @Override
     @Transactional
     public void migrateWallet(String email, String cognitoUserId) {
@@ -0,0 +1,46 @@
+package com.learning.authservice.credit.service;
+
+import com.learning.authservice.credit.repository.PlatformStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Switches the {@code platform_stats} rollup on or off; an admin action
+ * ({@code PUT /api/v1/admin/credits/stats-rollup}), not a startup step, so pods never
+ * race to reseed it.
+ * <p>
+ * While on, triggers add every wallet and ledger change to the wallet's slot row in the
+ * writing transaction, so the admin dashboard sums 16 rows instead of aggregating the
+ * ledger. Writes to different wallets mostly hit different slots. Enabling reseeds the
+ * totals once, holding credit writes for the length of the recount.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PlatformStatsRollup {
+
+    private final PlatformStatsRepository platformStatsRepository;
+
+    /**
+     * Turn trigger maintenance on (reseeding the totals) or off. No-op when already in that state.
+     *
+     * @return whether the rollup is maintained afterwards, read back from the slot rows
+     */
+    @Transactional
+    public boolean setEnabled(boolean enabled) {
+        boolean active = platformStatsRepository.totals().getEnabled();
+        if (enabled && !active) {
+            platformStatsRepository.lockCreditTables();
+            platformStatsRepository.enableAndReseed();
+            log.info("Platform stats rollup enabled and reseeded");
+        } else if (!enabled && active) {
+            platformStatsRepository.disable();
+            log.info("Platform stats rollup disabled; dashboard uses aggregate queries");
+        } else {
+            return active;
+        }
+        return platformStatsRepository.totals().getEnabled();
+    }
+}
@@ -2,10 +2,17 @@ package com.learning.authservice.security.service;
 
 import com.learning.authservice.security.repository.RolePermissionRepository;
 import com.learning.authservice.security.repository.UserRoleRepository;
+import com.learning.common.infra.cache.CacheNames;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.List;
 import java.util.Set;
@@ -13,49 +20,45 @@ import java.util.Set;
 /**
  * Resolves a user's effective permissions by traversing
  * user_roles → role_permissions → permissions.
+ *
+ * <p>The result, super-admin flag included, is cached per user in the distributed
+ * {@link CacheNames#USER_ALL_PERMISSIONS} cache and memoized on the current request, so a
+ * request with several guarded calls resolves it at most once and usually not at all.
+ * Role changes must call {@link #evictPermissions(String)}; role → permission grants are
+ * seeded by migrations and picked up within the cache TTL.</p>
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuthorizationService {
 
+    private static final String SUPER_ADMIN_ROLE = "super-admin";
+    private static final String REQUEST_ATTRIBUTE_PREFIX = AuthorizationService.class.getName() + ".permissions.";
+
     private final UserRoleRepository userRoleRepository;
     private final RolePermissionRepository rolePermissionRepository;
+    private final CacheManager cacheManager;
 
     /**
      * Check whether a user holds a specific resource:action permission
      * through any of their assigned roles.
      */
-    @Transactional(readOnly = true)
     public boolean hasPermission(String userId, String resource, String action) {
-        String permissionId = resource + ":" + action;
-        Set<String> permissions = getEffectivePermissions(userId);
-        return permissions.contains(permissionId);
+        return resolve(userId).grants(resource + ":" + action);
     }
 
     /**
      * Returns the full set of permission IDs (resource:action) the user holds.
      */
-    @Transactional(readOnly = true)
     public Set<String> getEffectivePermissions(String userId) {
-        List<String> roleIds = userRoleRepository.findByUserId(userId)
-                .stream()
-                .map(ur -> ur.getRoleId())
-                .toList();
-
-        if (roleIds.isEmpty()) {
-            return Set.of();
-        }
-
-        return rolePermissionRepository.findPermissionIdsByRoleIds(roleIds);
+        return Set.copyOf(resolve(userId).permissions());
     }
 
     /**
      * Checks if a user holds the super-admin role.
      */
-    @Transactional(readOnly = true)
     public boolean isSuperAdmin(String userId) {
-        return userRoleRepository.existsByUserIdAndRoleId(userId, "super-admin");
+        return resolve(userId).superAdmin();
     }
 
     /**
@@ -68,4 +71,86 @@ public class AuthorizationService {
                 .map(ur -> ur.getRoleId())
                 .toList();
     }
+
+    /**
+     * Drops the user's cached permissions after their roles changed. Inside a transaction
+     * the entry is evicted again after commit, so a concurrent lookup cannot re-cache the
+     * pre-change roles.
+     */
+    public void evictPermissions(String userId) {
+        evictNow(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId);
+                }
+            });
+        }
+    }
+
+    // ─── Private Helpers ────────────────────────────────────────────────────
+
+    /** Request memo → distributed cache → database. */
+    private EffectivePermissions resolve(String userId) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        String attribute = REQUEST_ATTRIBUTE_PREFIX + userId;
+        if (request != null
+                && request.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST) instanceof EffectivePermissions memo) {
+            return memo;
+        }
+
+        EffectivePermissions resolved = fromCache(userId);
+        if (request != null) {
+            request.setAttribute(attribute, resolved, RequestAttributes.SCOPE_REQUEST);
+        }
+        return resolved;
+    }
+
+    private EffectivePermissions fromCache(String userId) {
+        Cache cache = cacheManager.getCache(CacheNames.USER_ALL_PERMISSIONS);
+        if (cache == null) {
+            return load(userId);
+        }
+        try {
+            return cache.get(userId, () -> load(userId));
+        } catch (Cache.ValueRetrievalException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : e;
+        } catch (RuntimeException e) {
+            // Redis unavailable: authorize from the database rather than failing the request
+            log.warn("Permission cache unavailable, loading from database: userId={}, error={}",
+                    userId, e.getMessage());
+            return load(userId);
+        }
+    }
+
+    private EffectivePermissions load(String userId) {
+        List<String> roleIds = userRoleRepository.findByUserId(userId)
+                .stream()
+                .map(ur -> ur.getRoleId())
+                .toList();
+
+        if (roleIds.isEmpty()) {
+            return EffectivePermissions.NONE;
+        }
+
+        return new EffectivePermissions(roleIds.contains(SUPER_ADMIN_ROLE),
+                rolePermissionRepository.findPermissionIdsByRoleIds(roleIds));
+    }
+
+    private void evictNow(String userId) {
+        Cache cache = cacheManager.getCache(CacheNames.USER_ALL_PERMISSIONS);
+        if (cache != null) {
+            try {
+                cache.evict(userId);
+            } catch (RuntimeException e) {
+                log.warn("Permission cache eviction failed, entry expires with its TTL: userId={}, error={}",
+                        userId, e.getMessage());
+            }
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.removeAttribute(REQUEST_ATTRIBUTE_PREFIX + userId, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
 }
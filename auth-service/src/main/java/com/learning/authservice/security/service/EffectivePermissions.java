@@ -0,0 +1,25 @@
+package com.learning.authservice.security.service;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Everything {@code @RequirePermission} needs to know about a user, resolved in one pass:
+ * the super-admin flag and the permission IDs (resource:action) granted by their roles.
+ *
+ * <p>Cached per user in {@code userAllPermissions}; the set is a plain {@link HashSet}
+ * so it serializes with any Redisson codec.</p>
+ */
+public record EffectivePermissions(boolean superAdmin, Set<String> permissions) implements Serializable {
+
+    static final EffectivePermissions NONE = new EffectivePermissions(false, Set.of());
+
+    public EffectivePermissions {
+        permissions = new HashSet<>(permissions);
+    }
+
+    public boolean grants(String permissionId) {
+        return permissions.contains(permissionId);
+    }
+}
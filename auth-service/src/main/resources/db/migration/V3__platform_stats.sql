@@ -0,0 +1,69 @@
+-- V3: Incrementally maintained platform credit totals for the admin dashboard
+--
+-- One row, kept current by triggers in the same transaction as every wallet and
+-- ledger write (JPA grants and the native consume statement alike). While
+-- enabled = false the triggers match no row, so they take no lock; while enabled,
+-- every grant/consume briefly serializes on this row. PlatformStatsRollup flips
+-- the flag from app.admin.stats-rollup.enabled and reseeds the totals on enable.
+
+CREATE TABLE IF NOT EXISTS platform_stats (
+    id SMALLINT PRIMARY KEY DEFAULT 1 CHECK (id = 1),
+    enabled BOOLEAN NOT NULL DEFAULT false,
+    credits_granted BIGINT NOT NULL DEFAULT 0,      -- SUM(user_credit_wallets.total_credits)
+    credits_consumed BIGINT NOT NULL DEFAULT 0,     -- SUM(user_credit_wallets.consumed_credits)
+    transactions BIGINT NOT NULL DEFAULT 0,         -- COUNT(credit_transactions)
+    plan_purchase_credits BIGINT NOT NULL DEFAULT 0, -- SUM(credits) of PLAN_PURCHASE transactions
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+INSERT INTO platform_stats (id) VALUES (1) ON CONFLICT (id) DO NOTHING;
+
+COMMENT ON TABLE platform_stats IS 'Single-row credit rollup for the admin dashboard; maintained by triggers while enabled';
+
+CREATE OR REPLACE FUNCTION platform_stats_wallet_delta()
+RETURNS TRIGGER AS $$
+DECLARE
+    granted_delta BIGINT := 0;
+    consumed_delta BIGINT := 0;
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        granted_delta := NEW.total_credits;
+        consumed_delta := NEW.consumed_credits;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        granted_delta := granted_delta - OLD.total_credits;
+        consumed_delta := consumed_delta - OLD.consumed_credits;
+    END IF;
+    IF granted_delta <> 0 OR consumed_delta <> 0 THEN
+        UPDATE platform_stats
+        SET credits_granted = credits_granted + granted_delta,
+            credits_consumed = credits_consumed + consumed_delta,
+            updated_at = NOW()
+        WHERE id = 1 AND enabled;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER platform_stats_wallets
+AFTER INSERT OR UPDATE OF total_credits, consumed_credits OR DELETE ON user_credit_wallets
+FOR EACH ROW
+EXECUTE FUNCTION platform_stats_wallet_delta();
+
+CREATE OR REPLACE FUNCTION platform_stats_ledger_insert()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE platform_stats
+    SET transactions = transactions + 1,
+        plan_purchase_credits = plan_purchase_credits
+            + CASE WHEN NEW.reference_type = 'PLAN_PURCHASE' THEN NEW.credits ELSE 0 END,
+        updated_at = NOW()
+    WHERE id = 1 AND enabled;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER platform_stats_ledger
+AFTER INSERT ON credit_transactions
+FOR EACH ROW
+EXECUTE FUNCTION platform_stats_ledger_insert();
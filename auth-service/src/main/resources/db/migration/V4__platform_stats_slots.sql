@@ -0,0 +1,80 @@
+-- V4: Spread the platform_stats rollup over 16 slot rows
+--
+-- V3 kept the totals in one row, so while the rollup was enabled every grant and
+-- consume on the platform queued on that row's lock. The totals now live in 16
+-- rows. Each wallet's changes go to slot platform_stats_slot(user_id, tenant_id),
+-- which is stable for the wallet. The dashboard sums the slots.
+-- Wallet and ledger triggers use the same key, so a single-wallet
+-- transaction only ever locks one slot, and debits of different wallets mostly
+-- proceed in parallel.
+--
+-- The rollup is no longer switched from configuration at startup. An admin turns
+-- it on or off with PUT /api/v1/admin/credits/stats-rollup. The table is rebuilt
+-- disabled, so the dashboard uses aggregate queries until it is enabled again.
+--
+-- Rollback:
+--   Re-run V3 after DROP TABLE platform_stats; DROP FUNCTION platform_stats_slot(TEXT, TEXT);
+
+DROP TABLE IF EXISTS platform_stats;
+
+CREATE TABLE platform_stats (
+    slot SMALLINT PRIMARY KEY CHECK (slot BETWEEN 0 AND 15),
+    enabled BOOLEAN NOT NULL DEFAULT false,
+    credits_granted BIGINT NOT NULL DEFAULT 0,       -- SUM(user_credit_wallets.total_credits) of the slot's wallets
+    credits_consumed BIGINT NOT NULL DEFAULT 0,      -- SUM(user_credit_wallets.consumed_credits)
+    transactions BIGINT NOT NULL DEFAULT 0,          -- COUNT(credit_transactions)
+    plan_purchase_credits BIGINT NOT NULL DEFAULT 0, -- SUM(credits) of PLAN_PURCHASE transactions
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+INSERT INTO platform_stats (slot) SELECT generate_series(0, 15);
+
+COMMENT ON TABLE platform_stats IS 'Credit rollup for the admin dashboard in 16 slots (summed on read); maintained by triggers while enabled';
+
+-- Slot of a wallet; the wallet's (user_id, tenant_id) is unique, and the ledger carries it too
+CREATE OR REPLACE FUNCTION platform_stats_slot(user_id TEXT, tenant_id TEXT)
+RETURNS SMALLINT
+LANGUAGE sql IMMUTABLE AS $$
+    SELECT ((hashtext(user_id || '/' || tenant_id) & 2147483647) % 16)::smallint
+$$;
+
+CREATE OR REPLACE FUNCTION platform_stats_wallet_delta()
+RETURNS TRIGGER AS $$
+DECLARE
+    granted_delta BIGINT := 0;
+    consumed_delta BIGINT := 0;
+    target SMALLINT;
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        granted_delta := NEW.total_credits;
+        consumed_delta := NEW.consumed_credits;
+        target := platform_stats_slot(NEW.user_id, NEW.tenant_id);
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        granted_delta := granted_delta - OLD.total_credits;
+        consumed_delta := consumed_delta - OLD.consumed_credits;
+        target := COALESCE(target, platform_stats_slot(OLD.user_id, OLD.tenant_id));
+    END IF;
+    IF granted_delta <> 0 OR consumed_delta <> 0 THEN
+        UPDATE platform_stats
+        SET credits_granted = credits_granted + granted_delta,
+            credits_consumed = credits_consumed + consumed_delta,
+            updated_at = NOW()
+        WHERE slot = target AND enabled;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION platform_stats_ledger_insert()
+RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE platform_stats
+    SET transactions = transactions + 1,
+        plan_purchase_credits = plan_purchase_credits
+            + CASE WHEN NEW.reference_type = 'PLAN_PURCHASE' THEN NEW.credits ELSE 0 END,
+        updated_at = NOW()
+    WHERE slot = platform_stats_slot(NEW.user_id, NEW.tenant_id) AND enabled;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -6,6 +6,7 @@ import com.learning.authservice.credit.dto.WalletDto;
 import com.learning.authservice.credit.entity.*;
 import com.learning.authservice.credit.repository.CreditTransactionRepository;
 import com.learning.authservice.credit.repository.PlanRepository;
+import com.learning.authservice.credit.repository.PlatformStatsRepository;
 import com.learning.authservice.credit.repository.UserCreditWalletRepository;
 import com.learning.authservice.credit.service.CreditService;
 import com.learning.authservice.user.repository.UserRepository;
@@ -33,6 +34,7 @@ class AdminCreditServiceTest {
     @Mock private PlanRepository planRepository;
     @Mock private UserRepository userRepository;
     @Mock private CreditService creditService;
+    @Mock private PlatformStatsRepository platformStatsRepository;
     @InjectMocks private AdminCreditService adminCreditService;
 
     private static final String USER_ID = "user-1";
@@ -50,25 +52,20 @@ class AdminCreditServiceTest {
                     new Object[]{"DISABLED", 3L},
                     new Object[]{"INVITED", 2L}
             ));
+            when(platformStatsRepository.totals()).thenReturn(rollupTotals(false, 0, 0, 0, 0));
 
-            var w1 = UserCreditWallet.builder().totalCredits(50).consumedCredits(20).build();
-            var w2 = UserCreditWallet.builder().totalCredits(30).consumedCredits(10).build();
-            when(walletRepository.findAll()).thenReturn(List.of(w1, w2));
+            when(walletRepository.sumCredits()).thenReturn(walletTotals(80, 30));
 
             when(planRepository.findByIsActiveTrueOrderBySortOrderAsc()).thenReturn(List.of(
                     Plan.builder().name("starter").build(),
                     Plan.builder().name("pro").build()
             ));
 
-            when(transactionRepository.count()).thenReturn(50L);
-
-            var purchaseTx = CreditTransaction.builder()
-                    .type(TransactionType.GRANT).referenceType(ReferenceType.PLAN_PURCHASE)
-                    .credits(10).build();
-            var grantTx = CreditTransaction.builder()
-                    .type(TransactionType.GRANT).referenceType(ReferenceType.ADMIN_GRANT)
-                    .credits(5).build();
-            when(transactionRepository.findAll()).thenReturn(List.of(purchaseTx, grantTx));
+            when(transactionRepository.sumByReferenceType()).thenReturn(List.of(
+                    referenceTotals(ReferenceType.PLAN_PURCHASE, 1, 10),
+                    referenceTotals(ReferenceType.ADMIN_GRANT, 4, 5),
+                    referenceTotals(ReferenceType.ANALYSIS, 45, 45)
+            ));
 
             AdminDashboardStatsDto stats = adminCreditService.getDashboardStats();
 
@@ -81,16 +78,35 @@ class AdminCreditServiceTest {
             assertThat(stats.activePlans()).isEqualTo(2);
             assertThat(stats.totalTransactions()).isEqualTo(50);
             assertThat(stats.totalRevenueInr()).isEqualByComparingTo(BigDecimal.TEN);
+            verify(walletRepository, never()).findAll();
+            verify(transactionRepository, never()).findAll();
+        }
+
+        @Test
+        @DisplayName("reads credit figures from the enabled rollup slots without aggregating")
+        void readsEnabledRollup() {
+            when(userRepository.countUsersByStatusGrouped()).thenReturn(List.of());
+            when(planRepository.findByIsActiveTrueOrderBySortOrderAsc()).thenReturn(List.of());
+            when(platformStatsRepository.totals()).thenReturn(
+                    rollupTotals(true, 1_000_000L, 400_000L, 2_500_000L, 120_000L));
+
+            AdminDashboardStatsDto stats = adminCreditService.getDashboardStats();
+
+            assertThat(stats.totalCreditsGranted()).isEqualTo(1_000_000);
+            assertThat(stats.totalCreditsConsumed()).isEqualTo(400_000);
+            assertThat(stats.totalTransactions()).isEqualTo(2_500_000);
+            assertThat(stats.totalRevenueInr()).isEqualByComparingTo(BigDecimal.valueOf(120_000));
+            verifyNoInteractions(walletRepository, transactionRepository);
         }
 
         @Test
         @DisplayName("handles empty repositories gracefully")
         void handlesEmptyRepos() {
             when(userRepository.countUsersByStatusGrouped()).thenReturn(List.of());
-            when(walletRepository.findAll()).thenReturn(List.of());
+            when(platformStatsRepository.totals()).thenReturn(rollupTotals(false, 0, 0, 0, 0));
+            when(walletRepository.sumCredits()).thenReturn(walletTotals(0, 0));
             when(planRepository.findByIsActiveTrueOrderBySortOrderAsc()).thenReturn(List.of());
-            when(transactionRepository.count()).thenReturn(0L);
-            when(transactionRepository.findAll()).thenReturn(List.of());
+            when(transactionRepository.sumByReferenceType()).thenReturn(List.of());
 
             AdminDashboardStatsDto stats = adminCreditService.getDashboardStats();
 
@@ -98,6 +114,33 @@ class AdminCreditServiceTest {
             assertThat(stats.totalCreditsGranted()).isEqualTo(0);
             assertThat(stats.totalRevenueInr()).isEqualByComparingTo(BigDecimal.ZERO);
         }
+
+        private PlatformStatsRepository.Totals rollupTotals(
+                boolean enabled, long granted, long consumed, long transactions, long planPurchaseCredits) {
+            return new PlatformStatsRepository.Totals() {
+                @Override public boolean getEnabled() { return enabled; }
+                @Override public long getCreditsGranted() { return granted; }
+                @Override public long getCreditsConsumed() { return consumed; }
+                @Override public long getTransactions() { return transactions; }
+                @Override public long getPlanPurchaseCredits() { return planPurchaseCredits; }
+            };
+        }
+
+        private UserCreditWalletRepository.CreditTotals walletTotals(long total, long consumed) {
+            return new UserCreditWalletRepository.CreditTotals() {
+                @Override public long getTotalCredits() { return total; }
+                @Override public long getConsumedCredits() { return consumed; }
+            };
+        }
+
+        private CreditTransactionRepository.ReferenceTypeTotals referenceTotals(
+                ReferenceType type, long transactions, long credits) {
+            return new CreditTransactionRepository.ReferenceTypeTotals() {
+                @Override public ReferenceType getReferenceType() { return type; }
+                @Override public long getTransactions() { return transactions; }
+                @Override public long getCredits() { return credits; }
+            };
+        }
     }
 
     @Nested
@@ -5,6 +5,7 @@ import com.learning.authservice.credit.entity.UserCreditWallet;
 import com.learning.authservice.credit.repository.UserCreditWalletRepository;
 import com.learning.authservice.security.entity.UserRole;
 import com.learning.authservice.security.repository.UserRoleRepository;
+import com.learning.authservice.security.service.AuthorizationService;
 import com.learning.authservice.user.domain.User;
 import com.learning.authservice.user.repository.UserRepository;
 import com.learning.common.infra.exception.NotFoundException;
@@ -31,6 +32,7 @@ class AdminUserServiceTest {
     @Mock private UserRepository userRepository;
     @Mock private UserRoleRepository userRoleRepository;
     @Mock private UserCreditWalletRepository walletRepository;
+    @Mock private AuthorizationService authorizationService;
     @InjectMocks private AdminUserService adminUserService;
 
     private static final String USER_ID = "u-123";
@@ -153,6 +155,7 @@ class AdminUserServiceTest {
 
             verify(userRoleRepository).delete(role);
             verify(userRepository).delete(user);
+            verify(authorizationService).evictPermissions(USER_ID);
         }
 
         @Test
@@ -182,6 +185,7 @@ class AdminUserServiceTest {
             verify(userRoleRepository).save(captor.capture());
             assertThat(captor.getValue().getRoleId()).isEqualTo("editor");
             assertThat(captor.getValue().getAssignedBy()).isEqualTo("admin-1");
+            verify(authorizationService).evictPermissions(USER_ID);
         }
 
         @Test
@@ -194,6 +198,7 @@ class AdminUserServiceTest {
             adminUserService.assignRole(USER_ID, "admin", "admin-1");
 
             verify(userRoleRepository, never()).save(any());
+            verify(authorizationService, never()).evictPermissions(any());
         }
     }
 
@@ -210,6 +215,7 @@ class AdminUserServiceTest {
             adminUserService.removeRole(USER_ID, "admin");
 
             verify(userRoleRepository).deleteByUserIdAndRoleId(USER_ID, "admin");
+            verify(authorizationService).evictPermissions(USER_ID);
         }
     }
 
@@ -268,6 +274,8 @@ class AdminUserServiceTest {
             verify(userRoleRepository).save(roleCaptor.capture());
             assertThat(roleCaptor.getValue().getUserId()).isEqualTo("real-cognito-sub");
             assertThat(roleCaptor.getValue().getRoleId()).isEqualTo("super-admin");
+            verify(authorizationService).evictPermissions("SYSTEM_ADMIN_PLACEHOLDER");
+            verify(authorizationService).evictPermissions("real-cognito-sub");
         }
 
         @Test
@@ -0,0 +1,148 @@
+package com.learning.authservice.credit.service;
+
+import com.learning.authservice.config.AbstractIntegrationTest;
+import com.learning.authservice.credit.dto.WalletDto;
+import com.learning.authservice.credit.entity.ReferenceType;
+import com.learning.authservice.credit.exception.InsufficientCreditsException;
+import com.learning.common.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs {@link CreditService#consumeCredits} against PostgreSQL, where the single-statement
+ * debit ({@code CreditWalletSql.CONSUME}) does its locking and idempotency claim.
+ */
+@DisplayName("Credit consume (PostgreSQL)")
+class CreditConsumeIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String TENANT = "consume-it";
+
+    @Autowired
+    private CreditService creditService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String userId;
+
+    @BeforeEach
+    void setUp() {
+        TenantContext.setCurrentTenant(TENANT);
+        userId = "user-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private void grant(int credits) {
+        creditService.grantCredits(userId, credits, ReferenceType.ADMIN_GRANT, "it",
+                "grant-" + UUID.randomUUID(), "Integration test grant");
+    }
+
+    private int consumeRows() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM credit_transactions WHERE user_id = ? AND tenant_id = ? AND type = 'CONSUME'",
+                Integer.class, userId, TENANT);
+    }
+
+    @Test
+    @DisplayName("A replayed idempotency key debits once and returns the current balance")
+    void replayedKeyDebitsOnce() {
+        grant(10);
+        String key = "run-" + UUID.randomUUID();
+
+        WalletDto first = creditService.consumeCredits(userId, 3, "run-1", key);
+        WalletDto replay = creditService.consumeCredits(userId, 3, "run-1", key);
+
+        assertThat(first.remaining()).isEqualTo(7);
+        assertThat(replay.remaining()).isEqualTo(7);
+        assertThat(replay.used()).isEqualTo(3);
+        assertThat(consumeRows()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("An insufficient balance debits nothing and records no ledger row")
+    void insufficientBalanceDebitsNothing() {
+        grant(2);
+        String key = "run-" + UUID.randomUUID();
+
+        assertThatThrownBy(() -> creditService.consumeCredits(userId, 5, "run-1", key))
+                .isInstanceOfSatisfying(InsufficientCreditsException.class, e -> {
+                    assertThat(e.getRequired()).isEqualTo(5);
+                    assertThat(e.getAvailable()).isEqualTo(2);
+                });
+
+        assertThat(creditService.getWallet(userId).remaining()).isEqualTo(2);
+        assertThat(consumeRows()).isZero();
+        // The key was not claimed, so a retry after a top-up goes through
+        grant(3);
+        assertThat(creditService.consumeCredits(userId, 5, "run-1", key).remaining()).isZero();
+    }
+
+    @Test
+    @DisplayName("Concurrent debits never overdraw the wallet")
+    void concurrentDebitsDoNotOverdraw() throws Exception {
+        int balance = 10;
+        int debits = 32;
+        grant(balance);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> outcomes = new ArrayList<>();
+        try {
+            for (int i = 0; i < debits; i++) {
+                String key = "run-" + UUID.randomUUID();
+                outcomes.add(pool.submit(() -> {
+                    TenantContext.setCurrentTenant(TENANT);
+                    try {
+                        start.await();
+                        creditService.consumeCredits(userId, 1, key, key);
+                        return true;
+                    } catch (InsufficientCreditsException e) {
+                        return false;
+                    } finally {
+                        TenantContext.clear();
+                    }
+                }));
+            }
+            start.countDown();
+            int succeeded = 0;
+            for (Future<Boolean> outcome : outcomes) {
+                if (outcome.get(30, TimeUnit.SECONDS)) {
+                    succeeded++;
+                }
+            }
+
+            assertThat(succeeded).isEqualTo(balance);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        WalletDto wallet = creditService.getWallet(userId);
+        assertThat(wallet.used()).isEqualTo(balance);
+        assertThat(wallet.remaining()).isZero();
+        assertThat(consumeRows()).isEqualTo(balance);
+        // Each debit saw the previous one: balance_after runs 9, 8, ... 0 with no repeats
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT balance_after FROM credit_transactions WHERE user_id = ? AND tenant_id = ? AND type = 'CONSUME'",
+                Integer.class, userId, TENANT))
+                .containsExactlyInAnyOrder(9, 8, 7, 6, 5, 4, 3, 2, 1, 0);
+    }
+}
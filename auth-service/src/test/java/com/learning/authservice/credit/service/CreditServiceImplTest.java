@@ -1,5 +1,7 @@
 package com.learning.authservice.credit.service;
 
+import com.learning.authservice.credit.dto.ConsumeCreditsRequest;
+import com.learning.authservice.credit.dto.ConsumeCreditsResult;
 import com.learning.authservice.credit.dto.WalletDto;
 import com.learning.authservice.credit.entity.*;
 import com.learning.authservice.credit.exception.InsufficientCreditsException;
@@ -18,6 +20,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -192,34 +195,33 @@ class CreditServiceImplTest {
         class ConsumeCreditsTests {
 
                 @Test
-                @DisplayName("consumes credits when sufficient balance")
+                @DisplayName("consumes credits in one conditional statement when sufficient balance")
                 void consumesSuccessfully() {
-                        var wallet = buildWallet(5, 1);
-                        when(walletRepository.findByUserIdAndTenantId(USER_ID, "test-tenant"))
-                                        .thenReturn(Optional.of(wallet));
-                        when(transactionRepository.existsByIdempotencyKey("analysis-123"))
-                                        .thenReturn(false);
-                        when(walletRepository.save(any(UserCreditWallet.class)))
-                                        .thenAnswer(inv -> inv.getArgument(0));
+                        when(walletRepository.consume(USER_ID, "test-tenant", 2, "run-42", "analysis-123",
+                                        "Analysis: 2 credit(s) consumed"))
+                                        .thenReturn(Optional.of(balance(5, 3)));
 
                         WalletDto dto = creditService.consumeCredits(USER_ID, 2, "run-42", "analysis-123");
 
                         assertThat(dto.used()).isEqualTo(3); // 1 + 2
                         assertThat(dto.remaining()).isEqualTo(2); // 5 - 3
 
-                        verify(transactionRepository).save(argThat(txn -> txn.getType() == TransactionType.CONSUME &&
-                                        txn.getCredits() == 2 &&
-                                        txn.getReferenceType() == ReferenceType.ANALYSIS));
+                        // Ledger row is written by the same statement; no read-modify-write round trips
+                        verify(walletRepository, never()).findByUserIdAndTenantId(any(), any());
+                        verify(walletRepository, never()).save(any());
+                        verify(transactionRepository, never()).save(any());
                 }
 
                 @Test
                 @DisplayName("throws InsufficientCreditsException when balance too low")
                 void throwsWhenInsufficient() {
+                        when(walletRepository.consume(eq(USER_ID), eq("test-tenant"), eq(1), any(), eq("analysis-456"), any()))
+                                        .thenReturn(Optional.empty());
+                        when(transactionRepository.existsByIdempotencyKey("analysis-456"))
+                                        .thenReturn(false);
                         var wallet = buildWallet(2, 2); // 0 remaining
                         when(walletRepository.findByUserIdAndTenantId(USER_ID, "test-tenant"))
                                         .thenReturn(Optional.of(wallet));
-                        when(transactionRepository.existsByIdempotencyKey("analysis-456"))
-                                        .thenReturn(false);
 
                         assertThatThrownBy(() -> creditService.consumeCredits(USER_ID, 1, "run-99", "analysis-456"))
                                         .isInstanceOf(InsufficientCreditsException.class)
@@ -227,20 +229,69 @@ class CreditServiceImplTest {
                                         .hasMessageContaining("available=0");
                 }
 
-        @Test
-        @DisplayName("skips duplicate consumption (idempotent)")
-        void skipsDuplicate() {
-            when(transactionRepository.existsByIdempotencyKey("dup-consume"))
-                    .thenReturn(true);
-            var wallet = buildWallet(5, 2);
-            when(walletRepository.findByUserIdAndTenantId(USER_ID, "test-tenant"))
-                    .thenReturn(Optional.of(wallet));
+                @Test
+                @DisplayName("skips duplicate consumption (idempotent)")
+                void skipsDuplicate() {
+                        when(walletRepository.consume(eq(USER_ID), eq("test-tenant"), eq(1), any(), eq("dup-consume"), any()))
+                                        .thenReturn(Optional.empty());
+                        when(transactionRepository.existsByIdempotencyKey("dup-consume"))
+                                        .thenReturn(true);
+                        var wallet = buildWallet(5, 2);
+                        when(walletRepository.findByUserIdAndTenantId(USER_ID, "test-tenant"))
+                                        .thenReturn(Optional.of(wallet));
 
-            WalletDto dto = creditService.consumeCredits(USER_ID, 1, "run-1", "dup-consume");
+                        WalletDto dto = creditService.consumeCredits(USER_ID, 1, "run-1", "dup-consume");
 
-            assertThat(dto.remaining()).isEqualTo(3); // unchanged
-            verify(walletRepository, never()).save(any());
+                        assertThat(dto.remaining()).isEqualTo(3); // unchanged
+                        verify(walletRepository, never()).save(any());
+                }
         }
+
+        // ---- consumeCreditsBatch ----
+
+        @Nested
+        @DisplayName("consumeCreditsBatch")
+        class ConsumeCreditsBatchTests {
+
+                @Test
+                @DisplayName("applies items independently and reports per-item status in request order")
+                void reportsPerItemStatus() {
+                        when(walletRepository.consume(eq(USER_ID), eq("test-tenant"), eq(1), any(), eq("audit-1"), any()))
+                                        .thenReturn(Optional.of(balance(5, 5)));
+                        when(walletRepository.consume(eq(USER_ID), eq("test-tenant"), eq(1), any(), eq("audit-2"), any()))
+                                        .thenReturn(Optional.empty());
+                        when(transactionRepository.existsByIdempotencyKey("audit-2")).thenReturn(false);
+                        when(walletRepository.findByUserIdAndTenantId(USER_ID, "test-tenant"))
+                                        .thenReturn(Optional.of(buildWallet(5, 5)));
+
+                        List<ConsumeCreditsResult> results = creditService.consumeCreditsBatch(List.of(
+                                        new ConsumeCreditsRequest(USER_ID, 1, "audit-1", "audit-1"),
+                                        new ConsumeCreditsRequest(USER_ID, 1, "audit-2", "audit-2")));
+
+                        assertThat(results).extracting(ConsumeCreditsResult::idempotencyKey)
+                                        .containsExactly("audit-1", "audit-2");
+                        assertThat(results.get(0).status()).isEqualTo(ConsumeCreditsResult.Status.CONSUMED);
+                        assertThat(results.get(0).wallet().remaining()).isZero();
+                        assertThat(results.get(1).status()).isEqualTo(ConsumeCreditsResult.Status.INSUFFICIENT_CREDITS);
+                        assertThat(results.get(1).wallet()).isNull();
+                }
+
+                @Test
+                @DisplayName("reports an already consumed idempotency key as CONSUMED without charging again")
+                void duplicateIsConsumed() {
+                        when(walletRepository.consume(eq(USER_ID), eq("test-tenant"), eq(1), any(), eq("audit-1"), any()))
+                                        .thenReturn(Optional.empty());
+                        when(transactionRepository.existsByIdempotencyKey("audit-1")).thenReturn(true);
+                        when(walletRepository.findByUserIdAndTenantId(USER_ID, "test-tenant"))
+                                        .thenReturn(Optional.of(buildWallet(5, 2)));
+
+                        List<ConsumeCreditsResult> results = creditService.consumeCreditsBatch(List.of(
+                                        new ConsumeCreditsRequest(USER_ID, 1, "audit-1", "audit-1")));
+
+                        assertThat(results.get(0).status()).isEqualTo(ConsumeCreditsResult.Status.CONSUMED);
+                        assertThat(results.get(0).wallet().remaining()).isEqualTo(3);
+                        verify(walletRepository, never()).save(any());
+                }
         }
 
         // ---- validateSufficientCredits ----
@@ -274,6 +325,20 @@ class CreditServiceImplTest {
 
         // ---- Helpers ----
 
+        private static UserCreditWalletRepository.Balance balance(int total, int consumed) {
+                return new UserCreditWalletRepository.Balance() {
+                        @Override
+                        public int getTotalCredits() {
+                                return total;
+                        }
+
+                        @Override
+                        public int getConsumedCredits() {
+                                return consumed;
+                        }
+                };
+        }
+
         private UserCreditWallet buildWallet(int total, int consumed) {
                 return UserCreditWallet.builder()
                                 .userId(USER_ID)
@@ -0,0 +1,74 @@
+package com.learning.authservice.credit.service;
+
+import com.learning.authservice.credit.repository.PlatformStatsRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlatformStatsRollupTest {
+
+    @Mock private PlatformStatsRepository platformStatsRepository;
+    @Mock private PlatformStatsRepository.Totals totals;
+    @InjectMocks private PlatformStatsRollup rollup;
+
+    /** The slots report {@code enabled}, then each of {@code after} on later reads. */
+    private void givenEnabled(boolean enabled, Boolean... after) {
+        when(platformStatsRepository.totals()).thenReturn(totals);
+        when(totals.getEnabled()).thenReturn(enabled, after);
+    }
+
+    @Test
+    @DisplayName("enabling locks the credit tables before reseeding")
+    void enableLocksThenReseeds() {
+        givenEnabled(false, true);
+
+        assertTrue(rollup.setEnabled(true));
+
+        InOrder order = inOrder(platformStatsRepository);
+        order.verify(platformStatsRepository).lockCreditTables();
+        order.verify(platformStatsRepository).enableAndReseed();
+    }
+
+    @Test
+    @DisplayName("an already maintained rollup is not reseeded")
+    void alreadyEnabledIsLeftAlone() {
+        givenEnabled(true);
+
+        assertTrue(rollup.setEnabled(true));
+
+        verify(platformStatsRepository, never()).lockCreditTables();
+        verify(platformStatsRepository, never()).enableAndReseed();
+    }
+
+    @Test
+    @DisplayName("disabling stops trigger maintenance")
+    void disableStopsMaintenance() {
+        givenEnabled(true, false);
+
+        assertFalse(rollup.setEnabled(false));
+
+        verify(platformStatsRepository).disable();
+        verify(platformStatsRepository, never()).enableAndReseed();
+    }
+
+    @Test
+    @DisplayName("reports the state read back after enabling, not the requested one")
+    void reportsStateReadBack() {
+        // e.g. platform_stats has no slot rows, so the reseed updates nothing
+        givenEnabled(false, false);
+
+        assertFalse(rollup.setEnabled(true));
+
+        verify(platformStatsRepository).enableAndReseed();
+        verify(platformStatsRepository, times(2)).totals();
+    }
+}
@@ -3,19 +3,32 @@ package com.learning.authservice.security.service;
 import com.learning.authservice.security.entity.UserRole;
 import com.learning.authservice.security.repository.RolePermissionRepository;
 import com.learning.authservice.security.repository.UserRoleRepository;
+import com.learning.common.infra.cache.CacheNames;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,11 +38,22 @@ class AuthorizationServiceTest {
     private UserRoleRepository userRoleRepository;
     @Mock
     private RolePermissionRepository rolePermissionRepository;
-    @InjectMocks
+    private CacheManager cacheManager;
     private AuthorizationService authorizationService;
 
     private static final String USER_ID = "test-user-id";
 
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(CacheNames.USER_ALL_PERMISSIONS);
+        authorizationService = new AuthorizationService(userRoleRepository, rolePermissionRepository, cacheManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
     @Nested
     @DisplayName("hasPermission")
     class HasPermissionTests {
@@ -108,14 +132,20 @@ class AuthorizationServiceTest {
         @Test
         @DisplayName("returns true when user has super-admin role")
         void trueForSuperAdmin() {
-            when(userRoleRepository.existsByUserIdAndRoleId(USER_ID, "super-admin")).thenReturn(true);
+            var ur = UserRole.builder().userId(USER_ID).roleId("super-admin").build();
+            when(userRoleRepository.findByUserId(USER_ID)).thenReturn(List.of(ur));
+            when(rolePermissionRepository.findPermissionIdsByRoleIds(List.of("super-admin")))
+                    .thenReturn(Set.of());
             assertThat(authorizationService.isSuperAdmin(USER_ID)).isTrue();
         }
 
         @Test
         @DisplayName("returns false when user lacks super-admin role")
         void falseForNonSuperAdmin() {
-            when(userRoleRepository.existsByUserIdAndRoleId(USER_ID, "super-admin")).thenReturn(false);
+            var ur = UserRole.builder().userId(USER_ID).roleId("admin").build();
+            when(userRoleRepository.findByUserId(USER_ID)).thenReturn(List.of(ur));
+            when(rolePermissionRepository.findPermissionIdsByRoleIds(List.of("admin")))
+                    .thenReturn(Set.of("user:read"));
             assertThat(authorizationService.isSuperAdmin(USER_ID)).isFalse();
         }
     }
@@ -146,4 +176,95 @@ class AuthorizationServiceTest {
             assertThat(roleIds).isEmpty();
         }
     }
+
+    @Nested
+    @DisplayName("caching")
+    class CachingTests {
+
+        private void givenAdmin() {
+            var ur = UserRole.builder().userId(USER_ID).roleId("admin").build();
+            when(userRoleRepository.findByUserId(USER_ID)).thenReturn(List.of(ur));
+            when(rolePermissionRepository.findPermissionIdsByRoleIds(List.of("admin")))
+                    .thenReturn(Set.of("credit:manage", "user:read"));
+        }
+
+        @Test
+        @DisplayName("resolves roles and permissions once across guarded calls")
+        void resolvesOnceAcrossCalls() {
+            givenAdmin();
+
+            authorizationService.isSuperAdmin(USER_ID);
+            authorizationService.hasPermission(USER_ID, "credit", "manage");
+            authorizationService.hasPermission(USER_ID, "user", "read");
+
+            verify(userRoleRepository, times(1)).findByUserId(USER_ID);
+            verify(rolePermissionRepository, times(1)).findPermissionIdsByRoleIds(anyList());
+            verify(userRoleRepository, never()).existsByUserIdAndRoleId(anyString(), anyString());
+        }
+
+        @Test
+        @DisplayName("memoizes on the request so the shared cache is read once per request")
+        void memoizesPerRequest() {
+            givenAdmin();
+            Cache cache = spy(cacheManager.getCache(CacheNames.USER_ALL_PERMISSIONS));
+            CacheManager spyingManager = mock(CacheManager.class);
+            when(spyingManager.getCache(CacheNames.USER_ALL_PERMISSIONS)).thenReturn(cache);
+            var service = new AuthorizationService(userRoleRepository, rolePermissionRepository, spyingManager);
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+            service.isSuperAdmin(USER_ID);
+            service.hasPermission(USER_ID, "credit", "manage");
+
+            verify(cache, times(1)).get(any(), any(Callable.class));
+        }
+
+        @Test
+        @DisplayName("reloads after eviction")
+        void reloadsAfterEviction() {
+            givenAdmin();
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+            assertThat(authorizationService.isSuperAdmin(USER_ID)).isFalse();
+
+            var superAdmin = UserRole.builder().userId(USER_ID).roleId("super-admin").build();
+            when(userRoleRepository.findByUserId(USER_ID)).thenReturn(List.of(superAdmin));
+            when(rolePermissionRepository.findPermissionIdsByRoleIds(List.of("super-admin"))).thenReturn(Set.of());
+            authorizationService.evictPermissions(USER_ID);
+
+            assertThat(authorizationService.isSuperAdmin(USER_ID)).isTrue();
+            verify(userRoleRepository, times(2)).findByUserId(USER_ID);
+        }
+
+        @Test
+        @DisplayName("evicts again after commit when called inside a transaction")
+        void evictsAfterCommit() {
+            givenAdmin();
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                authorizationService.evictPermissions(USER_ID);
+                // A concurrent lookup re-caches the roles before the change commits
+                authorizationService.getEffectivePermissions(USER_ID);
+
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(TransactionSynchronization::afterCommit);
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            assertThat(cacheManager.getCache(CacheNames.USER_ALL_PERMISSIONS).get(USER_ID)).isNull();
+        }
+
+        @Test
+        @DisplayName("falls back to the database when the shared cache is unavailable")
+        void fallsBackWhenCacheUnavailable() {
+            givenAdmin();
+            Cache broken = mock(Cache.class);
+            when(broken.get(any(), any(Callable.class)))
+                    .thenThrow(new IllegalStateException("redis down"));
+            CacheManager brokenManager = mock(CacheManager.class);
+            when(brokenManager.getCache(CacheNames.USER_ALL_PERMISSIONS)).thenReturn(broken);
+            var service = new AuthorizationService(userRoleRepository, rolePermissionRepository, brokenManager);
+
+            assertThat(service.hasPermission(USER_ID, "credit", "manage")).isTrue();
+        }
+    }
 }
@@ -0,0 +1,41 @@
+package com.learning.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Entry point of {@code benchmarks.jar}. Accepts the standard JMH command line, plus
+ * {@code --alloc} as the allocation preset: attaches the GC profiler ({@code -prof gc})
+ * so every result also reports {@code gc.alloc.rate.norm} (bytes allocated per operation).
+ *
+ * <pre>
+ *   java -jar backend-benchmarks/target/benchmarks.jar                    # all benchmarks
+ *   java -jar backend-benchmarks/target/benchmarks.jar --alloc Rule37     # + allocation
+ *   java -jar backend-benchmarks/target/benchmarks.jar Itc -p rows=100000 # one size
+ * </pre>
+ */
+public final class BenchmarkMain {
+
+    static final String ALLOC_PRESET = "--alloc";
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        boolean alloc = Arrays.asList(args).contains(ALLOC_PRESET);
+        String[] jmhArgs = Arrays.stream(args).filter(a -> !ALLOC_PRESET.equals(a)).toArray(String[]::new);
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(new CommandLineOptions(jmhArgs));
+        if (alloc) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
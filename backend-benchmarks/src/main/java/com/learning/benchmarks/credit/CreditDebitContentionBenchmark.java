@@ -0,0 +1,167 @@
+package com.learning.benchmarks.credit;
+
+import com.learning.authservice.credit.repository.CreditWalletSql;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 64 consumers debiting one auth-service credit wallet at the same time.
+ *
+ * <ul>
+ *   <li>{@code optimistic} — the old {@code CreditServiceImpl.consumeCredits}: idempotency
+ *       lookup, wallet read, versioned update and ledger insert as separate statements,
+ *       retried up to 3 times on a version conflict.</li>
+ *   <li>{@code atomic} — {@code UserCreditWalletRepository.consume}: one statement that locks
+ *       the wallet, claims the idempotency key and debits. Runs {@link CreditWalletSql#CONSUME},
+ *       the repository's own query.</li>
+ * </ul>
+ *
+ * <p>Besides debits per second, the auxiliary counters report {@code retries} (version
+ * conflicts that were retried) and {@code rejected} (debits lost after the last retry),
+ * both zero for {@code atomic}.
+ *
+ * <p>Runs against the auth-service tables in a scratch schema created on setup:
+ * {@code -Dbench.db.url=jdbc:postgresql://…} plus {@code bench.db.user} / {@code bench.db.password}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class CreditDebitContentionBenchmark {
+
+    private static final String SCHEMA = "bench_credit";
+    private static final String USER_ID = "bench-user";
+    private static final String TENANT_ID = "default";
+    private static final int MAX_RETRIES = 3;
+
+    @Param({"optimistic", "atomic"})
+    private String mode;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /** Per-thread outcome counters, summed by JMH across threads. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcome {
+        public long retries;
+        public long rejected;
+        private final String keyPrefix = UUID.randomUUID() + "-";
+        private long sequence;
+
+        String nextKey() {
+            return keyPrefix + sequence++;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/gstbuddies_bench"));
+        dataSource.setUsername(System.getProperty("bench.db.user", "postgres"));
+        dataSource.setPassword(System.getProperty("bench.db.password", "postgres"));
+        // One connection per consumer, so threads contend on the wallet row, not the pool
+        dataSource.setMaximumPoolSize(64);
+        dataSource.setConnectionInitSql("SET search_path TO " + SCHEMA);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        jdbcTemplate.execute("CREATE SCHEMA " + SCHEMA);
+        // Columns and constraints of auth-service V1__authorization_schema.sql
+        jdbcTemplate.execute("CREATE TABLE user_credit_wallets (id BIGSERIAL PRIMARY KEY, "
+                + "user_id VARCHAR(255) NOT NULL, tenant_id VARCHAR(64) NOT NULL DEFAULT 'default', "
+                + "total_credits INTEGER NOT NULL DEFAULT 0, consumed_credits INTEGER NOT NULL DEFAULT 0, "
+                + "has_used_trial BOOLEAN NOT NULL DEFAULT false, version BIGINT NOT NULL DEFAULT 0, "
+                + "created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(), updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(), "
+                + "UNIQUE (user_id, tenant_id))");
+        jdbcTemplate.execute("CREATE TABLE credit_transactions (id BIGSERIAL PRIMARY KEY, "
+                + "user_id VARCHAR(255) NOT NULL, tenant_id VARCHAR(64) NOT NULL DEFAULT 'default', "
+                + "type VARCHAR(20) NOT NULL, credits INTEGER NOT NULL, balance_after INTEGER NOT NULL, "
+                + "reference_type VARCHAR(30) NOT NULL, reference_id VARCHAR(255), "
+                + "idempotency_key VARCHAR(255) UNIQUE, description TEXT, "
+                + "created_at TIMESTAMPTZ NOT NULL DEFAULT NOW())");
+        jdbcTemplate.update("INSERT INTO user_credit_wallets (user_id, tenant_id, total_credits) VALUES (?, ?, ?)",
+                USER_ID, TENANT_ID, Integer.MAX_VALUE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        dataSource.close();
+    }
+
+    @Benchmark
+    public boolean consume(Outcome outcome) {
+        String key = outcome.nextKey();
+        return "atomic".equals(mode) ? atomic(key) : optimistic(key, outcome);
+    }
+
+    private boolean atomic(String key) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", USER_ID)
+                .addValue("tenantId", TENANT_ID)
+                .addValue("credits", 1)
+                .addValue("referenceId", key)
+                .addValue("idempotencyKey", key)
+                .addValue("description", "bench");
+        return !namedJdbcTemplate.queryForList(CreditWalletSql.CONSUME, params).isEmpty();
+    }
+
+    /** Statement sequence of the old consume path; each statement commits on its own, as it did there. */
+    private boolean optimistic(String key, Outcome outcome) {
+        for (int attempt = 1; ; attempt++) {
+            Boolean seen = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM credit_transactions WHERE idempotency_key = ?)", Boolean.class, key);
+            if (Boolean.TRUE.equals(seen)) {
+                return false;
+            }
+            Map<String, Object> wallet = jdbcTemplate.queryForMap(
+                    "SELECT id, total_credits, consumed_credits, version FROM user_credit_wallets "
+                            + "WHERE user_id = ? AND tenant_id = ?", USER_ID, TENANT_ID);
+            int total = (Integer) wallet.get("total_credits");
+            int consumed = (Integer) wallet.get("consumed_credits") + 1;
+            long version = (Long) wallet.get("version");
+            int updated = jdbcTemplate.update("UPDATE user_credit_wallets SET consumed_credits = ?, "
+                            + "version = ?, updated_at = NOW() WHERE id = ? AND version = ?",
+                    consumed, version + 1, wallet.get("id"), version);
+            if (updated == 1) {
+                jdbcTemplate.update("INSERT INTO credit_transactions (user_id, tenant_id, type, credits, "
+                                + "balance_after, reference_type, reference_id, idempotency_key, description) "
+                                + "VALUES (?, ?, 'CONSUME', 1, ?, 'ANALYSIS', ?, ?, 'bench')",
+                        USER_ID, TENANT_ID, total - consumed, key, key);
+                return true;
+            }
+            if (attempt >= MAX_RETRIES) {
+                outcome.rejected++;
+                return false;
+            }
+            outcome.retries++;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.learning.benchmarks.data;
+
+import com.learning.backendservice.domain.itc.ItcRecoInput;
+import com.learning.backendservice.domain.shared.PurchaseRegisterRow;
+import com.learning.backendservice.engine.AnalysisMode;
+import com.learning.backendservice.engine.AuditContext;
+import com.learning.backendservice.engine.AuditDocument;
+import com.learning.backendservice.engine.AuditUserParams;
+import com.learning.backendservice.engine.DocumentType;
+import com.learning.backendservice.engine.SharedResources;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic GST returns for the ITC reconciliation and pipeline benchmarks.
+ *
+ * <p>Documents carry the {@code extractedFields} shapes the input resolvers read from
+ * the parser sidecar ({@code invoices}, {@code itc_rows}, {@code purchase_register},
+ * {@code table_6_1}, …), so a pipeline run exercises every GSTR rule end to end.
+ */
+public final class GstrFixtures {
+
+    public static final String GSTIN = "29ABCDE1234F1Z5";
+    public static final YearMonth TAX_PERIOD = YearMonth.of(2024, 10);
+    public static final LocalDate AS_ON_DATE = LocalDate.of(2025, 3, 31);
+
+    private static final String[] STATES = {"29", "27", "33", "07", "24", "36"};
+
+    private GstrFixtures() {
+    }
+
+    /**
+     * Purchase register vs GSTR-2B: about 80% exact matches, 10% fuzzy matches
+     * (reformatted invoice number, tax off by paise), 5% missing in 2B, 5% only in 2B.
+     *
+     * @param rows purchase-register row count (1k–1M)
+     */
+    public static ItcRecoInput itcInput(int rows, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<PurchaseRegisterRow> purchaseRegister = new ArrayList<>(rows);
+        List<PurchaseRegisterRow> gstr2b = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            PurchaseRegisterRow pr = purchaseRow(random, i);
+            purchaseRegister.add(pr);
+            int kind = random.nextInt(100);
+            if (kind < 80) {
+                gstr2b.add(pr);
+            } else if (kind < 90) {
+                gstr2b.add(new PurchaseRegisterRow(pr.supplierGstin(), pr.invoiceNo().replace("/", "-").toLowerCase(),
+                        pr.invoiceDate(), pr.taxableValue(), pr.igst().add(BigDecimal.valueOf(random.nextInt(50), 2)),
+                        pr.cgst(), pr.sgst(), pr.cess(), false));
+            } else if (kind < 95) {
+                gstr2b.add(purchaseRow(random, rows + i));
+            }
+        }
+        return new ItcRecoInput(GSTIN, TAX_PERIOD, AuditContext.deriveFinancialYear(AS_ON_DATE),
+                purchaseRegister, gstr2b, new BigDecimal("1.00"));
+    }
+
+    /**
+     * A GSTR rules analysis context with GSTR-1, GSTR-3B, GSTR-9, GSTR-2A, GSTR-2B and a
+     * purchase register, each sized by {@code invoices}.
+     */
+    public static AuditContext gstrContext(int invoices, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        ItcRecoInput itc = itcInput(invoices, seed);
+        String period = "%02d-%d".formatted(TAX_PERIOD.getMonthValue(), TAX_PERIOD.getYear());
+
+        List<Map<String, Object>> outward = new ArrayList<>(invoices);
+        BigDecimal taxable = BigDecimal.ZERO;
+        BigDecimal igst = BigDecimal.ZERO;
+        BigDecimal cgst = BigDecimal.ZERO;
+        for (int i = 0; i < invoices; i++) {
+            boolean interState = random.nextInt(3) == 0;
+            BigDecimal value = BigDecimal.valueOf(random.nextLong(100_000, 5_000_000), 2);
+            BigDecimal tax = value.multiply(new BigDecimal("0.18")).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal half = tax.divide(BigDecimal.TWO, 2, RoundingMode.HALF_UP);
+            // ~2% of invoices belong to an earlier period, so late-reporting interest applies
+            LocalDate date = random.nextInt(50) == 0
+                    ? TAX_PERIOD.minusMonths(1 + random.nextInt(3)).atDay(1 + random.nextInt(28))
+                    : TAX_PERIOD.atDay(1 + random.nextInt(28));
+            Map<String, Object> invoice = new HashMap<>();
+            invoice.put("invoice_no", "S/" + TAX_PERIOD.getYear() + "/" + i);
+            invoice.put("invoice_date", date.toString());
+            invoice.put("place_of_supply", interState ? STATES[1 + random.nextInt(STATES.length - 1)] : "29");
+            invoice.put("table_section", interState ? "4A" : "7");
+            invoice.put("taxable_value", value.toPlainString());
+            invoice.put("igst", interState ? tax.toPlainString() : "0");
+            invoice.put("cgst", interState ? "0" : half.toPlainString());
+            invoice.put("sgst", interState ? "0" : half.toPlainString());
+            invoice.put("cess", "0");
+            invoice.put("rate", "18");
+            outward.add(invoice);
+            taxable = taxable.add(value);
+            igst = interState ? igst.add(tax) : igst;
+            cgst = interState ? cgst : cgst.add(half);
+        }
+
+        Map<String, Object> gstr1 = new LinkedHashMap<>();
+        gstr1.put("gstin", GSTIN);
+        gstr1.put("arn_date", TAX_PERIOD.plusMonths(1).atDay(14).toString());
+        gstr1.put("tax_period", period);
+        gstr1.put("invoices", outward);
+        gstr1.put("liability_summary", Map.of(
+                "total_taxable_value", taxable.toPlainString(),
+                "total_igst", igst.toPlainString(),
+                "total_cgst", cgst.toPlainString(),
+                "total_sgst_utgst", cgst.toPlainString(),
+                "total_cess", "0"));
+
+        Map<String, Object> taxPayable = Map.of(
+                "igst", igst.toPlainString(), "cgst", cgst.toPlainString(),
+                "sgst_utgst", cgst.add(BigDecimal.TEN).toPlainString(), "cess", "0");
+        Map<String, Object> gstr3b = new LinkedHashMap<>();
+        gstr3b.put("gstin", GSTIN);
+        gstr3b.put("tax_period", period);
+        gstr3b.put("arn_date", TAX_PERIOD.plusMonths(1).atDay(24).toString());
+        gstr3b.put("filing_date", TAX_PERIOD.plusMonths(1).atDay(24).toString());
+        gstr3b.put("cgst_cash_paid", cgst.movePointLeft(1).toPlainString());
+        gstr3b.put("sgst_cash_paid", cgst.movePointLeft(1).toPlainString());
+        gstr3b.put("igst_cash_paid", igst.movePointLeft(1).toPlainString());
+        gstr3b.put("table_3_1", Map.of(
+                "outward_taxable", Map.of("taxable_value", taxable.toPlainString()),
+                "inward_rcm", Map.of("igst", "1800.00", "cgst", "0", "sgst_utgst", "0", "cess", "0")));
+        gstr3b.put("table_6_1", Map.of(
+                "tax_payable", taxPayable,
+                "paid_in_cash", Map.of("igst", igst.movePointLeft(2).toPlainString(),
+                        "cgst", "0", "sgst_utgst", "0", "cess", "0")));
+
+        Map<String, Object> gstr9 = new LinkedHashMap<>();
+        gstr9.put("gstin", GSTIN);
+        gstr9.put("arn_date", "2026-01-15");
+        gstr9.put("financial_year", AuditContext.deriveFinancialYear(AS_ON_DATE));
+        gstr9.put("table_4", Map.of("igst", igst.toPlainString(), "cgst", cgst.toPlainString(),
+                "sgst", cgst.toPlainString(), "cess", "0"));
+        gstr9.put("table_9", Map.of(
+                "tax_paid_cash", Map.of("igst", "0", "cgst", "0", "sgst", "0", "cess", "0"),
+                "tax_paid_itc", Map.of("igst", igst.toPlainString(), "cgst", cgst.toPlainString(),
+                        "sgst", cgst.toPlainString(), "cess", "0")));
+
+        Map<String, Object> gstr2b = Map.of("gstin", GSTIN, "itc_rows", toMaps(itc.gstr2bRows()));
+        Map<String, Object> purchaseRegister = Map.of("gstin", GSTIN, "purchase_register",
+                toMaps(itc.purchaseRegisterRows()));
+        Map<String, Object> gstr2a = Map.of("gstin", GSTIN, "suppliers", suppliers(itc.gstr2bRows()));
+
+        List<AuditDocument> documents = List.of(
+                document(DocumentType.GSTR_1, "GSTR1.pdf", gstr1),
+                document(DocumentType.GSTR_3B, "GSTR3B.pdf", gstr3b),
+                document(DocumentType.GSTR_9, "GSTR9.pdf", gstr9),
+                document(DocumentType.GSTR_2A, "GSTR2A.json", gstr2a),
+                document(DocumentType.GSTR_2B, "GSTR2B.json", gstr2b),
+                document(DocumentType.PURCHASE_REGISTER, "PurchaseRegister.xlsx", purchaseRegister));
+
+        return AuditContext.forAnalysis("bench-tenant", "bench-user", AS_ON_DATE,
+                AnalysisMode.GSTR_RULES_ANALYSIS, documents, AuditUserParams.defaults(), SharedResources.empty());
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private static PurchaseRegisterRow purchaseRow(SplittableRandom random, int i) {
+        BigDecimal taxable = BigDecimal.valueOf(random.nextLong(100_000, 10_000_000), 2);
+        BigDecimal tax = taxable.multiply(new BigDecimal("0.18")).setScale(2, RoundingMode.HALF_UP);
+        boolean interState = random.nextBoolean();
+        BigDecimal half = tax.divide(BigDecimal.TWO, 2, RoundingMode.HALF_UP);
+        String supplier = STATES[random.nextInt(STATES.length)] + "AAAPL%04dC1Z%d".formatted(i % 9_973, i % 10);
+        return new PurchaseRegisterRow(
+                supplier,
+                "INV/" + (i / 1_000) + "/" + i,
+                TAX_PERIOD.minusMonths(random.nextInt(14)).atDay(1 + random.nextInt(28)),
+                taxable,
+                interState ? tax : BigDecimal.ZERO.setScale(2),
+                interState ? BigDecimal.ZERO.setScale(2) : half,
+                interState ? BigDecimal.ZERO.setScale(2) : half,
+                BigDecimal.ZERO.setScale(2),
+                random.nextInt(40) == 0);
+    }
+
+    private static List<Map<String, Object>> toMaps(List<PurchaseRegisterRow> rows) {
+        List<Map<String, Object>> maps = new ArrayList<>(rows.size());
+        for (PurchaseRegisterRow r : rows) {
+            Map<String, Object> m = new HashMap<>();
+            m.put("supplier_gstin", r.supplierGstin());
+            m.put("invoice_no", r.invoiceNo());
+            m.put("invoice_date", r.invoiceDate().toString());
+            m.put("taxable_value", r.taxableValue().toPlainString());
+            m.put("igst", r.igst().toPlainString());
+            m.put("cgst", r.cgst().toPlainString());
+            m.put("sgst", r.sgst().toPlainString());
+            m.put("cess", r.cess().toPlainString());
+            m.put("rcm_flag", r.rcmFlag());
+            maps.add(m);
+        }
+        return maps;
+    }
+
+    private static List<Map<String, Object>> suppliers(List<PurchaseRegisterRow> rows) {
+        Map<String, List<Map<String, Object>>> bySupplier = new LinkedHashMap<>();
+        for (PurchaseRegisterRow r : rows) {
+            bySupplier.computeIfAbsent(r.supplierGstin(), k -> new ArrayList<>()).add(Map.of(
+                    "taxable_value", r.taxableValue().toPlainString(),
+                    "igst", r.igst().toPlainString(),
+                    "cgst", r.cgst().toPlainString(),
+                    "sgst", r.sgst().toPlainString(),
+                    "cess", r.cess().toPlainString(),
+                    "reverse_charge", r.rcmFlag() ? "Y" : "N"));
+        }
+        List<Map<String, Object>> suppliers = new ArrayList<>(bySupplier.size());
+        bySupplier.forEach((gstin, invoices) -> suppliers.add(Map.of(
+                "supplier_gstin", gstin, "supplier_name", "Supplier " + gstin, "invoices", invoices)));
+        return suppliers;
+    }
+
+    private static AuditDocument document(DocumentType type, String filename, Map<String, Object> fields) {
+        return new AuditDocument(type, filename, null, fields, TAX_PERIOD, GSTIN);
+    }
+}
@@ -0,0 +1,177 @@
+package com.learning.benchmarks.data;
+
+import com.learning.backendservice.domain.ledger.LedgerEntry;
+import com.learning.backendservice.domain.ledger.LedgerEntry.LedgerEntryType;
+import com.learning.backendservice.domain.rule37.LedgerResult;
+import com.learning.backendservice.domain.rule37.Rule37InterestCalculationService;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic purchase ledgers for the Rule 37 benchmarks.
+ *
+ * <p>Each supplier gets roughly three purchases per payment over a financial year, with
+ * payments covering about 85% of purchases so that a share of invoices stays unpaid past
+ * 180 days. Suppliers are named {@code SUPPLIER-0001…}; the same seed always yields the
+ * same ledger.
+ */
+public final class LedgerFixtures {
+
+    /** Rows per supplier when the caller does not fix the supplier count. */
+    public static final int ROWS_PER_SUPPLIER = 100;
+
+    private static final LocalDate FY_START = LocalDate.of(2024, 4, 1);
+    private static final int FY_DAYS = 365;
+    /** Excel serial date of 1899-12-30, the epoch of Excel's date system. */
+    private static final LocalDate EXCEL_EPOCH = LocalDate.of(1899, 12, 30);
+
+    private LedgerFixtures() {
+    }
+
+    /** Supplier count for {@code rows} entries at {@link #ROWS_PER_SUPPLIER}, at least one. */
+    public static int suppliersFor(int rows) {
+        return Math.max(1, rows / ROWS_PER_SUPPLIER);
+    }
+
+    /**
+     * Ledger entries in file order: suppliers interleaved, dates ascending per supplier.
+     *
+     * @param rows      total entry count (1k–1M)
+     * @param suppliers distinct supplier count
+     */
+    public static List<LedgerEntry> entries(int rows, int suppliers, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<LedgerEntry> entries = new ArrayList<>(rows);
+        int[] dayCursor = new int[suppliers];
+        for (int i = 0; i < rows; i++) {
+            int s = i % suppliers;
+            dayCursor[s] = Math.min(FY_DAYS - 1, dayCursor[s] + random.nextInt(0, 8));
+            boolean payment = random.nextInt(4) == 0;
+            // Payments are larger than invoices so that ~85% of purchase value is settled
+            long paise = payment ? random.nextLong(150_000, 7_500_000) : random.nextLong(50_000, 3_000_000);
+            entries.add(LedgerEntry.builder()
+                    .date(FY_START.plusDays(dayCursor[s]))
+                    .invoiceNumber((payment ? "PAY-" : "INV-") + i)
+                    .entryType(payment ? LedgerEntryType.PAYMENT : LedgerEntryType.PURCHASE)
+                    .supplier(supplierName(s))
+                    .amount(BigDecimal.valueOf(paise, 2))
+                    .build());
+        }
+        return entries;
+    }
+
+    /** Rule 37 results for the export benchmark, one ledger file per {@code ledgers}. */
+    public static List<LedgerResult> ledgerResults(int rows, int ledgers, long seed) {
+        Rule37InterestCalculationService calculator = new Rule37InterestCalculationService();
+        LocalDate asOnDate = FY_START.plusYears(1).minusDays(1);
+        List<LedgerResult> results = new ArrayList<>(ledgers);
+        int perLedger = Math.max(1, rows / ledgers);
+        for (int l = 0; l < ledgers; l++) {
+            List<LedgerEntry> entries = entries(perLedger, suppliersFor(perLedger), seed + l);
+            results.add(LedgerResult.builder()
+                    .ledgerName("Creditors-" + (l + 1) + ".xlsx")
+                    .summary(calculator.calculate(entries, asOnDate))
+                    .build());
+        }
+        return results;
+    }
+
+    /**
+     * Single-ledger {@code .xlsx} with a clean header row:
+     * {@code Date | Vch No. | Debit | Credit | Supplier}.
+     */
+    public static byte[] singleLedgerXlsx(int rows, int suppliers, long seed) {
+        List<LedgerEntry> entries = entries(rows, suppliers, seed);
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(1_000)) {
+            Sheet sheet = workbook.createSheet("Ledger");
+            writeRow(sheet.createRow(0), "Date", "Vch No.", "Debit", "Credit", "Supplier");
+            int r = 1;
+            for (LedgerEntry e : entries) {
+                writeEntry(sheet.createRow(r++), e, e.getSupplier());
+            }
+            return toBytes(workbook);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write synthetic ledger", e);
+        }
+    }
+
+    /**
+     * Tally "Group Summary of Creditors" export: one {@code Ledger:} section per supplier,
+     * each with an address row, a sub-header and its data rows.
+     */
+    public static byte[] multiLedgerXlsx(int rows, int suppliers, long seed) {
+        List<LedgerEntry> entries = entries(rows, suppliers, seed);
+        List<List<LedgerEntry>> bySupplier = new ArrayList<>(suppliers);
+        for (int s = 0; s < suppliers; s++) {
+            bySupplier.add(new ArrayList<>());
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            bySupplier.get(i % suppliers).add(entries.get(i));
+        }
+
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(1_000)) {
+            Sheet sheet = workbook.createSheet("Creditors");
+            int r = 0;
+            writeRow(sheet.createRow(r++), "Benchmark Traders Pvt Ltd");
+            writeRow(sheet.createRow(r++), "1-Apr-24 to 31-Mar-25");
+            for (int s = 0; s < suppliers; s++) {
+                writeRow(sheet.createRow(r++), "Ledger:", supplierName(s), "1-Apr-24 to 31-Mar-25");
+                writeRow(sheet.createRow(r++), "", "Plot " + s + ", Industrial Area");
+                writeRow(sheet.createRow(r++), "Date", "Particulars", "", "Vch Type", "Vch No.", "Debit", "Credit");
+                for (LedgerEntry e : bySupplier.get(s)) {
+                    Row row = sheet.createRow(r++);
+                    boolean payment = e.getEntryType() == LedgerEntryType.PAYMENT;
+                    row.createCell(0).setCellValue(excelSerial(e.getDate()));
+                    row.createCell(1).setCellValue(payment ? "To" : "By");
+                    row.createCell(2).setCellValue(payment ? "HDFC Bank" : "Purchases 18%");
+                    row.createCell(3).setCellValue(payment ? "Payment" : "Purchase");
+                    row.createCell(4).setCellValue(e.getInvoiceNumber());
+                    row.createCell(payment ? 5 : 6).setCellValue(e.getAmount().doubleValue());
+                }
+            }
+            return toBytes(workbook);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write synthetic ledger", e);
+        }
+    }
+
+    private static String supplierName(int index) {
+        return "SUPPLIER-%04d".formatted(index + 1);
+    }
+
+    private static double excelSerial(LocalDate date) {
+        return date.toEpochDay() - EXCEL_EPOCH.toEpochDay();
+    }
+
+    private static void writeEntry(Row row, LedgerEntry e, String supplier) {
+        row.createCell(0).setCellValue(excelSerial(e.getDate()));
+        row.createCell(1).setCellValue(e.getInvoiceNumber());
+        row.createCell(e.getEntryType() == LedgerEntryType.PAYMENT ? 2 : 3).setCellValue(e.getAmount().doubleValue());
+        row.createCell(4).setCellValue(supplier);
+    }
+
+    private static void writeRow(Row row, String... values) {
+        for (int c = 0; c < values.length; c++) {
+            row.createCell(c).setCellValue(values[c]);
+        }
+    }
+
+    private static byte[] toBytes(SXSSFWorkbook workbook) throws IOException {
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            workbook.write(out);
+            return out.toByteArray();
+        } finally {
+            workbook.dispose();
+        }
+    }
+}
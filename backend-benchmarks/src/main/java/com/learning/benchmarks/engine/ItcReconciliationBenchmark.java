@@ -0,0 +1,50 @@
+package com.learning.benchmarks.engine;
+
+import com.learning.backendservice.domain.itc.ItcRecoInput;
+import com.learning.backendservice.domain.itc.ItcRecoResult;
+import com.learning.backendservice.domain.itc.ItcReconciliationService;
+import com.learning.benchmarks.data.GstrFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ItcReconciliationService#reconcile} of a purchase register against GSTR-2B,
+ * with the exact / fuzzy / missing mix described in {@link GstrFixtures#itcInput}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class ItcReconciliationBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int rows;
+
+    private ItcReconciliationService service;
+    private ItcRecoInput input;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = new ItcReconciliationService();
+        input = GstrFixtures.itcInput(rows, 42);
+    }
+
+    @Benchmark
+    public ItcRecoResult reconcile() {
+        return service.reconcile(input);
+    }
+}
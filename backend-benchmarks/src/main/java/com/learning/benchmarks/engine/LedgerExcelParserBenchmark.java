@@ -0,0 +1,59 @@
+package com.learning.benchmarks.engine;
+
+import com.learning.backendservice.domain.ledger.LedgerEntry;
+import com.learning.backendservice.domain.ledger.LedgerExcelParser;
+import com.learning.benchmarks.data.LedgerFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LedgerExcelParser#parse} over in-memory {@code .xlsx} files.
+ *
+ * <p>{@code rows=20000} is the parser's per-file entry cap; {@code multi} is a Tally
+ * creditor export with one {@code Ledger:} section per 100 rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class LedgerExcelParserBenchmark {
+
+    @Param({"1000", "20000"})
+    private int rows;
+
+    @Param({"single", "multi"})
+    private String layout;
+
+    private LedgerExcelParser parser;
+    private byte[] workbook;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        parser = new LedgerExcelParser();
+        int suppliers = LedgerFixtures.suppliersFor(rows);
+        workbook = "multi".equals(layout)
+                ? LedgerFixtures.multiLedgerXlsx(rows, suppliers, 42)
+                : LedgerFixtures.singleLedgerXlsx(rows, suppliers, 42);
+    }
+
+    @Benchmark
+    public List<LedgerEntry> parse() {
+        return parser.parse(new ByteArrayInputStream(workbook), "Creditors.xlsx");
+    }
+}
@@ -0,0 +1,136 @@
+package com.learning.benchmarks.engine;
+
+import com.learning.backendservice.engine.AuditContext;
+import com.learning.backendservice.engine.AuditRule;
+import com.learning.backendservice.engine.AuditRuleRegistry;
+import com.learning.backendservice.engine.InputResolver;
+import com.learning.backendservice.engine.InputResolverRegistry;
+import com.learning.backendservice.engine.PipelineExecutor;
+import com.learning.backendservice.engine.PipelineResult;
+import com.learning.backendservice.engine.RuleResolutionEngine;
+import com.learning.backendservice.engine.resolvers.Gstr1LateFeeInputResolver;
+import com.learning.backendservice.engine.resolvers.Gstr1Vs3bReconciliationInputResolver;
+import com.learning.backendservice.engine.resolvers.Gstr1Vs3bVs9InputResolver;
+import com.learning.backendservice.engine.resolvers.Gstr3bInterestInputResolver;
+import com.learning.backendservice.engine.resolvers.Gstr3bLateFeeInputResolver;
+import com.learning.backendservice.engine.resolvers.Gstr9LateFeeInputResolver;
+import com.learning.backendservice.engine.resolvers.ItcReco2bInputResolver;
+import com.learning.backendservice.engine.resolvers.LateReportingGstr1InputResolver;
+import com.learning.backendservice.engine.resolvers.PosValidationGstr1InputResolver;
+import com.learning.backendservice.engine.resolvers.RcmReco3bInputResolver;
+import com.learning.backendservice.engine.resolvers.Rule86bInputResolver;
+import com.learning.backendservice.engine.resolvers.Section16_4InputResolver;
+import com.learning.backendservice.engine.resolvers.SupplierRiskInputResolver;
+import com.learning.backendservice.engine.rules.Gstr1LateFeeAuditRule;
+import com.learning.backendservice.engine.rules.Gstr1Vs3bReconciliationRule;
+import com.learning.backendservice.engine.rules.Gstr1Vs3bVs9ReconciliationRule;
+import com.learning.backendservice.engine.rules.Gstr3bInterestAuditRule;
+import com.learning.backendservice.engine.rules.Gstr3bLateFeeAuditRule;
+import com.learning.backendservice.engine.rules.Gstr9LateFeeAuditRule;
+import com.learning.backendservice.engine.rules.ItcReco2bRule;
+import com.learning.backendservice.engine.rules.LateReportingGstr1Rule;
+import com.learning.backendservice.engine.rules.PosValidationGstr1AuditRule;
+import com.learning.backendservice.engine.rules.RcmReco3bRule;
+import com.learning.backendservice.engine.rules.Rule86bAuditRule;
+import com.learning.backendservice.engine.rules.Section16_4AuditRule;
+import com.learning.backendservice.engine.rules.SupplierRiskAuditRule;
+import com.learning.benchmarks.data.GstrFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PipelineExecutor#execute} over every GSTR rules analysis rule, wired without
+ * Spring: the rules and resolvers are built with their default constructors and selected
+ * by {@link RuleResolutionEngine} exactly as {@code AuditRunOrchestrator} does.
+ *
+ * <p>Fails setup if any rule does not complete, so a fixture drift cannot silently turn
+ * the benchmark into a measurement of error handling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class PipelineExecutorBenchmark {
+
+    /** Matches the {@code app.audit.pipeline.rule-parallelism} default. */
+    private static final int RULE_PARALLELISM = 8;
+
+    @Param({"1000", "10000", "100000"})
+    private int invoices;
+
+    @Param({"sequential", "parallel"})
+    private String mode;
+
+    private ExecutorService pool;
+    private PipelineExecutor executor;
+    private List<AuditRule<?, ?>> rules;
+    private AuditContext context;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<AuditRule<?, ?>> allRules = List.of(
+                new Gstr1LateFeeAuditRule(), new Gstr3bLateFeeAuditRule(), new Gstr3bInterestAuditRule(),
+                new Gstr9LateFeeAuditRule(), new LateReportingGstr1Rule(), new PosValidationGstr1AuditRule(),
+                new Gstr1Vs3bReconciliationRule(), new Gstr1Vs3bVs9ReconciliationRule(), new ItcReco2bRule(),
+                new RcmReco3bRule(), new Rule86bAuditRule(), new Section16_4AuditRule(), new SupplierRiskAuditRule());
+        List<InputResolver<?>> resolvers = List.of(
+                new Gstr1LateFeeInputResolver(), new Gstr3bLateFeeInputResolver(), new Gstr3bInterestInputResolver(),
+                new Gstr9LateFeeInputResolver(), new LateReportingGstr1InputResolver(),
+                new PosValidationGstr1InputResolver(), new Gstr1Vs3bReconciliationInputResolver(),
+                new Gstr1Vs3bVs9InputResolver(), new ItcReco2bInputResolver(), new RcmReco3bInputResolver(),
+                new Rule86bInputResolver(), new Section16_4InputResolver(), new SupplierRiskInputResolver());
+
+        context = GstrFixtures.gstrContext(invoices, 42);
+        rules = new RuleResolutionEngine(new AuditRuleRegistry(allRules)).resolveExecutableRules(context);
+        InputResolverRegistry registry = new InputResolverRegistry(resolvers);
+        if ("parallel".equals(mode)) {
+            pool = Executors.newFixedThreadPool(RULE_PARALLELISM);
+            executor = new PipelineExecutor(registry, pool, RULE_PARALLELISM);
+        } else {
+            executor = new PipelineExecutor(registry);
+        }
+
+        PipelineResult probe = executor.execute(rules, context);
+        probe.ruleResults().stream()
+                .filter(r -> !"SUCCESS".equals(r.status()))
+                .findFirst()
+                .ifPresent(r -> {
+                    throw new IllegalStateException("Rule " + r.ruleId() + " did not succeed on the fixture: "
+                            + r.errorMessage());
+                });
+        if (rules.size() != allRules.size()) {
+            throw new IllegalStateException("Only " + rules.size() + " of " + allRules.size()
+                    + " GSTR rules are executable on the fixture");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public PipelineResult execute() {
+        return executor.execute(rules, context);
+    }
+}
@@ -0,0 +1,80 @@
+package com.learning.benchmarks.engine;
+
+import com.learning.backendservice.domain.ledger.LedgerEntry;
+import com.learning.backendservice.domain.rule37.CalculationSummary;
+import com.learning.backendservice.domain.rule37.Rule37InterestCalculationService;
+import com.learning.benchmarks.data.LedgerFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Rule37InterestCalculationService#calculate} FIFO matching, sequential and with
+ * four supplier workers (the {@code app.upload.supplier-parallelism} default). The
+ * {@code single} supplier mix puts every entry on one supplier, the worst case for
+ * per-supplier matching; its score should grow linearly with {@code rows}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class Rule37CalculationBenchmark {
+
+    private static final int SUPPLIER_PARALLELISM = 4;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"sequential", "parallel"})
+    private String mode;
+
+    @Param({"spread", "single"})
+    private String suppliers;
+
+    private ExecutorService pool;
+    private Rule37InterestCalculationService calculator;
+    private List<LedgerEntry> entries;
+    private final LocalDate asOnDate = LocalDate.of(2025, 3, 31);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int supplierCount = "single".equals(suppliers) ? 1 : LedgerFixtures.suppliersFor(rows);
+        entries = LedgerFixtures.entries(rows, supplierCount, 42);
+        if ("parallel".equals(mode)) {
+            pool = Executors.newFixedThreadPool(SUPPLIER_PARALLELISM);
+            calculator = new Rule37InterestCalculationService(pool, SUPPLIER_PARALLELISM);
+        } else {
+            calculator = new Rule37InterestCalculationService();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public CalculationSummary calculate() {
+        return calculator.calculate(entries, asOnDate);
+    }
+}
@@ -0,0 +1,55 @@
+package com.learning.benchmarks.engine;
+
+import com.learning.backendservice.domain.rule37.LedgerResult;
+import com.learning.backendservice.service.export.Rule37ExcelExportStrategy;
+import com.learning.benchmarks.data.LedgerFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Rule37ExcelExportStrategy#generate} of the Rule 37 workbook for ledger results
+ * split across five uploaded files, for the issues-only and complete report types.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+public class Rule37ExcelExportBenchmark {
+
+    private static final int LEDGER_FILES = 5;
+
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    @Param({"issues", "complete"})
+    private String reportType;
+
+    private Rule37ExcelExportStrategy exporter;
+    private List<LedgerResult> results;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        exporter = new Rule37ExcelExportStrategy();
+        results = LedgerFixtures.ledgerResults(rows, LEDGER_FILES, 42);
+    }
+
+    @Benchmark
+    public byte[] generate() {
+        return exporter.generate(results, "rule37-export.xlsx", reportType);
+    }
+}
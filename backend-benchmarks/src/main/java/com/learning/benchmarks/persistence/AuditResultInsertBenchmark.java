@@ -0,0 +1,169 @@
+package com.learning.benchmarks.persistence;
+
+import com.learning.backendservice.entity.AuditRun;
+import com.learning.backendservice.entity.AuditRunFinding;
+import com.learning.backendservice.repository.AuditResultBulkWriter;
+import com.learning.backendservice.util.UuidV7;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert rate of one run's findings into PostgreSQL, in one transaction that is rolled
+ * back afterwards so the table does not grow across iterations.
+ *
+ * <ul>
+ *   <li>{@code merge} — what {@code findingRepository.saveAll} did: one {@code SELECT} per
+ *       service-assigned id, then inserts in batches of {@code hibernate.jdbc.batch_size} (20).</li>
+ *   <li>{@code batch} — {@link AuditResultBulkWriter} JDBC batches.</li>
+ *   <li>{@code copy} — {@link AuditResultBulkWriter} {@code COPY FROM STDIN}.</li>
+ * </ul>
+ *
+ * <p>Needs a scratch database, migrated on setup: {@code -Dbench.db.url=jdbc:postgresql://…}
+ * plus {@code bench.db.user} / {@code bench.db.password}. Insert rate = {@code findings} / score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class AuditResultInsertBenchmark {
+
+    private static final String INSERT_FINDING =
+            "INSERT INTO audit_findings (id, run_id, tenant_id, rule_id, severity, legal_basis, compliance_period, "
+                    + "impact_amount, description, recommended_action, auto_fix_available, created_at, run_expires_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int HIBERNATE_BATCH_SIZE = 20;
+
+    @Param({"10000", "100000"})
+    private int findings;
+
+    @Param({"merge", "batch", "copy"})
+    private String mode;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private AuditResultBulkWriter writer;
+    private AuditRun run;
+    private List<AuditRunFinding> rows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/gstbuddies_bench"));
+        dataSource.setUsername(System.getProperty("bench.db.user", "postgres"));
+        dataSource.setPassword(System.getProperty("bench.db.password", "postgres"));
+        dataSource.setMaximumPoolSize(2);
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        // No persistence context here: the writer's flush() has nothing to do
+        EntityManager noOpEntityManager = (EntityManager) Proxy.newProxyInstance(
+                EntityManager.class.getClassLoader(), new Class<?>[]{EntityManager.class}, (p, m, a) -> null);
+        writer = new AuditResultBulkWriter(noOpEntityManager, jdbcTemplate,
+                "copy".equals(mode) ? 0 : Integer.MAX_VALUE);
+
+        run = AuditRun.builder().id(UuidV7.generate()).tenantId("bench-tenant")
+                .expiresAt(OffsetDateTime.now().plusDays(7)).build();
+        rows = findings(run, findings, 42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int insert() {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.update("INSERT INTO audit_runs (id, tenant_id, user_id, status, expires_at) "
+                            + "VALUES (?, ?, ?, 'SUCCESS', ?)",
+                    run.getId(), run.getTenantId(), "bench-user", run.getExpiresAt());
+            if ("merge".equals(mode)) {
+                mergeInsert();
+            } else {
+                writer.insertFindings(rows);
+            }
+            status.setRollbackOnly();
+            return rows.size();
+        });
+    }
+
+    private void mergeInsert() {
+        for (int from = 0; from < rows.size(); from += HIBERNATE_BATCH_SIZE) {
+            List<AuditRunFinding> batch = rows.subList(from, Math.min(rows.size(), from + HIBERNATE_BATCH_SIZE));
+            for (AuditRunFinding f : batch) {
+                jdbcTemplate.queryForList("SELECT id FROM audit_findings WHERE id = ?", f.getId());
+            }
+            jdbcTemplate.batchUpdate(INSERT_FINDING, batch, HIBERNATE_BATCH_SIZE, (ps, f) -> {
+                ps.setObject(1, f.getId());
+                ps.setObject(2, run.getId());
+                ps.setString(3, f.getTenantId());
+                ps.setString(4, f.getRuleId());
+                ps.setString(5, f.getSeverity());
+                ps.setString(6, f.getLegalBasis());
+                ps.setString(7, f.getCompliancePeriod());
+                ps.setBigDecimal(8, f.getImpactAmount());
+                ps.setString(9, f.getDescription());
+                ps.setString(10, f.getRecommendedAction());
+                ps.setBoolean(11, f.getAutoFixAvailable());
+                ps.setObject(12, f.getCreatedAt());
+                ps.setObject(13, run.getExpiresAt());
+            });
+        }
+    }
+
+    /** Rule 37-shaped findings: one per unpaid invoice, ~200-byte descriptions. */
+    private static List<AuditRunFinding> findings(AuditRun run, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        OffsetDateTime now = OffsetDateTime.now();
+        List<AuditRunFinding> findings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BigDecimal impact = BigDecimal.valueOf(random.nextLong(10_000, 5_000_000), 2);
+            findings.add(AuditRunFinding.builder()
+                    .id(UuidV7.generate())
+                    .auditRun(run)
+                    .tenantId(run.getTenantId())
+                    .ruleId("RULE_37_ITC_REVERSAL")
+                    .severity(random.nextInt(4) == 0 ? "CRITICAL" : "HIGH")
+                    .legalBasis("Section 16(2) proviso, Rule 37 CGST Rules, 2017")
+                    .compliancePeriod("FY: 2024-25, Tax Period: Apr-2024")
+                    .impactAmount(impact)
+                    .description("Invoice INV-" + i + " from SUPPLIER-" + (i % 500)
+                            + " unpaid beyond 180 days; ITC of Rs. " + impact + " must be reversed with interest.")
+                    .recommendedAction("Reverse ITC in GSTR-3B Table 4(B)(2) and pay interest under Section 50.")
+                    .autoFixAvailable(false)
+                    .createdAt(now)
+                    .build());
+        }
+        return findings;
+    }
+}
@@ -0,0 +1,118 @@
+package com.learning.benchmarks.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.learning.backendservice.domain.rule37.LedgerResult;
+import com.learning.backendservice.entity.AuditRun;
+import com.learning.backendservice.service.AuditResultCodec;
+import com.learning.backendservice.util.UuidV7;
+import com.learning.benchmarks.data.LedgerFixtures;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Storage size and read latency of one Rule 37 run result, stored by {@link AuditResultCodec}
+ * as {@code jsonb} ({@code result_data}) or {@code smile_zstd} ({@code result_blob}).
+ *
+ * <p>Setup writes the run once and prints the stored size ({@code pg_column_size}, i.e.
+ * after TOAST compression) next to the JSON text size. The score is the latency of what
+ * {@code GET /api/v1/audit/runs/{id}} does with the result: select the columns and turn
+ * them into the JSON text of the response.
+ *
+ * <p>Needs a scratch database, migrated on setup: {@code -Dbench.db.url=jdbc:postgresql://…}
+ * plus {@code bench.db.user} / {@code bench.db.password}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class AuditResultStorageBenchmark {
+
+    private static final int LEDGERS = 5;
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    @Param({"jsonb", "smile_zstd"})
+    private String format;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private AuditResultCodec codec;
+    private UUID runId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/gstbuddies_bench"));
+        dataSource.setUsername(System.getProperty("bench.db.user", "postgres"));
+        dataSource.setPassword(System.getProperty("bench.db.password", "postgres"));
+        dataSource.setMaximumPoolSize(2);
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // Same date handling as the application's Spring-configured mapper
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        codec = new AuditResultCodec(objectMapper, "smile_zstd".equals(format), DataSize.ofBytes(0), 3);
+
+        List<LedgerResult> results = LedgerFixtures.ledgerResults(rows, LEDGERS, 42);
+        AuditRun run = AuditRun.builder().id(UuidV7.generate()).tenantId("bench-tenant").build();
+        codec.write(run, results);
+        runId = run.getId();
+        jdbcTemplate.update("INSERT INTO audit_runs (id, tenant_id, user_id, status, result_format, result_data, "
+                        + "result_blob) VALUES (?, ?, ?, 'SUCCESS', ?, ?::jsonb, ?)",
+                runId, run.getTenantId(), "bench-user", run.getResultFormat(), run.getResultData(),
+                run.getResultBlob());
+
+        Map<String, Object> stored = jdbcTemplate.queryForMap("SELECT COALESCE(pg_column_size(result_data), 0) "
+                + "+ COALESCE(pg_column_size(result_blob), 0) AS stored FROM audit_runs WHERE id = ?", runId);
+        System.out.printf("%n[%s, %d rows] JSON text %,d bytes, stored %,d bytes%n", format, rows,
+                objectMapper.writeValueAsString(results).length(), ((Number) stored.get("stored")).longValue());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM audit_runs WHERE id = ?", runId);
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int readJson() {
+        AuditRun run = jdbcTemplate.queryForObject(
+                "SELECT result_format, result_data::text, result_blob FROM audit_runs WHERE id = ?",
+                (rs, i) -> AuditRun.builder()
+                        .id(runId)
+                        .resultFormat(rs.getString(1))
+                        .resultData(rs.getString(2))
+                        .resultBlob(rs.getBytes(3))
+                        .build(),
+                runId);
+        return codec.readJson(run).length();
+    }
+}
@@ -0,0 +1,162 @@
+package com.learning.backendservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Bounded worker pools for CPU-heavy audit work: fan-out inside a request and
+ * execution of queued async jobs.
+ *
+ * <p>Every pool propagates the tenant context via {@link TenantContextTaskDecorator}
+ * and uses a bounded queue, so a burst of uploads queues or is rejected instead
+ * of spawning unbounded threads.
+ */
+@Configuration
+@Slf4j
+public class AuditExecutorConfig {
+
+    /**
+     * Pool for parsing + calculating individual ledger files of a multi-file
+     * Rule 37 upload. Sized by {@code app.upload.file-parallelism}; the queue holds
+     * one full batch for every concurrent upload permit.
+     */
+    @Bean(name = "ledgerFileExecutor")
+    public ThreadPoolTaskExecutor ledgerFileExecutor(UploadProperties uploadProperties) {
+        int threads = Math.max(1, uploadProperties.getFileParallelism());
+        int queueCapacity = uploadProperties.getMaxFiles() * uploadProperties.getMaxConcurrentUploads();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ledger-file-");
+        executor.setTaskDecorator(new TenantContextTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        log.info("Configured ledgerFileExecutor: threads={}, queueCapacity={}", threads, queueCapacity);
+        return executor;
+    }
+
+    /**
+     * Helper pool for the Rule 37 FIFO calculation of large ledgers, shared by all files
+     * being calculated. The calculating thread always works through the suppliers itself,
+     * so a saturated pool only lowers parallelism.
+     */
+    @Bean(name = "ledgerSupplierExecutor")
+    public ThreadPoolTaskExecutor ledgerSupplierExecutor(UploadProperties uploadProperties) {
+        int threads = Math.max(1, uploadProperties.getSupplierParallelism());
+        int queueCapacity = threads * 4;
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ledger-supplier-");
+        executor.setTaskDecorator(new TenantContextTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        log.info("Configured ledgerSupplierExecutor: threads={}, queueCapacity={}", threads, queueCapacity);
+        return executor;
+    }
+
+    /**
+     * Pool for independent audit rules of one pipeline run, shared by all concurrent
+     * runs. When the queue is full, {@code PipelineExecutor} runs the rule inline on the
+     * thread that scheduled it, so saturation degrades to sequential execution rather
+     * than failing the rule.
+     */
+    @Bean(name = "ruleExecutor")
+    public ThreadPoolTaskExecutor ruleExecutor(
+            @Value("${app.audit.pipeline.rule-parallelism:8}") int ruleParallelism) {
+        int threads = Math.max(1, ruleParallelism);
+        int queueCapacity = threads * 16;
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("audit-rule-");
+        executor.setTaskDecorator(new TenantContextTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        log.info("Configured ruleExecutor: threads={}, queueCapacity={}", threads, queueCapacity);
+        return executor;
+    }
+
+    /**
+     * Pool for parser-sidecar calls made while resolving uploaded documents. Its size,
+     * {@code app.parser.max-in-flight}, is the service-wide cap on concurrent sidecar
+     * requests; the queue holds one full upload for every concurrent upload permit.
+     */
+    @Bean(name = "documentResolveExecutor")
+    public ThreadPoolTaskExecutor documentResolveExecutor(
+            UploadProperties uploadProperties,
+            @Value("${app.parser.max-in-flight:4}") int maxInFlight) {
+        int threads = Math.max(1, maxInFlight);
+        int queueCapacity = uploadProperties.getMaxFiles() * uploadProperties.getMaxConcurrentUploads();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("doc-resolve-");
+        executor.setTaskDecorator(new TenantContextTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        log.info("Configured documentResolveExecutor: threads={}, queueCapacity={}", threads, queueCapacity);
+        return executor;
+    }
+
+    /**
+     * Pool for GST portal lookups on {@code GstinStatusCache} misses and refreshes. Its size,
+     * {@code app.portal.gstin-cache.fetch-parallelism}, caps concurrent portal calls; the
+     * queue holds the misses of several large 2A/2B supplier lists.
+     */
+    @Bean(name = "portalLookupExecutor")
+    public ThreadPoolTaskExecutor portalLookupExecutor(
+            @Value("${app.portal.gstin-cache.fetch-parallelism:8}") int fetchParallelism) {
+        int threads = Math.max(1, fetchParallelism);
+        int queueCapacity = 10_000;
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("portal-lookup-");
+        executor.setTaskDecorator(new TenantContextTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+
+        log.info("Configured portalLookupExecutor: threads={}, queueCapacity={}", threads, queueCapacity);
+        return executor;
+    }
+
+    /**
+     * Pool that runs queued async audit jobs. One thread per
+     * {@code app.audit.jobs.workers}; the worker never claims more jobs than it has
+     * idle threads, so the queue only absorbs the hand-off.
+     */
+    @Bean(name = "auditJobExecutor")
+    public ThreadPoolTaskExecutor auditJobExecutor(AuditJobProperties jobProperties) {
+        int threads = Math.max(1, jobProperties.getWorkers());
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads);
+        executor.setThreadNamePrefix("audit-job-");
+        executor.setTaskDecorator(new TenantContextTaskDecorator());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+
+        log.info("Configured auditJobExecutor: threads={}", threads);
+        return executor;
+    }
+}
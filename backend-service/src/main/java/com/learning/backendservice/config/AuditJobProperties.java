@@ -0,0 +1,98 @@
+package com.learning.backendservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for async audit jobs ({@code POST /api/v1/audit/analyze?async=true}).
+ *
+ * <p>The spool directory must be shared between replicas (or the service run
+ * as a single replica) because any replica's worker may claim a queued job. It has
+ * no default: a replica with the worker enabled refuses to start without one.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.audit.jobs")
+public class AuditJobProperties {
+
+    private boolean workerEnabled = true;
+    private int workers = 4;
+    private String spoolDir;
+    private int maxAttempts = 3;
+    private Duration heartbeatInterval = Duration.ofSeconds(30);
+    private Duration staleAfter = Duration.ofMinutes(5);
+    private Duration maxLongPoll = Duration.ofSeconds(30);
+
+    /**
+     * Whether this replica claims and executes queued jobs. Submissions and
+     * status endpoints work either way.
+     */
+    public boolean isWorkerEnabled() {
+        return workerEnabled;
+    }
+
+    public void setWorkerEnabled(boolean workerEnabled) {
+        this.workerEnabled = workerEnabled;
+    }
+
+    /** Jobs executed at the same time on this replica. */
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    /**
+     * Directory uploads of queued jobs are spooled to, e.g. a mount every replica sees.
+     * Unset means this replica cannot accept or execute async jobs.
+     */
+    public String getSpoolDir() {
+        return spoolDir;
+    }
+
+    public void setSpoolDir(String spoolDir) {
+        this.spoolDir = spoolDir;
+    }
+
+    /** Claims allowed per job before a repeatedly crashing job is marked FAILED. */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    /** How often a worker refreshes the heartbeat of the jobs it is executing. */
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    /**
+     * A RUNNING job without a heartbeat for this long is assumed orphaned by a dead worker.
+     * Keep it several heartbeat intervals long so a slow tick does not requeue a live job.
+     */
+    public Duration getStaleAfter() {
+        return staleAfter;
+    }
+
+    public void setStaleAfter(Duration staleAfter) {
+        this.staleAfter = staleAfter;
+    }
+
+    /** Upper bound for the {@code waitSeconds} of the long-poll status endpoint. */
+    public Duration getMaxLongPoll() {
+        return maxLongPoll;
+    }
+
+    public void setMaxLongPoll(Duration maxLongPoll) {
+        this.maxLongPoll = maxLongPoll;
+    }
+}
@@ -1,8 +1,10 @@
 package com.learning.backendservice.config;
 
 import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityManagerFactory;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
 import org.springframework.context.annotation.Bean;
@@ -18,7 +20,8 @@ import javax.sql.DataSource;
 
 /**
  * Simplified data source configuration for backend-service (lite version).
- * Single datasource - no multi-tenancy.
+ * Single database - no multi-tenancy; read-only transactions may be served by a
+ * streaming replica (see {@link ReadReplicaRouter}).
  */
 @Configuration
 @EnableTransactionManagement
@@ -37,10 +40,16 @@ public class DataSourceConfig {
 
     /**
      * Primary DataSource for backend-service.
+     *
+     * <p>Pool metrics ({@code hikaricp.connections.pending}, {@code .acquire} = time waiting
+     * for a connection, {@code .usage} = time a connection is held) are registered before the
+     * pool starts, so Flyway's first connection does not seal the pool without them.
+     * With {@code app.datasource.replica.url} set, the pool is wrapped so read-only
+     * transactions can go to the replica instead.
      */
     @Bean
     @Primary
-    public DataSource dataSource() {
+    public DataSource dataSource(ObjectProvider<MeterRegistry> meterRegistry, ReadReplicaRouter replicaRouter) {
         log.info("Configuring data source: {}", jdbcUrl);
 
         HikariDataSource dataSource = new HikariDataSource();
@@ -53,8 +62,11 @@ public class DataSourceConfig {
         dataSource.setIdleTimeout(600000);
         dataSource.setMaxLifetime(1800000);
         dataSource.setPoolName("backend-service-pool");
+        // Lets the driver collapse JDBC batches into multi-row INSERTs (AuditResultBulkWriter)
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
+        meterRegistry.ifAvailable(dataSource::setMetricRegistry);
 
-        return dataSource;
+        return replicaRouter.route(dataSource);
     }
 
     /**
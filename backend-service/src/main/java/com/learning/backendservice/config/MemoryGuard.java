@@ -1,18 +1,36 @@
 package com.learning.backendservice.config;
 
+import com.learning.backendservice.exception.TooManyRequestsException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 /**
  * Pre-flight memory estimator for upload requests.
  * <p>
- * Estimates peak memory usage based on file sizes and Apache POI's DOM-based
- * XSSFWorkbook amplification factor (~7x raw file size). Rejects requests that
- * would risk OutOfMemoryError before any parsing begins.
+ * Estimates peak memory usage based on file sizes and the parser each file will
+ * hit: {@code .xlsx} ledgers are read by the streaming
+ * {@link com.learning.backendservice.domain.ledger.StreamingLedgerExcelParser}
+ * (~1x raw file size plus the shared-strings table it keeps in heap), everything
+ * else is budgeted at Apache POI's DOM-based workbook amplification factor (~7x). Rejects requests that would risk
+ * OutOfMemoryError before any parsing begins.
+ * </p>
+ * <p>
+ * In addition to the per-request check, {@link #reserve(MultipartFile)} hands out
+ * slices of a process-wide heap budget (MB-denominated semaphore). Files parsed in
+ * parallel — within one upload or across concurrent uploads — hold a reservation
+ * while in flight, so the combined estimate can never exceed the budget even when
+ * the upload semaphore admits several requests at once.
  * </p>
  *
  * @see com.learning.backendservice.service.LedgerUploadOrchestrator
@@ -29,12 +47,51 @@ public class MemoryGuard {
      */
     private static final int POI_MEMORY_MULTIPLIER = 7;
 
+    /**
+     * SAX/event-model parsing of OOXML workbooks: the sheet is read row by row from a
+     * temp file, so apart from the shared-strings table the heap only holds the parsed
+     * entries.
+     */
+    private static final int STREAMING_MEMORY_MULTIPLIER = 1;
+
+    /**
+     * {@code ReadOnlySharedStringsTable} loads every string of the workbook into heap.
+     * Budgeted per byte of the uncompressed {@code xl/sharedStrings.xml} part: one byte
+     * per Latin-1 character plus a String and list slot per entry, offset by the XML
+     * markup that is not kept.
+     */
+    private static final int SHARED_STRINGS_MEMORY_MULTIPLIER = 2;
+
+    private static final String SHARED_STRINGS_PART = "xl/sharedStrings.xml";
+
     /**
      * Reserve 30% of available heap for concurrent operations (DB queries,
      * JSON serialization, GC overhead, other request threads).
      */
     private static final double HEADROOM_FACTOR = 0.30;
 
+    /**
+     * How long a file waits for heap budget before the request is rejected with 429.
+     */
+    private static final long RESERVE_TIMEOUT_SECONDS = 60;
+
+    private static final long MB = 1024 * 1024;
+
+    private final int heapBudgetMb;
+    private final Semaphore heapBudget;
+
+    public MemoryGuard() {
+        this(Runtime.getRuntime().maxMemory());
+    }
+
+    /**
+     * @param maxHeapBytes heap size the shared budget is derived from (tests pass a fixed size)
+     */
+    public MemoryGuard(long maxHeapBytes) {
+        this.heapBudgetMb = (int) Math.max(1, (long) (maxHeapBytes * (1 - HEADROOM_FACTOR)) / MB);
+        this.heapBudget = new Semaphore(heapBudgetMb, true);
+    }
+
     /**
      * Estimates peak memory usage for the given files and rejects
      * if it would exceed the safe memory budget.
@@ -47,7 +104,10 @@ public class MemoryGuard {
                 .mapToLong(MultipartFile::getSize)
                 .sum();
 
-        long estimatedPeakMB = (totalBytes * POI_MEMORY_MULTIPLIER) / (1024 * 1024);
+        long estimatedPeakBytes = files.stream()
+                .mapToLong(MemoryGuard::estimatedPeakBytes)
+                .sum();
+        long estimatedPeakMB = estimatedPeakBytes / (1024 * 1024);
 
         Runtime rt = Runtime.getRuntime();
         long maxMem = rt.maxMemory();
@@ -72,4 +132,95 @@ public class MemoryGuard {
                             + "Please upload fewer or smaller files per request.");
         }
     }
+
+    /**
+     * Reserves this file's estimated peak heap from the shared budget, blocking until
+     * enough is released by other in-flight files. A single file larger than the whole
+     * budget reserves the whole budget, so it still runs — alone.
+     *
+     * @param file the file about to be parsed
+     * @return reservation to close once the file's parse/calculation has finished
+     * @throws TooManyRequestsException if the budget stays exhausted for {@value #RESERVE_TIMEOUT_SECONDS}s
+     */
+    public Reservation reserve(MultipartFile file) {
+        int permits = (int) Math.min(heapBudgetMb,
+                Math.max(1, (estimatedPeakBytes(file) + MB - 1) / MB));
+        try {
+            if (!heapBudget.tryAcquire(permits, RESERVE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("MemoryGuard heap budget exhausted: file={}, requested={}MB, available={}MB, budget={}MB",
+                        file.getOriginalFilename(), permits, heapBudget.availablePermits(), heapBudgetMb);
+                throw new TooManyRequestsException(
+                        "Server is processing other uploads and has no memory headroom left. Please retry.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TooManyRequestsException("Interrupted while waiting for memory budget. Please retry.");
+        }
+        return new Reservation(heapBudget, permits);
+    }
+
+    /**
+     * @return MB of the shared heap budget not currently reserved
+     */
+    public int availableBudgetMb() {
+        return heapBudget.availablePermits();
+    }
+
+    /**
+     * A held slice of the shared heap budget; closing it returns the slice exactly once.
+     */
+    public static final class Reservation implements AutoCloseable {
+
+        private final Semaphore budget;
+        private final int permits;
+        private boolean released;
+
+        private Reservation(Semaphore budget, int permits) {
+            this.budget = budget;
+            this.permits = permits;
+        }
+
+        public int megabytes() {
+            return permits;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!released) {
+                released = true;
+                budget.release(permits);
+            }
+        }
+    }
+
+    /**
+     * Returns the estimated peak heap for parsing one upload, keyed on its extension.
+     */
+    static long estimatedPeakBytes(MultipartFile file) {
+        String name = file.getOriginalFilename();
+        if (name != null && name.toLowerCase(Locale.ROOT).endsWith(".xlsx")) {
+            return file.getSize() * STREAMING_MEMORY_MULTIPLIER
+                    + sharedStringsBytes(file) * SHARED_STRINGS_MEMORY_MULTIPLIER;
+        }
+        return file.getSize() * POI_MEMORY_MULTIPLIER;
+    }
+
+    /**
+     * Uncompressed size of the workbook's shared-strings part: from its zip entry header,
+     * or by inflating that entry alone when the writer deferred the size to a data
+     * descriptor. 0 if the upload is not a readable zip; the parser rejects it anyway.
+     */
+    static long sharedStringsBytes(MultipartFile file) {
+        try (InputStream in = file.getInputStream(); ZipInputStream zip = new ZipInputStream(in)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (SHARED_STRINGS_PART.equals(entry.getName())) {
+                    return entry.getSize() >= 0 ? entry.getSize() : zip.skip(Long.MAX_VALUE);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.debug("MemoryGuard: cannot read shared strings of {}: {}", file.getOriginalFilename(), e.getMessage());
+        }
+        return 0;
+    }
 }
@@ -0,0 +1,307 @@
+package com.learning.backendservice.config;
+
+import com.learning.common.constants.HeaderNames;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Sends read-only transactions to a streaming replica when {@code app.datasource.replica.url}
+ * is set; without it the primary pool is used as before.
+ *
+ * <p>{@link #route} wraps the primary in a {@link LazyConnectionDataSourceProxy}, which fetches
+ * the physical connection only at the first statement, once {@code @Transactional(readOnly = true)}
+ * has marked it read-only. Such a connection comes from the replica only if:
+ * <ul>
+ *   <li>it is opened on an HTTP request thread — workers, schedulers and relays read and then
+ *       write, so they always stay on the primary;</li>
+ *   <li>the replica answered the last lag check, with lag at most {@code max-lag}; and</li>
+ *   <li>the user has not written within the last {@code sticky-window} plus the measured lag,
+ *       so they read their own uploads and deletes back.</li>
+ * </ul>
+ * Everything else, including a replica that refuses a connection, falls back to the primary.
+ * A write is a primary connection that ran an INSERT, UPDATE, DELETE, MERGE or COPY; it counts
+ * once its transaction commits (at once in auto-commit), so checkouts that only read and
+ * rolled-back transactions do not pin the user. Writes are recorded per user (the
+ * {@code X-User-Id} header, or MDC {@code userId} on the job worker) and per replica of this
+ * service; another backend replica may still route that user's next read to the database replica.
+ */
+@Component
+@Slf4j
+public class ReadReplicaRouter implements DisposableBean {
+
+    /** Leading keywords of statements that change data; a {@code WITH} query counts if any of its parts does. */
+    private static final Pattern DML = Pattern.compile(
+            "^\\s*(INSERT|UPDATE|DELETE|MERGE|COPY|WITH\\b.*\\b(INSERT|UPDATE|DELETE|MERGE)\\b)",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    /** Replay lag in ms; 0 when everything received has been replayed, even if the primary has been idle since. */
+    private static final String LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() "
+            + "THEN 0 ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END";
+
+    @Nullable
+    private final DataSource replica;
+    private final long maxLagMillis;
+    private final long stickyWindowMillis;
+    private final Map<String, Long> lastWriteMillis = new ConcurrentHashMap<>();
+
+    /** The primary pool hidden behind the proxy, which Spring can no longer close itself. */
+    @Nullable
+    private volatile DataSource routedPrimary;
+    private volatile boolean replicaHealthy;
+    private volatile long lagMillis;
+
+    @Autowired
+    public ReadReplicaRouter(
+            @Value("${app.datasource.replica.url:}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${app.datasource.replica.max-pool-size:10}") int maxPoolSize,
+            @Value("${app.datasource.replica.max-lag:10s}") Duration maxLag,
+            @Value("${app.datasource.replica.sticky-window:2s}") Duration stickyWindow,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        this(url.isBlank() ? null : replicaPool(url, username, password, maxPoolSize, meterRegistry),
+                maxLag, stickyWindow);
+    }
+
+    ReadReplicaRouter(@Nullable DataSource replica, Duration maxLag, Duration stickyWindow) {
+        this.replica = replica;
+        this.maxLagMillis = maxLag.toMillis();
+        this.stickyWindowMillis = stickyWindow.toMillis();
+        // Trusted until the first lag check says otherwise
+        this.replicaHealthy = replica != null;
+    }
+
+    private static HikariDataSource replicaPool(String url, String username, String password, int maxPoolSize,
+                                                ObjectProvider<MeterRegistry> meterRegistry) {
+        log.info("Configuring read replica data source: {}", url);
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(maxPoolSize);
+        dataSource.setMinimumIdle(2);
+        // Fail over to the primary quickly instead of holding a request for 30s
+        dataSource.setConnectionTimeout(2000);
+        // Start even when the replica is down; the lag check keeps reads on the primary
+        dataSource.setInitializationFailTimeout(-1);
+        dataSource.setReadOnly(true);
+        dataSource.setPoolName("backend-service-replica-pool");
+        meterRegistry.ifAvailable(dataSource::setMetricRegistry);
+        return dataSource;
+    }
+
+    /** The application DataSource: {@code primary} itself, or a read-only-aware proxy over both pools. */
+    public DataSource route(DataSource primary) {
+        if (replica == null) {
+            return primary;
+        }
+        routedPrimary = primary;
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(new WriteTracking(primary));
+        // Hikari and PostgreSQL defaults; spares the proxy probing the primary on its first request
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        proxy.setReadOnlyDataSource(new ReadOnlyRouting(primary));
+        return proxy;
+    }
+
+    /** Measure replica lag; an unreachable or lagging replica takes no reads until the next check. */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-ms:5000}")
+    public void checkLag() {
+        if (replica == null) {
+            return;
+        }
+        try (Connection con = replica.getConnection();
+             Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery(LAG_QUERY)) {
+            rs.next();
+            long lag = rs.getLong(1);
+            lagMillis = lag;
+            setHealthy(lag <= maxLagMillis, "lag " + lag + "ms");
+        } catch (SQLException e) {
+            setHealthy(false, e.getMessage());
+        }
+        long cutoff = System.currentTimeMillis() - stickyWindowMillis - lagMillis;
+        lastWriteMillis.values().removeIf(at -> at < cutoff);
+    }
+
+    /** Pin the user's reads to the primary for the sticky window. */
+    void recordWrite(@Nullable String userId) {
+        if (userId != null && !userId.isBlank()) {
+            lastWriteMillis.put(userId, System.currentTimeMillis());
+        }
+    }
+
+    boolean useReplica() {
+        if (!replicaHealthy || RequestContextHolder.getRequestAttributes() == null) {
+            return false;
+        }
+        String userId = currentUser();
+        Long lastWrite = userId != null ? lastWriteMillis.get(userId) : null;
+        return lastWrite == null || System.currentTimeMillis() - lastWrite > stickyWindowMillis + lagMillis;
+    }
+
+    private void setHealthy(boolean healthy, String reason) {
+        if (healthy != replicaHealthy) {
+            if (healthy) {
+                log.info("Read replica back in rotation ({})", reason);
+            } else {
+                log.warn("Read replica out of rotation, reads go to the primary: {}", reason);
+            }
+        }
+        replicaHealthy = healthy;
+    }
+
+    @Nullable
+    private static String currentUser() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            HttpServletRequest request = servlet.getRequest();
+            return request.getHeader(HeaderNames.USER_ID);
+        }
+        return MDC.get("userId");
+    }
+
+    @Override
+    public void destroy() {
+        if (replica instanceof HikariDataSource pool) {
+            pool.close();
+        }
+        if (routedPrimary instanceof HikariDataSource pool) {
+            pool.close();
+        }
+    }
+
+    /** Whether {@code sql} changes data. */
+    static boolean isWrite(@Nullable String sql) {
+        return sql != null && DML.matcher(sql).find();
+    }
+
+    /** Target of read-write connections: the primary, watched for statements that change data. */
+    private final class WriteTracking extends DelegatingDataSource {
+
+        WriteTracking(DataSource primary) {
+            super(primary);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return track(super.getConnection());
+        }
+
+        private Connection track(Connection target) {
+            WriteListener listener = new WriteListener();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        if (args != null && args.length > 0 && args[0] instanceof String sql
+                                && method.getName().startsWith("prepare") && isWrite(sql)) {
+                            listener.onWrite();
+                        }
+                        Object result = invoke(target, method, args);
+                        return result instanceof Statement statement && !(result instanceof PreparedStatement)
+                                ? track(statement, listener) : result;
+                    });
+        }
+
+        /** Plain statements carry their SQL on each execute call instead of at prepare time. */
+        private Statement track(Statement target, WriteListener listener) {
+            return (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(),
+                    new Class<?>[]{Statement.class}, (proxy, method, args) -> {
+                        if (args != null && args.length > 0 && args[0] instanceof String sql
+                                && (method.getName().startsWith("execute") || method.getName().equals("addBatch"))
+                                && isWrite(sql)) {
+                            listener.onWrite();
+                        }
+                        return invoke(target, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    /** Records the current user's write once per connection, when its transaction commits. */
+    private final class WriteListener {
+
+        private boolean written;
+
+        void onWrite() {
+            if (written) {
+                return;
+            }
+            written = true;
+            String userId = currentUser();
+            if (userId == null) {
+                return;
+            }
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                            recordWrite(userId);
+                        }
+                    });
+                }
+            } else {
+                // Auto-commit: the statement commits on its own
+                recordWrite(userId);
+            }
+        }
+    }
+
+    /** Target of read-only connections: the replica when {@link #useReplica()}, else the primary. */
+    private final class ReadOnlyRouting extends DelegatingDataSource {
+
+        ReadOnlyRouting(DataSource primary) {
+            super(primary);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (useReplica()) {
+                try {
+                    return replica.getConnection();
+                } catch (SQLException e) {
+                    setHealthy(false, e.getMessage());
+                }
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.learning.backendservice.config;
+
+import com.learning.common.tenant.TenantContext;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+/**
+ * Carries the submitting thread's {@link TenantContext} and logging MDC
+ * (traceId/spanId) onto pooled worker threads, and clears both afterwards so
+ * a recycled thread never leaks one tenant into the next task.
+ */
+public class TenantContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        String tenantId = TenantContext.getCurrentTenant();
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        return () -> {
+            TenantContext.setCurrentTenant(tenantId);
+            if (mdc != null) {
+                MDC.setContextMap(mdc);
+            }
+            try {
+                runnable.run();
+            } finally {
+                TenantContext.clear();
+                MDC.clear();
+            }
+        };
+    }
+}
@@ -10,7 +10,9 @@ public class UploadProperties {
 
     private DataSize maxFileSize = DataSize.ofMegabytes(10);
     private int maxFiles = 20;
-    private int maxConcurrentUploads = 2;
+    private int maxConcurrentUploads = 4;
+    private int fileParallelism = 4;
+    private int supplierParallelism = 4;
 
     public DataSize getMaxFileSize() {
         return maxFileSize;
@@ -35,4 +37,28 @@ public class UploadProperties {
     public void setMaxConcurrentUploads(int maxConcurrentUploads) {
         this.maxConcurrentUploads = maxConcurrentUploads;
     }
+
+    /**
+     * Number of ledger files of one upload processed at the same time;
+     * {@code 1} keeps the original sequential behaviour.
+     */
+    public int getFileParallelism() {
+        return fileParallelism;
+    }
+
+    public void setFileParallelism(int fileParallelism) {
+        this.fileParallelism = fileParallelism;
+    }
+
+    /**
+     * Threads (including the caller) that calculate the suppliers of one large ledger
+     * concurrently; {@code 1} keeps the calculation sequential.
+     */
+    public int getSupplierParallelism() {
+        return supplierParallelism;
+    }
+
+    public void setSupplierParallelism(int supplierParallelism) {
+        this.supplierParallelism = supplierParallelism;
+    }
 }
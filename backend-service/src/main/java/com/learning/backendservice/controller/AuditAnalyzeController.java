@@ -1,9 +1,11 @@
 package com.learning.backendservice.controller;
 
+import com.learning.backendservice.dto.AuditJobResponse;
 import com.learning.backendservice.dto.UploadResult;
 import com.learning.backendservice.engine.AnalysisMode;
 import com.learning.backendservice.engine.AuditUserParams;
 import com.learning.backendservice.service.AuditRunOrchestrator;
+import com.learning.backendservice.service.job.AuditJobService;
 import com.learning.common.constants.HeaderNames;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -17,6 +19,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
+import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -28,6 +31,9 @@ import java.util.List;
  *
  * <p>The old controllers continue to function as backward-compatible wrappers
  * delegating to {@link AuditRunOrchestrator#analyzeDocuments}.
+ *
+ * <p>With {@code async=true} the upload is queued instead of processed in the request;
+ * see {@link AuditJobController} for polling the job.
  */
 @RestController
 @RequestMapping("/api/v1/audit")
@@ -36,6 +42,7 @@ import java.util.List;
 public class AuditAnalyzeController {
 
     private final AuditRunOrchestrator orchestrator;
+    private final AuditJobService jobService;
 
     /**
      * Run a comprehensive audit analysis.
@@ -80,4 +87,40 @@ public class AuditAnalyzeController {
 
         return ResponseEntity.status(HttpStatus.CREATED).body(result);
     }
+
+    /**
+     * Queue an audit analysis for background execution.
+     *
+     * <p>Same inputs as the synchronous variant. The files are spooled to disk and the
+     * job is persisted as PENDING; a worker picks it up as capacity frees, so peak load
+     * queues instead of being rejected with 429. Poll {@code Location} for the outcome.
+     *
+     * @return HTTP 202 with the PENDING job and a {@code Location} header pointing at its status
+     */
+    @PostMapping(value = "/analyze", params = "async=true", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(
+            summary = "Queue audit analysis (async)",
+            description = "Spool documents and queue the analysis; returns 202 with a job id to poll.")
+    public ResponseEntity<AuditJobResponse> analyzeAsync(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam("analysisMode") AnalysisMode analysisMode,
+            @RequestParam("asOnDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOnDate,
+            @RequestParam(value = "isQrmp", defaultValue = "false") boolean isQrmp,
+            @RequestParam(value = "isNilReturn", defaultValue = "false") boolean isNilReturn,
+            @RequestParam(value = "aggregateTurnover", required = false) BigDecimal aggregateTurnover,
+            HttpServletRequest request) {
+
+        String userId = request.getHeader(HeaderNames.USER_ID);
+        if (userId == null || userId.isBlank()) {
+            throw new IllegalArgumentException("Missing required header: " + HeaderNames.USER_ID);
+        }
+
+        AuditUserParams params = new AuditUserParams(isQrmp, isNilReturn, aggregateTurnover, null);
+
+        AuditJobResponse job = jobService.submit(files, analysisMode, asOnDate, userId, params);
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/audit/jobs/" + job.getJobId()))
+                .body(job);
+    }
 }
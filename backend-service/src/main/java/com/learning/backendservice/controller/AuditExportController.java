@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.learning.backendservice.domain.rule37.LedgerResult;
 import com.learning.backendservice.entity.AuditRun;
+import com.learning.backendservice.service.AuditResultCodec;
 import com.learning.backendservice.service.AuditRunService;
 import com.learning.backendservice.service.export.ExportStrategy;
 import io.swagger.v3.oas.annotations.Operation;
@@ -39,6 +40,7 @@ public class AuditExportController {
     private final AuditRunService auditRunService;
     private final List<ExportStrategy> exportStrategies;
     private final ObjectMapper objectMapper;
+    private final AuditResultCodec resultCodec;
 
     @Operation(summary = "Export audit run", description = "Download audit run results as Excel file")
     @ApiResponse(responseCode = "200", description = "Excel file returned")
@@ -59,7 +61,7 @@ public class AuditExportController {
                 .orElseThrow(() -> new IllegalArgumentException(
                         "Unsupported export format/reportType: " + format + "/" + reportType));
 
-        // Extract LedgerResult list from JSONB result_data
+        // Extract LedgerResult list from the stored result (JSONB or compressed)
         // This is Rule 37-specific; future rules will dispatch based on ruleId
         List<LedgerResult> ledgerResults = extractLedgerResults(run);
 
@@ -82,8 +84,7 @@ public class AuditExportController {
 
     private List<LedgerResult> extractLedgerResults(AuditRun run) {
         try {
-            String json = run.getResultData();
-            return objectMapper.readValue(json, new TypeReference<List<LedgerResult>>() {});
+            return resultCodec.read(run, new TypeReference<List<LedgerResult>>() {});
         } catch (Exception e) {
             String primaryRuleId = (run.getRulesExecuted() != null && run.getRulesExecuted().length > 0)
                     ? run.getRulesExecuted()[0] : "UNKNOWN";
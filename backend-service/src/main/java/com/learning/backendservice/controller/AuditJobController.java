@@ -0,0 +1,48 @@
+package com.learning.backendservice.controller;
+
+import com.learning.backendservice.dto.AuditJobResponse;
+import com.learning.backendservice.service.job.AuditJobService;
+import com.learning.common.constants.HeaderNames;
+import com.learning.common.infra.exception.PermissionDeniedException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.UUID;
+
+/**
+ * Status endpoint for async audit jobs queued via
+ * {@code POST /api/v1/audit/analyze?async=true}.
+ */
+@RestController
+@RequestMapping("/api/v1/audit/jobs")
+@RequiredArgsConstructor
+@Tag(name = "Audit Jobs", description = "Poll queued audit analyses")
+public class AuditJobController {
+
+    private final AuditJobService jobService;
+
+    @Operation(summary = "Get audit job status",
+            description = "Returns the job status immediately, or with waitSeconds > 0 long-polls "
+                    + "until the job is SUCCESS/FAILED or the wait elapses.")
+    @ApiResponse(responseCode = "200", description = "Job status")
+    @ApiResponse(responseCode = "403", description = "Missing user header")
+    @ApiResponse(responseCode = "404", description = "Job not found or belongs to another user")
+    @GetMapping("/{id}")
+    public DeferredResult<AuditJobResponse> getJob(
+            HttpServletRequest request,
+            @Parameter(description = "Job id returned on submission") @PathVariable UUID id,
+            @Parameter(description = "Long-poll wait in seconds (0 = answer immediately)")
+            @RequestParam(value = "waitSeconds", defaultValue = "0") long waitSeconds) {
+        String userId = request.getHeader(HeaderNames.USER_ID);
+        if (userId == null || userId.isBlank()) {
+            throw new PermissionDeniedException("Missing required header: " + HeaderNames.USER_ID);
+        }
+        return jobService.awaitJob(id, userId, waitSeconds);
+    }
+}
@@ -1,7 +1,9 @@
 package com.learning.backendservice.controller;
 
+import com.learning.backendservice.dto.AuditFindingPageResponse;
 import com.learning.backendservice.dto.AuditRunResponse;
 import com.learning.backendservice.engine.AuditRuleRegistry;
+import com.learning.backendservice.repository.AuditFindingPageReader;
 import com.learning.backendservice.service.AuditRunService;
 import com.learning.common.constants.HeaderNames;
 import io.swagger.v3.oas.annotations.Operation;
@@ -90,6 +92,34 @@ public class AuditRunController {
         return ResponseEntity.ok(auditRunService.getRun(id, userId));
     }
 
+    @Operation(summary = "List findings of an audit run",
+            description = "Keyset-paginated findings, highest impact first. Pass nextCursor from the previous "
+                    + "page as cursor; optionally filter by severity, ruleId and compliancePeriod.")
+    @ApiResponse(responseCode = "200", description = "Findings page")
+    @ApiResponse(responseCode = "400", description = "Malformed cursor")
+    @ApiResponse(responseCode = "404", description = "Run not found or belongs to another user")
+    @GetMapping("/runs/{id}/findings")
+    public ResponseEntity<AuditFindingPageResponse> listFindings(
+            HttpServletRequest request,
+            @Parameter(description = "Audit run UUID v7") @PathVariable UUID id,
+            @Parameter(description = "Optional severity filter (CRITICAL, HIGH, MEDIUM, LOW, INFO)")
+            @RequestParam(required = false) String severity,
+            @Parameter(description = "Optional rule ID filter (e.g. RULE_37_ITC_REVERSAL)")
+            @RequestParam(required = false) String ruleId,
+            @Parameter(description = "Optional compliance period filter (e.g. FY: 2024-25, Tax Period: Apr-2024)")
+            @RequestParam(required = false) String compliancePeriod,
+            @Parameter(description = "nextCursor of the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most " + AuditRunService.MAX_FINDINGS_PAGE_SIZE)
+            @RequestParam(defaultValue = "50") int limit) {
+        String userId = request.getHeader(HeaderNames.USER_ID);
+        if (userId == null || userId.isBlank()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        AuditFindingPageReader.Filter filter = new AuditFindingPageReader.Filter(severity, ruleId, compliancePeriod);
+        return ResponseEntity.ok(auditRunService.listFindings(id, userId, filter, cursor, limit));
+    }
+
     @Operation(summary = "Delete audit run",
             description = "Permanently delete a completed audit run and all its findings")
     @ApiResponse(responseCode = "204", description = "Deleted")
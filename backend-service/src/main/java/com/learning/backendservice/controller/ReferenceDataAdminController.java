@@ -0,0 +1,59 @@
+package com.learning.backendservice.controller;
+
+import com.learning.backendservice.service.reference.ReferenceDataCache;
+import com.learning.backendservice.service.reference.ReferenceDataSnapshot;
+import com.learning.common.infra.exception.PermissionDeniedException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Admin trigger for reloading the cached reference tables after they were edited
+ * (relief windows, recon tolerance, Rule 86B config). Protected by the internal API key;
+ * disabled when {@code app.internal.api-key} is not configured.
+ */
+@RestController
+@RequestMapping("/api/v1/admin/reference-data")
+@Slf4j
+@Tag(name = "Reference Data Admin", description = "Reload cached reference tables on all pods")
+public class ReferenceDataAdminController {
+
+    private static final String INTERNAL_API_KEY_HEADER = "X-Internal-Api-Key";
+
+    private final ReferenceDataCache referenceDataCache;
+    private final String internalApiKey;
+
+    public ReferenceDataAdminController(ReferenceDataCache referenceDataCache,
+                                        @Value("${app.internal.api-key:}") String internalApiKey) {
+        this.referenceDataCache = referenceDataCache;
+        this.internalApiKey = internalApiKey;
+    }
+
+    /** Version now served by this pod. */
+    public record ReferenceDataVersion(long version, OffsetDateTime loadedAt) {
+    }
+
+    @Operation(summary = "Invalidate cached reference data",
+            description = "Reloads the reference tables on this pod and notifies all other pods to reload")
+    @ApiResponse(responseCode = "200", description = "Reloaded; returns the new snapshot version")
+    @ApiResponse(responseCode = "403", description = "Missing or invalid internal API key")
+    @PostMapping("/invalidate")
+    public ResponseEntity<ReferenceDataVersion> invalidate(
+            @RequestHeader(value = INTERNAL_API_KEY_HEADER, required = false) String providedKey) {
+        if (internalApiKey.isBlank() || !internalApiKey.equals(providedKey)) {
+            throw new PermissionDeniedException("Invalid internal API key");
+        }
+        ReferenceDataSnapshot snapshot = referenceDataCache.invalidate();
+        log.info("Reference data invalidated by admin: version={}", snapshot.version());
+        return ResponseEntity.ok(new ReferenceDataVersion(snapshot.version(), snapshot.loadedAt()));
+    }
+}
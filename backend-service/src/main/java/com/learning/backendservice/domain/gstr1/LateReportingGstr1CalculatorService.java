@@ -1,5 +1,7 @@
 package com.learning.backendservice.domain.gstr1;
 
+import com.learning.backendservice.domain.shared.Paise;
+
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
@@ -42,6 +44,9 @@ public class LateReportingGstr1CalculatorService {
     private static final int        SCALE         = 2;
     private static final RoundingMode RM          = RoundingMode.HALF_UP;
 
+    /** {@link #INTEREST_RATE} as a whole percentage for the {@link Paise} kernel. */
+    private static final long INTEREST_RATE_PERCENT = 18;
+
     /**
      * Identify belated invoices in a GSTR-1 filing and compute Section 50(1) interest.
      *
@@ -103,9 +108,15 @@ public class LateReportingGstr1CalculatorService {
 
     /**
      * Section 50(1), CGST Act 2017 + Notification 63/2020-CT:
-     * interest = taxAmount × 18% × delayDays / 365
+     * interest = taxAmount × 18% × delayDays / 365.
+     * Computed on the {@link Paise} kernel; amounts outside its range take the
+     * {@code BigDecimal} path with the same result.
      */
     private BigDecimal computeInterest(BigDecimal taxAmount, long delayDays) {
+        long interestPaise = Paise.simpleInterest(Paise.exact(taxAmount), INTEREST_RATE_PERCENT, delayDays);
+        if (interestPaise != Paise.INEXACT) {
+            return Paise.toRupees(interestPaise);
+        }
         return taxAmount
                 .multiply(INTEREST_RATE)
                 .multiply(BigDecimal.valueOf(delayDays))
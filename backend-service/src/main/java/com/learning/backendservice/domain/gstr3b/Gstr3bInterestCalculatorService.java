@@ -1,5 +1,6 @@
 package com.learning.backendservice.domain.gstr3b;
 
+import com.learning.backendservice.domain.shared.Paise;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
@@ -11,13 +12,15 @@ import java.time.temporal.ChronoUnit;
  *
  * <p><b>Legal basis:</b> Section 50(1), CGST Act 2017.
  * <p><b>Rate:</b> 18% per annum simple interest.
- * <p>All operations use {@link BigDecimal} rounded to {@code HALF_UP}.
+ * <p>All operations use {@link BigDecimal} rounded to {@code HALF_UP}; whole-paise
+ * amounts are computed on the {@link Paise} kernel with identical results.
  * State-aware due dates (20th, 22nd, 24th) are automatically resolved.
  */
 public class Gstr3bInterestCalculatorService {
 
     private static final BigDecimal INTEREST_RATE_PA = new BigDecimal("0.18");
     private static final BigDecimal DAYS_IN_YEAR = new BigDecimal("365");
+    private static final long INTEREST_RATE_PERCENT = 18;
 
     private final Gstr3bLateFeeCalculatorService lateFeeCalculator;
 
@@ -62,6 +65,12 @@ public class Gstr3bInterestCalculatorService {
             return BigDecimal.ZERO;
         }
 
+        long cashPaise = Paise.exact(cashPaid);
+        long interestPaise = Paise.simpleInterest(cashPaise, INTEREST_RATE_PERCENT, delayDays);
+        if (interestPaise != Paise.INEXACT) {
+            return Paise.toRupees(interestPaise);
+        }
+
         BigDecimal days = new BigDecimal(delayDays);
         return cashPaid
                 .multiply(INTEREST_RATE_PA)
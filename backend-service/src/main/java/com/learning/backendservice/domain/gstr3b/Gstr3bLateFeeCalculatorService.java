@@ -1,8 +1,8 @@
 package com.learning.backendservice.domain.gstr3b;
 
 import com.learning.backendservice.domain.gstr1.ReliefWindowSnapshot;
+import com.learning.backendservice.domain.shared.Paise;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
@@ -112,9 +112,8 @@ public class Gstr3bLateFeeCalculatorService {
         }
 
         // ── Compute fees — cap applied independently per tax head ─────────────
-        BigDecimal days    = BigDecimal.valueOf(delayDays);
-        BigDecimal cgstFee = dailyCgst.multiply(days).setScale(2, RoundingMode.HALF_UP).min(capCgst);
-        BigDecimal sgstFee = dailySgst.multiply(days).setScale(2, RoundingMode.HALF_UP).min(capSgst);
+        BigDecimal cgstFee = Paise.perDay(dailyCgst, delayDays).min(capCgst);
+        BigDecimal sgstFee = Paise.perDay(dailySgst, delayDays).min(capSgst);
         BigDecimal total   = cgstFee.add(sgstFee);
 
         return new Gstr3bLateFeeResult(
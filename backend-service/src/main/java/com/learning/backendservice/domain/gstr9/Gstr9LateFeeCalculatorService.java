@@ -1,5 +1,6 @@
 package com.learning.backendservice.domain.gstr9;
 
+import com.learning.backendservice.domain.shared.Paise;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
@@ -15,6 +16,8 @@ public class Gstr9LateFeeCalculatorService {
     private static final BigDecimal DAILY_CGST = new BigDecimal("100.00");
     private static final BigDecimal DAILY_SGST = new BigDecimal("100.00");
     private static final BigDecimal CAP_MULTIPLIER = new BigDecimal("0.0025"); // 0.25%
+    private static final long CAP_NUMERATOR = 25;          // 0.0025 = 25 / 10,000
+    private static final long CAP_DENOMINATOR = 10_000;
     private static final BigDecimal EXEMPT_TURNOVER_THRESHOLD = new BigDecimal("20000000.00"); // 2 Cr
     
     // Amnesty Notification 07/2023-CT bounds
@@ -36,9 +39,8 @@ public class Gstr9LateFeeCalculatorService {
             return Gstr9LateFeeResult.onTime(dueDate, input.filingDate());
         }
 
-        BigDecimal days = new BigDecimal(delayDays);
-        BigDecimal cgstFee = DAILY_CGST.multiply(days).setScale(2, RoundingMode.HALF_UP);
-        BigDecimal sgstFee = DAILY_SGST.multiply(days).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal cgstFee = Paise.perDay(DAILY_CGST, delayDays);
+        BigDecimal sgstFee = Paise.perDay(DAILY_SGST, delayDays);
 
         BigDecimal capCgst = null;
         BigDecimal capSgst = null;
@@ -52,7 +54,7 @@ public class Gstr9LateFeeCalculatorService {
         } else if (input.aggregateTurnover() != null) {
             // Cap is 0.25% of turnover in state. 
             // We approximate using aggregate turnover, and flag the approximation.
-            capCgst = input.aggregateTurnover().multiply(CAP_MULTIPLIER).setScale(2, RoundingMode.HALF_UP);
+            capCgst = turnoverCap(input.aggregateTurnover());
             capSgst = capCgst;
             capAssumedFromAggregateTurnover = true;
         }
@@ -70,6 +72,15 @@ public class Gstr9LateFeeCalculatorService {
                 false, amnestyApplied, capAssumedFromAggregateTurnover);
     }
 
+    /** 0.25% of turnover rounded to paise — {@code turnover × 0.0025}, HALF_UP. */
+    private BigDecimal turnoverCap(BigDecimal aggregateTurnover) {
+        long cap = Paise.ratio(Paise.exact(aggregateTurnover), CAP_NUMERATOR, CAP_DENOMINATOR);
+        if (cap != Paise.INEXACT) {
+            return Paise.toRupees(cap);
+        }
+        return aggregateTurnover.multiply(CAP_MULTIPLIER).setScale(2, RoundingMode.HALF_UP);
+    }
+
     private LocalDate resolveDueDate(String financialYear) {
         // e.g. "2023-24" -> "24" -> "2024"
         String[] parts = financialYear.split("-");
@@ -4,17 +4,20 @@ import com.learning.backendservice.domain.shared.PurchaseRegisterRow;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.LongAdder;
 
 public class ItcReconciliationService {
 
     private static final int SCALE = 2;
     private static final RoundingMode RM = RoundingMode.HALF_UP;
+    private static final BigDecimal CENT = new BigDecimal("0.01");
+
+    private final LongAdder candidateComparisons = new LongAdder();
 
     public ItcRecoResult reconcile(ItcRecoInput input) {
         List<PurchaseRegisterRow> books = input.purchaseRegisterRows();
@@ -24,9 +27,24 @@ public class ItcReconciliationService {
         BigDecimal tolerance = input.reconToleranceAmount();
 
         // 1. Index 2B rows by a key
-        Map<String, PurchaseRegisterRow> unmapped2b = new HashMap<>();
+        Map<String, Candidate> unmapped2b = new HashMap<>();
         for (PurchaseRegisterRow row : gstr2b) {
-            unmapped2b.put(matchKey(row.supplierGstin(), row.invoiceNo()), row);
+            String normInv = normalizeInvoice(row.invoiceNo());
+            unmapped2b.put(matchKey(row.supplierGstin(), normInv),
+                    new Candidate(row, normInv, row.totalTax().setScale(SCALE, RM)));
+        }
+
+        // Secondary index for fuzzy matching: normalized invoice no + tax bucket -> candidates,
+        // each bucket in the exact-key map's iteration order so the first hit is unchanged
+        BigDecimal bucketWidth = tolerance != null && tolerance.compareTo(CENT) > 0 ? tolerance : CENT;
+        Map<FuzzyKey, ArrayDeque<Candidate>> fuzzyIndex = new HashMap<>();
+        int ordinal = 0;
+        for (Map.Entry<String, Candidate> entry : unmapped2b.entrySet()) {
+            Candidate c = entry.getValue();
+            c.key = entry.getKey();
+            c.ordinal = ordinal++;
+            fuzzyIndex.computeIfAbsent(new FuzzyKey(c.normInv, taxBucket(c.tax, bucketWidth)),
+                    k -> new ArrayDeque<>()).add(c);
         }
 
         int matchedCount = 0;
@@ -34,13 +52,16 @@ public class ItcReconciliationService {
 
         // 2. Process Books rows
         for (PurchaseRegisterRow bRow : books) {
-            String exactKey = matchKey(bRow.supplierGstin(), bRow.invoiceNo());
+            String normInv = normalizeInvoice(bRow.invoiceNo());
+            String exactKey = matchKey(bRow.supplierGstin(), normInv);
 
-            if (unmapped2b.containsKey(exactKey)) {
-                PurchaseRegisterRow gRow = unmapped2b.remove(exactKey);
+            Candidate exact = unmapped2b.remove(exactKey);
+            if (exact != null) {
+                exact.matched = true;
+                PurchaseRegisterRow gRow = exact.row;
                 // Compare amounts
                 BigDecimal bTax = bRow.totalTax().setScale(SCALE, RM);
-                BigDecimal gTax = gRow.totalTax().setScale(SCALE, RM);
+                BigDecimal gTax = exact.tax;
                 BigDecimal delta = bTax.subtract(gTax).setScale(SCALE, RM);
 
                 if (delta.abs().compareTo(tolerance) <= 0) {
@@ -56,28 +77,14 @@ public class ItcReconciliationService {
                 }
             } else {
                 // Try fuzzy match (same invoice no, same total tax, but GSTIN differs)
-                String normInv = normalizeInvoice(bRow.invoiceNo());
                 BigDecimal bTax = bRow.totalTax().setScale(SCALE, RM);
-                
-                PurchaseRegisterRow fuzzyMatch = null;
-                String fuzzyKey = null;
-
-                for (Map.Entry<String, PurchaseRegisterRow> entry : unmapped2b.entrySet()) {
-                    PurchaseRegisterRow candidate = entry.getValue();
-                    if (normalizeInvoice(candidate.invoiceNo()).equals(normInv)) {
-                        BigDecimal cTax = candidate.totalTax().setScale(SCALE, RM);
-                        if (bTax.subtract(cTax).abs().compareTo(tolerance) <= 0) {
-                            fuzzyMatch = candidate;
-                            fuzzyKey = entry.getKey();
-                            break;
-                        }
-                    }
-                }
+                Candidate fuzzyMatch = findFuzzyMatch(fuzzyIndex, normInv, bTax, tolerance, bucketWidth);
 
                 if (fuzzyMatch != null) {
-                    unmapped2b.remove(fuzzyKey);
+                    fuzzyMatch.matched = true;
+                    unmapped2b.remove(fuzzyMatch.key);
                     mismatches.add(new ItcMismatch(
-                            bRow.invoiceNo(), bRow.supplierGstin(), bRow, fuzzyMatch, ItcMismatchType.GSTIN_MISMATCH, BigDecimal.ZERO
+                            bRow.invoiceNo(), bRow.supplierGstin(), bRow, fuzzyMatch.row, ItcMismatchType.GSTIN_MISMATCH, BigDecimal.ZERO
                     ));
                 } else {
                     // Missing in 2B
@@ -91,8 +98,9 @@ public class ItcReconciliationService {
         }
 
         // 3. Any remaining 2B rows are missing in books
-        for (PurchaseRegisterRow gRow : unmapped2b.values()) {
-            BigDecimal missingBooksTax = gRow.totalTax().setScale(SCALE, RM).negate(); // negative delta since books=0
+        for (Candidate remaining : unmapped2b.values()) {
+            PurchaseRegisterRow gRow = remaining.row;
+            BigDecimal missingBooksTax = remaining.tax.negate(); // negative delta since books=0
             mismatches.add(new ItcMismatch(
                     gRow.invoiceNo(), gRow.supplierGstin(), null, gRow, ItcMismatchType.MISSING_IN_BOOKS, missingBooksTax
             ));
@@ -111,14 +119,67 @@ public class ItcReconciliationService {
         );
     }
 
-    private String matchKey(String gstin, String inv) {
-        return (gstin == null ? "" : gstin.trim().toUpperCase()) + "|" + normalizeInvoice(inv);
+    /**
+     * Earliest (in index order) unmatched candidate with the same normalized invoice number
+     * and tax within tolerance. Buckets are at least as wide as the tolerance, so only the
+     * book row's own bucket and its two neighbours can hold a match.
+     */
+    private Candidate findFuzzyMatch(Map<FuzzyKey, ArrayDeque<Candidate>> fuzzyIndex, String normInv,
+                                     BigDecimal bTax, BigDecimal tolerance, BigDecimal bucketWidth) {
+        long bucket = taxBucket(bTax, bucketWidth);
+        Candidate best = null;
+        for (long b = bucket - 1; b <= bucket + 1; b++) {
+            ArrayDeque<Candidate> candidates = fuzzyIndex.get(new FuzzyKey(normInv, b));
+            if (candidates == null) {
+                continue;
+            }
+            while (!candidates.isEmpty() && candidates.peekFirst().matched) {
+                candidates.pollFirst();
+            }
+            for (Candidate c : candidates) {
+                if (best != null && c.ordinal > best.ordinal) {
+                    break;
+                }
+                if (c.matched) {
+                    continue;
+                }
+                candidateComparisons.increment();
+                if (bTax.subtract(c.tax).abs().compareTo(tolerance) <= 0) {
+                    best = c;
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Fuzzy candidates compared against a book row's tax since construction. Lets tests
+     * bound the matching work without timing it.
+     */
+    long candidateComparisons() {
+        return candidateComparisons.sum();
+    }
+
+    private static long taxBucket(BigDecimal tax, BigDecimal bucketWidth) {
+        return tax.divide(bucketWidth, 0, RoundingMode.FLOOR).longValue();
+    }
+
+    private String matchKey(String gstin, String normInv) {
+        return (gstin == null ? "" : gstin.trim().toUpperCase()) + "|" + normInv;
     }
 
     private String normalizeInvoice(String inv) {
         if (inv == null) return "";
-        // Keep only alphanumeric
-        return inv.replaceAll("[^a-zA-Z0-9]", "").toUpperCase();
+        // Keep only ASCII alphanumerics — equivalent to replaceAll("[^a-zA-Z0-9]", "") without the regex
+        StringBuilder sb = new StringBuilder(inv.length());
+        for (int i = 0; i < inv.length(); i++) {
+            char ch = inv.charAt(i);
+            if ((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9')) {
+                sb.append(ch);
+            }
+        }
+        return sb.toString().toUpperCase();
     }
 
     private String buildNarrative(List<ItcMismatch> mismatches, int matchedCount, BigDecimal risk) {
@@ -132,4 +193,23 @@ public class ItcReconciliationService {
         return String.format("Reconciliation complete: %d matched perfectly. %d invoices missing in 2B. %d invoices have amount mismatches. Total ITC at Risk: ₹%.2f per Section 16(2)(aa).", 
                 matchedCount, missingIn2b, amtMismatch, risk);
     }
+
+    /** A GSTR-2B row with its normalized invoice number and tax computed once. */
+    private static final class Candidate {
+        private final PurchaseRegisterRow row;
+        private final String normInv;
+        private final BigDecimal tax;
+        private String key;
+        private int ordinal;
+        private boolean matched;
+
+        private Candidate(PurchaseRegisterRow row, String normInv, BigDecimal tax) {
+            this.row = row;
+            this.normInv = normInv;
+            this.tax = tax;
+        }
+    }
+
+    private record FuzzyKey(String normInv, long taxBucket) {
+    }
 }
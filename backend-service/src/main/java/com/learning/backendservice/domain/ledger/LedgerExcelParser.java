@@ -49,9 +49,13 @@ public class LedgerExcelParser implements LedgerParser {
 
     // ── Limits ──────────────────────────────────────────────────────────────
     private static final long MAX_DECOMPRESSED_SIZE = 100L * 1024 * 1024; // 100 MB
-    private static final int MAX_ROWS = 50_000;
-    private static final int MAX_ENTRIES_PER_FILE = 20_000;
-    private static final int MAX_SUPPLIERS_PER_FILE = 500;
+    static final int MAX_ROWS = 50_000;
+    static final int MAX_ENTRIES_PER_FILE = 20_000;
+    // The streaming .xlsx path holds one row at a time, so large Tally exports are
+    // bounded by the upload size and MemoryGuard budget rather than DOM amplification.
+    static final int STREAMING_MAX_ROWS = 250_000;
+    static final int STREAMING_MAX_ENTRIES_PER_FILE = 200_000;
+    static final int MAX_SUPPLIERS_PER_FILE = 500;
 
     // Set POI decompression limit once at class load — thread-safe
     static {
@@ -66,7 +70,19 @@ public class LedgerExcelParser implements LedgerParser {
     /**
      * Tally convention marker that precedes each supplier sub-ledger.
      */
-    private static final String LEDGER_MARKER = "ledger:";
+    static final String LEDGER_MARKER = "ledger:";
+
+    // ── Header column matchers (applied to normalized header names) ─────────
+    static final Predicate<String> DEBIT_HEADER = h -> h.contains("debit") || h.equals("dr");
+    static final Predicate<String> CREDIT_HEADER = h -> h.contains("credit") || h.equals("cr");
+    static final Predicate<String> SUPPLIER_HEADER = h ->
+            h.contains("supplier") || h.contains("party")
+                    || h.contains("ledger") || h.contains("name");
+    static final Predicate<String> INVOICE_HEADER = h ->
+            h.contains("vch") || h.contains("ref")
+                    || h.contains("invoice") || h.contains("bill");
+    static final Predicate<String> PARTICULARS_HEADER = h ->
+            h.contains("particulars") || h.contains("particular");
 
     // ── Non-transaction row markers (O(1) lookup) ────────────────────────────
     private static final Set<String> NON_TRANSACTION_EXACT = Set.of(
@@ -148,14 +164,10 @@ public class LedgerExcelParser implements LedgerParser {
             var normalized = headers.stream().map(LedgerExcelParser::normalizeColumnName).toList();
 
             int dateIdx = findIndex(normalized, h -> h.contains("date"));
-            int debitIdx = findIndex(normalized, h -> h.contains("debit") || h.equals("dr"));
-            int creditIdx = findIndex(normalized, h -> h.contains("credit") || h.equals("cr"));
-            int supplierIdx = findIndex(normalized, h ->
-                    h.contains("supplier") || h.contains("party")
-                            || h.contains("ledger") || h.contains("name"));
-            int invoiceIdx = findIndex(normalized, h ->
-                    h.contains("vch") || h.contains("ref")
-                            || h.contains("invoice") || h.contains("bill"));
+            int debitIdx = findIndex(normalized, DEBIT_HEADER);
+            int creditIdx = findIndex(normalized, CREDIT_HEADER);
+            int supplierIdx = findIndex(normalized, SUPPLIER_HEADER);
+            int invoiceIdx = findIndex(normalized, INVOICE_HEADER);
 
             // Position-based fallback: exactly 4 columns with no credit header
             if (colCount == 4 && creditIdx == -1) {
@@ -270,9 +282,7 @@ public class LedgerExcelParser implements LedgerParser {
         log.info("Found {} supplier sub-ledgers in file", markerRows.size());
 
         if (markerRows.size() > MAX_SUPPLIERS_PER_FILE) {
-            throw new LedgerParseException(
-                    "File contains " + markerRows.size() + " supplier ledgers, max "
-                            + MAX_SUPPLIERS_PER_FILE + ". Please split into smaller files.");
+            throw tooManySuppliers();
         }
 
         var allEntries = new ArrayList<LedgerEntry>();
@@ -322,13 +332,10 @@ public class LedgerExcelParser implements LedgerParser {
             }
 
             var normalized = buildNormalizedHeaderList(row);
-            int debitIdx = findIndex(normalized, h -> h.contains("debit") || h.equals("dr"));
-            int creditIdx = findIndex(normalized, h -> h.contains("credit") || h.equals("cr"));
-            int parsIdx = findIndex(normalized, h ->
-                    h.contains("particulars") || h.contains("particular"));
-            int invoiceIdx = findIndex(normalized, h ->
-                    h.contains("vch") || h.contains("ref")
-                            || h.contains("invoice") || h.contains("bill"));
+            int debitIdx = findIndex(normalized, DEBIT_HEADER);
+            int creditIdx = findIndex(normalized, CREDIT_HEADER);
+            int parsIdx = findIndex(normalized, PARTICULARS_HEADER);
+            int invoiceIdx = findIndex(normalized, INVOICE_HEADER);
 
             return Optional.of(new SubHeaderInfo(r, dateIdx, debitIdx, creditIdx, parsIdx, invoiceIdx));
         }
@@ -393,9 +400,18 @@ public class LedgerExcelParser implements LedgerParser {
      */
     private LedgerEntry.LedgerEntryType determineEntryType(Row row, int particularsIdx,
                                                            BigDecimal debit, BigDecimal credit) {
-        if (particularsIdx >= 0) {
-            String particulars = getCellStringValue(row.getCell(particularsIdx))
-                    .trim().toLowerCase(Locale.ROOT);
+        String particulars = particularsIdx >= 0 ? getCellStringValue(row.getCell(particularsIdx)) : null;
+        return determineEntryType(particulars, debit, credit);
+    }
+
+    /**
+     * Cell-value form of {@link #determineEntryType(Row, int, BigDecimal, BigDecimal)};
+     * {@code rawParticulars} is {@code null} when the section has no Particulars column.
+     */
+    static LedgerEntry.LedgerEntryType determineEntryType(String rawParticulars,
+                                                          BigDecimal debit, BigDecimal credit) {
+        if (rawParticulars != null) {
+            String particulars = rawParticulars.trim().toLowerCase(Locale.ROOT);
             if ("to".equals(particulars)) {
                 return LedgerEntry.LedgerEntryType.PAYMENT;
             }
@@ -675,20 +691,25 @@ public class LedgerExcelParser implements LedgerParser {
             if (cell == null) {
                 continue;
             }
-            String val = getCellStringValue(cell).trim().toLowerCase(Locale.ROOT);
-            if (val.isEmpty()) {
-                continue;
-            }
-            if (NON_TRANSACTION_EXACT.contains(val)) {
-                return true;
-            }
-            if (NON_TRANSACTION_PREFIXES.stream().anyMatch(val::startsWith)) {
+            if (isNonTransactionMarker(getCellStringValue(cell))) {
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * Returns {@code true} if a single cell value is a total/closing marker.
+     */
+    static boolean isNonTransactionMarker(String value) {
+        String val = value.trim().toLowerCase(Locale.ROOT);
+        if (val.isEmpty()) {
+            return false;
+        }
+        return NON_TRANSACTION_EXACT.contains(val)
+                || NON_TRANSACTION_PREFIXES.stream().anyMatch(val::startsWith);
+    }
+
     // ════════════════════════════════════════════════════════════════════════
     //  VALIDATION
     // ════════════════════════════════════════════════════════════════════════
@@ -699,21 +720,35 @@ public class LedgerExcelParser implements LedgerParser {
         }
     }
 
+    /**
+     * Rejection for a Tally export with more than {@value #MAX_SUPPLIERS_PER_FILE} supplier
+     * sections; shared with {@link StreamingLedgerExcelParser}, which stops at the first
+     * section over the cap and so never knows the total.
+     */
+    static LedgerParseException tooManySuppliers() {
+        return new LedgerParseException("File contains more than " + MAX_SUPPLIERS_PER_FILE
+                + " supplier ledgers. Please split into smaller files.");
+    }
+
     /**
      * Validates that the entry list is non-empty and within the per-file size cap.
      * These are two distinct concerns intentionally kept in a single guard method
      * to avoid partial-parse states being returned to callers.
      */
-    private static void validateEntries(List<LedgerEntry> entries) {
+    static void validateEntries(List<LedgerEntry> entries) {
+        validateEntries(entries, MAX_ENTRIES_PER_FILE);
+    }
+
+    static void validateEntries(List<LedgerEntry> entries, int maxEntries) {
         if (entries.isEmpty()) {
             throw new LedgerParseException(
                     "No valid entries found in Excel file. "
                             + "Check if Date, Debit, and Credit columns have valid data.");
         }
-        if (entries.size() > MAX_ENTRIES_PER_FILE) {
+        if (entries.size() > maxEntries) {
             throw new LedgerParseException(
                     "File contains " + entries.size() + " transactions, max "
-                            + MAX_ENTRIES_PER_FILE + ". Please split into smaller files.");
+                            + maxEntries + ". Please split into smaller files.");
         }
     }
 
@@ -721,7 +756,7 @@ public class LedgerExcelParser implements LedgerParser {
     //  NUMERIC PARSING
     // ════════════════════════════════════════════════════════════════════════
 
-    private static BigDecimal parseBigDecimal(Object value) {
+    static BigDecimal parseBigDecimal(Object value) {
         if (value == null) {
             return BigDecimal.ZERO;
         }
@@ -791,8 +826,14 @@ public class LedgerExcelParser implements LedgerParser {
         if (markerRow == null) {
             return fallback;
         }
-        String name = getCellStringValue(markerRow.getCell(1)).trim();
-        name = name.replaceAll("[\r\n]+", " ").trim();
+        return cleanSupplierName(getCellStringValue(markerRow.getCell(1)), fallback);
+    }
+
+    /**
+     * Collapses embedded CR/LF runs in a raw supplier name; blank names yield {@code fallback}.
+     */
+    static String cleanSupplierName(String raw, String fallback) {
+        String name = raw.trim().replaceAll("[\r\n]+", " ").trim();
         return name.isEmpty() ? fallback : name;
     }
 
@@ -833,7 +874,7 @@ public class LedgerExcelParser implements LedgerParser {
      * Strips file extension and path separators from a filename to produce a supplier fallback.
      * Uses {@link Path} to handle both Unix and Windows path separators correctly.
      */
-    private static String fileNameWithoutExtension(String filename) {
+    static String fileNameWithoutExtension(String filename) {
         if (filename == null || filename.isBlank()) {
             return "Unknown";
         }
@@ -848,7 +889,7 @@ public class LedgerExcelParser implements LedgerParser {
      *
      * @return 0-based index, or -1 if no match
      */
-    private static int findIndex(List<String> list, Predicate<String> predicate) {
+    static int findIndex(List<String> list, Predicate<String> predicate) {
         return IntStream.range(0, list.size())
                 .filter(i -> predicate.test(list.get(i)))
                 .findFirst()
@@ -9,6 +9,7 @@ import java.util.stream.Collectors;
  * Phase 1: Excel (Tally/Busy). Future: PDF, CSV.
  *
  * @see LedgerExcelParser
+ * @see StreamingLedgerExcelParser
  */
 public interface LedgerParser {
 
@@ -0,0 +1,638 @@
+package com.learning.backendservice.domain.ledger;
+
+import com.learning.backendservice.exception.LedgerParseException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streaming (SAX / XSSF event model) implementation of {@link LedgerParser}.
+ *
+ * <p>Produces exactly the same entries and errors as {@link LedgerExcelParser} for all
+ * three supported layouts (clean header, offset header, multi-ledger {@code Ledger:}
+ * markers), but never materialises the workbook: the first sheet is read in a single
+ * forward pass and only the current row plus the accumulated {@link LedgerEntry} list
+ * are held in memory. Peak heap is therefore close to the size of the upload rather than
+ * the ~7x DOM amplification of {@code XSSFWorkbook}, which is why this path accepts the
+ * larger {@code STREAMING_MAX_ROWS} / {@code STREAMING_MAX_ENTRIES_PER_FILE} caps.
+ *
+ * <p>Because {@code Ledger:} markers may appear anywhere in the sheet, header-based rows
+ * are parsed speculatively and discarded as soon as the first marker is seen — the same
+ * precedence the DOM parser gets from scanning for markers up front.
+ *
+ * <p>Legacy binary {@code .xls} (OLE2) files have no event-model equivalent here and are
+ * delegated to {@link LedgerExcelParser}.
+ */
+public class StreamingLedgerExcelParser implements LedgerParser {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingLedgerExcelParser.class);
+
+    private final LedgerExcelParser legacyParser;
+
+    public StreamingLedgerExcelParser() {
+        this(new LedgerExcelParser());
+    }
+
+    public StreamingLedgerExcelParser(LedgerExcelParser legacyParser) {
+        this.legacyParser = legacyParser;
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  PUBLIC API
+    // ════════════════════════════════════════════════════════════════════════
+
+    @Override
+    public List<LedgerEntry> parse(InputStream inputStream, String filename) {
+        InputStream in = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+        FileMagic magic;
+        try {
+            magic = FileMagic.valueOf(in);
+        } catch (IOException e) {
+            throw new LedgerParseException("Failed to parse Excel file: " + e.getMessage(), e);
+        }
+        if (magic != FileMagic.OOXML) {
+            log.debug("'{}' is not an OOXML workbook ({}); using DOM parser", filename, magic);
+            return legacyParser.parse(in, filename);
+        }
+
+        Path tempFile = null;
+        try {
+            // OPCPackage.open(InputStream) inflates every zip entry into memory;
+            // opening from a file keeps the sheet XML compressed on disk.
+            tempFile = Files.createTempFile("ledger-", ".xlsx");
+            Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            try (OPCPackage pkg = OPCPackage.open(tempFile.toFile(), PackageAccess.READ)) {
+                return parsePackage(pkg, filename);
+            }
+        } catch (LedgerParseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new LedgerParseException("Failed to parse Excel file: " + e.getMessage(), e);
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  PACKAGE READING
+    // ════════════════════════════════════════════════════════════════════════
+
+    private List<LedgerEntry> parsePackage(OPCPackage pkg, String filename) throws Exception {
+        XSSFReader reader = new XSSFReader(pkg);
+        ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+        StylesTable styles = reader.getStylesTable();
+        boolean date1904 = isDate1904(reader);
+
+        Iterator<InputStream> sheets = reader.getSheetsData();
+        if (!sheets.hasNext()) {
+            throw new LedgerParseException("Excel file is empty");
+        }
+
+        LedgerRowStateMachine stateMachine =
+                new LedgerRowStateMachine(LedgerExcelParser.fileNameWithoutExtension(filename), filename);
+        SheetHandler handler = new SheetHandler(sharedStrings, styles, date1904, stateMachine);
+
+        try (InputStream sheet = sheets.next()) {
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(handler);
+            xmlReader.parse(new InputSource(sheet));
+        } catch (SAXException e) {
+            if (e.getCause() instanceof LedgerParseException lpe) {
+                throw lpe;
+            }
+            throw e;
+        }
+        return stateMachine.finish();
+    }
+
+    /**
+     * Reads {@code workbookPr/@date1904} from {@code workbook.xml} so serial dates are
+     * converted with the same epoch {@code XSSFCell#getLocalDateTimeCellValue} would use.
+     */
+    private static boolean isDate1904(XSSFReader reader) throws Exception {
+        boolean[] date1904 = {false};
+        try (InputStream workbook = reader.getWorkbookData()) {
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(new DefaultHandler() {
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attrs) {
+                    if ("workbookPr".equals(localName)) {
+                        String v = attrs.getValue("date1904");
+                        date1904[0] = "1".equals(v) || "true".equalsIgnoreCase(v);
+                    }
+                }
+            });
+            xmlReader.parse(new InputSource(workbook));
+        }
+        return date1904[0];
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Could not delete temporary ledger file {}: {}", path, e.getMessage());
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  ROW MODEL
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * One sheet row as typed raw values, mirroring what
+     * {@code LedgerExcelParser#getRawCellValue} returns for the DOM cell.
+     */
+    static final class StreamedRow {
+
+        private final int rowIndex;
+        private Object[] values = new Object[16];
+        private int lastCellNum;
+
+        StreamedRow(int rowIndex) {
+            this.rowIndex = rowIndex;
+        }
+
+        void set(int col, Object value) {
+            if (col >= values.length) {
+                values = Arrays.copyOf(values, Math.max(col + 1, values.length * 2));
+            }
+            values[col] = value;
+            lastCellNum = Math.max(lastCellNum, col + 1);
+        }
+
+        int rowIndex() {
+            return rowIndex;
+        }
+
+        /** Same semantics as {@code Row#getLastCellNum()}: last present cell index + 1. */
+        int lastCellNum() {
+            return lastCellNum;
+        }
+
+        Object raw(int col) {
+            return col >= 0 && col < lastCellNum ? values[col] : null;
+        }
+
+        String string(int col) {
+            Object raw = raw(col);
+            return raw == null ? "" : raw.toString();
+        }
+
+        boolean hasDateHeaderCell() {
+            return dateHeaderIndex() >= 0;
+        }
+
+        int dateHeaderIndex() {
+            for (int c = 0; c < lastCellNum; c++) {
+                if ("date".equals(LedgerExcelParser.normalizeColumnName(string(c)))) {
+                    return c;
+                }
+            }
+            return -1;
+        }
+
+        List<String> strings() {
+            var list = new ArrayList<String>(lastCellNum);
+            for (int c = 0; c < lastCellNum; c++) {
+                list.add(string(c));
+            }
+            return list;
+        }
+
+        boolean isLedgerMarker() {
+            return string(0).trim().toLowerCase(Locale.ROOT).startsWith(LedgerExcelParser.LEDGER_MARKER);
+        }
+
+        boolean isNonTransaction() {
+            for (int c = 0; c < lastCellNum; c++) {
+                if (values[c] != null && LedgerExcelParser.isNonTransactionMarker(string(c))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  SINGLE-PASS FORMAT STATE MACHINE
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Consumes rows in sheet order and applies the same format detection and row rules
+     * as {@link LedgerExcelParser}, without random access to earlier or later rows.
+     */
+    static final class LedgerRowStateMachine {
+
+        private enum Mode { SCANNING, HEADER_BASED, POSITION_BASED, HEADER_INVALID, MULTI_LEDGER }
+
+        private final String defaultSupplier;
+        private final String filename;
+
+        private Mode mode = Mode.SCANNING;
+        private int physicalRows;
+        private String firstRowDescription = "(empty row)";
+        private String headerError;
+        private List<LedgerEntry> entries = new ArrayList<>();
+
+        // Header-based column layout
+        private int dateIdx = -1;
+        private int debitIdx = -1;
+        private int creditIdx = -1;
+        private int supplierIdx = -1;
+        private int invoiceIdx = -1;
+
+        // Multi-ledger section state
+        private int supplierSections;
+        private String sectionSupplier;
+        private int sectionMarkerRow;
+        private boolean sectionHasHeader;
+        private boolean sectionSkipped;
+        private int particularsIdx = -1;
+
+        LedgerRowStateMachine(String defaultSupplier, String filename) {
+            this.defaultSupplier = defaultSupplier;
+            this.filename = filename;
+        }
+
+        void accept(StreamedRow row) {
+            if (++physicalRows > LedgerExcelParser.STREAMING_MAX_ROWS) {
+                throw new LedgerParseException(
+                        "Sheet exceeds maximum row limit of " + LedgerExcelParser.STREAMING_MAX_ROWS);
+            }
+            if (row.rowIndex() == 0) {
+                firstRowDescription = String.join(", ", row.strings());
+            }
+
+            if (row.isLedgerMarker()) {
+                startSection(row);
+                return;
+            }
+
+            switch (mode) {
+                case MULTI_LEDGER -> acceptSectionRow(row);
+                case SCANNING -> {
+                    if (row.rowIndex() < LedgerExcelParser.HEADER_SCAN_DEPTH && row.hasDateHeaderCell()) {
+                        resolveHeader(row);
+                    }
+                }
+                case HEADER_BASED -> acceptHeaderBasedRow(row);
+                case POSITION_BASED -> acceptPositionBasedRow(row);
+                case HEADER_INVALID -> {
+                    // keep scanning for Ledger: markers only
+                }
+            }
+        }
+
+        List<LedgerEntry> finish() {
+            if (physicalRows == 0) {
+                throw new LedgerParseException("Excel file is empty");
+            }
+            switch (mode) {
+                case MULTI_LEDGER -> {
+                    closeSection();
+                    LedgerExcelParser.validateEntries(entries, LedgerExcelParser.STREAMING_MAX_ENTRIES_PER_FILE);
+                    log.info("Multi-ledger parse complete: {} entries across {} suppliers",
+                            entries.size(), supplierSections);
+                }
+                case SCANNING -> throw new LedgerParseException(
+                        "Could not find a header row with a Date column in the first "
+                                + LedgerExcelParser.HEADER_SCAN_DEPTH + " rows. First row: "
+                                + firstRowDescription);
+                case HEADER_INVALID -> throw new LedgerParseException(headerError);
+                default -> LedgerExcelParser.validateEntries(entries, LedgerExcelParser.STREAMING_MAX_ENTRIES_PER_FILE);
+            }
+            return entries;
+        }
+
+        // ── Header-based / position-based ───────────────────────────────────
+
+        private void resolveHeader(StreamedRow headerRow) {
+            List<String> headers = headerRow.strings();
+            List<String> normalized = headers.stream().map(LedgerExcelParser::normalizeColumnName).toList();
+
+            dateIdx = LedgerExcelParser.findIndex(normalized, h -> h.contains("date"));
+            debitIdx = LedgerExcelParser.findIndex(normalized, LedgerExcelParser.DEBIT_HEADER);
+            creditIdx = LedgerExcelParser.findIndex(normalized, LedgerExcelParser.CREDIT_HEADER);
+            supplierIdx = LedgerExcelParser.findIndex(normalized, LedgerExcelParser.SUPPLIER_HEADER);
+            invoiceIdx = LedgerExcelParser.findIndex(normalized, LedgerExcelParser.INVOICE_HEADER);
+
+            if (headerRow.lastCellNum() == 4 && creditIdx == -1) {
+                log.warn("Position-based fallback: '{}' has no invoice column — "
+                        + "entries will lack invoice numbers", filename);
+                mode = Mode.POSITION_BASED;
+                return;
+            }
+            if (debitIdx == -1 && creditIdx == -1) {
+                headerError = "Could not find Debit or Credit columns. Found headers: "
+                        + String.join(", ", headers);
+                mode = Mode.HEADER_INVALID;
+                return;
+            }
+
+            log.info("Parsed header at row {} in '{}': "
+                            + "dateCol={}, debitCol={}, creditCol={}, supplierCol={}, invoiceCol={}",
+                    headerRow.rowIndex(), filename, dateIdx, debitIdx, creditIdx, supplierIdx, invoiceIdx);
+            mode = Mode.HEADER_BASED;
+        }
+
+        private void acceptHeaderBasedRow(StreamedRow row) {
+            if (row.isNonTransaction()) {
+                return;
+            }
+            LocalDate date = LedgerExcelParser.parseExcelDate(row.raw(dateIdx));
+            if (date == null) {
+                return;
+            }
+            BigDecimal debit = amountAt(row, debitIdx);
+            BigDecimal credit = amountAt(row, creditIdx);
+            if (debit.signum() <= 0 && credit.signum() <= 0) {
+                return;
+            }
+
+            String supplier = supplierIdx >= 0 ? row.string(supplierIdx) : "";
+            if (supplier.isBlank()) {
+                supplier = defaultSupplier;
+            }
+            String invoiceNumber = invoiceIdx >= 0 ? row.string(invoiceIdx).trim() : "";
+
+            entries.add(LedgerEntry.builder()
+                    .date(date)
+                    .entryType(debit.signum() > 0 ? LedgerEntry.LedgerEntryType.PAYMENT
+                            : LedgerEntry.LedgerEntryType.PURCHASE)
+                    .supplier(supplier.trim())
+                    .amount(debit.signum() > 0 ? debit : credit)
+                    .invoiceNumber(invoiceNumber.isEmpty() ? null : invoiceNumber)
+                    .build());
+        }
+
+        private void acceptPositionBasedRow(StreamedRow row) {
+            if (row.isNonTransaction()) {
+                return;
+            }
+            LocalDate date = LedgerExcelParser.parseExcelDate(row.raw(0));
+            if (date == null) {
+                return;
+            }
+            BigDecimal debit = LedgerExcelParser.parseBigDecimal(row.raw(1));
+            BigDecimal credit = LedgerExcelParser.parseBigDecimal(row.raw(2));
+            if (debit.signum() <= 0 && credit.signum() <= 0) {
+                return;
+            }
+
+            String supplier = row.string(3);
+            if (supplier.isBlank()) {
+                supplier = defaultSupplier;
+            }
+
+            entries.add(LedgerEntry.builder()
+                    .date(date)
+                    .entryType(debit.signum() > 0 ? LedgerEntry.LedgerEntryType.PAYMENT
+                            : LedgerEntry.LedgerEntryType.PURCHASE)
+                    .supplier(supplier.trim())
+                    .amount(debit.signum() > 0 ? debit : credit)
+                    .build());
+        }
+
+        // ── Multi-ledger (Tally Creditor) ───────────────────────────────────
+
+        private void startSection(StreamedRow markerRow) {
+            if (mode != Mode.MULTI_LEDGER) {
+                log.info("Detected multi-ledger (Tally Creditor) format in '{}', "
+                        + "first Ledger: marker at row {}", filename, markerRow.rowIndex());
+                mode = Mode.MULTI_LEDGER;
+                entries = new ArrayList<>(); // header-based rows before the marker are not ledger data
+            } else {
+                closeSection();
+            }
+
+            if (++supplierSections > LedgerExcelParser.MAX_SUPPLIERS_PER_FILE) {
+                throw LedgerExcelParser.tooManySuppliers();
+            }
+
+            sectionSupplier = LedgerExcelParser.cleanSupplierName(markerRow.string(1), defaultSupplier);
+            sectionMarkerRow = markerRow.rowIndex();
+            sectionHasHeader = false;
+            sectionSkipped = false;
+        }
+
+        private void closeSection() {
+            if (!sectionHasHeader) {
+                log.warn("No sub-header found for supplier '{}' at marker row {}; skipping",
+                        sectionSupplier, sectionMarkerRow);
+            }
+        }
+
+        private void acceptSectionRow(StreamedRow row) {
+            if (!sectionHasHeader) {
+                int subDateIdx = row.dateHeaderIndex();
+                if (subDateIdx < 0) {
+                    return;
+                }
+                List<String> normalized = row.strings().stream()
+                        .map(LedgerExcelParser::normalizeColumnName).toList();
+                sectionHasHeader = true;
+                dateIdx = subDateIdx;
+                debitIdx = LedgerExcelParser.findIndex(normalized, LedgerExcelParser.DEBIT_HEADER);
+                creditIdx = LedgerExcelParser.findIndex(normalized, LedgerExcelParser.CREDIT_HEADER);
+                particularsIdx = LedgerExcelParser.findIndex(normalized, LedgerExcelParser.PARTICULARS_HEADER);
+                invoiceIdx = LedgerExcelParser.findIndex(normalized, LedgerExcelParser.INVOICE_HEADER);
+                if (debitIdx == -1 && creditIdx == -1) {
+                    log.warn("No Debit/Credit columns for supplier '{}'; skipping section", sectionSupplier);
+                    sectionSkipped = true;
+                }
+                return;
+            }
+            if (sectionSkipped || row.isNonTransaction()) {
+                return;
+            }
+
+            LocalDate date = LedgerExcelParser.parseExcelDate(row.raw(dateIdx));
+            if (date == null) {
+                return;
+            }
+            BigDecimal debit = amountAt(row, debitIdx);
+            BigDecimal credit = amountAt(row, creditIdx);
+            if (debit.signum() <= 0 && credit.signum() <= 0) {
+                return;
+            }
+
+            String particulars = particularsIdx >= 0 ? row.string(particularsIdx) : null;
+            String invoiceNumber = invoiceIdx >= 0 ? row.string(invoiceIdx).trim() : "";
+
+            entries.add(LedgerEntry.builder()
+                    .date(date)
+                    .entryType(LedgerExcelParser.determineEntryType(particulars, debit, credit))
+                    .supplier(sectionSupplier)
+                    .amount(debit.signum() > 0 ? debit : credit)
+                    .invoiceNumber(invoiceNumber.isEmpty() ? null : invoiceNumber)
+                    .build());
+        }
+
+        private static BigDecimal amountAt(StreamedRow row, int idx) {
+            return idx >= 0 ? LedgerExcelParser.parseBigDecimal(row.raw(idx)) : BigDecimal.ZERO;
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════════════
+    //  SHEET XML HANDLER
+    // ════════════════════════════════════════════════════════════════════════
+
+    /**
+     * SAX handler for {@code sheetN.xml} that decodes each {@code <c>} into the typed value
+     * the DOM parser would have seen and hands complete rows to the state machine.
+     */
+    private static final class SheetHandler extends DefaultHandler {
+
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final StylesTable styles;
+        private final boolean date1904;
+        private final LedgerRowStateMachine stateMachine;
+
+        private StreamedRow currentRow;
+        private int nextRowIndex;
+        private int nextColIndex;
+
+        private int cellCol;
+        private String cellType;
+        private int cellStyle;
+        private boolean cellHasFormula;
+        private final StringBuilder cellValue = new StringBuilder();
+        private final StringBuilder inlineText = new StringBuilder();
+        private boolean inValue;
+        private boolean inInlineText;
+
+        SheetHandler(ReadOnlySharedStringsTable sharedStrings, StylesTable styles,
+                     boolean date1904, LedgerRowStateMachine stateMachine) {
+            this.sharedStrings = sharedStrings;
+            this.styles = styles;
+            this.date1904 = date1904;
+            this.stateMachine = stateMachine;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attrs) {
+            switch (localName) {
+                case "row" -> {
+                    String r = attrs.getValue("r");
+                    int rowIndex = r != null ? Integer.parseInt(r) - 1 : nextRowIndex;
+                    currentRow = new StreamedRow(rowIndex);
+                    nextRowIndex = rowIndex + 1;
+                    nextColIndex = 0;
+                }
+                case "c" -> {
+                    String ref = attrs.getValue("r");
+                    cellCol = ref != null ? new CellReference(ref).getCol() : nextColIndex;
+                    nextColIndex = cellCol + 1;
+                    cellType = attrs.getValue("t");
+                    String s = attrs.getValue("s");
+                    cellStyle = s != null ? Integer.parseInt(s) : 0;
+                    cellHasFormula = false;
+                    cellValue.setLength(0);
+                    inlineText.setLength(0);
+                }
+                case "f" -> cellHasFormula = true;
+                case "v" -> inValue = true;
+                case "t" -> inInlineText = "inlineStr".equals(cellType);
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue) {
+                cellValue.append(ch, start, length);
+            } else if (inInlineText) {
+                inlineText.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v" -> inValue = false;
+                case "t" -> inInlineText = false;
+                case "c" -> currentRow.set(cellCol, decodeCell());
+                case "row" -> {
+                    stateMachine.accept(currentRow);
+                    currentRow = null;
+                }
+                default -> {
+                }
+            }
+        }
+
+        /**
+         * Decodes the buffered cell using the same type rules as the DOM parser:
+         * date-formatted numerics become {@link LocalDate}, other numerics {@link Double},
+         * formula cells yield their cached numeric or string result only.
+         */
+        private Object decodeCell() {
+            String v = cellValue.toString();
+            String type = cellType == null ? "n" : cellType;
+            return switch (type) {
+                case "s" -> v.isEmpty() ? null
+                        : sharedStrings.getItemAt(Integer.parseInt(v.trim())).getString();
+                case "inlineStr" -> inlineText.toString();
+                case "str" -> v;
+                case "b" -> cellHasFormula || v.isEmpty() ? null : "1".equals(v.trim()) || "true".equalsIgnoreCase(v.trim());
+                case "e" -> null;
+                default -> decodeNumeric(v);
+            };
+        }
+
+        private Object decodeNumeric(String v) {
+            if (v.isEmpty()) {
+                return null;
+            }
+            double d = Double.parseDouble(v);
+            if (cellHasFormula) {
+                return d;
+            }
+            if (isDateFormatted(d)) {
+                return DateUtil.getLocalDateTime(d, date1904).toLocalDate();
+            }
+            return d;
+        }
+
+        private boolean isDateFormatted(double d) {
+            if (!DateUtil.isValidExcelDate(d) || cellStyle >= styles.getNumCellStyles()) {
+                return false;
+            }
+            XSSFCellStyle style = styles.getStyleAt(cellStyle);
+            return style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.learning.backendservice.domain.recon;
 
+import com.learning.backendservice.domain.shared.Paise;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.YearMonth;
@@ -14,7 +15,8 @@ import java.util.List;
  * between the two returns creates a risk of demand under Section 73/74.
  *
  * <p><b>Design</b>: Stateless, no Spring annotations, no DB access.
- * All arithmetic uses {@code BigDecimal} with scale=2 and {@code HALF_UP} rounding.
+ * All arithmetic uses {@code BigDecimal} with scale=2 and {@code HALF_UP} rounding; the
+ * percentage runs on the {@link Paise} kernel when both amounts are whole paise.
  *
  * <p><b>Algorithm</b>:
  * <ol>
@@ -97,10 +99,7 @@ public class Gstr1Vs3bReconciliationService {
             // Both are zero → perfect MATCH
             deltaPercent = BigDecimal.ZERO;
         } else {
-            deltaPercent = delta.abs()
-                    .divide(denominator, 10, RM)
-                    .multiply(HUNDRED)
-                    .setScale(SCALE, RM);
+            deltaPercent = deltaPercent(delta, denominator);
         }
 
         ReconSeverity severity = classify(delta.abs(), deltaPercent,
@@ -109,6 +108,21 @@ public class Gstr1Vs3bReconciliationService {
         return new ReconDelta(taxHead, gstr1Amount, gstr3bAmount, delta, deltaPercent, severity);
     }
 
+    /** |delta| / denominator × 100 at scale 2, on the {@link Paise} kernel when both are whole paise. */
+    private BigDecimal deltaPercent(BigDecimal delta, BigDecimal denominator) {
+        long wholePaise = Paise.exact(denominator);
+        long partPaise  = wholePaise == Paise.INEXACT ? Paise.INEXACT : Paise.exact(delta.abs());
+        long hundredths = partPaise == Paise.INEXACT ? Paise.INEXACT
+                : Paise.percentHundredths(partPaise, wholePaise);
+        if (hundredths != Paise.INEXACT) {
+            return Paise.toRupees(hundredths);
+        }
+        return delta.abs()
+                .divide(denominator, 10, RM)
+                .multiply(HUNDRED)
+                .setScale(SCALE, RM);
+    }
+
     // ── Severity classification ──────────────────────────────────────────────
 
     private ReconSeverity classify(
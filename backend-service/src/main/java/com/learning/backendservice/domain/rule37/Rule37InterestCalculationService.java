@@ -1,21 +1,28 @@
 package com.learning.backendservice.domain.rule37;
 
 import com.learning.backendservice.domain.ledger.LedgerEntry;
+import com.learning.backendservice.domain.shared.Paise;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.Month;
+import java.time.YearMonth;
 import java.time.format.TextStyle;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Rule 37 (180-day ITC reversal) interest calculation service.
@@ -28,8 +35,13 @@ import java.util.Map;
  * </ul>
  *
  * <p>
- * <b>Algorithm:</b> FIFO purchase/payment matching per supplier.
- * All financial calculations use {@link BigDecimal} with HALF_UP rounding.
+ * <b>Algorithm:</b> FIFO purchase/payment matching per supplier, using index cursors
+ * over each supplier's date-sorted entries (linear per supplier). Suppliers of large
+ * ledgers are processed in parallel and merged once, in supplier order, so the
+ * {@link CalculationSummary} is identical to a sequential run.
+ * All financial results are {@link BigDecimal} with HALF_UP rounding; the per-row ITC
+ * and interest formulas run on the {@link Paise} fixed-point kernel when the principal is
+ * whole paise, with bit-identical results.
  *
  * @see Rule37InterestCalculator
  */
@@ -45,100 +57,222 @@ public class Rule37InterestCalculationService implements Rule37InterestCalculato
     private static final BigDecimal INTEREST_RATE = new BigDecimal("0.18");
     private static final BigDecimal DAYS_IN_YEAR = new BigDecimal("365");
 
+    // Same constants as whole numbers for the paise kernel
+    private static final long ITC_RATE_PERCENT = 18;
+    private static final long ITC_GROSS_PERCENT = 118;
+    private static final long INTEREST_RATE_PERCENT = 18;
+
     private static final int DAYS_THRESHOLD = 180;
     private static final int AT_RISK_THRESHOLD = 150;
 
     private static final BigDecimal AMOUNT_EPSILON = new BigDecimal("0.001");
 
+    /**
+     * Ledgers with fewer entries than this are always calculated on the calling thread;
+     * below it the hand-off costs more than the per-supplier work saves.
+     */
+    static final int PARALLEL_THRESHOLD = 10_000;
+
+    private static final Map<YearMonth, String> GSTR3B_PERIOD_LABELS = new ConcurrentHashMap<>();
+
+    private final Executor supplierExecutor;
+    private final int parallelism;
+
+    /** Sequential calculator — every supplier is processed on the calling thread. */
+    public Rule37InterestCalculationService() {
+        this(Runnable::run, 1);
+    }
+
+    /**
+     * @param supplierExecutor pool that helps process suppliers of large ledgers
+     * @param parallelism      maximum threads (including the caller) working on one ledger
+     */
+    public Rule37InterestCalculationService(Executor supplierExecutor, int parallelism) {
+        this.supplierExecutor = supplierExecutor;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
     @Override
     public CalculationSummary calculate(List<LedgerEntry> entries, LocalDate asOnDate) {
-        var queues = partitionBySupplier(entries);
-        var results = processAllSuppliers(queues, asOnDate);
+        var suppliers = partitionBySupplier(entries);
+        var results = processAllSuppliers(suppliers, entries.size(), asOnDate);
         return buildSummary(results, asOnDate);
     }
 
-    private SupplierQueues partitionBySupplier(List<LedgerEntry> entries) {
-        Map<String, List<MutableLedgerItem>> purchases = new LinkedHashMap<>();
-        Map<String, List<MutableLedgerItem>> payments = new LinkedHashMap<>();
-
-        entries.stream()
-                .sorted(Comparator.comparing(LedgerEntry::getDate))
-                .forEach(entry -> {
-            var map = entry.getEntryType() == LedgerEntry.LedgerEntryType.PURCHASE
-                    ? purchases
-                    : payments;
-            map.computeIfAbsent(entry.getSupplier(), k -> new ArrayList<>())
-                    .add(new MutableLedgerItem(entry.getDate(),
-                            entry.getAmount(), entry.getInvoiceNumber()));
-        });
-
-        return new SupplierQueues(purchases, payments);
-    }
-
-    private List<InterestRow> processAllSuppliers(SupplierQueues queues, LocalDate asOnDate) {
-        List<InterestRow> results = new ArrayList<>();
+    /**
+     * Groups entries per supplier in a single pass, then sorts each supplier's purchases
+     * and payments by date (stable, so same-day entries keep ledger order). Suppliers are
+     * ordered by their earliest purchase — ties broken by ledger position — which is the
+     * order a stable global date sort would first encounter them in. Suppliers with only
+     * payments produce no rows and are dropped.
+     */
+    private List<SupplierLedger> partitionBySupplier(List<LedgerEntry> entries) {
+        Map<String, SupplierLedger> bySupplier = new HashMap<>();
+        for (int i = 0; i < entries.size(); i++) {
+            LedgerEntry entry = entries.get(i);
+            SupplierLedger ledger = bySupplier.computeIfAbsent(entry.getSupplier(), SupplierLedger::new);
+            if (entry.getEntryType() == LedgerEntry.LedgerEntryType.PURCHASE) {
+                ledger.addPurchase(entry, i);
+            } else {
+                ledger.payments.add(entry);
+            }
+        }
 
-        queues.purchases().forEach((supplier, purchaseQueue) -> {
-            var paymentQueue = new ArrayList<>(
-                    queues.payments().getOrDefault(supplier, List.of()));
-            var pQueue = new ArrayList<>(purchaseQueue);
+        List<SupplierLedger> suppliers = new ArrayList<>(bySupplier.size());
+        for (SupplierLedger ledger : bySupplier.values()) {
+            if (!ledger.purchases.isEmpty()) {
+                ledger.purchases.sort(BY_DATE);
+                ledger.payments.sort(BY_DATE);
+                suppliers.add(ledger);
+            }
+        }
+        suppliers.sort(Comparator.comparing((SupplierLedger l) -> l.firstPurchaseDate)
+                .thenComparingInt(l -> l.firstPurchaseIndex));
+        return suppliers;
+    }
 
-            processFifoMatching(supplier, pQueue, paymentQueue, asOnDate, results);
-            processUnpaidPurchases(supplier, pQueue, asOnDate, results);
-        });
+    /**
+     * Runs FIFO matching for every supplier and concatenates the rows in supplier order.
+     *
+     * <p>Suppliers are independent, so for large ledgers helper tasks on the supplier pool
+     * and the calling thread claim suppliers from a shared cursor. The caller always takes
+     * part, so a saturated or rejected pool only reduces parallelism and can never leave
+     * the ledger waiting on queued work.
+     */
+    private List<InterestRow> processAllSuppliers(List<SupplierLedger> suppliers, int entryCount,
+            LocalDate asOnDate) {
+        int n = suppliers.size();
+        @SuppressWarnings("unchecked")
+        List<InterestRow>[] perSupplier = new List[n];
+
+        if (parallelism <= 1 || n < 2 || entryCount < PARALLEL_THRESHOLD) {
+            for (int i = 0; i < n; i++) {
+                perSupplier[i] = processSupplier(suppliers.get(i), asOnDate);
+            }
+        } else {
+            AtomicInteger next = new AtomicInteger();
+            CountDownLatch done = new CountDownLatch(n);
+            AtomicReference<RuntimeException> failure = new AtomicReference<>();
+            Runnable worker = () -> {
+                int i;
+                while ((i = next.getAndIncrement()) < n) {
+                    try {
+                        perSupplier[i] = processSupplier(suppliers.get(i), asOnDate);
+                    } catch (RuntimeException e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            };
+            for (int helper = 1; helper < Math.min(parallelism, n); helper++) {
+                try {
+                    supplierExecutor.execute(worker);
+                } catch (RejectedExecutionException e) {
+                    break;
+                }
+            }
+            worker.run();
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Rule 37 calculation interrupted", e);
+            }
+            if (failure.get() != null) {
+                throw failure.get();
+            }
+        }
 
+        int total = 0;
+        for (List<InterestRow> rows : perSupplier) {
+            total += rows.size();
+        }
+        List<InterestRow> results = new ArrayList<>(total);
+        for (List<InterestRow> rows : perSupplier) {
+            results.addAll(rows);
+        }
         return results;
     }
 
-    private void processFifoMatching(String supplier, List<MutableLedgerItem> purchases,
-            List<MutableLedgerItem> payments, LocalDate asOnDate, List<InterestRow> results) {
+    private List<InterestRow> processSupplier(SupplierLedger ledger, LocalDate asOnDate) {
+        List<InterestRow> rows = new ArrayList<>(ledger.purchases.size() + ledger.payments.size());
+        int unpaidFrom = processFifoMatching(ledger, asOnDate, rows);
+        processUnpaidPurchases(ledger, unpaidFrom, asOnDate, rows);
+        return rows;
+    }
 
-        while (!purchases.isEmpty() && !payments.isEmpty()) {
-            var purchase = purchases.getFirst();
-            var payment = payments.getFirst();
-            BigDecimal matched = purchase.amount().min(payment.amount());
-            int delayDays = daysBetween(purchase.date(), payment.date());
-            LocalDate itcAvailmentDate = calculateItcAvailmentDate(purchase.date());
-            int interestDays = Math.max(0, daysBetween(itcAvailmentDate, payment.date()));
+    /**
+     * FIFO-matches purchases against payments using index cursors; only the partially
+     * consumed head purchase/payment carries a remaining amount.
+     *
+     * @return index of the first purchase that is not fully paid; its unpaid amount is
+     *         left in {@link SupplierLedger#headRemaining}
+     */
+    private int processFifoMatching(SupplierLedger ledger, LocalDate asOnDate, List<InterestRow> results) {
+        String supplier = ledger.supplier;
+        List<LedgerEntry> purchases = ledger.purchases;
+        List<LedgerEntry> payments = ledger.payments;
+        int pi = 0;
+        int yi = 0;
+        BigDecimal purchaseLeft = purchases.isEmpty() ? null : purchases.get(0).getAmount();
+        BigDecimal paymentLeft = payments.isEmpty() ? null : payments.get(0).getAmount();
+
+        while (pi < purchases.size() && yi < payments.size()) {
+            LedgerEntry purchase = purchases.get(pi);
+            LedgerEntry payment = payments.get(yi);
+            BigDecimal matched = purchaseLeft.min(paymentLeft);
+            int delayDays = daysBetween(purchase.getDate(), payment.getDate());
+            LocalDate itcAvailmentDate = calculateItcAvailmentDate(purchase.getDate());
+            int interestDays = Math.max(0, daysBetween(itcAvailmentDate, payment.getDate()));
 
             if (delayDays > DAYS_THRESHOLD) {
-                results.add(createInterestRow(supplier, purchase.date(), payment.date(),
-                        matched, purchase.originalAmount(), delayDays, interestDays, InterestRow.InterestStatus.PAID_LATE, 
-                        purchase.invoiceNumber(), itcAvailmentDate, asOnDate));
+                results.add(createInterestRow(supplier, purchase.getDate(), payment.getDate(),
+                        matched, purchase.getAmount(), delayDays, interestDays, InterestRow.InterestStatus.PAID_LATE,
+                        purchase.getInvoiceNumber(), itcAvailmentDate, asOnDate));
             } else {
                 // On-time payment — no interest/ITC but included for complete report
-                results.add(createOnTimeRow(supplier, purchase.date(), payment.date(),
-                        matched, purchase.originalAmount(), delayDays, purchase.invoiceNumber(), asOnDate));
+                results.add(createOnTimeRow(supplier, purchase.getDate(), payment.getDate(),
+                        matched, purchase.getAmount(), delayDays, purchase.getInvoiceNumber(), asOnDate));
             }
 
-            purchase.reduceBy(matched);
-            payment.reduceBy(matched);
-            if (purchase.isExhausted())
-                purchases.removeFirst();
-            if (payment.isExhausted())
-                payments.removeFirst();
+            purchaseLeft = purchaseLeft.subtract(matched);
+            paymentLeft = paymentLeft.subtract(matched);
+            if (isExhausted(purchaseLeft) && ++pi < purchases.size()) {
+                purchaseLeft = purchases.get(pi).getAmount();
+            }
+            if (isExhausted(paymentLeft) && ++yi < payments.size()) {
+                paymentLeft = payments.get(yi).getAmount();
+            }
         }
+
+        ledger.headRemaining = purchaseLeft;
+        return pi;
     }
 
-    private void processUnpaidPurchases(String supplier, List<MutableLedgerItem> purchases,
-            LocalDate asOnDate, List<InterestRow> results) {
+    private void processUnpaidPurchases(SupplierLedger ledger, int from, LocalDate asOnDate,
+            List<InterestRow> results) {
+        String supplier = ledger.supplier;
+        List<LedgerEntry> purchases = ledger.purchases;
 
-        for (MutableLedgerItem purchase : purchases) {
-            int days = daysBetween(purchase.date(), asOnDate);
-            LocalDate itcAvailmentDate = calculateItcAvailmentDate(purchase.date());
+        for (int i = from; i < purchases.size(); i++) {
+            LedgerEntry purchase = purchases.get(i);
+            BigDecimal remaining = i == from ? ledger.headRemaining : purchase.getAmount();
+            int days = daysBetween(purchase.getDate(), asOnDate);
+            LocalDate itcAvailmentDate = calculateItcAvailmentDate(purchase.getDate());
             int interestDays = Math.max(0, daysBetween(itcAvailmentDate, asOnDate));
 
             if (days > DAYS_THRESHOLD) {
                 results.add(createInterestRow(
-                        supplier, purchase.date(), null, purchase.amount(), purchase.originalAmount(),
-                        days, interestDays, InterestRow.InterestStatus.UNPAID, purchase.invoiceNumber(), itcAvailmentDate, asOnDate));
+                        supplier, purchase.getDate(), null, remaining, purchase.getAmount(),
+                        days, interestDays, InterestRow.InterestStatus.UNPAID, purchase.getInvoiceNumber(), itcAvailmentDate, asOnDate));
             } else if (days > AT_RISK_THRESHOLD) {
                 results.add(createAtRiskRow(
-                        supplier, purchase.date(), purchase.amount(), purchase.originalAmount(), days, purchase.invoiceNumber(), asOnDate));
+                        supplier, purchase.getDate(), remaining, purchase.getAmount(), days, purchase.getInvoiceNumber(), asOnDate));
             } else {
                 // Safe unpaid — within 180 days, included for complete report
                 results.add(createSafeUnpaidRow(
-                        supplier, purchase.date(), purchase.amount(), purchase.originalAmount(), days, purchase.invoiceNumber(), asOnDate));
+                        supplier, purchase.getDate(), remaining, purchase.getAmount(), days, purchase.getInvoiceNumber(), asOnDate));
             }
         }
     }
@@ -177,8 +311,7 @@ public class Rule37InterestCalculationService implements Rule37InterestCalculato
 
         // GST-014: Show potential ITC at risk so user sees what's at stake.
         // Interest stays at zero — obligation not triggered until 180 days breached.
-        BigDecimal potentialItc = principal.multiply(ITC_NUMERATOR, MC)
-                .divide(ITC_DENOMINATOR, SCALE, RM);
+        BigDecimal potentialItc = computeItc(principal);
 
         return InterestRow.builder()
                 .supplier(supplier)
@@ -281,7 +414,21 @@ public class Rule37InterestCalculationService implements Rule37InterestCalculato
                 .build();
     }
 
+    /**
+     * ITC share and Section 50 interest for a principal. Whole-paise principals (the
+     * common case) are computed on the {@link Paise} kernel; anything it cannot reproduce
+     * exactly takes the original {@code BigDecimal} path.
+     */
     private static ItcInterest computeItcAndInterest(BigDecimal principal, int interestDays) {
+        long principalPaise = Paise.exact(principal);
+        if (principalPaise != Paise.INEXACT) {
+            long itcPaise = Paise.ratioDecimal64(principalPaise, ITC_RATE_PERCENT, ITC_GROSS_PERCENT);
+            long interestPaise = itcPaise == Paise.INEXACT ? Paise.INEXACT
+                    : Paise.simpleInterestDecimal64(itcPaise, INTEREST_RATE_PERCENT, interestDays);
+            if (interestPaise != Paise.INEXACT) {
+                return new ItcInterest(Paise.toRupees(itcPaise), Paise.toRupees(interestPaise));
+            }
+        }
         BigDecimal itcAmount = principal.multiply(ITC_NUMERATOR, MC)
                 .divide(ITC_DENOMINATOR, SCALE, RM);
         BigDecimal interest = itcAmount.multiply(INTEREST_RATE, MC)
@@ -290,6 +437,16 @@ public class Rule37InterestCalculationService implements Rule37InterestCalculato
         return new ItcInterest(itcAmount, interest);
     }
 
+    private static BigDecimal computeItc(BigDecimal principal) {
+        long principalPaise = Paise.exact(principal);
+        long itcPaise = principalPaise == Paise.INEXACT ? Paise.INEXACT
+                : Paise.ratioDecimal64(principalPaise, ITC_RATE_PERCENT, ITC_GROSS_PERCENT);
+        if (itcPaise != Paise.INEXACT) {
+            return Paise.toRupees(itcPaise);
+        }
+        return principal.multiply(ITC_NUMERATOR, MC).divide(ITC_DENOMINATOR, SCALE, RM);
+    }
+
     private static InterestRow.RiskCategory categorizeRisk(int delayDays) {
         if (delayDays <= AT_RISK_THRESHOLD)
             return InterestRow.RiskCategory.SAFE;
@@ -298,10 +455,15 @@ public class Rule37InterestCalculationService implements Rule37InterestCalculato
         return InterestRow.RiskCategory.BREACHED;
     }
 
+    /** GSTR-3B period label ("Mon yyyy") of the month after the deadline, memoized per month. */
     private static String formatGstr3bPeriod(LocalDate deadline) {
-        LocalDate reportingMonth = deadline.plusMonths(1);
-        Month month = reportingMonth.getMonth();
-        return month.getDisplayName(TextStyle.SHORT, Locale.ENGLISH) + " " + reportingMonth.getYear();
+        return GSTR3B_PERIOD_LABELS.computeIfAbsent(YearMonth.from(deadline).plusMonths(1),
+                reportingMonth -> reportingMonth.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH)
+                        + " " + reportingMonth.getYear());
+    }
+
+    private static boolean isExhausted(BigDecimal amount) {
+        return amount.compareTo(AMOUNT_EPSILON) <= 0;
     }
 
     private static int daysBetween(LocalDate from, LocalDate to) {
@@ -316,46 +478,27 @@ public class Rule37InterestCalculationService implements Rule37InterestCalculato
     private record ItcInterest(BigDecimal itcAmount, BigDecimal interest) {
     }
 
-    private record SupplierQueues(
-            Map<String, List<MutableLedgerItem>> purchases,
-            Map<String, List<MutableLedgerItem>> payments) {
-    }
-
-    private static final class MutableLedgerItem {
-        private final LocalDate date;
-        private final BigDecimal originalAmount;
-        private final String invoiceNumber;
-        private BigDecimal amount;
-
-        MutableLedgerItem(LocalDate date, BigDecimal amount, String invoiceNumber) {
-            this.date = date;
-            this.amount = amount;
-            this.originalAmount = amount;
-            this.invoiceNumber = invoiceNumber;
-        }
+    private static final Comparator<LedgerEntry> BY_DATE = Comparator.comparing(LedgerEntry::getDate);
 
-        LocalDate date() {
-            return date;
-        }
-
-        BigDecimal amount() {
-            return amount;
-        }
+    /** One supplier's purchases and payments plus the FIFO state left after matching. */
+    private static final class SupplierLedger {
+        private final String supplier;
+        private final List<LedgerEntry> purchases = new ArrayList<>();
+        private final List<LedgerEntry> payments = new ArrayList<>();
+        private LocalDate firstPurchaseDate;
+        private int firstPurchaseIndex;
+        private BigDecimal headRemaining;
 
-        BigDecimal originalAmount() {
-            return originalAmount;
+        SupplierLedger(String supplier) {
+            this.supplier = supplier;
         }
 
-        String invoiceNumber() {
-            return invoiceNumber;
-        }
-
-        void reduceBy(BigDecimal value) {
-            this.amount = this.amount.subtract(value);
-        }
-
-        boolean isExhausted() {
-            return amount.compareTo(AMOUNT_EPSILON) <= 0;
+        void addPurchase(LedgerEntry entry, int index) {
+            if (firstPurchaseDate == null || entry.getDate().isBefore(firstPurchaseDate)) {
+                firstPurchaseDate = entry.getDate();
+                firstPurchaseIndex = index;
+            }
+            purchases.add(entry);
         }
     }
 }
@@ -0,0 +1,180 @@
+package com.learning.backendservice.domain.shared;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money kernel: amounts as {@code long} paise (₹0.01) with explicit
+ * {@code HALF_UP} rounding, for the per-row GST formulas (18/118 ITC share,
+ * Section 50 interest, per-day fees, tolerance percentages).
+ *
+ * <p>Every operation returns exactly what the {@link BigDecimal} expression it replaces
+ * returns — the same value, and scale 2 once converted back with {@link #toRupees}.
+ * Where that cannot be guaranteed (an input that is not whole paise, a product that
+ * overflows {@code long}, or one that {@code MathContext.DECIMAL64} would round) the
+ * operation returns {@link #INEXACT} and the caller falls back to its BigDecimal path.
+ * The fast path therefore never changes an output; it only skips the allocation and
+ * {@code MathContext} work for the common case.
+ *
+ * <p>Convert to {@code BigDecimal} only at the result boundary.
+ */
+public final class Paise {
+
+    /** Sentinel for "no exact paise result" — never a valid amount in GST calculations. */
+    public static final long INEXACT = Long.MIN_VALUE;
+
+    private static final int SCALE = 2;
+    private static final long DAYS_IN_YEAR = 365;
+
+    /** Largest unscaled magnitude (exclusive) {@code MathContext.DECIMAL64} keeps exact: 16 digits. */
+    private static final long DECIMAL64_LIMIT = 10_000_000_000_000_000L;
+
+    /** Ratio scale used by {@link #percentHundredths}: {@code divide(denominator, 10, HALF_UP)}. */
+    private static final long RATIO_SCALE_FACTOR = 10_000_000_000L;
+
+    private Paise() {
+    }
+
+    // ── Boundary conversions ─────────────────────────────────────────────────
+
+    /**
+     * Amount in paise if {@code rupees} is a whole number of paise, else {@link #INEXACT}.
+     */
+    public static long exact(BigDecimal rupees) {
+        BigDecimal value = rupees;
+        if (value.scale() > SCALE) {
+            value = value.stripTrailingZeros();
+            if (value.scale() > SCALE) {
+                return INEXACT;
+            }
+        }
+        return unscaledOrInexact(value.setScale(SCALE));
+    }
+
+    /**
+     * Amount in paise after {@code setScale(2, HALF_UP)}; {@link #INEXACT} if outside the {@code long} range.
+     */
+    public static long round(BigDecimal rupees) {
+        return unscaledOrInexact(rupees.setScale(SCALE, RoundingMode.HALF_UP));
+    }
+
+    /** Scale-2 {@link BigDecimal} for an amount in paise. */
+    public static BigDecimal toRupees(long paise) {
+        return BigDecimal.valueOf(paise, SCALE);
+    }
+
+    // ── Arithmetic ───────────────────────────────────────────────────────────
+
+    /**
+     * {@code numerator / denominator} rounded half away from zero — the integer form of
+     * {@code BigDecimal.divide(..., HALF_UP)}.
+     */
+    public static long divideHalfUp(long numerator, long denominator) {
+        long quotient = numerator / denominator;
+        long remainder = numerator % denominator;
+        if (remainder != 0 && Math.abs(remainder) >= Math.abs(denominator) - Math.abs(remainder)) {
+            quotient += (numerator ^ denominator) < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    /** {@code paise × factor}, or {@link #INEXACT} on overflow. */
+    public static long multiply(long paise, long factor) {
+        if (paise == INEXACT) {
+            return INEXACT;
+        }
+        long high = Math.multiplyHigh(paise, factor);
+        long low = paise * factor;
+        return (high == 0 && low >= 0) || (high == -1 && low < 0) ? low : INEXACT;
+    }
+
+    /**
+     * {@code amount × numerator / denominator} rounded to paise with exact multiplication,
+     * e.g. a 0.25% cap as {@code ratio(turnover, 25, 10_000)}.
+     */
+    public static long ratio(long paise, long numerator, long denominator) {
+        long product = multiply(paise, numerator);
+        return product == INEXACT ? INEXACT : divideHalfUp(product, denominator);
+    }
+
+    /**
+     * {@code amount × numerator / denominator} rounded to paise, matching
+     * {@code amount.multiply(numerator, DECIMAL64).divide(denominator, 2, HALF_UP)}.
+     * Used for the ITC share of a GST-inclusive amount (18/118).
+     */
+    public static long ratioDecimal64(long paise, long numerator, long denominator) {
+        long product = multiply(paise, numerator);
+        if (!fitsDecimal64(product)) {
+            return INEXACT;
+        }
+        return divideHalfUp(product, denominator);
+    }
+
+    /**
+     * Simple interest {@code amount × ratePercent% × days / 365} rounded to paise, matching
+     * {@code amount.multiply(rate).multiply(days).divide(365, 2, HALF_UP)} with exact
+     * (unbounded precision) multiplication.
+     */
+    public static long simpleInterest(long paise, long ratePercent, long days) {
+        long product = multiply(multiply(paise, ratePercent), days);
+        return product == INEXACT ? INEXACT : divideHalfUp(product, 100 * DAYS_IN_YEAR);
+    }
+
+    /**
+     * As {@link #simpleInterest}, but for the {@code MathContext.DECIMAL64} chain
+     * {@code amount.multiply(rate, MC).multiply(days, MC).divide(365, 2, HALF_UP)}:
+     * only exact while every intermediate product stays within 16 digits.
+     */
+    public static long simpleInterestDecimal64(long paise, long ratePercent, long days) {
+        long withRate = multiply(paise, ratePercent);
+        if (!fitsDecimal64(withRate)) {
+            return INEXACT;
+        }
+        long product = multiply(withRate, days);
+        return fitsDecimal64(product) ? divideHalfUp(product, 100 * DAYS_IN_YEAR) : INEXACT;
+    }
+
+    /**
+     * {@code part / whole × 100} in hundredths of a percent, matching
+     * {@code part.divide(whole, 10, HALF_UP).multiply(100).setScale(2, HALF_UP)} —
+     * including its intermediate rounding to ten decimal places.
+     *
+     * @param partPaise  non-negative numerator
+     * @param wholePaise positive denominator
+     */
+    public static long percentHundredths(long partPaise, long wholePaise) {
+        long scaled = multiply(partPaise, RATIO_SCALE_FACTOR);
+        if (scaled == INEXACT) {
+            return INEXACT;
+        }
+        long ratio = divideHalfUp(scaled, wholePaise);
+        return divideHalfUp(ratio, RATIO_SCALE_FACTOR / 10_000);
+    }
+
+    // ── BigDecimal boundary helpers ──────────────────────────────────────────
+
+    /**
+     * Per-day fee {@code dailyRate × days}, equal to
+     * {@code dailyRate.multiply(days).setScale(2, HALF_UP)}.
+     */
+    public static BigDecimal perDay(BigDecimal dailyRate, long days) {
+        long fee = multiply(exact(dailyRate), days);
+        if (fee != INEXACT) {
+            return toRupees(fee);
+        }
+        return dailyRate.multiply(BigDecimal.valueOf(days)).setScale(SCALE, RoundingMode.HALF_UP);
+    }
+
+    // ── Private helpers ──────────────────────────────────────────────────────
+
+    private static boolean fitsDecimal64(long unscaled) {
+        return unscaled != INEXACT && Math.abs(unscaled) < DECIMAL64_LIMIT;
+    }
+
+    private static long unscaledOrInexact(BigDecimal scaled) {
+        if (scaled.precision() > 18) {
+            return INEXACT;
+        }
+        return scaled.unscaledValue().longValue();
+    }
+}
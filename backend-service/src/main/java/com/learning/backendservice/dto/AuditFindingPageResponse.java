@@ -0,0 +1,23 @@
+package com.learning.backendservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One keyset page of a run's findings, highest impact first.
+ *
+ * <p>{@code nextCursor} is opaque: pass it back as {@code cursor} to get the next page.
+ * It is omitted on the last page.
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AuditFindingPageResponse {
+
+    private final List<AuditFindingResponse> findings;
+
+    private final String nextCursor;
+}
@@ -0,0 +1,41 @@
+package com.learning.backendservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * DTO for one compliance finding of an audit run.
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AuditFindingResponse {
+
+    /** UUID v7 string */
+    private final String id;
+
+    private final String ruleId;
+
+    /** CRITICAL | HIGH | MEDIUM | LOW | INFO */
+    private final String severity;
+
+    private final String legalBasis;
+
+    /** e.g. "FY: 2024-25, Tax Period: Apr-2024" */
+    private final String compliancePeriod;
+
+    /** Financial impact of this finding (₹) */
+    private final BigDecimal impactAmount;
+
+    private final String description;
+
+    private final String recommendedAction;
+
+    private final Boolean autoFixAvailable;
+
+    private final OffsetDateTime createdAt;
+}
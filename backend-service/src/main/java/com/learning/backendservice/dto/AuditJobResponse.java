@@ -0,0 +1,45 @@
+package com.learning.backendservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Status of an async audit job, returned on submission (202) and by the
+ * poll / long-poll endpoint {@code GET /api/v1/audit/jobs/{id}}.
+ *
+ * <p>The job id is the id of the audit run it produces: once {@code status}
+ * is SUCCESS the full result is available at {@code GET /api/v1/audit/runs/{runId}}.
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AuditJobResponse {
+
+    private final String jobId;
+
+    /** PENDING | RUNNING | SUCCESS | FAILED */
+    private final String status;
+
+    /** Set once the job succeeded; equal to {@code jobId}. */
+    private final String runId;
+
+    /** Failure reason when {@code status} is FAILED. */
+    private final String errorMessage;
+
+    /** Number of times a worker picked the job up. */
+    private final Integer attempts;
+
+    private final OffsetDateTime createdAt;
+
+    private final OffsetDateTime startedAt;
+
+    private final OffsetDateTime completedAt;
+
+    /** True for SUCCESS and FAILED — no further polling needed. */
+    public boolean isTerminal() {
+        return "SUCCESS".equals(status) || "FAILED".equals(status);
+    }
+}
@@ -1,6 +1,8 @@
 package com.learning.backendservice.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.databind.JsonSerializable;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -14,6 +16,11 @@ import java.time.OffsetDateTime;
  *
  * <p>The {@code id} field is serialized as a UUID v7 string.
  * Migrated legacy runs will have UUID v4 strings.
+ *
+ * <p>{@code inputMetadata} holds the stored JSONB text and is written into the response as-is,
+ * never parsed into an object tree and re-serialized. {@code resultData} writes itself: stored
+ * JSONB as-is, a compressed result decoded straight into the response stream
+ * (see {@link com.learning.backendservice.service.AuditResultCodec#resultJson}).
  */
 @Getter
 @Builder
@@ -49,11 +56,12 @@ public class AuditRunResponse {
      * Rule-specific input params as-stored (e.g. asOnDate, filename).
      * Always included.
      */
-    private final Object inputMetadata;
+    @JsonRawValue
+    private final String inputMetadata;
 
     /**
      * Rule-specific result data (e.g. List&lt;LedgerResult&gt; for Rule 37).
      * Only included when fetching a single run by ID (not in list responses).
      */
-    private final Object resultData;
+    private final JsonSerializable resultData;
 }
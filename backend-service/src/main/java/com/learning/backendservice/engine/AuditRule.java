@@ -120,6 +120,20 @@ public interface AuditRule<I, O> {
         return 100;
     }
 
+    /**
+     * Rule IDs that must finish before this rule starts.
+     *
+     * <p>{@link PipelineExecutor} runs rules concurrently; declare a dependency only when
+     * ordering matters. Rules in the pre-check band (execution order 0–9) are implicit
+     * dependencies of every later rule. Dependencies not resolved for the current run are
+     * ignored, and a failed dependency does not prevent this rule from running.
+     *
+     * @return IDs of prerequisite rules; default none
+     */
+    default Set<String> getDependsOn() {
+        return Set.of();
+    }
+
     /**
      * Execute the audit rule.
      *
@@ -9,9 +9,9 @@ import java.util.List;
  * <p>The orchestrator uses this to:
  * <ul>
  *   <li>Persist {@link AuditFinding} instances to {@code audit_findings} table
- *   <li>Store {@code ruleSpecificOutput} as JSONB in {@code audit_runs.result_data}
+ *   <li>Store {@code ruleSpecificOutput} in {@code audit_runs} via {@code AuditResultCodec} (JSONB, or compressed when large)
  *   <li>Record the {@code totalImpact} in {@code audit_runs.total_impact_amount}
- *   <li>Consume {@code creditsConsumed} credits via {@code CreditClient}
+ *   <li>Queue a debit of {@code creditsConsumed} credits in {@code credit_consume_outbox}
  * </ul>
  *
  * @param <O>                rule-specific output type (serialized to JSON for storage)
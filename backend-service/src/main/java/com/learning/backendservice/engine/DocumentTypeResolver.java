@@ -5,26 +5,100 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.learning.backendservice.entity.ParsedDocument;
 import com.learning.backendservice.exception.LedgerParseException;
 import com.learning.backendservice.service.ingestion.ParserOrchestrator;
-import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Resolves uploaded MultipartFiles into typed AuditDocuments.
  * Calls the Python parser sidecar to classify and extract fields.
+ *
+ * <p>{@link #resolveAll} fans the sidecar calls of one upload out over the bounded
+ * {@code documentResolveExecutor}, whose size ({@code app.parser.max-in-flight}) caps
+ * concurrent sidecar requests across all uploads.
  */
 @Component
-@RequiredArgsConstructor
 public class DocumentTypeResolver {
 
     private static final Logger log = LoggerFactory.getLogger(DocumentTypeResolver.class);
     private final ParserOrchestrator parserOrchestrator;
     private final ObjectMapper objectMapper;
+    private final Executor resolveExecutor;
+
+    /** Sequential resolver — every file is parsed on the calling thread. */
+    public DocumentTypeResolver(ParserOrchestrator parserOrchestrator, ObjectMapper objectMapper) {
+        this(parserOrchestrator, objectMapper, Runnable::run);
+    }
+
+    @Autowired
+    public DocumentTypeResolver(ParserOrchestrator parserOrchestrator,
+                                ObjectMapper objectMapper,
+                                @Qualifier("documentResolveExecutor") Executor resolveExecutor) {
+        this.parserOrchestrator = parserOrchestrator;
+        this.objectMapper = objectMapper;
+        this.resolveExecutor = resolveExecutor;
+    }
+
+    /**
+     * Resolve every file of an upload, concurrently for sidecar-backed modes.
+     *
+     * <p>All files are attempted even when some fail; failures are then reported
+     * together in one {@link LedgerParseException} naming each failed file.
+     *
+     * @return documents in the same order as {@code files}
+     * @throws LedgerParseException if any file could not be resolved
+     */
+    public List<AuditDocument> resolveAll(List<MultipartFile> files, AnalysisMode mode) {
+        if (mode == AnalysisMode.LEDGER_ANALYSIS || files.size() <= 1) {
+            return files.stream().map(f -> resolve(f, mode)).toList();
+        }
+
+        Executor executor = boundedOrInline();
+        List<CompletableFuture<AuditDocument>> futures = files.stream()
+                .map(f -> CompletableFuture.supplyAsync(() -> resolve(f, mode), executor))
+                .toList();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new))
+                .exceptionally(ex -> null)
+                .join();
+
+        List<AuditDocument> documents = new ArrayList<>(files.size());
+        List<String> errors = new ArrayList<>();
+        Throwable firstCause = null;
+        for (int i = 0; i < files.size(); i++) {
+            try {
+                documents.add(futures.get(i).join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                if (firstCause == null) {
+                    firstCause = cause;
+                }
+                errors.add(cause instanceof LedgerParseException
+                        ? cause.getMessage()
+                        : files.get(i).getOriginalFilename() + ": " + cause.getMessage());
+            }
+        }
+
+        if (errors.size() == 1 && firstCause instanceof LedgerParseException single) {
+            throw single;
+        }
+        if (!errors.isEmpty()) {
+            throw new LedgerParseException(errors.size() + " of " + files.size()
+                    + " documents could not be processed: " + String.join("; ", errors), firstCause);
+        }
+        return documents;
+    }
 
     public AuditDocument resolve(MultipartFile file, AnalysisMode mode) {
         // If it's a raw purchase ledger for Rule 37
@@ -95,4 +169,18 @@ public class DocumentTypeResolver {
             }
         };
     }
+
+    /**
+     * When the pool queue is full the file is parsed on the calling thread, which
+     * already carries the tenant, rather than failing the upload.
+     */
+    private Executor boundedOrInline() {
+        return task -> {
+            try {
+                resolveExecutor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        };
+    }
 }
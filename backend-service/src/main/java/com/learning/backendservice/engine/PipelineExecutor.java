@@ -1,20 +1,36 @@
 package com.learning.backendservice.engine;
 
-import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
- * Executes resolved audit rules sequentially against the shared {@link AuditContext}.
+ * Executes resolved audit rules against the shared {@link AuditContext}.
+ *
+ * <p>Rules are pure functions over the immutable context, so independent rules run
+ * concurrently on the bounded {@code ruleExecutor} pool. Ordering constraints form a
+ * DAG: every rule waits for its {@link AuditRule#getDependsOn()} rules and, unless it is
+ * itself a pre-check, for all pre-check rules (execution order 0–9). A 14-rule GSTR run
+ * therefore takes roughly as long as its slowest dependency chain instead of the sum.
  *
  * <p>Each rule is isolated — a failure in one rule does not abort the pipeline.
  * Failed rules produce a {@link RuleExecutionResult} with {@code status="FAILED"} and an
  * {@code errorMessage}; successful rules from the same run still complete normally.
+ * {@code durationMs} measures the rule itself, not time spent queued. Results are always
+ * reported in input order, whatever order the rules finished in.
  *
  * <p>Type safety is achieved via the {@link InputResolverRegistry}: the executor never
  * casts rule inputs directly. Instead it calls {@code resolver.resolve(context)} to obtain
@@ -23,68 +39,217 @@ import java.util.List;
  * guarantees resolver ↔ rule ID alignment.
  */
 @Component
-@RequiredArgsConstructor
 public class PipelineExecutor {
 
     private static final Logger log = LoggerFactory.getLogger(PipelineExecutor.class);
 
+    /** Rules with an execution order below this are pre-checks that gate all other rules. */
+    static final int PRE_CHECK_ORDER_LIMIT = 10;
+
     private final InputResolverRegistry inputResolverRegistry;
+    private final Executor ruleExecutor;
+    private final int parallelism;
+
+    /** Sequential executor — every rule runs on the calling thread, in order. */
+    public PipelineExecutor(InputResolverRegistry inputResolverRegistry) {
+        this(inputResolverRegistry, Runnable::run, 1);
+    }
+
+    @Autowired
+    public PipelineExecutor(InputResolverRegistry inputResolverRegistry,
+                            @Qualifier("ruleExecutor") Executor ruleExecutor,
+                            @Value("${app.audit.pipeline.rule-parallelism:8}") int parallelism) {
+        this.inputResolverRegistry = inputResolverRegistry;
+        this.ruleExecutor = ruleExecutor;
+        this.parallelism = parallelism;
+    }
 
     /**
-     * Execute all resolved rules against the given context in order.
+     * Execute all resolved rules against the given context.
      *
      * @param rules   rules to execute, sorted by {@link AuditRule#getExecutionOrder()}
      * @param context immutable audit context with pre-loaded documents and resources
-     * @return aggregated pipeline result
+     * @return aggregated pipeline result, per-rule entries in the order of {@code rules}
      */
     public PipelineResult execute(List<AuditRule<?, ?>> rules, AuditContext context) {
-        List<RuleExecutionResult> ruleResults = new ArrayList<>();
+        RuleExecutionResult[] results = new RuleExecutionResult[rules.size()];
+        AuditRuleResult<?>[] outputs = new AuditRuleResult<?>[rules.size()];
+
+        if (parallelism <= 1 || rules.size() <= 1) {
+            for (int i = 0; i < rules.size(); i++) {
+                runRule(rules.get(i), context, results, outputs, i);
+            }
+        } else {
+            executeGraph(rules, context, results, outputs);
+        }
+
+        List<RuleExecutionResult> ruleResults = new ArrayList<>(rules.size());
         List<AuditFinding> allFindings = new ArrayList<>();
         BigDecimal totalImpact = BigDecimal.ZERO;
-        List<String> rulesExecuted = new ArrayList<>();
+        List<String> rulesExecuted = new ArrayList<>(rules.size());
+
+        for (int i = 0; i < rules.size(); i++) {
+            ruleResults.add(results[i]);
+            rulesExecuted.add(results[i].ruleId());
+            if (outputs[i] != null) {
+                allFindings.addAll(outputs[i].findings());
+                totalImpact = totalImpact.add(outputs[i].totalImpact());
+            }
+        }
+
+        return new PipelineResult(
+                List.copyOf(rulesExecuted),
+                List.copyOf(ruleResults),
+                List.copyOf(allFindings),
+                totalImpact);
+    }
+
+    // ─── DAG scheduling ──────────────────────────────────────────────────────
+
+    /**
+     * Start every rule as soon as its prerequisites finish. Futures are chained in
+     * topological order, so each rule's prerequisites already have a future when it is wired.
+     */
+    private void executeGraph(List<AuditRule<?, ?>> rules, AuditContext context,
+                              RuleExecutionResult[] results, AuditRuleResult<?>[] outputs) {
+        List<List<Integer>> prerequisites = prerequisites(rules);
+        List<Integer> order = topologicalOrder(prerequisites);
+        if (order == null) {
+            log.warn("Pipeline rule dependencies contain a cycle; running {} rules sequentially", rules.size());
+            for (int i = 0; i < rules.size(); i++) {
+                runRule(rules.get(i), context, results, outputs, i);
+            }
+            return;
+        }
+
+        Executor executor = boundedOrInline();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[rules.size()];
+        for (int i : order) {
+            int index = i;
+            CompletableFuture<?>[] before = prerequisites.get(i).stream()
+                    .map(p -> futures[p])
+                    .toArray(CompletableFuture<?>[]::new);
+            futures[i] = CompletableFuture.allOf(before)
+                    .thenRunAsync(() -> runRule(rules.get(index), context, results, outputs, index), executor);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    /** Indices each rule must wait for: declared dependencies plus the pre-check band. */
+    private static List<List<Integer>> prerequisites(List<AuditRule<?, ?>> rules) {
+        Map<String, Integer> indexById = new HashMap<>();
+        List<Integer> preChecks = new ArrayList<>();
+        for (int i = 0; i < rules.size(); i++) {
+            indexById.put(rules.get(i).getRuleId(), i);
+            if (rules.get(i).getExecutionOrder() < PRE_CHECK_ORDER_LIMIT) {
+                preChecks.add(i);
+            }
+        }
 
+        List<List<Integer>> prerequisites = new ArrayList<>(rules.size());
         for (AuditRule<?, ?> rule : rules) {
-            long startMs = System.currentTimeMillis();
-            String ruleId = rule.getRuleId();
+            List<Integer> before = new ArrayList<>();
+            if (rule.getExecutionOrder() >= PRE_CHECK_ORDER_LIMIT) {
+                before.addAll(preChecks);
+            }
+            for (String dependency : rule.getDependsOn()) {
+                Integer p = indexById.get(dependency);
+                if (p != null && !before.contains(p) && !dependency.equals(rule.getRuleId())) {
+                    before.add(p);
+                }
+            }
+            prerequisites.add(before);
+        }
+        return prerequisites;
+    }
+
+    /**
+     * Kahn's algorithm, preferring the lowest input index among ready rules so that
+     * submission order follows execution order.
+     *
+     * @return rule indices in dependency order, or {@code null} if there is a cycle
+     */
+    private static List<Integer> topologicalOrder(List<List<Integer>> prerequisites) {
+        int n = prerequisites.size();
+        int[] pending = new int[n];
+        List<List<Integer>> dependents = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            dependents.add(new ArrayList<>());
+        }
+        for (int i = 0; i < n; i++) {
+            pending[i] = prerequisites.get(i).size();
+            for (int p : prerequisites.get(i)) {
+                dependents.get(p).add(i);
+            }
+        }
+
+        PriorityQueue<Integer> ready = new PriorityQueue<>();
+        for (int i = 0; i < n; i++) {
+            if (pending[i] == 0) {
+                ready.add(i);
+            }
+        }
+        List<Integer> order = new ArrayList<>(n);
+        while (!ready.isEmpty()) {
+            int i = ready.poll();
+            order.add(i);
+            for (int d : dependents.get(i)) {
+                if (--pending[d] == 0) {
+                    ready.add(d);
+                }
+            }
+        }
+        return order.size() == n ? order : null;
+    }
 
+    /**
+     * The rule pool is bounded; when it is saturated by concurrent pipelines the rule
+     * runs on the thread that became ready to start it, which already carries the tenant.
+     */
+    private Executor boundedOrInline() {
+        return task -> {
             try {
-                @SuppressWarnings("unchecked")
-                InputResolver<Object> resolver = inputResolverRegistry.getResolver(ruleId);
-                Object input = resolver.resolve(context);
+                ruleExecutor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        };
+    }
 
-                @SuppressWarnings("unchecked")
-                AuditRuleResult<?> result = ((AuditRule<Object, ?>) rule).execute(input, context);
+    // ─── Single rule ─────────────────────────────────────────────────────────
 
-                int durationMs = (int) (System.currentTimeMillis() - startMs);
+    private void runRule(AuditRule<?, ?> rule, AuditContext context,
+                         RuleExecutionResult[] results, AuditRuleResult<?>[] outputs, int index) {
+        long startMs = System.currentTimeMillis();
+        String ruleId = rule.getRuleId();
 
-                ruleResults.add(new RuleExecutionResult(
-                        ruleId, rule.getDisplayName(), rule.getLegalBasis(),
-                        "SUCCESS", result.findings(), result.totalImpact(),
-                        durationMs, null, result.ruleSpecificOutput()));
+        try {
+            @SuppressWarnings("unchecked")
+            InputResolver<Object> resolver = inputResolverRegistry.getResolver(ruleId);
+            Object input = resolver.resolve(context);
 
-                allFindings.addAll(result.findings());
-                totalImpact = totalImpact.add(result.totalImpact());
-                rulesExecuted.add(ruleId);
+            @SuppressWarnings("unchecked")
+            AuditRuleResult<?> result = ((AuditRule<Object, ?>) rule).execute(input, context);
 
-                log.info("Pipeline rule={} status=SUCCESS durationMs={} findings={} impact={}",
-                        ruleId, durationMs, result.findings().size(), result.totalImpact());
+            int durationMs = (int) (System.currentTimeMillis() - startMs);
 
-            } catch (Exception e) {
-                int durationMs = (int) (System.currentTimeMillis() - startMs);
-                log.error("Pipeline rule={} status=FAILED durationMs={} error={}",
-                        ruleId, durationMs, e.getMessage(), e);
+            results[index] = new RuleExecutionResult(
+                    ruleId, rule.getDisplayName(), rule.getLegalBasis(),
+                    "SUCCESS", result.findings(), result.totalImpact(),
+                    durationMs, null, result.ruleSpecificOutput());
+            outputs[index] = result;
 
-                ruleResults.add(RuleExecutionResult.failed(
-                        ruleId, rule.getDisplayName(), e.getMessage(), durationMs));
-                rulesExecuted.add(ruleId);
-                // Continue — failure in one rule does not abort the pipeline
-            }
-        }
+            log.info("Pipeline rule={} status=SUCCESS durationMs={} findings={} impact={}",
+                    ruleId, durationMs, result.findings().size(), result.totalImpact());
 
-        return new PipelineResult(
-                List.copyOf(rulesExecuted),
-                List.copyOf(ruleResults),
-                List.copyOf(allFindings),
-                totalImpact);
+        } catch (Exception e) {
+            int durationMs = (int) (System.currentTimeMillis() - startMs);
+            log.error("Pipeline rule={} status=FAILED durationMs={} error={}",
+                    ruleId, durationMs, e.getMessage(), e);
+
+            results[index] = RuleExecutionResult.failed(
+                    ruleId, rule.getDisplayName(), e.getMessage(), durationMs);
+            // Continue — failure in one rule does not abort the pipeline
+        }
     }
 }
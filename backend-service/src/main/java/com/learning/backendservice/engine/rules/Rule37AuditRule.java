@@ -1,13 +1,18 @@
 package com.learning.backendservice.engine.rules;
 
 
+import com.learning.backendservice.config.MemoryGuard;
+import com.learning.backendservice.config.UploadProperties;
 import com.learning.backendservice.domain.ledger.LedgerFileProcessor;
 import com.learning.backendservice.domain.rule37.InterestRow;
 import com.learning.backendservice.domain.rule37.LedgerResult;
 import com.learning.backendservice.engine.*;
 import com.learning.backendservice.exception.LedgerParseException;
+import com.learning.backendservice.exception.TooManyRequestsException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -15,6 +20,12 @@ import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * GST Rule 37 — 180-Day ITC Reversal Audit Rule.
@@ -39,16 +50,35 @@ public class Rule37AuditRule implements AuditRule<List<MultipartFile>, List<Ledg
     static final String LEGAL_BASIS  = "Section 16(2) proviso, Rule 37 CGST Rules, 2017";
 
     private final LedgerFileProcessor ledgerFileProcessor;
-
-    public Rule37AuditRule() {
+    private final Executor fileExecutor;
+    private final MemoryGuard memoryGuard;
+    private final int fileParallelism;
+
+    @Autowired
+    public Rule37AuditRule(@Qualifier("ledgerFileExecutor") Executor fileExecutor,
+                           @Qualifier("ledgerSupplierExecutor") Executor supplierExecutor,
+                           MemoryGuard memoryGuard,
+                           UploadProperties uploadProperties) {
         this(new com.learning.backendservice.domain.ledger.Rule37LedgerFileProcessor(
-                new com.learning.backendservice.domain.ledger.LedgerExcelParser(),
-                new com.learning.backendservice.domain.rule37.Rule37InterestCalculationService()
-        ));
+                        new com.learning.backendservice.domain.ledger.StreamingLedgerExcelParser(),
+                        new com.learning.backendservice.domain.rule37.Rule37InterestCalculationService(
+                                supplierExecutor, uploadProperties.getSupplierParallelism())),
+                fileExecutor, memoryGuard, uploadProperties.getFileParallelism());
     }
 
+    /**
+     * Sequential, unbudgeted variant — used by unit tests that stub the file processor.
+     */
     public Rule37AuditRule(LedgerFileProcessor ledgerFileProcessor) {
+        this(ledgerFileProcessor, Runnable::run, null, 1);
+    }
+
+    Rule37AuditRule(LedgerFileProcessor ledgerFileProcessor, Executor fileExecutor,
+                    MemoryGuard memoryGuard, int fileParallelism) {
         this.ledgerFileProcessor = ledgerFileProcessor;
+        this.fileExecutor = fileExecutor;
+        this.memoryGuard = memoryGuard;
+        this.fileParallelism = Math.max(1, fileParallelism);
     }
 
     @Override
@@ -91,42 +121,32 @@ public class Rule37AuditRule implements AuditRule<List<MultipartFile>, List<Ledg
     @Override
     public int getCreditsRequired() { return 1; }
 
+    /**
+     * Processes every uploaded ledger file and aggregates results in upload order.
+     *
+     * <p>With {@code app.upload.file-parallelism > 1} and more than one file, files are
+     * parsed and calculated concurrently on the {@code ledgerFileExecutor} pool (tenant
+     * context propagated), at most {@code fileParallelism} at a time for this upload. Each
+     * in-flight file holds a {@link MemoryGuard#reserve reservation} of the shared heap
+     * budget. The first {@link LedgerParseException} cancels the remaining files and is
+     * rethrown, exactly as the sequential loop would.
+     */
     @Override
     public AuditRuleResult<List<LedgerResult>> execute(
             List<MultipartFile> files, AuditContext context) {
 
+        OffsetDateTime now = OffsetDateTime.now();
+        List<FileOutcome> outcomes = (fileParallelism > 1 && files.size() > 1)
+                ? processInParallel(files, context, now)
+                : processSequentially(files, context, now);
+
         List<LedgerResult> results = new ArrayList<>();
         List<AuditFinding> findings = new ArrayList<>();
         int totalLedgerCount = 0;
-        OffsetDateTime now = OffsetDateTime.now();
-
-        for (MultipartFile file : files) {
-            log.debug("Rule37AuditRule processing file={}, tenantId={}, userId={}",
-                    file.getOriginalFilename(), context.tenantId(), context.userId());
-            try {
-                var outcome = ledgerFileProcessor.processWithLedgerCount(
-                        file.getInputStream(),
-                        file.getOriginalFilename(),
-                        context.asOnDate());
-
-                LedgerResult result = outcome.result();
-                results.add(result);
-                totalLedgerCount += outcome.ledgerCount();
-
-                // ── Convert domain results to generic AuditFinding instances ──
-                for (InterestRow row : result.getSummary().getDetails()) {
-                    if (isSignificant(row)) {
-                        findings.add(buildFinding(row, context, now));
-                    }
-                }
-
-            } catch (LedgerParseException e) {
-                log.warn("Rule37AuditRule: parse error in file={}: {}", file.getOriginalFilename(), e.getMessage());
-                throw e;  // Propagate; orchestrator wraps in FileUploadError
-            } catch (Exception e) {
-                log.error("Rule37AuditRule: unexpected error processing file={}", file.getOriginalFilename(), e);
-                throw new LedgerParseException("Processing failed for " + file.getOriginalFilename() + ": " + e.getMessage(), e);
-            }
+        for (FileOutcome outcome : outcomes) {
+            results.add(outcome.result());
+            findings.addAll(outcome.findings());
+            totalLedgerCount += outcome.ledgerCount();
         }
 
         // Add a clean INFO finding if no issues detected
@@ -146,6 +166,96 @@ public class Rule37AuditRule implements AuditRule<List<MultipartFile>, List<Ledg
         return new AuditRuleResult<>(findings, results, totalImpact, totalLedgerCount);
     }
 
+    // ─── File Processing ──────────────────────────────────────────────────────
+
+    /**
+     * Per-file result: the ledger result, its distinct-ledger count and its findings.
+     */
+    private record FileOutcome(LedgerResult result, int ledgerCount, List<AuditFinding> findings) {}
+
+    private List<FileOutcome> processSequentially(
+            List<MultipartFile> files, AuditContext context, OffsetDateTime now) {
+        List<FileOutcome> outcomes = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            outcomes.add(processFile(file, context, now));
+        }
+        return outcomes;
+    }
+
+    private List<FileOutcome> processInParallel(
+            List<MultipartFile> files, AuditContext context, OffsetDateTime now) {
+        int n = files.size();
+        FileOutcome[] outcomes = new FileOutcome[n];
+        List<Future<Void>> futures = new ArrayList<>(n);
+        CompletionService<Void> completion = new ExecutorCompletionService<>(fileExecutor);
+
+        log.debug("Rule37AuditRule processing {} files with parallelism={}, tenantId={}",
+                n, fileParallelism, context.tenantId());
+
+        int submitted = 0;
+        int completed = 0;
+        try {
+            // Keep at most fileParallelism files of this upload in flight
+            while (completed < n) {
+                while (submitted < n && submitted - completed < fileParallelism) {
+                    int index = submitted++;
+                    futures.add(completion.submit(() -> {
+                        outcomes[index] = processFile(files.get(index), context, now);
+                        return null;
+                    }));
+                }
+                completion.take().get();
+                completed++;
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new LedgerParseException("Processing failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            futures.forEach(f -> f.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new LedgerParseException("Ledger processing interrupted", e);
+        } catch (RejectedExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw new TooManyRequestsException(
+                    "Server is processing other uploads. Please try again in a moment.");
+        }
+        return List.of(outcomes);
+    }
+
+    private FileOutcome processFile(MultipartFile file, AuditContext context, OffsetDateTime now) {
+        log.debug("Rule37AuditRule processing file={}, tenantId={}, userId={}",
+                file.getOriginalFilename(), context.tenantId(), context.userId());
+        try (MemoryGuard.Reservation ignored = memoryGuard != null ? memoryGuard.reserve(file) : null) {
+            var outcome = ledgerFileProcessor.processWithLedgerCount(
+                    file.getInputStream(),
+                    file.getOriginalFilename(),
+                    context.asOnDate());
+
+            LedgerResult result = outcome.result();
+
+            // ── Convert domain results to generic AuditFinding instances ──
+            List<AuditFinding> findings = new ArrayList<>();
+            for (InterestRow row : result.getSummary().getDetails()) {
+                if (isSignificant(row)) {
+                    findings.add(buildFinding(row, context, now));
+                }
+            }
+            return new FileOutcome(result, outcome.ledgerCount(), findings);
+
+        } catch (LedgerParseException e) {
+            log.warn("Rule37AuditRule: parse error in file={}: {}", file.getOriginalFilename(), e.getMessage());
+            throw e;  // Propagate; orchestrator wraps in FileUploadError
+        } catch (TooManyRequestsException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Rule37AuditRule: unexpected error processing file={}", file.getOriginalFilename(), e);
+            throw new LedgerParseException("Processing failed for " + file.getOriginalFilename() + ": " + e.getMessage(), e);
+        }
+    }
+
     // ─── Private Helpers ──────────────────────────────────────────────────────
 
     private boolean isSignificant(InterestRow row) {
@@ -7,6 +7,7 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
@@ -30,7 +31,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class AuditRun implements TenantAware {
+public class AuditRun implements TenantAware, Persistable<UUID> {
 
     /**
      * UUID v7 — time-sorted, globally unique, un-guessable.
@@ -80,11 +81,25 @@ public class AuditRun implements TenantAware {
      * Rule-specific output stored as JSONB.
      * For Rule 37: List&lt;LedgerResult&gt;.
      * Deserialised in the service layer based on ruleId.
+     *
+     * <p>Lazy (bytecode-enhanced): can be megabytes, so it is only selected when first read,
+     * which must happen inside a transaction. NULL when the result is in {@link #resultBlob}.
      */
+    @Basic(fetch = FetchType.LAZY)
     @Column(name = "result_data", columnDefinition = "jsonb")
     @JdbcTypeCode(SqlTypes.JSON)
     private String resultData;
 
+    /** JSONB | SMILE_ZSTD — which column holds the result. Written and read via AuditResultCodec. */
+    @Column(name = "result_format", nullable = false, length = 16)
+    @Builder.Default
+    private String resultFormat = "JSONB";
+
+    /** zstd-compressed Smile result, used instead of {@link #resultData} for large results. Lazy. */
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "result_blob")
+    private byte[] resultBlob;
+
     /** Aggregate financial impact = ITC reversal + interest + penalties */
     @Column(name = "total_impact_amount", nullable = false, precision = 18, scale = 2)
     @Builder.Default
@@ -101,6 +116,27 @@ public class AuditRun implements TenantAware {
     @Column(name = "completed_at")
     private OffsetDateTime completedAt;
 
+    /** When a worker last claimed this run; only set for async jobs. */
+    @Column(name = "started_at")
+    private OffsetDateTime startedAt;
+
+    /** Last liveness signal from the worker executing this run; only set for async jobs. */
+    @Column(name = "heartbeat_at")
+    private OffsetDateTime heartbeatAt;
+
+    /** Number of times a worker claimed this run; only incremented for async jobs. */
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    /** Spool directory of the uploaded files while an async job is PENDING or RUNNING. */
+    @Column(name = "spool_path", length = 500)
+    private String spoolPath;
+
+    /** Failure reason when an async job ends as FAILED. */
+    @Column(name = "error_message", columnDefinition = "text")
+    private String errorMessage;
+
     /** Retention expiry; auto-cleaned by RetentionScheduler. Default: 7 days. */
     @Column(name = "expires_at", nullable = false)
     private OffsetDateTime expiresAt;
@@ -112,4 +148,26 @@ public class AuditRun implements TenantAware {
     @OneToMany(mappedBy = "auditRun", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<AuditRunRuleResult> ruleResults = new ArrayList<>();
+
+    /**
+     * True until persisted or loaded. Ids are assigned before persist, so without this
+     * {@code save()} would treat every new run as detached and {@code merge} it
+     * (SELECT by id, then INSERT).
+     */
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
 }
@@ -2,6 +2,7 @@ package com.learning.backendservice.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
@@ -20,7 +21,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class AuditRunFinding {
+public class AuditRunFinding implements Persistable<UUID> {
 
     /** UUID v7 — generated in Java service layer */
     @Id
@@ -31,6 +32,10 @@ public class AuditRunFinding {
     @JoinColumn(name = "run_id", nullable = false, updatable = false)
     private AuditRun auditRun;
 
+    /** The run's {@code expires_at}: partition key, and with {@code run_id} the foreign key to the run. */
+    @Column(name = "run_expires_at", nullable = false, updatable = false)
+    private OffsetDateTime runExpiresAt;
+
     @Column(name = "tenant_id", nullable = false, length = 64)
     private String tenantId;
 
@@ -70,4 +75,29 @@ public class AuditRunFinding {
 
     @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt;
+
+    /** Findings are normally inserted by {@code AuditResultBulkWriter}; this keeps any other {@code save()} off the merge path. */
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PrePersist
+    void copyRunExpiry() {
+        if (runExpiresAt == null && auditRun != null) {
+            runExpiresAt = auditRun.getExpiresAt();
+        }
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
 }
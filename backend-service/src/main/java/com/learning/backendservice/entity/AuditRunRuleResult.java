@@ -5,6 +5,7 @@ import com.learning.common.tenant.TenantAware;
 import com.learning.common.tenant.TenantContext;
 import jakarta.persistence.*;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
@@ -25,7 +26,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class AuditRunRuleResult implements TenantAware {
+public class AuditRunRuleResult implements TenantAware, Persistable<UUID> {
 
     @Id
     @Column(columnDefinition = "uuid", updatable = false, nullable = false)
@@ -35,6 +36,10 @@ public class AuditRunRuleResult implements TenantAware {
     @JoinColumn(name = "run_id", nullable = false)
     private AuditRun auditRun;
 
+    /** The run's {@code expires_at}: partition key, and with {@code run_id} the foreign key to the run. */
+    @Column(name = "run_expires_at", nullable = false, updatable = false)
+    private OffsetDateTime runExpiresAt;
+
     @Column(name = "tenant_id", nullable = false, length = 64)
     @Builder.Default
     private String tenantId = TenantContext.DEFAULT_TENANT;
@@ -69,4 +74,29 @@ public class AuditRunRuleResult implements TenantAware {
 
     @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt;
+
+    /** True until persisted or loaded; see {@link AuditRun#isNew()}. */
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PrePersist
+    void copyRunExpiry() {
+        if (runExpiresAt == null && auditRun != null) {
+            runExpiresAt = auditRun.getExpiresAt();
+        }
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
 }
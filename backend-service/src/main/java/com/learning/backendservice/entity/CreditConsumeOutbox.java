@@ -0,0 +1,67 @@
+package com.learning.backendservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Credit consume intent of a completed {@link AuditRun}, awaiting delivery to auth-service.
+ *
+ * <p>Rows are inserted with the run in one transaction (see
+ * {@code CreditConsumeOutboxRepository#enqueue}) and moved through their lifecycle with
+ * bulk updates by {@code CreditOutboxService}; the entity itself is only read.
+ */
+@Entity
+@Table(name = "credit_consume_outbox")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreditConsumeOutbox {
+
+    @Id
+    @Column(columnDefinition = "uuid", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "run_id", columnDefinition = "uuid", nullable = false)
+    private UUID runId;
+
+    @Column(name = "tenant_id", nullable = false, length = 64)
+    private String tenantId;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "credits", nullable = false)
+    private int credits;
+
+    @Column(name = "reference_id")
+    private String referenceId;
+
+    /** Key auth-service deduplicates on: {@code "audit-" + runId}. */
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    /** PENDING | DELIVERED | REJECTED */
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private String status = "PENDING";
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "delivered_at")
+    private OffsetDateTime deliveredAt;
+}
@@ -43,6 +43,14 @@ public class ParsedDocument {
     @Column(name = "parsed_json", columnDefinition = "jsonb")
     private String parsedJson;
 
+    /** Hex SHA-256 of the raw upload; parse-cache key with tenant, doc-type hint and parser version. */
+    @Column(name = "content_sha256", length = 64)
+    private String contentSha256;
+
+    /** {@code doc_type_hint} sent to the sidecar, {@code NONE} if none; part of the parse-cache key. */
+    @Column(name = "doc_type_hint", length = 30)
+    private String docTypeHint;
+
     @Column(name = "parser_version", nullable = false, length = 20)
     @Builder.Default
     private String parserVersion = "1.0";
@@ -13,7 +13,7 @@ import java.util.UUID;
 /**
  * Per-tenant reconciliation tolerance configuration.
  *
- * <p>Loaded by {@code ContextEnricher} once per pipeline run.
+ * <p>Held in memory by {@code ReferenceDataCache} and read by {@code ContextEnricher} for each pipeline run.
  * Rules use the values via {@link com.learning.backendservice.engine.SharedResources}.
  *
  * <p>The tenant-id {@code "DEFAULT"} acts as the system-wide fallback row seeded
@@ -1,6 +1,7 @@
 package com.learning.backendservice.infra.parser;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.learning.backendservice.dto.parser.ParsedDocumentResponse;
 import com.learning.backendservice.dto.parser.ParserError;
@@ -66,6 +67,24 @@ public class ParserClient {
                 });
     }
 
+    /**
+     * Version the sidecar reports on {@code /health}.
+     *
+     * @return the version, or {@code null} if the parser is disabled or did not answer
+     */
+    public String parserVersion() {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            JsonNode health = restClient.get().uri("/health").retrieve().body(JsonNode.class);
+            return health != null && health.hasNonNull("version") ? health.get("version").asText() : null;
+        } catch (RuntimeException e) {
+            log.warn("Parser service version unavailable: {}", e.getMessage());
+            return null;
+        }
+    }
+
     private void handleErrorResponse(ClientHttpResponse response) throws IOException {
         HttpStatusCode status = response.getStatusCode();
         String responseBody = new String(response.getBody().readAllBytes());
@@ -0,0 +1,253 @@
+package com.learning.backendservice.infra.portal;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.learning.backendservice.repository.GstinStatusCacheStore;
+import com.learning.common.tenant.TenantContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Read-through cache of GSTIN registration status in front of {@link PortalClient}.
+ *
+ * <p>Lookup order:
+ * <ol>
+ *   <li><b>local</b> — per-pod Caffeine, entries expire with their portal TTL</li>
+ *   <li><b>db</b> — unexpired rows of {@code gstin_status_cache}, all misses of a lookup
+ *       in one query</li>
+ *   <li><b>portal</b> — one call per remaining GSTIN on {@code portalLookupExecutor},
+ *       so at most {@code app.portal.gstin-cache.fetch-parallelism} run at once</li>
+ * </ol>
+ * Concurrent lookups of the same GSTIN share one load. Portal answers are written back to
+ * the table. A failed or empty portal answer is cached locally for {@code negative-ttl}
+ * only, so a failing GSTIN is not retried on every run and is not stored in the table.
+ * Entries within {@code refresh-ahead} of expiry are still served while they are
+ * re-fetched in the background.
+ *
+ * <p>Metrics: {@code gstin.status.cache.lookups{result,tier}} and the Caffeine
+ * statistics of {@code gstinStatusCache}.
+ */
+@Component
+public class GstinStatusCache {
+
+    private static final Logger log = LoggerFactory.getLogger(GstinStatusCache.class);
+
+    /** Cached answer; {@code status == null} is a negative entry. */
+    record Entry(@Nullable PortalClient.GstinStatus status, OffsetDateTime expiresAt, OffsetDateTime refreshAt) {
+    }
+
+    private final PortalClient portalClient;
+    private final GstinStatusCacheStore store;
+    private final Executor lookupExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final Duration refreshAhead;
+    private final AsyncLoadingCache<String, Entry> local;
+
+    public GstinStatusCache(PortalClient portalClient,
+                            GstinStatusCacheStore store,
+                            @Qualifier("portalLookupExecutor") Executor lookupExecutor,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.portal.gstin-cache.ttl:P7D}") Duration ttl,
+                            @Value("${app.portal.gstin-cache.negative-ttl:PT10M}") Duration negativeTtl,
+                            @Value("${app.portal.gstin-cache.refresh-ahead:P1D}") Duration refreshAhead,
+                            @Value("${app.portal.gstin-cache.local-max-entries:100000}") long localMaxEntries) {
+        this.portalClient = portalClient;
+        this.store = store;
+        this.lookupExecutor = lookupExecutor;
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+        this.negativeTtl = negativeTtl;
+        this.refreshAhead = refreshAhead;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(localMaxEntries)
+                .expireAfter(Expiry.writing((String gstin, Entry e) -> remaining(e.expiresAt())))
+                .recordStats()
+                .buildAsync(new AsyncCacheLoader<String, Entry>() {
+                    @Override
+                    public CompletableFuture<Entry> asyncLoad(String gstin, Executor executor) {
+                        return load(Set.of(gstin)).thenApply(entries -> entries.get(gstin));
+                    }
+
+                    @Override
+                    public CompletableFuture<Map<String, Entry>> asyncLoadAll(Set<? extends String> gstins,
+                                                                              Executor executor) {
+                        return load(gstins);
+                    }
+
+                    @Override
+                    public CompletableFuture<Entry> asyncReload(String gstin, Entry old, Executor executor) {
+                        return reload(gstin, old);
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "gstinStatusCache");
+
+        log.info("GstinStatusCache initialized: ttl={}, negativeTtl={}, refreshAhead={}, localMaxEntries={}",
+                ttl, negativeTtl, refreshAhead, localMaxEntries);
+    }
+
+    /**
+     * Status of each GSTIN, looked up together. GSTINs the portal could not answer for
+     * are absent from the result; callers choose their own default.
+     */
+    public Map<String, PortalClient.GstinStatus> getGstinStatuses(Set<String> gstins) {
+        if (gstins.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Entry> entries;
+        try {
+            entries = local.getAll(gstins).join();
+        } catch (CompletionException e) {
+            log.warn("GSTIN status lookup of {} GSTINs failed: {}", gstins.size(), e.getMessage());
+            return Map.of();
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        Map<String, PortalClient.GstinStatus> statuses = new HashMap<>();
+        entries.forEach((gstin, entry) -> {
+            if (entry.status() == null) {
+                return;
+            }
+            statuses.put(gstin, entry.status());
+            if (now.isAfter(entry.refreshAt())) {
+                local.synchronous().refresh(gstin);
+            }
+        });
+        return statuses;
+    }
+
+    // ─── Private Helpers ────────────────────────────────────────────────────
+
+    /** Loader for local misses: the table first, then the portal for whatever it lacks. */
+    private CompletableFuture<Map<String, Entry>> load(Set<? extends String> keys) {
+        Set<String> gstins = Set.copyOf(keys);
+        String tenantId = TenantContext.getCurrentTenant();
+        OffsetDateTime now = OffsetDateTime.now();
+        Map<String, Entry> loaded = new HashMap<>();
+        try {
+            for (GstinStatusCacheStore.Row row : store.findFresh(gstins, now)) {
+                loaded.put(row.gstin(), new Entry(new PortalClient.GstinStatus(row.status(), row.cancellationDate()),
+                        row.expiresAt(), row.expiresAt().minus(refreshAhead)));
+            }
+        } catch (DataAccessException e) {
+            log.warn("GSTIN status cache table unavailable, asking the portal: {}", e.getMessage());
+        }
+        count("hit", "db", loaded.size());
+
+        Map<String, CompletableFuture<Entry>> fetches = new HashMap<>();
+        for (String gstin : gstins) {
+            if (!loaded.containsKey(gstin)) {
+                fetches.put(gstin, fetch(gstin));
+            }
+        }
+        if (fetches.isEmpty()) {
+            return CompletableFuture.completedFuture(loaded);
+        }
+        return CompletableFuture.allOf(fetches.values().toArray(CompletableFuture[]::new))
+                .thenApply(done -> {
+                    List<Entry> fetched = new ArrayList<>();
+                    List<String> fetchedGstins = new ArrayList<>();
+                    fetches.forEach((gstin, future) -> {
+                        Entry entry = future.join();
+                        if (entry != null) {
+                            loaded.put(gstin, entry);
+                            fetched.add(entry);
+                            fetchedGstins.add(gstin);
+                        }
+                    });
+                    save(tenantId, fetchedGstins, fetched, now);
+                    return loaded;
+                });
+    }
+
+    /** Refresh-ahead: keep serving {@code old} if the portal cannot answer, and retry after negative-ttl. */
+    private CompletableFuture<Entry> reload(String gstin, Entry old) {
+        String tenantId = TenantContext.getCurrentTenant();
+        OffsetDateTime now = OffsetDateTime.now();
+        return fetch(gstin).thenApply(fresh -> {
+            if (fresh == null || fresh.status() == null) {
+                return new Entry(old.status(), old.expiresAt(), now.plus(negativeTtl));
+            }
+            save(tenantId, List.of(gstin), List.of(fresh), now);
+            return fresh;
+        });
+    }
+
+    /** Portal call on the lookup pool; completes with null when the pool is saturated (nothing cached). */
+    private CompletableFuture<Entry> fetch(String gstin) {
+        try {
+            return CompletableFuture.supplyAsync(() -> fetchNow(gstin), lookupExecutor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Portal lookup queue full, GSTIN {} not looked up", gstin);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private Entry fetchNow(String gstin) {
+        OffsetDateTime now = OffsetDateTime.now();
+        try {
+            PortalClient.GstinStatus status = portalClient.getGstinStatus(gstin);
+            if (status != null && status.status() != null) {
+                count("miss", "portal", 1);
+                OffsetDateTime expiresAt = now.plus(ttl);
+                return new Entry(status, expiresAt, expiresAt.minus(refreshAhead));
+            }
+            log.warn("Portal returned no status for GSTIN {}", gstin);
+        } catch (Exception e) {
+            log.warn("Portal lookup of GSTIN {} failed: {}", gstin, e.getMessage());
+        }
+        count("error", "portal", 1);
+        OffsetDateTime expiresAt = now.plus(negativeTtl);
+        return new Entry(null, expiresAt, expiresAt);
+    }
+
+    /** Write positive portal answers to the table; failures only cost a future portal call. */
+    private void save(String tenantId, List<String> gstins, List<Entry> entries, OffsetDateTime checkedAt) {
+        List<GstinStatusCacheStore.Row> rows = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            if (entry.status() != null) {
+                rows.add(new GstinStatusCacheStore.Row(gstins.get(i), entry.status().status(),
+                        entry.status().cancellationDate(), checkedAt, entry.expiresAt()));
+            }
+        }
+        try {
+            store.upsert(tenantId, rows);
+        } catch (DataAccessException e) {
+            log.warn("GSTIN status cache write of {} rows failed: {}", rows.size(), e.getMessage());
+        }
+    }
+
+    private static Duration remaining(OffsetDateTime expiresAt) {
+        Duration remaining = Duration.between(OffsetDateTime.now(), expiresAt);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private void count(String result, String tier, int amount) {
+        if (amount > 0) {
+            meterRegistry.counter("gstin.status.cache.lookups", "result", result, "tier", tier).increment(amount);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.learning.backendservice.repository;
+
+import com.learning.backendservice.entity.AuditRunFinding;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keyset pages of one run's findings, ordered by {@code impact_amount DESC, id DESC}.
+ *
+ * <p>Each page continues strictly after the last row of the previous one, so fetching page
+ * 2,000 of a 100k-finding run costs the same as page 1 — no {@code OFFSET} to skip over.
+ * Only the filters actually given become predicates, so a filtered page reads the V14
+ * {@code (run_id, <filter column>, impact_amount DESC, id DESC)} index of that column
+ * rather than a generic {@code (? IS NULL OR ...)} plan from the driver's prepared
+ * statement cache. {@code run_expires_at} prunes the scan to the run's partition.
+ */
+@Component
+public class AuditFindingPageReader {
+
+    private static final String SELECT = "SELECT id, rule_id, severity, legal_basis, compliance_period, "
+            + "impact_amount, description, recommended_action, auto_fix_available, created_at, run_expires_at "
+            + "FROM audit_findings WHERE run_id = ? AND run_expires_at = ? AND tenant_id = ?";
+
+    private static final RowMapper<AuditRunFinding> ROW_MAPPER = (rs, rowNum) -> AuditRunFinding.builder()
+            .id(rs.getObject("id", UUID.class))
+            .ruleId(rs.getString("rule_id"))
+            .severity(rs.getString("severity"))
+            .legalBasis(rs.getString("legal_basis"))
+            .compliancePeriod(rs.getString("compliance_period"))
+            .impactAmount(rs.getBigDecimal("impact_amount"))
+            .description(rs.getString("description"))
+            .recommendedAction(rs.getString("recommended_action"))
+            .autoFixAvailable(rs.getBoolean("auto_fix_available"))
+            .createdAt(rs.getObject("created_at", OffsetDateTime.class))
+            .runExpiresAt(rs.getObject("run_expires_at", OffsetDateTime.class))
+            .build();
+
+    /** Optional equality filters; null or blank means "any". */
+    public record Filter(@Nullable String severity, @Nullable String ruleId, @Nullable String compliancePeriod) {
+    }
+
+    /** Position after the last row of a page. */
+    public record Cursor(BigDecimal impactAmount, UUID id) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditFindingPageReader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Up to {@code limit} findings of the run after {@code after} (from the start when null).
+     * Detached entities without {@code auditRun}.
+     */
+    public List<AuditRunFinding> page(UUID runId, OffsetDateTime runExpiresAt, String tenantId,
+                                      Filter filter, @Nullable Cursor after, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        List<Object> args = new ArrayList<>(List.of(runId, runExpiresAt, tenantId));
+        appendEquals(sql, args, "severity", filter.severity());
+        appendEquals(sql, args, "rule_id", filter.ruleId());
+        appendEquals(sql, args, "compliance_period", filter.compliancePeriod());
+        if (after != null) {
+            sql.append(" AND (impact_amount, id) < (?, ?)");
+            args.add(after.impactAmount());
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY impact_amount DESC, id DESC LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    private static void appendEquals(StringBuilder sql, List<Object> args, String column, @Nullable String value) {
+        if (value != null && !value.isBlank()) {
+            sql.append(" AND ").append(column).append(" = ?");
+            args.add(value);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.learning.backendservice.repository;
 
 import com.learning.backendservice.entity.AuditRunFinding;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -22,4 +24,9 @@ public interface AuditFindingRepository extends JpaRepository<AuditRunFinding, U
 
     /** Count findings per severity for a tenant (used in dashboard summaries). */
     long countByTenantIdAndSeverity(String tenantId, String severity);
+
+    /** Bulk delete of a run's findings without loading them. */
+    @Modifying
+    @Query("DELETE FROM AuditRunFinding f WHERE f.auditRun.id = :runId")
+    int deleteByRunId(UUID runId);
 }
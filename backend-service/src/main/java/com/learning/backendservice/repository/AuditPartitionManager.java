@@ -0,0 +1,89 @@
+package com.learning.backendservice.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Daily partitions of {@code audit_runs}, {@code audit_findings} and
+ * {@code audit_run_rule_results} (V13), all three keyed on the run's expiry day in UTC.
+ *
+ * <p>Partition {@code <table>_pYYYYMMDD} holds the rows whose run expires on that day, so
+ * once the day has passed every row in it is expired and retention drops the partition
+ * instead of deleting its rows. Partitions are created ahead of time by
+ * {@code create_audit_partition} (V16); rows of a day without one fall into the
+ * {@code _default} partitions and are moved out when the day's partition is created.
+ */
+@Component
+@Slf4j
+public class AuditPartitionManager {
+
+    static final String RUNS = "audit_runs";
+    /** Partitions referencing {@link #RUNS}; dropped first so detaching the run partition passes the FK check. */
+    static final List<String> CHILDREN = List.of("audit_findings", "audit_run_rule_results");
+
+    private static final Pattern DAY_PARTITION = Pattern.compile("^audit_runs_p(\\d{8})$");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    /** Dropping a partition takes an ACCESS EXCLUSIVE lock on its parent; give up rather than queue traffic behind it. */
+    private static final String LOCK_TIMEOUT = "5s";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditPartitionManager(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates the partitions of {@code day} if they are missing, moving any rows of that
+     * day out of DEFAULT; returns how many tables were created.
+     */
+    @Transactional
+    public int createPartitions(LocalDate day) {
+        setLockTimeout();
+        Integer created = jdbcTemplate.queryForObject(
+                "SELECT create_audit_partition(?)", Integer.class, day);
+        return created != null ? created : 0;
+    }
+
+    /** Days that have an {@code audit_runs} partition, oldest first. */
+    public List<LocalDate> partitionDays() {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = 'audit_runs'::regclass", String.class);
+        return names.stream()
+                .map(DAY_PARTITION::matcher)
+                .filter(Matcher::matches)
+                .map(m -> LocalDate.parse(m.group(1), SUFFIX))
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Drops the three partitions of {@code day} in one transaction. The children go first,
+     * then the run partition is detached (a referenced partition cannot be dropped while
+     * attached) and dropped. Only call for days whose rows have all expired.
+     */
+    @Transactional
+    public void dropPartitions(LocalDate day) {
+        setLockTimeout();
+        String suffix = "_p" + SUFFIX.format(day);
+        for (String child : CHILDREN) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + child + suffix);
+        }
+        jdbcTemplate.execute("ALTER TABLE " + RUNS + " DETACH PARTITION " + RUNS + suffix);
+        jdbcTemplate.execute("DROP TABLE " + RUNS + suffix);
+        log.debug("Dropped audit partitions of {}", day);
+    }
+
+    private void setLockTimeout() {
+        jdbcTemplate.execute("SET LOCAL lock_timeout = '" + LOCK_TIMEOUT + "'");
+    }
+}
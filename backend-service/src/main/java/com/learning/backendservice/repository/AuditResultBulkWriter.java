@@ -0,0 +1,212 @@
+package com.learning.backendservice.repository;
+
+import com.learning.backendservice.entity.AuditRun;
+import com.learning.backendservice.entity.AuditRunFinding;
+import com.learning.backendservice.entity.AuditRunRuleResult;
+import com.learning.common.tenant.TenantContext;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Insert-only persistence for the rows an audit run produces in bulk: findings and
+ * per-rule results.
+ *
+ * <p>Both entities carry service-assigned UUID v7 ids, which {@code saveAll} would push
+ * through {@code em.merge} one row at a time. This writer bypasses the persistence context:
+ * <ul>
+ *   <li>Rule results and ordinary finding sets go out as JDBC batches of {@value #BATCH_SIZE}
+ *       rows, which the driver rewrites into multi-row {@code INSERT}s.</li>
+ *   <li>Finding sets of {@code app.persistence.copy-threshold} rows or more are streamed
+ *       with PostgreSQL {@code COPY ... FROM STDIN}.</li>
+ * </ul>
+ *
+ * <p>Must be called inside the transaction that saved the parent {@code AuditRun}: the
+ * persistence context is flushed first so the run row exists for the foreign key, and the
+ * JDBC work joins the same connection. Written entities are not attached to the
+ * persistence context.
+ */
+@Component
+@Slf4j
+public class AuditResultBulkWriter {
+
+    static final int BATCH_SIZE = 1_000;
+
+    private static final String FINDING_COLUMNS = "id, run_id, tenant_id, rule_id, severity, legal_basis, "
+            + "compliance_period, impact_amount, description, recommended_action, auto_fix_available, created_at, "
+            + "run_expires_at";
+
+    private static final String INSERT_FINDING = "INSERT INTO audit_findings (" + FINDING_COLUMNS + ") "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String COPY_FINDINGS = "COPY audit_findings (" + FINDING_COLUMNS + ") FROM STDIN";
+
+    private static final String INSERT_RULE_RESULT = "INSERT INTO audit_run_rule_results "
+            + "(id, run_id, tenant_id, rule_id, rule_name, legal_basis, status, impact_amount, "
+            + "findings_count, execution_duration_ms, error_message, created_at, run_expires_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final int copyThreshold;
+
+    public AuditResultBulkWriter(
+            EntityManager entityManager,
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.persistence.copy-threshold:5000}") int copyThreshold) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.copyThreshold = copyThreshold;
+    }
+
+    /** Inserts findings of runs already saved in the current transaction. */
+    public void insertFindings(List<AuditRunFinding> findings) {
+        if (findings.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        long start = System.nanoTime();
+        boolean copy = findings.size() >= copyThreshold;
+        if (copy) {
+            copyFindings(findings);
+        } else {
+            jdbcTemplate.batchUpdate(INSERT_FINDING, findings, BATCH_SIZE, (ps, f) -> {
+                ps.setObject(1, f.getId());
+                ps.setObject(2, f.getAuditRun().getId());
+                ps.setString(3, tenantOf(f.getTenantId()));
+                ps.setString(4, f.getRuleId());
+                ps.setString(5, f.getSeverity());
+                ps.setString(6, f.getLegalBasis());
+                ps.setString(7, f.getCompliancePeriod());
+                ps.setBigDecimal(8, impactOf(f.getImpactAmount()));
+                ps.setString(9, f.getDescription());
+                ps.setString(10, f.getRecommendedAction());
+                ps.setBoolean(11, Boolean.TRUE.equals(f.getAutoFixAvailable()));
+                ps.setObject(12, f.getCreatedAt());
+                ps.setObject(13, runExpiresAt(f.getRunExpiresAt(), f.getAuditRun()));
+            });
+        }
+        log.debug("Inserted {} findings via {} in {}ms",
+                findings.size(), copy ? "COPY" : "batch", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /** Inserts per-rule results of runs already saved in the current transaction. */
+    public void insertRuleResults(List<AuditRunRuleResult> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        jdbcTemplate.batchUpdate(INSERT_RULE_RESULT, results, BATCH_SIZE, (ps, r) -> {
+            ps.setObject(1, r.getId());
+            ps.setObject(2, r.getAuditRun().getId());
+            ps.setString(3, tenantOf(r.getTenantId()));
+            ps.setString(4, r.getRuleId());
+            ps.setString(5, r.getRuleName());
+            ps.setString(6, r.getLegalBasis());
+            ps.setString(7, r.getStatus());
+            ps.setBigDecimal(8, r.getImpactAmount());
+            if (r.getFindingsCount() != null) {
+                ps.setInt(9, r.getFindingsCount());
+            } else {
+                ps.setNull(9, Types.INTEGER);
+            }
+            if (r.getExecutionDurationMs() != null) {
+                ps.setInt(10, r.getExecutionDurationMs());
+            } else {
+                ps.setNull(10, Types.INTEGER);
+            }
+            ps.setString(11, r.getErrorMessage());
+            ps.setObject(12, r.getCreatedAt());
+            ps.setObject(13, runExpiresAt(r.getRunExpiresAt(), r.getAuditRun()));
+        });
+    }
+
+    private void copyFindings(List<AuditRunFinding> findings) {
+        jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            CopyIn copyIn = con.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_FINDINGS);
+            try {
+                StringBuilder chunk = new StringBuilder(256 * BATCH_SIZE);
+                for (int i = 0; i < findings.size(); i++) {
+                    appendCopyRow(chunk, findings.get(i));
+                    if ((i + 1) % BATCH_SIZE == 0 || i == findings.size() - 1) {
+                        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+                        copyIn.writeToCopy(bytes, 0, bytes.length);
+                        chunk.setLength(0);
+                    }
+                }
+                return copyIn.endCopy();
+            } catch (SQLException | RuntimeException e) {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+                throw e;
+            }
+        });
+    }
+
+    /** One finding as a {@code COPY} text-format line, columns in {@link #FINDING_COLUMNS} order. */
+    static void appendCopyRow(StringBuilder sb, AuditRunFinding f) {
+        sb.append(f.getId()).append('\t');
+        sb.append(f.getAuditRun().getId()).append('\t');
+        appendCopyText(sb, tenantOf(f.getTenantId())).append('\t');
+        appendCopyText(sb, f.getRuleId()).append('\t');
+        appendCopyText(sb, f.getSeverity()).append('\t');
+        appendCopyText(sb, f.getLegalBasis()).append('\t');
+        appendCopyText(sb, f.getCompliancePeriod()).append('\t');
+        sb.append(impactOf(f.getImpactAmount()).toPlainString()).append('\t');
+        appendCopyText(sb, f.getDescription()).append('\t');
+        appendCopyText(sb, f.getRecommendedAction()).append('\t');
+        sb.append(Boolean.TRUE.equals(f.getAutoFixAvailable()) ? 't' : 'f').append('\t');
+        appendCopyTimestamp(sb, f.getCreatedAt()).append('\t');
+        appendCopyTimestamp(sb, runExpiresAt(f.getRunExpiresAt(), f.getAuditRun()));
+        sb.append('\n');
+    }
+
+    private static StringBuilder appendCopyTimestamp(StringBuilder sb, OffsetDateTime value) {
+        return value == null ? sb.append("\\N") : sb.append(value);
+    }
+
+    /** Escapes a value for the text format: backslash, tab, newline and CR; {@code null} is {@code \N}. */
+    private static StringBuilder appendCopyText(StringBuilder sb, String value) {
+        if (value == null) {
+            return sb.append("\\N");
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '\t' -> sb.append("\\t");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                default -> sb.append(c);
+            }
+        }
+        return sb;
+    }
+
+    /** Same fallback as {@code TenantAuditingListener} for rows that never reach {@code @PrePersist}. */
+    private static String tenantOf(String tenantId) {
+        return tenantId != null ? tenantId : TenantContext.getCurrentTenant();
+    }
+
+    /** Partition key of a child row: the parent run's {@code expires_at} unless already copied onto the row. */
+    private static OffsetDateTime runExpiresAt(OffsetDateTime copied, AuditRun run) {
+        return copied != null ? copied : run.getExpiresAt();
+    }
+
+    private static BigDecimal impactOf(BigDecimal impact) {
+        return impact != null ? impact : BigDecimal.ZERO;
+    }
+}
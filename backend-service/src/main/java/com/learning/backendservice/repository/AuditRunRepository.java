@@ -7,8 +7,10 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -25,18 +27,23 @@ public interface AuditRunRepository extends JpaRepository<AuditRun, UUID> {
     /** Tenant-only query — for scheduler/admin use only. Do NOT use for user-facing APIs. */
     Page<AuditRun> findByTenantId(String tenantId, Pageable pageable);
 
+    /** Columns of {@link AuditRunSummary}; list views never read {@code result_data}. */
+    String SUMMARY_SELECT = "SELECT r.id AS id, r.userId AS userId, r.rulesExecuted AS rulesExecuted, "
+            + "r.status AS status, r.totalImpactAmount AS totalImpactAmount, r.creditsConsumed AS creditsConsumed, "
+            + "r.inputMetadata AS inputMetadata, r.createdAt AS createdAt, r.completedAt AS completedAt, "
+            + "r.expiresAt AS expiresAt FROM AuditRun r ";
+
     /** User-scoped list: returns only runs created by the given user within the tenant. */
-    Page<AuditRun> findByTenantIdAndUserId(String tenantId, String userId, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE r.tenantId = :tenantId AND r.userId = :userId",
+           countQuery = "SELECT COUNT(r) FROM AuditRun r WHERE r.tenantId = :tenantId AND r.userId = :userId")
+    Page<AuditRunSummary> findSummaries(String tenantId, String userId, Pageable pageable);
 
     /** User-scoped list filtered by ruleId (checks rulesExecuted array). */
-    @Query(value = "SELECT * FROM audit_runs WHERE tenant_id = :tenantId AND user_id = :userId AND :ruleId = ANY(rules_executed)",
-           countQuery = "SELECT COUNT(*) FROM audit_runs WHERE tenant_id = :tenantId AND user_id = :userId AND :ruleId = ANY(rules_executed)",
-           nativeQuery = true)
-    Page<AuditRun> findByTenantIdAndUserIdAndRuleId(
-            @org.springframework.data.repository.query.Param("tenantId") String tenantId,
-            @org.springframework.data.repository.query.Param("userId") String userId,
-            @org.springframework.data.repository.query.Param("ruleId") String ruleId,
-            Pageable pageable);
+    @Query(value = SUMMARY_SELECT
+            + "WHERE r.tenantId = :tenantId AND r.userId = :userId AND array_contains(r.rulesExecuted, :ruleId)",
+           countQuery = "SELECT COUNT(r) FROM AuditRun r "
+            + "WHERE r.tenantId = :tenantId AND r.userId = :userId AND array_contains(r.rulesExecuted, :ruleId)")
+    Page<AuditRunSummary> findSummariesByRuleId(String tenantId, String userId, String ruleId, Pageable pageable);
 
     /** User-scoped get: returns run only if it belongs to the given user AND tenant. */
     Optional<AuditRun> findByIdAndTenantIdAndUserId(UUID id, String tenantId, String userId);
@@ -50,11 +57,97 @@ public interface AuditRunRepository extends JpaRepository<AuditRun, UUID> {
     /** Count active runs per tenant (used to enforce maxRunsPerTenant limit). */
     long countByTenantId(String tenantId);
 
+    // ─── Async job queue (cross-tenant, worker use only) ─────────────────────
+
+    /**
+     * Lock the oldest PENDING runs for claiming. {@code SKIP LOCKED} lets several
+     * workers (or replicas) poll concurrently without handing out the same job twice.
+     * Must run inside the transaction that flips the rows to RUNNING.
+     */
+    @Query(value = "SELECT id FROM audit_runs WHERE status = 'PENDING' ORDER BY created_at "
+            + "LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<UUID> lockPendingJobIds(@org.springframework.data.repository.query.Param("limit") int limit);
+
+    /** Move locked PENDING runs to RUNNING, count the attempt and start the heartbeat. */
+    @Modifying
+    @Query("UPDATE AuditRun r SET r.status = 'RUNNING', r.startedAt = :now, r.heartbeatAt = :now, "
+            + "r.attempts = r.attempts + 1 WHERE r.id IN :ids AND r.status = 'PENDING'")
+    int markRunning(List<UUID> ids, OffsetDateTime now);
+
+    /**
+     * Refresh the heartbeat of a run a worker is still executing. Fenced on the claim's
+     * attempt number, so a worker whose job was requeued and claimed again cannot keep
+     * the new claim alive.
+     */
+    @Modifying
+    @Query("UPDATE AuditRun r SET r.heartbeatAt = :now "
+            + "WHERE r.id = :id AND r.status = 'RUNNING' AND r.attempts = :attempt")
+    int heartbeat(UUID id, int attempt, OffsetDateTime now);
+
+    /**
+     * Row-lock a run while claim {@code attempt} still owns it, for the transaction that
+     * completes it. Stale recovery blocks on the lock and then finds it no longer RUNNING.
+     */
+    @Query(value = "SELECT id FROM audit_runs WHERE id = :id AND status = 'RUNNING' AND attempts = :attempt "
+            + "FOR UPDATE",
+           nativeQuery = true)
+    Optional<UUID> lockOwnedJob(@org.springframework.data.repository.query.Param("id") UUID id,
+                                @org.springframework.data.repository.query.Param("attempt") int attempt);
+
+    /** RUNNING runs without a heartbeat since {@code cutoff} (worker or replica died mid-job). */
+    @Query("SELECT r FROM AuditRun r WHERE r.status = 'RUNNING' AND r.heartbeatAt < :cutoff")
+    List<AuditRun> findStaleRunning(OffsetDateTime cutoff);
+
     /**
-     * Purge expired runs across all tenants.
-     * Called by {@link com.learning.backendservice.scheduler.RetentionScheduler}.
+     * Put a stale run back on the queue. Guarded on RUNNING and the heartbeat age, so of two
+     * replicas recovering the same run only one flips it, and a run whose worker has
+     * heartbeated since it was found stays with that worker.
      */
     @Modifying
-    @Query("DELETE FROM AuditRun r WHERE r.expiresAt < :cutoff")
-    int deleteByExpiresAtBefore(OffsetDateTime cutoff);
+    @Query("UPDATE AuditRun r SET r.status = 'PENDING' "
+            + "WHERE r.id = :id AND r.status = 'RUNNING' AND r.heartbeatAt < :cutoff")
+    int requeueStale(UUID id, OffsetDateTime cutoff);
+
+    /** Fail a stale run that has used up its attempts; guarded like {@link #requeueStale}. */
+    @Modifying
+    @Query("UPDATE AuditRun r SET r.status = 'FAILED', r.errorMessage = :error, r.completedAt = :now, "
+            + "r.spoolPath = NULL WHERE r.id = :id AND r.status = 'RUNNING' AND r.heartbeatAt < :cutoff")
+    int abandonStale(UUID id, String error, OffsetDateTime cutoff, OffsetDateTime now);
+
+    /**
+     * Finish a claimed job as FAILED. Guarded on RUNNING so a late failure
+     * never overwrites a SUCCESS written by the pipeline, and on the claim's attempt so a
+     * superseded worker cannot fail the attempt that replaced it.
+     */
+    @Modifying
+    @Query("UPDATE AuditRun r SET r.status = 'FAILED', r.errorMessage = :error, r.completedAt = :now, "
+            + "r.spoolPath = NULL WHERE r.id = :id AND r.status = 'RUNNING' AND r.attempts = :attempt")
+    int markFailed(UUID id, int attempt, String error, OffsetDateTime now);
+
+    // ─── Credit compensation ─────────────────────────────────────────────────
+
+    /**
+     * Fail a completed run whose credits auth-service refused to consume. Its findings and
+     * rule results must be deleted in the same transaction.
+     */
+    @Modifying
+    @Query("UPDATE AuditRun r SET r.status = 'FAILED', r.errorMessage = :error, r.resultData = NULL, "
+            + "r.resultBlob = NULL, r.resultFormat = 'JSONB', r.totalImpactAmount = 0, r.creditsConsumed = 0 "
+            + "WHERE r.id = :id AND r.status = 'SUCCESS'")
+    int markCompletedRunFailed(UUID id, String error);
+
+    /**
+     * Purge up to {@code limit} expired runs across all tenants, in a transaction of its own;
+     * findings and rule results go with them ({@code ON DELETE CASCADE}). Covers the rows
+     * whose partition cannot be dropped yet: today's and the DEFAULT partition.
+     * Called by {@link com.learning.backendservice.scheduler.RetentionScheduler} until it returns less than {@code limit}.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM audit_runs WHERE expires_at < :cutoff AND id IN "
+            + "(SELECT id FROM audit_runs WHERE expires_at < :cutoff LIMIT :limit)",
+           nativeQuery = true)
+    int deleteExpiredBatch(@org.springframework.data.repository.query.Param("cutoff") OffsetDateTime cutoff,
+                           @org.springframework.data.repository.query.Param("limit") int limit);
 }
@@ -2,6 +2,8 @@ package com.learning.backendservice.repository;
 
 import com.learning.backendservice.entity.AuditRunRuleResult;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +17,9 @@ public interface AuditRunRuleResultRepository extends JpaRepository<AuditRunRule
 
     /** All rule results for a given run, scoped to tenant. */
     List<AuditRunRuleResult> findByAuditRunIdAndTenantId(UUID runId, String tenantId);
+
+    /** Bulk delete of a run's rule results without loading them. */
+    @Modifying
+    @Query("DELETE FROM AuditRunRuleResult r WHERE r.auditRun.id = :runId")
+    int deleteByRunId(UUID runId);
 }
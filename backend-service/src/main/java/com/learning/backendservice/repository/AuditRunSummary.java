@@ -0,0 +1,38 @@
+package com.learning.backendservice.repository;
+
+import org.springframework.lang.Nullable;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Closed projection of {@link com.learning.backendservice.entity.AuditRun} for run-history
+ * lists: only the columns a list row shows, never {@code result_data}.
+ */
+public interface AuditRunSummary {
+
+    UUID getId();
+
+    String getUserId();
+
+    @Nullable
+    String[] getRulesExecuted();
+
+    String getStatus();
+
+    BigDecimal getTotalImpactAmount();
+
+    Integer getCreditsConsumed();
+
+    /** Stored {@code input_metadata} JSON text, unparsed. */
+    @Nullable
+    String getInputMetadata();
+
+    OffsetDateTime getCreatedAt();
+
+    @Nullable
+    OffsetDateTime getCompletedAt();
+
+    OffsetDateTime getExpiresAt();
+}
@@ -0,0 +1,92 @@
+package com.learning.backendservice.repository;
+
+import com.learning.backendservice.entity.CreditConsumeOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for the {@code credit_consume_outbox} table.
+ *
+ * <p>Relay queries are cross-tenant: auth-service wallets are keyed by user, and the
+ * relay drains every tenant's intents in the same batches.
+ */
+@Repository
+public interface CreditConsumeOutboxRepository extends JpaRepository<CreditConsumeOutbox, UUID> {
+
+    /**
+     * Record a consume intent. Must run in the transaction that saves the run; the
+     * persistence context is flushed first so the run row is written ahead of its intent.
+     * A second intent for the same key is ignored.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO credit_consume_outbox "
+            + "(id, run_id, tenant_id, user_id, credits, reference_id, idempotency_key, created_at, next_attempt_at) "
+            + "VALUES (:id, :runId, :tenantId, :userId, :credits, :referenceId, :idempotencyKey, :now, :now) "
+            + "ON CONFLICT (idempotency_key) DO NOTHING",
+           nativeQuery = true)
+    int enqueue(@Param("id") UUID id,
+                @Param("runId") UUID runId,
+                @Param("tenantId") String tenantId,
+                @Param("userId") String userId,
+                @Param("credits") int credits,
+                @Param("referenceId") String referenceId,
+                @Param("idempotencyKey") String idempotencyKey,
+                @Param("now") OffsetDateTime now);
+
+    /** Credits committed to completed runs of a user that auth-service has not debited yet. */
+    @Query("SELECT COALESCE(SUM(o.credits), 0) FROM CreditConsumeOutbox o "
+            + "WHERE o.userId = :userId AND o.status = 'PENDING'")
+    long sumPendingCredits(String userId);
+
+    // ─── Relay (cross-tenant) ────────────────────────────────────────────────
+
+    /**
+     * Lock due PENDING intents, oldest first. {@code SKIP LOCKED} lets relays on several
+     * replicas poll concurrently. Must run inside the transaction that leases the rows.
+     */
+    @Query(value = "SELECT id FROM credit_consume_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now "
+            + "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<UUID> lockDueIds(@Param("now") OffsetDateTime now, @Param("limit") int limit);
+
+    /** Hide leased intents from other relays until {@code until}; they become due again if this relay dies. */
+    @Modifying
+    @Query("UPDATE CreditConsumeOutbox o SET o.nextAttemptAt = :until WHERE o.id IN :ids")
+    int lease(List<UUID> ids, OffsetDateTime until);
+
+    @Modifying
+    @Query("UPDATE CreditConsumeOutbox o SET o.status = 'DELIVERED', o.deliveredAt = :now, o.lastError = NULL "
+            + "WHERE o.id IN :ids AND o.status = 'PENDING'")
+    int markDelivered(List<UUID> ids, OffsetDateTime now);
+
+    /** Auth-service refused the debit for good (insufficient balance). */
+    @Modifying
+    @Query("UPDATE CreditConsumeOutbox o SET o.status = 'REJECTED', o.lastError = :error, o.deliveredAt = :now "
+            + "WHERE o.id = :id AND o.status = 'PENDING'")
+    int markRejected(UUID id, String error, OffsetDateTime now);
+
+    /** Count a failed delivery and push the next one back. */
+    @Modifying
+    @Query("UPDATE CreditConsumeOutbox o SET o.attempts = o.attempts + 1, o.lastError = :error, "
+            + "o.nextAttemptAt = :nextAttemptAt WHERE o.id = :id AND o.status = 'PENDING'")
+    int scheduleRetry(UUID id, String error, OffsetDateTime nextAttemptAt);
+
+    /**
+     * Purge up to {@code limit} delivered or rejected intents created before {@code cutoff}, in a
+     * transaction of its own. Their runs have expired by then; PENDING intents are kept until delivered.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM credit_consume_outbox WHERE id IN (SELECT id FROM credit_consume_outbox "
+            + "WHERE status <> 'PENDING' AND created_at < :cutoff LIMIT :limit)",
+           nativeQuery = true)
+    int deleteSettledBatch(@Param("cutoff") OffsetDateTime cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,75 @@
+package com.learning.backendservice.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Rows of {@code gstin_status_cache} (V8), the Postgres tier of {@code GstinStatusCache}.
+ *
+ * <p>GSTIN registration status is public, so rows are keyed by GSTIN alone and shared by
+ * all tenants; {@code tenant_id} records the tenant whose lookup first stored the row.
+ * Expired rows are not deleted — the next fetch of the GSTIN overwrites them.
+ */
+@Component
+public class GstinStatusCacheStore {
+
+    private static final String SELECT_FRESH = "SELECT gstin, status, cancellation_date, last_checked_at, ttl_expires_at "
+            + "FROM gstin_status_cache WHERE gstin = ANY (?) AND ttl_expires_at > ?";
+
+    private static final String UPSERT = "INSERT INTO gstin_status_cache "
+            + "(gstin, tenant_id, status, cancellation_date, last_checked_at, ttl_expires_at) VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (gstin) DO UPDATE SET status = EXCLUDED.status, "
+            + "cancellation_date = EXCLUDED.cancellation_date, last_checked_at = EXCLUDED.last_checked_at, "
+            + "ttl_expires_at = EXCLUDED.ttl_expires_at";
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, rowNum) -> new Row(
+            rs.getString("gstin"),
+            rs.getString("status"),
+            rs.getObject("cancellation_date", LocalDate.class),
+            rs.getObject("last_checked_at", OffsetDateTime.class),
+            rs.getObject("ttl_expires_at", OffsetDateTime.class));
+
+    /** One cached portal answer. */
+    public record Row(String gstin, String status, @Nullable LocalDate cancellationDate,
+                      OffsetDateTime checkedAt, OffsetDateTime expiresAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GstinStatusCacheStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Rows of the given GSTINs still valid at {@code now}, in one round trip. */
+    public List<Row> findFresh(Collection<String> gstins, OffsetDateTime now) {
+        if (gstins.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(SELECT_FRESH, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("varchar", gstins.toArray()));
+            ps.setObject(2, now);
+        }, ROW_MAPPER);
+    }
+
+    /** Insert or overwrite the rows as one JDBC batch. */
+    public void upsert(String tenantId, List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.gstin());
+            ps.setString(2, tenantId);
+            ps.setString(3, row.status());
+            ps.setObject(4, row.cancellationDate());
+            ps.setObject(5, row.checkedAt());
+            ps.setObject(6, row.expiresAt());
+        });
+    }
+}
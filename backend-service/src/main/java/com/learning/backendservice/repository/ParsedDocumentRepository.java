@@ -6,8 +6,14 @@ import org.springframework.stereotype.Repository;
 
 import java.util.UUID;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ParsedDocumentRepository extends JpaRepository<ParsedDocument, UUID> {
     List<ParsedDocument> findByTenantId(String tenantId);
+
+    /** Parse-cache lookup: newest successful parse of identical content under the same hint and parser version. */
+    Optional<ParsedDocument>
+            findFirstByTenantIdAndContentSha256AndDocTypeHintAndParserVersionAndParseStatusOrderByCreatedAtDesc(
+            String tenantId, String contentSha256, String docTypeHint, String parserVersion, String parseStatus);
 }
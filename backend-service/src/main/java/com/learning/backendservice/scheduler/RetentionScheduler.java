@@ -1,25 +1,37 @@
 package com.learning.backendservice.scheduler;
 
+import com.learning.backendservice.repository.AuditPartitionManager;
 import com.learning.backendservice.repository.AuditRunRepository;
+import com.learning.backendservice.repository.CreditConsumeOutboxRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 
 /**
- * Purges expired audit runs daily at 2:00 AM UTC.
+ * Maintains the daily partitions of {@code audit_runs} and purges expired runs daily at
+ * 2:00 AM UTC.
  *
  * <p>Audit runs are created with an {@code expires_at} timestamp
- * (default: 7 days, configurable via {@code app.retention.days}).
- * This scheduler removes expired runs to prevent unbounded storage growth.
- *
- * <p>The {@code idx_audit_runs_expires} partial index ensures the DELETE
- * is O(expired_count) rather than a full-table scan.
+ * (default: 7 days, configurable via {@code app.retention.days}) and stored, with their
+ * findings and rule results, in the partition of their expiry day (see
+ * {@link AuditPartitionManager}):
+ * <ul>
+ *   <li>Partitions are created {@code app.retention.days} plus
+ *       {@code app.retention.partition-lookahead-days} ahead, on startup and then hourly.</li>
+ *   <li>The purge drops every partition whose day has passed: no row-by-row DELETE,
+ *       no dead tuples, no vacuum debt.</li>
+ *   <li>Expired rows that are not in such a partition (earlier today, the DEFAULT partition,
+ *       or a partition whose drop timed out) are deleted in batches of
+ *       {@code app.retention.delete-batch-size}, one short transaction each.</li>
+ * </ul>
  */
 @Component
 @EnableScheduling
@@ -27,25 +39,96 @@ public class RetentionScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(RetentionScheduler.class);
 
+    private final AuditPartitionManager partitionManager;
     private final AuditRunRepository auditRunRepository;
+    private final CreditConsumeOutboxRepository outboxRepository;
+    private final int retentionDays;
+    private final int lookaheadDays;
+    private final int batchSize;
 
-    public RetentionScheduler(AuditRunRepository auditRunRepository) {
+    public RetentionScheduler(AuditPartitionManager partitionManager,
+                              AuditRunRepository auditRunRepository,
+                              CreditConsumeOutboxRepository outboxRepository,
+                              @Value("${app.retention.days:7}") int retentionDays,
+                              @Value("${app.retention.partition-lookahead-days:3}") int lookaheadDays,
+                              @Value("${app.retention.delete-batch-size:1000}") int batchSize) {
+        this.partitionManager = partitionManager;
         this.auditRunRepository = auditRunRepository;
+        this.outboxRepository = outboxRepository;
+        this.retentionDays = retentionDays;
+        this.lookaheadDays = lookaheadDays;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Create the partitions new runs will expire into, so they never land in DEFAULT. Idempotent.
+     * One transaction per day: a day that fails (e.g. lock_timeout) is retried on the next run
+     * without holding back the days after it.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.retention.partition-maintenance-ms:3600000}")
+    public void createPartitions() {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDate last = today.plusDays(retentionDays + lookaheadDays);
+        int created = 0;
+        for (LocalDate day = today; !day.isAfter(last); day = day.plusDays(1)) {
+            try {
+                created += partitionManager.createPartitions(day);
+            } catch (RuntimeException e) {
+                log.error("Retention: could not create audit partitions of {}: {}", day, e.getMessage(), e);
+            }
+        }
+        if (created > 0) {
+            log.info("Retention: created {} audit partition table(s) through {}", created, last);
+        }
     }
 
     /**
-     * Purge expired audit runs daily at 2:00 AM UTC.
-     * Cascade delete removes associated {@code audit_findings} automatically.
+     * Purge expired audit runs daily at 2:00 AM UTC: drop fully expired partitions, then
+     * delete what is left in batches. Cascades remove the runs' findings and rule results.
      */
     @Scheduled(cron = "0 0 2 * * *", zone = "UTC")
-    @Transactional
     public void purgeExpiredRuns() {
         OffsetDateTime cutoff = OffsetDateTime.now(ZoneOffset.UTC);
-        int deleted = auditRunRepository.deleteByExpiresAtBefore(cutoff);
-        if (deleted > 0) {
-            log.info("Retention: purged {} expired audit run(s) (cutoff={})", deleted, cutoff);
+        LocalDate today = cutoff.toLocalDate();
+
+        int dropped = 0;
+        for (LocalDate day : partitionManager.partitionDays()) {
+            if (!day.isBefore(today)) {
+                break;
+            }
+            try {
+                partitionManager.dropPartitions(day);
+                dropped++;
+            } catch (RuntimeException e) {
+                // e.g. lock_timeout: its rows are deleted in batches below, the partition retried tomorrow
+                log.warn("Retention: could not drop audit partitions of {}: {}", day, e.getMessage());
+            }
+        }
+
+        int deleted = deleteInBatches(auditRunRepository::deleteExpiredBatch, cutoff);
+        int settled = deleteInBatches(outboxRepository::deleteSettledBatch,
+                cutoff.minus(retentionDays, ChronoUnit.DAYS));
+
+        if (dropped > 0 || deleted > 0) {
+            log.info("Retention: dropped {} expired day partition(s), purged {} expired audit run(s) and "
+                    + "{} settled credit intent(s) (cutoff={})", dropped, deleted, settled, cutoff);
         } else {
             log.debug("Retention: no expired audit runs to purge (cutoff={})", cutoff);
         }
     }
+
+    private int deleteInBatches(BatchDelete delete, OffsetDateTime cutoff) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = delete.apply(cutoff, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        return total;
+    }
+
+    @FunctionalInterface
+    private interface BatchDelete {
+        int apply(OffsetDateTime cutoff, int limit);
+    }
 }
@@ -0,0 +1,172 @@
+package com.learning.backendservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.github.luben.zstd.ZstdInputStream;
+import com.github.luben.zstd.ZstdOutputStream;
+import com.learning.backendservice.entity.AuditRun;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Storage format of {@code audit_runs} results.
+ *
+ * <ul>
+ *   <li>{@value #FORMAT_JSONB} — JSON text in {@code result_data}, for results below
+ *       {@code app.persistence.result-compression.threshold} (or all results when
+ *       compression is disabled).</li>
+ *   <li>{@value #FORMAT_SMILE_ZSTD} — zstd-compressed Smile in {@code result_blob}. Smile
+ *       back-references repeated strings (supplier names, dates), and zstd takes the
+ *       rest, so large Rule 37 results shrink several-fold in the table, WAL and backups.</li>
+ * </ul>
+ *
+ * <p>Readers go through {@link #resultJson} or {@link #read} and never look at the columns
+ * directly. Compressed results are decoded as a stream: {@code resultJson} copies tokens
+ * from the Smile parser into the response generator without building an object tree or
+ * a JSON string.
+ */
+@Component
+public class AuditResultCodec {
+
+    public static final String FORMAT_JSONB = "JSONB";
+    public static final String FORMAT_SMILE_ZSTD = "SMILE_ZSTD";
+
+    private final ObjectMapper objectMapper;
+    private final SmileFactory smileFactory;
+    private final boolean enabled;
+    private final long thresholdBytes;
+    private final int level;
+
+    public AuditResultCodec(
+            ObjectMapper objectMapper,
+            @Value("${app.persistence.result-compression.enabled:true}") boolean enabled,
+            @Value("${app.persistence.result-compression.threshold:256KB}") DataSize threshold,
+            @Value("${app.persistence.result-compression.level:3}") int level) {
+        this.objectMapper = objectMapper;
+        this.smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        this.enabled = enabled;
+        this.thresholdBytes = threshold.toBytes();
+        this.level = level;
+    }
+
+    /**
+     * Serialises {@code result} onto the run, as JSONB or compressed depending on its size.
+     * The result is serialised once; a large result is compressed by streaming its JSON
+     * tokens into the Smile encoder.
+     */
+    public void write(AuditRun run, @Nullable Object result) {
+        byte[] json = result == null ? null : toJson(result);
+        if (json == null || !enabled || json.length < thresholdBytes) {
+            run.setResultFormat(FORMAT_JSONB);
+            run.setResultData(json == null ? null : new String(json, StandardCharsets.UTF_8));
+            run.setResultBlob(null);
+            return;
+        }
+        run.setResultFormat(FORMAT_SMILE_ZSTD);
+        run.setResultData(null);
+        run.setResultBlob(compress(json));
+    }
+
+    /**
+     * The run's result for a response body; null when the run has none. Must be called inside
+     * the transaction that loaded the run, since the result columns are lazy.
+     *
+     * <p>JSONB text is written into the response as-is. A compressed result is only decoded
+     * when the response is serialised, token by token from the Smile parser into the response
+     * generator, so it is never expanded into a JSON string on the heap — only the compressed
+     * blob is held.
+     */
+    @Nullable
+    public JsonSerializable resultJson(AuditRun run) {
+        if (!FORMAT_SMILE_ZSTD.equals(run.getResultFormat())) {
+            String json = run.getResultData();
+            // Blank would render invalid JSON
+            return (json == null || json.isBlank()) ? null : new RawValue(json);
+        }
+        byte[] blob = run.getResultBlob();
+        return blob == null ? null : new CompressedResult(run.getId(), blob);
+    }
+
+    /** The run's result bound to {@code type}, decoded straight from whichever format it is stored in. */
+    public <T> T read(AuditRun run, TypeReference<T> type) throws IOException {
+        if (!FORMAT_SMILE_ZSTD.equals(run.getResultFormat())) {
+            return objectMapper.readValue(run.getResultData(), type);
+        }
+        try (JsonParser parser = smileFactory.createParser(decompressing(run.getResultBlob()))) {
+            return objectMapper.readValue(parser, type);
+        }
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize audit data to JSON", e);
+        }
+    }
+
+    private byte[] compress(byte[] json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (JsonParser parser = objectMapper.createParser(json);
+             JsonGenerator generator = smileFactory.createGenerator(new ZstdOutputStream(bytes, level))) {
+            // Exact copy keeps decimals as written instead of re-reading them as doubles
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEventExact(parser);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to compress audit data", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** A compressed result, decoded into the generator it is serialised with. */
+    private final class CompressedResult extends JsonSerializable.Base {
+
+        private final UUID runId;
+        private final byte[] blob;
+
+        private CompressedResult(UUID runId, byte[] blob) {
+            this.runId = runId;
+            this.blob = blob;
+        }
+
+        @Override
+        public void serialize(JsonGenerator generator, SerializerProvider provider) throws IOException {
+            try (JsonParser parser = smileFactory.createParser(decompressing(blob))) {
+                if (parser.nextToken() == null) {
+                    throw new IOException("Empty result blob for audit run " + runId);
+                }
+                generator.copyCurrentStructure(parser);
+            }
+        }
+
+        @Override
+        public void serializeWithType(JsonGenerator generator, SerializerProvider provider,
+                                      TypeSerializer typeSer) throws IOException {
+            serialize(generator, provider);
+        }
+    }
+
+    private static InputStream decompressing(byte[] blob) throws IOException {
+        return new ZstdInputStream(new ByteArrayInputStream(blob));
+    }
+}
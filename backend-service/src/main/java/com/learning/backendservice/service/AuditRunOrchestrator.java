@@ -4,7 +4,6 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.learning.backendservice.config.MemoryGuard;
 import com.learning.backendservice.config.UploadProperties;
-import com.learning.backendservice.dto.CreditWalletResponse;
 import com.learning.backendservice.dto.UploadResult;
 import com.learning.backendservice.domain.gstr1.Gstr1LateFeeInput;
 import com.learning.backendservice.domain.gstr1.Gstr1LateFeeResult;
@@ -15,9 +14,9 @@ import com.learning.backendservice.entity.AuditRunFinding;
 import com.learning.backendservice.entity.LateFeeReliefWindow;
 import com.learning.backendservice.exception.LedgerParseException;
 import com.learning.backendservice.exception.TooManyRequestsException;
-import com.learning.backendservice.repository.AuditFindingRepository;
 import com.learning.backendservice.repository.AuditRunRepository;
 import com.learning.backendservice.repository.LateFeeReliefWindowRepository;
+import com.learning.backendservice.service.credit.CreditOutboxService;
 import com.learning.backendservice.service.ingestion.ParserOrchestrator;
 import com.learning.backendservice.util.UuidV7;
 import com.learning.common.tenant.TenantContext;
@@ -25,7 +24,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -49,13 +47,16 @@ import java.util.stream.Collectors;
  *   <li>Spring multipart disk-threshold (config) — files &gt;1MB streamed to /tmp</li>
  *   <li>MemoryGuard pre-flight — rejects if estimated peak exceeds safe heap budget</li>
  *   <li>Semaphore concurrency throttle — max N uploads processed simultaneously</li>
- *   <li>Rule execution is sequential per-file (no parallel stream within a run)</li>
+ *   <li>Bounded fan-out — rules and ledger files run on fixed-size executors, never unbounded streams</li>
  *   <li>JVM flags — HeapDumpOnOutOfMemoryError + ExitOnOutOfMemoryError</li>
  * </ol>
  *
- * <p><b>Transaction boundary:</b> DB persist + credit consume are in one
- * {@code @Transactional} scope. If credit consumption fails, the saved run is
- * rolled back automatically.
+ * <p><b>Transaction boundary:</b> parsing, rule execution and auth-service calls run
+ * without a transaction, so no pooled connection is held while they block. The run,
+ * its rule results, findings and credit consume intent are written in one short
+ * transaction by {@link AuditRunPersistenceService}. Auth-service is only read on the
+ * request path, for the balance pre-check; the debit itself is delivered asynchronously
+ * by {@link com.learning.backendservice.service.credit.CreditOutboxRelay}.
  */
 @Service
 public class AuditRunOrchestrator {
@@ -64,11 +65,12 @@ public class AuditRunOrchestrator {
 
     private final AuditRuleRegistry ruleRegistry;
     private final AuditRunRepository runRepository;
-    private final AuditFindingRepository findingRepository;
+    private final AuditRunPersistenceService persistenceService;
     private final UploadProperties uploadProperties;
-    private final CreditClient creditClient;
+    private final CreditOutboxService creditOutbox;
     private final MemoryGuard memoryGuard;
     private final ObjectMapper objectMapper;
+    private final AuditResultCodec resultCodec;
     private final Semaphore uploadSemaphore;
     private final int retentionDays;
     private final int maxRunsPerTenant;
@@ -78,39 +80,38 @@ public class AuditRunOrchestrator {
     private final com.learning.backendservice.engine.RuleResolutionEngine ruleResolutionEngine;
     private final com.learning.backendservice.engine.PipelineExecutor pipelineExecutor;
     private final ContextEnricher contextEnricher;
-    private final com.learning.backendservice.repository.AuditRunRuleResultRepository ruleResultRepository;
     private final com.learning.backendservice.engine.DocumentTypeResolver documentTypeResolver;
 
     public AuditRunOrchestrator(
             AuditRuleRegistry ruleRegistry,
             AuditRunRepository runRepository,
-            AuditFindingRepository findingRepository,
+            AuditRunPersistenceService persistenceService,
             UploadProperties uploadProperties,
-            CreditClient creditClient,
+            CreditOutboxService creditOutbox,
             MemoryGuard memoryGuard,
             ObjectMapper objectMapper,
+            AuditResultCodec resultCodec,
             ParserOrchestrator parserOrchestrator,
             LateFeeReliefWindowRepository reliefWindowRepository,
             com.learning.backendservice.engine.RuleResolutionEngine ruleResolutionEngine,
             com.learning.backendservice.engine.PipelineExecutor pipelineExecutor,
             ContextEnricher contextEnricher,
-            com.learning.backendservice.repository.AuditRunRuleResultRepository ruleResultRepository,
             com.learning.backendservice.engine.DocumentTypeResolver documentTypeResolver,
             @Value("${app.retention.days:7}") int retentionDays,
             @Value("${app.retention.max-runs-per-tenant:50}") int maxRunsPerTenant) {
         this.ruleRegistry = ruleRegistry;
         this.runRepository = runRepository;
-        this.findingRepository = findingRepository;
+        this.persistenceService = persistenceService;
         this.uploadProperties = uploadProperties;
-        this.creditClient = creditClient;
+        this.creditOutbox = creditOutbox;
         this.memoryGuard = memoryGuard;
         this.objectMapper = objectMapper;
+        this.resultCodec = resultCodec;
         this.parserOrchestrator = parserOrchestrator;
         this.reliefWindowRepository = reliefWindowRepository;
         this.ruleResolutionEngine = ruleResolutionEngine;
         this.pipelineExecutor = pipelineExecutor;
         this.contextEnricher = contextEnricher;
-        this.ruleResultRepository = ruleResultRepository;
         this.documentTypeResolver = documentTypeResolver;
         this.retentionDays = retentionDays;
         this.maxRunsPerTenant = maxRunsPerTenant;
@@ -135,7 +136,6 @@ public class AuditRunOrchestrator {
      * @param userParams typed user-supplied parameters (QRMP flag, nil-return, etc.)
      * @return comprehensive upload result with per-rule findings and unlockable rules preview
      */
-    @Transactional
     public UploadResult analyzeDocuments(
             List<MultipartFile> files,
             com.learning.backendservice.engine.AnalysisMode mode,
@@ -154,14 +154,54 @@ public class AuditRunOrchestrator {
         }
 
         try {
-            return doAnalyzeDocuments(files, mode, asOnDate, userId, userParams, tenantId);
+            OffsetDateTime now = OffsetDateTime.now();
+            AuditRun run = AuditRun.builder()
+                    .id(UuidV7.generate())
+                    .tenantId(tenantId)
+                    .userId(userId)
+                    .createdAt(now)
+                    .expiresAt(now.plus(retentionDays, ChronoUnit.DAYS))
+                    .build();
+            return doAnalyzeDocuments(run, null, files, mode, asOnDate, userId, userParams, tenantId);
         } finally {
             uploadSemaphore.release();
         }
     }
 
-    @Transactional
+    /**
+     * Execute a queued async job claimed by {@link com.learning.backendservice.service.job.AuditJobWorker}.
+     *
+     * <p>Runs the same pipeline as {@link #analyzeDocuments} but completes the existing
+     * RUNNING row instead of inserting a new one, so the job id returned at submission
+     * is the run id. No semaphore or memory pre-flight: the worker pool size is the
+     * concurrency limit. The credit idempotency key is derived from the run id, so a
+     * job re-claimed after a crash is never charged twice. If auth-service later refuses
+     * the charge, the row ends FAILED without findings.
+     *
+     * @param attempt the worker's claim attempt; the run is only completed while that
+     *                claim still owns it
+     * @throws com.learning.common.infra.exception.NotFoundException if the run no longer exists
+     * @throws IllegalStateException if the job was requeued and claimed again meanwhile
+     */
+    public UploadResult analyzeQueuedRun(
+            UUID runId,
+            int attempt,
+            List<MultipartFile> files,
+            com.learning.backendservice.engine.AnalysisMode mode,
+            LocalDate asOnDate,
+            com.learning.backendservice.engine.AuditUserParams userParams) {
+
+        String tenantId = TenantContext.getCurrentTenant();
+        AuditRun run = runRepository.findByIdAndTenantId(runId, tenantId)
+                .orElseThrow(() -> new com.learning.common.infra.exception.NotFoundException(
+                        "Audit run not found: " + runId));
+        return doAnalyzeDocuments(run, attempt, files, mode, asOnDate, run.getUserId(), userParams, tenantId);
+    }
+
+    /** {@code jobAttempt} is the claim attempt of a queued run, {@code null} for a synchronous one. */
     private UploadResult doAnalyzeDocuments(
+            AuditRun run,
+            Integer jobAttempt,
             List<MultipartFile> files,
             com.learning.backendservice.engine.AnalysisMode mode,
             LocalDate asOnDate, String userId,
@@ -169,9 +209,8 @@ public class AuditRunOrchestrator {
             String tenantId) {
 
         // ── 1. Build initial context (documents populated by DocumentTypeResolver) ──
-        List<com.learning.backendservice.engine.AuditDocument> documents = files.stream()
-                .map(f -> documentTypeResolver.resolve(f, mode))
-                .toList();
+        List<com.learning.backendservice.engine.AuditDocument> documents =
+                documentTypeResolver.resolveAll(files, mode);
         com.learning.backendservice.engine.AuditContext ctx =
                 com.learning.backendservice.engine.AuditContext.forAnalysis(
                         tenantId, userId, asOnDate, mode, documents,
@@ -191,15 +230,15 @@ public class AuditRunOrchestrator {
         }
 
         // ── 4. Flat credit check (20 for GSTR, 1 for Ledger) ──
-        int creditsNeeded = (mode == com.learning.backendservice.engine.AnalysisMode.GSTR_RULES_ANALYSIS) ? 20 : 1;
-        creditClient.checkBalance(userId, creditsNeeded);
+        int creditsNeeded = creditsRequired(mode);
+        int availableCredits = creditOutbox.checkBalance(userId, creditsNeeded);
 
         // ── 5. Execute pipeline ──
         com.learning.backendservice.engine.PipelineResult pipelineResult =
                 pipelineExecutor.execute(rules, ctx);
 
-        // ── 6. Persist run ──
-        UUID runId = UuidV7.generate();
+        // ── 6. Complete run ──
+        UUID runId = run.getId();
         OffsetDateTime now = OffsetDateTime.now();
         
         java.util.Map<String, Object> runResultData = new java.util.HashMap<>();
@@ -209,27 +248,23 @@ public class AuditRunOrchestrator {
             }
         }
         
-        AuditRun run = AuditRun.builder()
-                .id(runId)
-                .tenantId(tenantId)
-                .userId(userId)
-                .analysisMode(mode.name())
-                .rulesExecuted(pipelineResult.rulesExecuted().toArray(new String[0]))
-                .status("SUCCESS")
-                .inputMetadata(toJson(java.util.Map.of(
-                        "asOnDate", asOnDate.toString(),
-                        "mode", mode.name(),
-                        "fileCount", files.size())))
-                .resultData(runResultData.isEmpty() ? null : toJson(runResultData))
-                .totalImpactAmount(pipelineResult.totalImpact())
-                .creditsConsumed(creditsNeeded)
-                .createdAt(now)
-                .completedAt(now)
-                .expiresAt(now.plus(retentionDays, java.time.temporal.ChronoUnit.DAYS))
-                .build();
-        run = runRepository.save(run);
-
-        // ── 7. Persist per-rule results ──
+        run.setAnalysisMode(mode.name());
+        run.setRulesExecuted(pipelineResult.rulesExecuted().toArray(new String[0]));
+        run.setStatus("SUCCESS");
+        if (run.getInputMetadata() == null) {
+            run.setInputMetadata(toJson(java.util.Map.of(
+                    "asOnDate", asOnDate.toString(),
+                    "mode", mode.name(),
+                    "fileCount", files.size())));
+        }
+        resultCodec.write(run, runResultData.isEmpty() ? null : runResultData);
+        run.setTotalImpactAmount(pipelineResult.totalImpact());
+        run.setCreditsConsumed(creditsNeeded);
+        run.setCompletedAt(now);
+        run.setSpoolPath(null);
+        run.setErrorMessage(null);
+
+        // ── 7. Per-rule results ──
         List<com.learning.backendservice.entity.AuditRunRuleResult> ruleResultEntities = new ArrayList<>();
         for (com.learning.backendservice.engine.RuleExecutionResult rr : pipelineResult.ruleResults()) {
             ruleResultEntities.add(com.learning.backendservice.entity.AuditRunRuleResult.builder()
@@ -247,9 +282,8 @@ public class AuditRunOrchestrator {
                     .createdAt(now)
                     .build());
         }
-        ruleResultRepository.saveAll(ruleResultEntities);
 
-        // ── 8. Persist findings ──
+        // ── 8. Findings ──
         List<AuditRunFinding> findingEntities = new ArrayList<>();
         for (com.learning.backendservice.engine.AuditFinding f : pipelineResult.allFindings()) {
             findingEntities.add(AuditRunFinding.builder()
@@ -267,12 +301,11 @@ public class AuditRunOrchestrator {
                     .createdAt(now)
                     .build());
         }
-        findingRepository.saveAll(findingEntities);
-
-        // ── 9. Consume credits ──
-        String idempotencyKey = "audit-" + runId;
-        CreditWalletResponse wallet = creditClient.consumeCredits(
-                userId, creditsNeeded, idempotencyKey, idempotencyKey);
+        // ── 9. Persist run, results, findings and credit consume intent ──
+        run = jobAttempt == null
+                ? persistenceService.saveCompletedRun(run, ruleResultEntities, findingEntities)
+                : persistenceService.saveCompletedJob(run, jobAttempt, ruleResultEntities, findingEntities);
+        int remainingCredits = availableCredits - creditsNeeded;
 
         // ── 10. Build response ──
         List<com.learning.backendservice.engine.UnlockableRule> unlockable =
@@ -280,7 +313,7 @@ public class AuditRunOrchestrator {
 
         log.info("analyzeDocuments completed: runId={}, mode={}, rules={}, findings={}, impact={}, creditsRemaining={}",
                 runId, mode, pipelineResult.rulesExecuted().size(),
-                pipelineResult.allFindings().size(), pipelineResult.totalImpact(), wallet.getRemaining());
+                pipelineResult.allFindings().size(), pipelineResult.totalImpact(), remainingCredits);
 
         return UploadResult.builder()
                 .stringRunId(runId.toString())
@@ -296,7 +329,7 @@ public class AuditRunOrchestrator {
                                 .build())
                         .toList())
                 .creditsConsumed(creditsNeeded)
-                .remainingCredits(wallet.getRemaining())
+                .remainingCredits(remainingCredits)
                 .threeWayReconFindings(runResultData.get("RECON_1_VS_3B_VS_9"))
                 .itcMismatches(runResultData.get("ITC_RECO_2B"))
                 .rcmMismatches(runResultData.get("RCM_RECO_3B"))
@@ -347,9 +380,8 @@ public class AuditRunOrchestrator {
 
     /**
      * Core processing logic — runs under semaphore protection.
-     * @Transactional ensures DB + credit operations are atomic.
+     * Run, findings and the credit consume intent are saved in one short transaction.
      */
-    @Transactional
     private UploadResult doProcessUpload(
             List<MultipartFile> files, LocalDate asOnDate, String ruleId, String userId) {
 
@@ -405,7 +437,7 @@ public class AuditRunOrchestrator {
 
         // ── Phase 1: Pre-validate credits BEFORE persisting ──
         int totalLedgerCount = ruleResult.creditsConsumed();
-        creditClient.checkBalance(userId, totalLedgerCount);
+        int availableCredits = creditOutbox.checkBalance(userId, totalLedgerCount);
 
         // ── Phase 2: Persist AuditRun (with UUID v7) ──
         UUID runId = UuidV7.generate();
@@ -428,17 +460,15 @@ public class AuditRunOrchestrator {
                         "asOnDate", asOnDate.toString(),
                         "filename", filename,
                         "fileCount", validFiles.size())))
-                .resultData(toJson(ruleResult.ruleSpecificOutput()))
                 .totalImpactAmount(ruleResult.totalImpact())
                 .creditsConsumed(totalLedgerCount)
                 .createdAt(now)
                 .completedAt(now)
                 .expiresAt(expiresAt)
                 .build();
+        resultCodec.write(run, ruleResult.ruleSpecificOutput());
 
-        run = runRepository.save(run);
-
-        // ── Phase 3: Persist findings ──
+        // ── Phase 3: Persist run + findings + credit consume intent ──
         List<AuditRunFinding> findingEntities = new ArrayList<>();
         for (AuditFinding f : ruleResult.findings()) {
             findingEntities.add(AuditRunFinding.builder()
@@ -456,24 +486,13 @@ public class AuditRunOrchestrator {
                     .createdAt(now)
                     .build());
         }
-        findingRepository.saveAll(findingEntities);
-
-        // ── Phase 4: Consume credits AFTER save ──
-        // On failure, @Transactional rolls back the DB save automatically.
-        String idempotencyKey = "audit-" + run.getId();
-        CreditWalletResponse walletAfter;
-        try {
-            walletAfter = creditClient.consumeCredits(userId, totalLedgerCount, idempotencyKey, idempotencyKey);
-        } catch (Exception e) {
-            log.error("Credit consumption failed after save, triggering rollback: userId={}, runId={}",
-                    userId, run.getId(), e);
-            throw e;
-        }
+        run = persistenceService.saveCompletedRun(run, List.of(), findingEntities);
+        int remainingCredits = availableCredits - totalLedgerCount;
 
         log.info("AuditRunOrchestrator completed: runId={}, ruleId={}, tenantId={}, findings={}, impact={}, creditsRemaining={}",
-                run.getId(), ruleId, tenantId, findingEntities.size(), ruleResult.totalImpact(), walletAfter.getRemaining());
+                run.getId(), ruleId, tenantId, findingEntities.size(), ruleResult.totalImpact(), remainingCredits);
 
-        return buildUploadResult(run, ruleResult, errors, walletAfter.getRemaining());
+        return buildUploadResult(run, ruleResult, errors, remainingCredits);
     }
 
     // ─── GSTR-1 Late Fee Upload ──────────────────────────────────────────────
@@ -497,7 +516,6 @@ public class AuditRunOrchestrator {
      * @param userId      Keycloak user subject
      * @return standard UploadResult with findings populated in findingsSummary
      */
-    @Transactional
     public UploadResult processGstrUpload(
             MultipartFile file, boolean isQrmp, boolean isNilReturn,
             LocalDate asOnDate, String userId) {
@@ -555,7 +573,7 @@ public class AuditRunOrchestrator {
         AuditRuleResult<Gstr1LateFeeResult> ruleResult = rule.execute(input, ctx);
 
         // ── 5. Persist run + findings (reuse existing schema) ─────────────────
-        creditClient.checkBalance(userId, ruleResult.creditsConsumed());
+        int availableCredits = creditOutbox.checkBalance(userId, ruleResult.creditsConsumed());
 
         UUID runId = UuidV7.generate();
         OffsetDateTime now = OffsetDateTime.now();
@@ -572,14 +590,13 @@ public class AuditRunOrchestrator {
                         "isQrmp", isQrmp,
                         "isNilReturn", isNilReturn
                 )))
-                .resultData(toJson(ruleResult.ruleSpecificOutput()))
                 .totalImpactAmount(ruleResult.totalImpact())
                 .creditsConsumed(ruleResult.creditsConsumed())
                 .createdAt(now)
                 .completedAt(now)
                 .expiresAt(now.plus(retentionDays, ChronoUnit.DAYS))
                 .build();
-        run = runRepository.save(run);
+        resultCodec.write(run, ruleResult.ruleSpecificOutput());
 
         List<AuditRunFinding> findingEntities = new ArrayList<>();
         for (AuditFinding f : ruleResult.findings()) {
@@ -598,15 +615,12 @@ public class AuditRunOrchestrator {
                     .createdAt(now)
                     .build());
         }
-        findingRepository.saveAll(findingEntities);
-
-        CreditWalletResponse wallet = creditClient.consumeCredits(
-                userId, ruleResult.creditsConsumed(),
-                "audit-" + runId, "audit-" + runId);
+        run = persistenceService.saveCompletedRun(run, List.of(), findingEntities);
+        int remainingCredits = availableCredits - ruleResult.creditsConsumed();
 
         log.info("processGstrUpload completed: runId={}, gstin={}, delay={}d, impact={}, creditsRemaining={}",
                 runId, gstin, ruleResult.ruleSpecificOutput().delayDays(),
-                ruleResult.totalImpact(), wallet.getRemaining());
+                ruleResult.totalImpact(), remainingCredits);
 
         // ── 6. Build response with generic findingsSummary ───────────────────
         List<UploadResult.FindingSummaryDto> summaries = ruleResult.findings().stream()
@@ -626,10 +640,15 @@ public class AuditRunOrchestrator {
                 .filename(file.getOriginalFilename())
                 .findingsSummary(summaries)
                 .creditsConsumed(ruleResult.creditsConsumed())
-                .remainingCredits(wallet.getRemaining())
+                .remainingCredits(remainingCredits)
                 .build();
     }
 
+    /** Flat credit cost of a unified analysis run: 20 for GSTR_RULES_ANALYSIS, 1 for LEDGER_ANALYSIS. */
+    public static int creditsRequired(com.learning.backendservice.engine.AnalysisMode mode) {
+        return (mode == com.learning.backendservice.engine.AnalysisMode.GSTR_RULES_ANALYSIS) ? 20 : 1;
+    }
+
     // ─── Private Helpers ────────────────────────────────────────────────────
 
     private void validateFiles(List<MultipartFile> files) {
@@ -0,0 +1,93 @@
+package com.learning.backendservice.service;
+
+import com.learning.backendservice.entity.AuditRun;
+import com.learning.backendservice.entity.AuditRunFinding;
+import com.learning.backendservice.entity.AuditRunRuleResult;
+import com.learning.backendservice.repository.AuditFindingRepository;
+import com.learning.backendservice.repository.AuditResultBulkWriter;
+import com.learning.backendservice.repository.AuditRunRepository;
+import com.learning.backendservice.repository.AuditRunRuleResultRepository;
+import com.learning.backendservice.repository.CreditConsumeOutboxRepository;
+import com.learning.backendservice.util.UuidV7;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Short write transactions for {@link AuditRunOrchestrator}.
+ *
+ * <p>The orchestrator parses, executes rules and calls auth-service with no transaction
+ * open; a pooled connection is only checked out here, for the inserts of one completed
+ * run. The run's credit consume intent is written to {@code credit_consume_outbox} in the
+ * same transaction and delivered later by
+ * {@link com.learning.backendservice.service.credit.CreditOutboxRelay}; if auth-service
+ * refuses the debit, {@link #compensate} undoes the run so an uncharged result never
+ * stays visible.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AuditRunPersistenceService {
+
+    private final AuditRunRepository runRepository;
+    private final AuditFindingRepository findingRepository;
+    private final AuditRunRuleResultRepository ruleResultRepository;
+    private final AuditResultBulkWriter resultWriter;
+    private final CreditConsumeOutboxRepository outboxRepository;
+
+    /**
+     * Insert (or, for a queued job, update) the run together with its rule results,
+     * findings and the outbox intent to consume {@code run.creditsConsumed} credits, in one
+     * transaction. Children must reference {@code run}.
+     */
+    @Transactional
+    public AuditRun saveCompletedRun(AuditRun run, List<AuditRunRuleResult> ruleResults,
+                                     List<AuditRunFinding> findings) {
+        AuditRun saved = runRepository.save(run);
+        resultWriter.insertRuleResults(ruleResults);
+        resultWriter.insertFindings(findings);
+        if (saved.getCreditsConsumed() != null && saved.getCreditsConsumed() > 0) {
+            String idempotencyKey = creditIdempotencyKey(saved.getId());
+            outboxRepository.enqueue(UuidV7.generate(), saved.getId(), saved.getTenantId(), saved.getUserId(),
+                    saved.getCreditsConsumed(), idempotencyKey, idempotencyKey, OffsetDateTime.now());
+        }
+        return saved;
+    }
+
+    /**
+     * {@link #saveCompletedRun} for a queued job, provided claim {@code attempt} still owns it.
+     * The run row stays locked until commit, so stale recovery cannot requeue it mid-write.
+     *
+     * @throws IllegalStateException if the job finished or was claimed again meanwhile
+     */
+    @Transactional
+    public AuditRun saveCompletedJob(AuditRun run, int attempt, List<AuditRunRuleResult> ruleResults,
+                                     List<AuditRunFinding> findings) {
+        if (runRepository.lockOwnedJob(run.getId(), attempt).isEmpty()) {
+            throw new IllegalStateException("Audit job " + run.getId() + " is no longer owned by attempt " + attempt);
+        }
+        return saveCompletedRun(run, ruleResults, findings);
+    }
+
+    /** Key auth-service deduplicates a run's debit on, so redelivery never charges twice. */
+    public static String creditIdempotencyKey(UUID runId) {
+        return "audit-" + runId;
+    }
+
+    /**
+     * Undo {@link #saveCompletedRun} after auth-service refused the debit. The run keeps
+     * its row, since its id was already handed out, and ends FAILED without findings.
+     */
+    @Transactional
+    public void compensate(UUID runId, String reason) {
+        findingRepository.deleteByRunId(runId);
+        ruleResultRepository.deleteByRunId(runId);
+        runRepository.markCompletedRunFailed(runId, reason);
+        log.warn("Compensated audit run after credit failure: runId={}", runId);
+    }
+}
@@ -1,12 +1,15 @@
 package com.learning.backendservice.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learning.backendservice.dto.AuditFindingPageResponse;
+import com.learning.backendservice.dto.AuditFindingResponse;
 import com.learning.backendservice.dto.AuditRunResponse;
 import com.learning.backendservice.entity.AuditRun;
+import com.learning.backendservice.entity.AuditRunFinding;
 import com.learning.backendservice.engine.AuditRule;
 import com.learning.backendservice.engine.AuditRuleRegistry;
+import com.learning.backendservice.repository.AuditFindingPageReader;
 import com.learning.backendservice.repository.AuditRunRepository;
+import com.learning.backendservice.repository.AuditRunSummary;
 import com.learning.common.infra.exception.NotFoundException;
 import com.learning.common.tenant.TenantContext;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +18,10 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -30,34 +37,70 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AuditRunService {
 
+    /** Largest findings page a client can ask for. */
+    public static final int MAX_FINDINGS_PAGE_SIZE = 500;
+
     private final AuditRunRepository runRepository;
     private final AuditRuleRegistry ruleRegistry;
-    private final ObjectMapper objectMapper;
+    private final AuditResultCodec resultCodec;
+    private final AuditFindingPageReader findingReader;
 
     /**
      * List audit runs for the current tenant, paginated.
      * Optionally filtered by ruleId.
+     *
+     * <p>Reads {@link AuditRunSummary} projections, so {@code result_data} is never selected.
      */
+    @Transactional(readOnly = true)
     public Page<AuditRunResponse> listRuns(String userId, String ruleId, Pageable pageable) {
         String tenantId = TenantContext.getCurrentTenant();
-        Page<AuditRun> page = (ruleId != null && !ruleId.isBlank())
-                ? runRepository.findByTenantIdAndUserIdAndRuleId(tenantId, userId, ruleId, pageable)
-                : runRepository.findByTenantIdAndUserId(tenantId, userId, pageable);
-        return page.map(run -> toResponse(run, false));
+        Page<AuditRunSummary> page = (ruleId != null && !ruleId.isBlank())
+                ? runRepository.findSummariesByRuleId(tenantId, userId, ruleId, pageable)
+                : runRepository.findSummaries(tenantId, userId, pageable);
+        return page.map(this::toResponse);
     }
 
     /**
      * Get a single audit run by ID with full result data.
+     * The stored result is handed to the response as JSON text, never parsed into a tree.
      *
      * @throws NotFoundException if the run doesn't exist or belongs to another tenant
      */
+    @Transactional(readOnly = true)
     public AuditRunResponse getRun(UUID id, String userId) {
         String tenantId = TenantContext.getCurrentTenant();
         return runRepository.findByIdAndTenantIdAndUserId(id, tenantId, userId)
-                .map(run -> toResponse(run, true))
+                .map(this::toResponse)
                 .orElseThrow(() -> new NotFoundException("Audit run not found: " + id));
     }
 
+    /**
+     * One page of a run's findings, highest impact first, optionally filtered.
+     *
+     * @param cursor {@code nextCursor} of the previous page, or null for the first page
+     * @param limit  page size, capped at {@value #MAX_FINDINGS_PAGE_SIZE}
+     * @throws NotFoundException        if the run doesn't exist or belongs to another user
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public AuditFindingPageResponse listFindings(UUID id, String userId, AuditFindingPageReader.Filter filter,
+                                                 String cursor, int limit) {
+        String tenantId = TenantContext.getCurrentTenant();
+        AuditRun run = runRepository.findByIdAndTenantIdAndUserId(id, tenantId, userId)
+                .orElseThrow(() -> new NotFoundException("Audit run not found: " + id));
+        int pageSize = Math.max(1, Math.min(limit, MAX_FINDINGS_PAGE_SIZE));
+
+        // One extra row tells whether there is a next page
+        List<AuditRunFinding> rows = findingReader.page(id, run.getExpiresAt(), tenantId, filter,
+                decodeCursor(cursor), pageSize + 1);
+        boolean more = rows.size() > pageSize;
+        List<AuditRunFinding> page = more ? rows.subList(0, pageSize) : rows;
+        return AuditFindingPageResponse.builder()
+                .findings(page.stream().map(AuditRunService::toResponse).toList())
+                .nextCursor(more ? encodeCursor(page.get(pageSize - 1)) : null)
+                .build();
+    }
+
     /**
      * Delete an audit run.
      *
@@ -74,33 +117,45 @@ public class AuditRunService {
 
     /**
      * Fetch the raw entity (for export use-cases where the service layer needs the full object).
+     * The lazy result columns are loaded before the entity is detached.
      *
      * @throws NotFoundException if the run doesn't exist or belongs to another tenant
      */
+    @Transactional(readOnly = true)
     public AuditRun getRunEntity(UUID id) {
         String tenantId = TenantContext.getCurrentTenant();
-        return runRepository.findByIdAndTenantId(id, tenantId)
+        AuditRun run = runRepository.findByIdAndTenantId(id, tenantId)
                 .orElseThrow(() -> new NotFoundException("Audit run not found: " + id));
+        run.getResultData(); // initialise the lazy column while the session is open
+        return run;
     }
 
     // ─── Mapping ─────────────────────────────────────────────────────────────
 
-    private AuditRunResponse toResponse(AuditRun run, boolean includeResultData) {
-        // Derive primary ruleId from rulesExecuted array for backward compat display
-        String primaryRuleId = (run.getRulesExecuted() != null && run.getRulesExecuted().length > 0)
-                ? run.getRulesExecuted()[0] : "UNKNOWN";
-        String displayName = null;
-        try {
-            AuditRule<?, ?> rule = ruleRegistry.getRule(primaryRuleId);
-            displayName = rule.getDisplayName();
-        } catch (IllegalArgumentException ex) {
-            displayName = primaryRuleId; // fallback for unknown/deleted rules
-        }
+    /** List row: no result data. */
+    private AuditRunResponse toResponse(AuditRunSummary run) {
+        String primaryRuleId = primaryRuleId(run.getRulesExecuted());
+        return AuditRunResponse.builder()
+                .id(run.getId().toString())
+                .ruleId(primaryRuleId)
+                .ruleDisplayName(displayName(primaryRuleId))
+                .status(run.getStatus())
+                .totalImpactAmount(run.getTotalImpactAmount())
+                .creditsConsumed(run.getCreditsConsumed())
+                .createdAt(run.getCreatedAt())
+                .completedAt(run.getCompletedAt())
+                .expiresAt(run.getExpiresAt())
+                .userId(run.getUserId())
+                .inputMetadata(rawJson(run.getInputMetadata()))
+                .build();
+    }
 
+    private AuditRunResponse toResponse(AuditRun run) {
+        String primaryRuleId = primaryRuleId(run.getRulesExecuted());
         return AuditRunResponse.builder()
                 .id(run.getId().toString())
                 .ruleId(primaryRuleId)
-                .ruleDisplayName(displayName)
+                .ruleDisplayName(displayName(primaryRuleId))
                 .status(run.getStatus())
                 .totalImpactAmount(run.getTotalImpactAmount())
                 .creditsConsumed(run.getCreditsConsumed())
@@ -108,17 +163,62 @@ public class AuditRunService {
                 .completedAt(run.getCompletedAt())
                 .expiresAt(run.getExpiresAt())
                 .userId(run.getUserId())
-                .inputMetadata(fromJson(run.getInputMetadata()))
-                .resultData(includeResultData ? fromJson(run.getResultData()) : null)
+                .inputMetadata(rawJson(run.getInputMetadata()))
+                .resultData(resultCodec.resultJson(run))
                 .build();
     }
 
-    private Object fromJson(String json) {
-        if (json == null || json.isBlank()) return null;
+    private static AuditFindingResponse toResponse(AuditRunFinding finding) {
+        return AuditFindingResponse.builder()
+                .id(finding.getId().toString())
+                .ruleId(finding.getRuleId())
+                .severity(finding.getSeverity())
+                .legalBasis(finding.getLegalBasis())
+                .compliancePeriod(finding.getCompliancePeriod())
+                .impactAmount(finding.getImpactAmount())
+                .description(finding.getDescription())
+                .recommendedAction(finding.getRecommendedAction())
+                .autoFixAvailable(finding.getAutoFixAvailable())
+                .createdAt(finding.getCreatedAt())
+                .build();
+    }
+
+    /** Opaque cursor: URL-safe Base64 of {@code impactAmount:id} of the page's last finding. */
+    static String encodeCursor(AuditRunFinding last) {
+        String key = last.getImpactAmount().toPlainString() + ":" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static AuditFindingPageReader.Cursor decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = key.indexOf(':');
+            return new AuditFindingPageReader.Cursor(
+                    new BigDecimal(key.substring(0, sep)), UUID.fromString(key.substring(sep + 1)));
+        } catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid findings cursor: " + cursor);
+        }
+    }
+
+    // Derive primary ruleId from rulesExecuted array for backward compat display
+    private static String primaryRuleId(String[] rulesExecuted) {
+        return (rulesExecuted != null && rulesExecuted.length > 0) ? rulesExecuted[0] : "UNKNOWN";
+    }
+
+    private String displayName(String ruleId) {
         try {
-            return objectMapper.readValue(json, Object.class);
-        } catch (JsonProcessingException e) {
-            return json; // fallback: return raw string
+            AuditRule<?, ?> rule = ruleRegistry.getRule(ruleId);
+            return rule.getDisplayName();
+        } catch (IllegalArgumentException ex) {
+            return ruleId; // fallback for unknown/deleted rules
         }
     }
+
+    /** Stored JSONB text for a {@code @JsonRawValue} field; blank would render invalid JSON. */
+    private static String rawJson(String json) {
+        return (json == null || json.isBlank()) ? null : json;
+    }
 }
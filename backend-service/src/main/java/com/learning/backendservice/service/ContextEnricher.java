@@ -5,19 +5,16 @@ import com.learning.backendservice.engine.AnalysisMode;
 import com.learning.backendservice.engine.AuditContext;
 import com.learning.backendservice.engine.DocumentType;
 import com.learning.backendservice.engine.SharedResources;
-import com.learning.backendservice.entity.ReconToleranceConfig;
-import com.learning.backendservice.entity.Rule86bConfig;
-import com.learning.backendservice.repository.LateFeeReliefWindowRepository;
-import com.learning.backendservice.repository.ReconToleranceConfigRepository;
-import com.learning.backendservice.repository.Rule86bConfigRepository;
 import com.learning.backendservice.domain.rule86b.Rule86bConfigSnapshot;
+import com.learning.backendservice.infra.portal.GstinStatusCache;
 import com.learning.backendservice.infra.portal.PortalClient;
 import com.learning.backendservice.domain.gstr2a.GstinStatusSnapshot;
+import com.learning.backendservice.service.reference.ReferenceDataCache;
+import com.learning.backendservice.service.reference.ReferenceDataSnapshot;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.Collections;
@@ -28,7 +25,7 @@ import java.util.Map;
 import java.util.Set;
 
 /**
- * Pre-pipeline enrichment step that loads shared DB resources into {@link SharedResources}.
+ * Pre-pipeline enrichment step that loads shared reference resources into {@link SharedResources}.
  *
  * <p>Called <em>once</em> by {@code AuditRunOrchestrator} after the initial context is built
  * and before rule execution begins. The loaded resources are then attached to the context via
@@ -36,6 +33,8 @@ import java.util.Set;
  *
  * <p>This pattern keeps all {@link com.learning.backendservice.engine.AuditRule} implementations
  * database-free — they read from the pre-loaded context, never from repositories.
+ * The reference tables themselves come from the in-memory {@link ReferenceDataCache}
+ * snapshot, so enrichment makes no DB round trips.
  */
 @Service
 @RequiredArgsConstructor
@@ -46,56 +45,45 @@ public class ContextEnricher {
     private static final BigDecimal DEFAULT_TOLERANCE_AMOUNT  = new BigDecimal("1.00");
     private static final BigDecimal DEFAULT_TOLERANCE_PERCENT = new BigDecimal("0.0001");
 
-    private final LateFeeReliefWindowRepository    reliefWindowRepository;
-    private final ReconToleranceConfigRepository   reconToleranceRepository;
-    private final Rule86bConfigRepository          rule86bConfigRepository;
-    private final PortalClient                     portalClient;
+    private final ReferenceDataCache               referenceDataCache;
+    private final GstinStatusCache                 gstinStatusCache;
 
     /**
-     * Load all shared DB resources needed for the given context.
+     * Load all shared resources needed for the given context.
      * Only fetches resource types relevant to the uploaded document set.
      *
      * @param context initial context (without shared resources)
      * @return populated {@link SharedResources} ready to attach to the context
      */
-    @Transactional(readOnly = true)
     public SharedResources loadResources(AuditContext context) {
+        ReferenceDataSnapshot referenceData = referenceDataCache.current();
         Map<String, List<ReliefWindowSnapshot>> reliefWindows = new HashMap<>();
 
         if (context.analysisMode() == AnalysisMode.LEDGER_ANALYSIS
                 || context.hasDocument(DocumentType.GSTR_1)) {
-            loadReliefWindows(reliefWindows, "GSTR1", "GSTR_1");
+            loadReliefWindows(referenceData, reliefWindows, "GSTR_1");
         }
         if (context.hasDocument(DocumentType.GSTR_3B)) {
-            loadReliefWindows(reliefWindows, "GSTR3B", "GSTR_3B");
+            loadReliefWindows(referenceData, reliefWindows, "GSTR_3B");
         }
         if (context.hasDocument(DocumentType.GSTR_9)) {
-            loadReliefWindows(reliefWindows, "GSTR9", "GSTR_9");
+            loadReliefWindows(referenceData, reliefWindows, "GSTR_9");
         }
 
         // Load per-tenant recon tolerance; fall back to DEFAULT row if not configured.
         BigDecimal toleranceAmount  = DEFAULT_TOLERANCE_AMOUNT;
         BigDecimal tolerancePercent = DEFAULT_TOLERANCE_PERCENT;
 
-        ReconToleranceConfig toleranceCfg = reconToleranceRepository
-                .findByTenantId(context.tenantId())
-                .or(() -> reconToleranceRepository.findByTenantId("DEFAULT"))
-                .orElse(null);
+        ReferenceDataSnapshot.Tolerance toleranceCfg = referenceData.tolerance(context.tenantId()).orElse(null);
 
         if (toleranceCfg != null) {
-            toleranceAmount  = toleranceCfg.getToleranceAmount();
-            tolerancePercent = toleranceCfg.getTolerancePercent();
+            toleranceAmount  = toleranceCfg.amount();
+            tolerancePercent = toleranceCfg.percent();
         }
 
         // Load Rule 86B config
-        Rule86bConfig rule86bCfg = null;
-        if (context.hasDocument(DocumentType.GSTR_3B)) {
-            rule86bCfg = rule86bConfigRepository.findByTenantId(context.tenantId())
-                    .or(() -> rule86bConfigRepository.findByTenantId("DEFAULT"))
-                    .orElse(null);
-        }
-        Rule86bConfigSnapshot rule86bConfigSnapshot = rule86bCfg != null 
-                ? new Rule86bConfigSnapshot(rule86bCfg.getTurnoverThreshold(), rule86bCfg.getCashPercentFloor(), rule86bCfg.getEffectiveFrom()) 
+        Rule86bConfigSnapshot rule86bConfigSnapshot = context.hasDocument(DocumentType.GSTR_3B)
+                ? referenceData.rule86bConfig(context.tenantId()).orElse(Rule86bConfigSnapshot.defaults())
                 : Rule86bConfigSnapshot.defaults();
 
         log.debug("ContextEnricher: tenant={} reliefBuckets={} reconTolerance={}₹/{}% rule86bThreshold={}",
@@ -122,18 +110,19 @@ public class ContextEnricher {
             });
         }
         
+        // One bulk lookup: cached statuses first, portal calls for the rest run concurrently
+        Map<String, PortalClient.GstinStatus> statuses = gstinStatusCache.getGstinStatuses(uniqueGstins);
         for (String gstin : uniqueGstins) {
-            try {
-                PortalClient.GstinStatus statusInfo = portalClient.getGstinStatus(gstin);
+            PortalClient.GstinStatus statusInfo = statuses.get(gstin);
+            if (statusInfo != null) {
                 gstinStatusMap.put(gstin, new GstinStatusSnapshot(
                         statusInfo.status(),
                         statusInfo.cancellationDate() != null ? statusInfo.cancellationDate().toString() : null
                 ));
-            } catch (Exception e) {
+            } else {
                 // Non-fatal: portal API failure must not abort the audit pipeline.
                 // Default to ACTIVE so the audit proceeds; reviewer is informed via log.
-                log.warn("ContextEnricher: failed to fetch GSTIN status for {} — defaulting to ACTIVE. Cause: {}",
-                        gstin, e.getMessage());
+                log.warn("ContextEnricher: no GSTIN status for {} — defaulting to ACTIVE", gstin);
                 gstinStatusMap.put(gstin, new GstinStatusSnapshot("ACTIVE", null));
             }
         }
@@ -149,23 +138,12 @@ public class ContextEnricher {
     }
 
     private void loadReliefWindows(
+            ReferenceDataSnapshot referenceData,
             Map<String, List<ReliefWindowSnapshot>> target,
-            String returnType,
             String keyPrefix) {
 
         for (String appliesTo : List.of("NIL", "NON_NIL")) {
-            List<ReliefWindowSnapshot> snapshots = reliefWindowRepository
-                    .findByReturnTypeAndAppliesTo(returnType, appliesTo)
-                    .stream()
-                    .map(r -> new ReliefWindowSnapshot(
-                            r.getNotificationNo(),
-                            r.getFeeCgstPerDay(),
-                            r.getFeeSgstPerDay(),
-                            r.getMaxCapCgst(),
-                            r.getMaxCapSgst()))
-                    .toList();
-            target.put(keyPrefix + "_" + appliesTo, snapshots);
+            target.put(keyPrefix + "_" + appliesTo, referenceData.reliefWindows(keyPrefix + "_" + appliesTo));
         }
     }
 }
-
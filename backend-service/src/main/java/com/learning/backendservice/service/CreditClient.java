@@ -9,6 +9,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
+import java.util.List;
+
 /**
  * WebClient wrapper for calling auth-service credit APIs.
  * Protected by Resilience4j circuit breaker and retry.
@@ -26,7 +28,7 @@ public class CreditClient {
     }
 
     // ISSUE-008: No @Retry on credit mutations — retries risk double-charge.
-    // Orchestrator handles failure via @Transactional rollback.
+    // Audit runs no longer call this; their debits go through the outbox and consumeBatch.
     @CircuitBreaker(name = "authService")
     public CreditWalletResponse consumeCredits(String userId, int credits,
             String referenceId, String idempotencyKey) {
@@ -58,6 +60,37 @@ public class CreditClient {
         }
     }
 
+    /**
+     * Deliver several consume intents in one call. Each item is charged independently and
+     * deduplicated on its idempotency key, so a failed batch can be resent as a whole.
+     * No @Retry: the outbox relay owns redelivery and backoff.
+     *
+     * @return one result per item, in request order
+     */
+    @CircuitBreaker(name = "authService")
+    public List<ConsumeResult> consumeBatch(List<ConsumeRequest> items) {
+        log.debug("Delivering {} credit consume intent(s)", items.size());
+        try {
+            BatchConsumeResponse response = webClient.post()
+                    .uri("/api/v1/credits/consume/batch")
+                    .bodyValue(new BatchConsumeRequest(items))
+                    .retrieve()
+                    .bodyToMono(BatchConsumeResponse.class)
+                    .block();
+            if (response == null || response.results() == null || response.results().size() != items.size()) {
+                throw new IllegalStateException("Malformed batch consume response");
+            }
+            return response.results();
+        } catch (WebClientResponseException e) {
+            log.error("Batch credit consumption failed: items={}, status={}, error={}",
+                    items.size(), e.getStatusCode(), e.getMessage());
+            throw new RuntimeException("Credit service error: " + e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Batch credit consumption failed: items={}, error={}", items.size(), e.getMessage());
+            throw new RuntimeException("Credit service unavailable: " + e.getMessage(), e);
+        }
+    }
+
     @CircuitBreaker(name = "authService")
     @Retry(name = "authService")
     public CreditWalletResponse checkBalance(String userId, int required) {
@@ -81,6 +114,23 @@ public class CreditClient {
                 .block();
     }
 
-    private record ConsumeRequest(String userId, int credits,
+    public record ConsumeRequest(String userId, int credits,
             String referenceId, String idempotencyKey) {}
+
+    /** Outcome of one batch item; {@code wallet} is set when {@code status} is CONSUMED. */
+    public record ConsumeResult(String idempotencyKey, ConsumeStatus status,
+            CreditWalletResponse wallet, String error) {}
+
+    /** Mirrors auth-service {@code ConsumeCreditsResult.Status}. */
+    public enum ConsumeStatus {
+        CONSUMED,
+        /** Balance too low; permanent. */
+        INSUFFICIENT_CREDITS,
+        /** Unexpected error; safe to redeliver. */
+        FAILED
+    }
+
+    private record BatchConsumeRequest(List<ConsumeRequest> items) {}
+
+    private record BatchConsumeResponse(List<ConsumeResult> results) {}
 }
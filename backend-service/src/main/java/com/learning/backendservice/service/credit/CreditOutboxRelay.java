@@ -0,0 +1,92 @@
+package com.learning.backendservice.service.credit;
+
+import com.learning.backendservice.entity.CreditConsumeOutbox;
+import com.learning.backendservice.service.CreditClient;
+import com.learning.backendservice.service.CreditClient.ConsumeRequest;
+import com.learning.backendservice.service.CreditClient.ConsumeResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Delivers {@code credit_consume_outbox} intents to auth-service in batches.
+ *
+ * <p>Each tick leases due intents in a short transaction, posts them to
+ * {@code /api/v1/credits/consume/batch} with no transaction open, then records the
+ * per-item outcome: CONSUMED intents are DELIVERED, INSUFFICIENT_CREDITS intents are
+ * REJECTED and their run compensated, anything else is retried with backoff. A relay
+ * that dies mid-batch leaves its lease to expire; redelivery is safe because auth-service
+ * deduplicates on the idempotency key.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.credits.outbox", name = "relay-enabled", havingValue = "true", matchIfMissing = true)
+public class CreditOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(CreditOutboxRelay.class);
+
+    private final CreditOutboxService outboxService;
+    private final CreditClient creditClient;
+    private final int batchSize;
+
+    public CreditOutboxRelay(CreditOutboxService outboxService,
+                             CreditClient creditClient,
+                             @Value("${app.credits.outbox.batch-size:100}") int batchSize) {
+        this.outboxService = outboxService;
+        this.creditClient = creditClient;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /** One relay tick: drain due intents batch by batch until a short batch. */
+    @Scheduled(fixedDelayString = "${app.credits.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            List<CreditConsumeOutbox> batch;
+            do {
+                batch = outboxService.claim(batchSize);
+                if (!batch.isEmpty()) {
+                    deliver(batch);
+                }
+            } while (batch.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.error("Credit outbox poll failed: {}", e.getMessage(), e);
+        }
+    }
+
+    void deliver(List<CreditConsumeOutbox> batch) {
+        List<ConsumeRequest> items = batch.stream()
+                .map(o -> new ConsumeRequest(o.getUserId(), o.getCredits(), o.getReferenceId(), o.getIdempotencyKey()))
+                .toList();
+        List<ConsumeResult> results;
+        try {
+            results = creditClient.consumeBatch(items);
+        } catch (RuntimeException e) {
+            log.warn("Credit outbox batch of {} failed, will retry: {}", batch.size(), e.getMessage());
+            batch.forEach(o -> outboxService.retryLater(o, e.getMessage()));
+            return;
+        }
+
+        List<UUID> delivered = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            CreditConsumeOutbox intent = batch.get(i);
+            ConsumeResult result = results.get(i);
+            switch (result.status()) {
+                case CONSUMED -> delivered.add(intent.getId());
+                case INSUFFICIENT_CREDITS -> {
+                    log.warn("Credit intent rejected, compensating run: runId={}, userId={}, credits={}",
+                            intent.getRunId(), intent.getUserId(), intent.getCredits());
+                    outboxService.reject(intent, result.error());
+                }
+                default -> outboxService.retryLater(intent, result.error());
+            }
+        }
+        outboxService.markDelivered(delivered);
+        log.debug("Credit outbox batch delivered: size={}, consumed={}", batch.size(), delivered.size());
+    }
+}
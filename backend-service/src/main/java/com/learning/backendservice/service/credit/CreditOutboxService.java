@@ -0,0 +1,122 @@
+package com.learning.backendservice.service.credit;
+
+import com.learning.backendservice.dto.CreditWalletResponse;
+import com.learning.backendservice.entity.CreditConsumeOutbox;
+import com.learning.backendservice.exception.InsufficientCreditsException;
+import com.learning.backendservice.repository.CreditConsumeOutboxRepository;
+import com.learning.backendservice.service.AuditRunPersistenceService;
+import com.learning.backendservice.service.CreditClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Credit side of audit runs: the balance pre-check and the lifecycle of
+ * {@code credit_consume_outbox} rows.
+ *
+ * <p>Intents are written by {@link AuditRunPersistenceService#saveCompletedRun} and
+ * delivered by {@link CreditOutboxRelay}. Until delivery, auth-service still reports the
+ * credits as remaining, so {@link #checkBalance} subtracts the user's PENDING intents.
+ */
+@Service
+public class CreditOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(CreditOutboxService.class);
+    private static final int MAX_ERROR_LENGTH = 2000;
+    private static final int ALERT_AFTER_ATTEMPTS = 10;
+
+    private final CreditConsumeOutboxRepository outboxRepository;
+    private final CreditClient creditClient;
+    private final AuditRunPersistenceService persistenceService;
+    private final Duration lease;
+    private final Duration maxBackoff;
+
+    public CreditOutboxService(CreditConsumeOutboxRepository outboxRepository,
+                               CreditClient creditClient,
+                               AuditRunPersistenceService persistenceService,
+                               @Value("${app.credits.outbox.lease:60s}") Duration lease,
+                               @Value("${app.credits.outbox.max-backoff:5m}") Duration maxBackoff) {
+        this.outboxRepository = outboxRepository;
+        this.creditClient = creditClient;
+        this.persistenceService = persistenceService;
+        this.lease = lease;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Fail fast when the user cannot afford {@code required} credits: wallet balance minus
+     * credits of completed runs not yet debited.
+     *
+     * @return credits available before this run
+     * @throws InsufficientCreditsException if fewer than {@code required} are available
+     */
+    public int checkBalance(String userId, int required) {
+        CreditWalletResponse wallet = creditClient.getWallet(userId);
+        long pending = outboxRepository.sumPendingCredits(userId);
+        int available = (int) Math.max(0, wallet.getRemaining() - pending);
+        if (available < required) {
+            throw new InsufficientCreditsException("Insufficient credits: need " + required
+                    + " but only " + available + " available");
+        }
+        return available;
+    }
+
+    // ─── Relay side (cross-tenant) ───────────────────────────────────────────
+
+    /** Claim up to {@code limit} due intents and lease them to the caller. */
+    @Transactional
+    public List<CreditConsumeOutbox> claim(int limit) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<UUID> ids = outboxRepository.lockDueIds(now, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        outboxRepository.lease(ids, now.plus(lease));
+        return outboxRepository.findAllById(ids);
+    }
+
+    @Transactional
+    public void markDelivered(List<UUID> ids) {
+        if (!ids.isEmpty()) {
+            outboxRepository.markDelivered(ids, OffsetDateTime.now());
+        }
+    }
+
+    /** Auth-service refused the debit: close the intent and fail its run in one transaction. */
+    @Transactional
+    public void reject(CreditConsumeOutbox intent, String error) {
+        String reason = "Credit consumption failed: " + truncate(error);
+        if (outboxRepository.markRejected(intent.getId(), reason, OffsetDateTime.now()) > 0) {
+            persistenceService.compensate(intent.getRunId(), reason);
+        }
+    }
+
+    /** Redeliver later, backing off exponentially up to {@code app.credits.outbox.max-backoff}. */
+    @Transactional
+    public void retryLater(CreditConsumeOutbox intent, String error) {
+        Duration backoff = backoff(intent.getAttempts());
+        outboxRepository.scheduleRetry(intent.getId(), truncate(error), OffsetDateTime.now().plus(backoff));
+        if (intent.getAttempts() + 1 >= ALERT_AFTER_ATTEMPTS) {
+            log.error("Credit intent still undelivered: idempotencyKey={}, attempts={}, error={}",
+                    intent.getIdempotencyKey(), intent.getAttempts() + 1, error);
+        }
+    }
+
+    /** 5s, 10s, 20s, ... capped at {@code maxBackoff}. */
+    Duration backoff(int attempts) {
+        long seconds = 5L << Math.min(attempts, 16);
+        return seconds > maxBackoff.toSeconds() ? maxBackoff : Duration.ofSeconds(seconds);
+    }
+
+    private static String truncate(String error) {
+        String message = error == null ? "Unknown error" : error;
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+}
@@ -0,0 +1,280 @@
+package com.learning.backendservice.service.ingestion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.learning.backendservice.entity.ParsedDocument;
+import com.learning.backendservice.infra.parser.ParserClient;
+import com.learning.backendservice.repository.ParsedDocumentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Content-addressed cache of successful sidecar parses, keyed by
+ * {@code tenant + SHA-256(content) + doc_type_hint + parser_version}. The hint is part
+ * of the key because the sidecar parses, and picks the doc type, with it.
+ *
+ * <p>Lookup order:
+ * <ol>
+ *   <li><b>local</b> — per-pod Caffeine, bounded by total {@code parsed_json} size</li>
+ *   <li><b>shared</b> — Redis via Redisson, when a client is available and
+ *       {@code app.parser.cache.shared} is on; lets all pods share hits</li>
+ *   <li><b>db</b> — newest SUCCESS row in {@code parsed_documents} with the same hash</li>
+ * </ol>
+ * A hit in a lower tier is copied into the tiers above it. Cache failures are
+ * logged and treated as misses — the sidecar remains the source of truth.
+ *
+ * <p>The parser version is read from the sidecar's {@code /health} once the application
+ * is ready, so every pod keys on the version actually deployed, also after a restart;
+ * {@code app.parser.version} only applies until then, or if the sidecar does not answer.
+ * It then follows the version reported with each fresh parse, so a sidecar upgrade
+ * stops old parses from matching after its first fresh parse.
+ *
+ * <p>Metrics: {@code parser.cache.lookups{result,tier}} and
+ * {@code parser.cache.saved.duration} (sidecar milliseconds avoided).
+ */
+@Component
+public class ParseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ParseCache.class);
+    private static final String SHARED_KEY_PREFIX = "parseCache:";
+    static final String SUCCESS = "SUCCESS";
+    static final String NO_HINT = "NONE";
+
+    /** Cached projection of a successful parse. */
+    record Entry(UUID documentId, String docType, String parserVersion, String parsedJson, Integer parseDurationMs) {
+    }
+
+    private final ParsedDocumentRepository documentRepository;
+    private final ParserClient parserClient;
+    private final RedissonClient redissonClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, Entry> local;
+    private final boolean enabled;
+    private final Duration sharedTtl;
+    private final AtomicReference<String> parserVersion;
+    private final Counter savedDuration;
+
+    public ParseCache(ParsedDocumentRepository documentRepository,
+                      ParserClient parserClient,
+                      ObjectProvider<RedissonClient> redissonProvider,
+                      ObjectMapper objectMapper,
+                      MeterRegistry meterRegistry,
+                      @Value("${app.parser.cache.enabled:true}") boolean enabled,
+                      @Value("${app.parser.cache.shared:true}") boolean shared,
+                      @Value("${app.parser.cache.ttl:PT24H}") Duration ttl,
+                      @Value("${app.parser.cache.local-max-mb:64}") long localMaxMb,
+                      @Value("${app.parser.version:1.0}") String parserVersion) {
+        this.documentRepository = documentRepository;
+        this.parserClient = parserClient;
+        this.redissonClient = shared ? redissonProvider.getIfAvailable() : null;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.sharedTtl = ttl;
+        this.parserVersion = new AtomicReference<>(parserVersion);
+        this.local = Caffeine.newBuilder()
+                .maximumWeight(localMaxMb * 1024 * 1024)
+                .weigher((String key, Entry e) -> e.parsedJson() == null ? 1 : e.parsedJson().length())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.savedDuration = Counter.builder("parser.cache.saved.duration")
+                .description("Sidecar parse time avoided by cache hits")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, local, "parserCache");
+
+        log.info("ParseCache initialized: enabled={}, sharedTier={}, ttl={}, localMaxMb={}, parserVersion={}",
+                enabled, redissonClient != null, ttl, localMaxMb, parserVersion);
+    }
+
+    /** Key on the version of the deployed sidecar rather than the configured default. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resolveParserVersion() {
+        String reported = parserClient.parserVersion();
+        if (reported != null) {
+            adoptVersion(reported);
+        } else {
+            log.warn("Parser sidecar version unknown; parse cache keys on {} until the first fresh parse",
+                    parserVersion.get());
+        }
+    }
+
+    /** Parser version currently used in cache keys. */
+    public String currentParserVersion() {
+        return parserVersion.get();
+    }
+
+    /** Value recorded in {@code doc_type_hint} and used in cache keys for a sidecar hint. */
+    public static String hintKey(@Nullable String docTypeHint) {
+        return docTypeHint != null ? docTypeHint : NO_HINT;
+    }
+
+    /**
+     * Find a previous successful parse of identical content under the same doc-type hint.
+     *
+     * @return the cached parse as a transient {@link ParsedDocument} (not to be saved),
+     *         or empty on a miss
+     */
+    public Optional<ParsedDocument> lookup(String tenantId, String contentSha256, @Nullable String docTypeHint,
+                                           String originalFilename) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String version = parserVersion.get();
+        String hint = hintKey(docTypeHint);
+        String key = key(tenantId, contentSha256, hint, version);
+
+        Entry entry = local.getIfPresent(key);
+        String tier = "local";
+        if (entry == null) {
+            entry = getShared(key);
+            tier = "shared";
+            if (entry != null) {
+                local.put(key, entry);
+            }
+        }
+        if (entry == null) {
+            entry = documentRepository
+                    .findFirstByTenantIdAndContentSha256AndDocTypeHintAndParserVersionAndParseStatusOrderByCreatedAtDesc(
+                            tenantId, contentSha256, hint, version, SUCCESS)
+                    .map(ParseCache::toEntry)
+                    .orElse(null);
+            tier = "db";
+            if (entry != null) {
+                local.put(key, entry);
+                putShared(key, entry);
+            }
+        }
+
+        if (entry == null) {
+            count("miss", "none");
+            return Optional.empty();
+        }
+        count("hit", tier);
+        if (entry.parseDurationMs() != null) {
+            savedDuration.increment(entry.parseDurationMs());
+        }
+        log.debug("Parse cache hit: tier={}, sha256={}, sourceDocument={}", tier, contentSha256, entry.documentId());
+        return Optional.of(ParsedDocument.builder()
+                .id(entry.documentId())
+                .tenantId(tenantId)
+                .originalFilename(originalFilename)
+                .contentSha256(contentSha256)
+                .docTypeHint(hint)
+                .docType(entry.docType())
+                .parserVersion(entry.parserVersion())
+                .parseStatus(SUCCESS)
+                .parsedJson(entry.parsedJson())
+                .parseDurationMs(entry.parseDurationMs())
+                .build());
+    }
+
+    /**
+     * Record a fresh successful parse in the local and shared tiers and adopt the
+     * sidecar's reported parser version. Non-successful or unhashed documents are ignored.
+     */
+    public void store(ParsedDocument document) {
+        if (!enabled || !SUCCESS.equals(document.getParseStatus()) || document.getContentSha256() == null) {
+            return;
+        }
+        String version = document.getParserVersion();
+        if (version == null) {
+            return;
+        }
+        adoptVersion(version);
+        Entry entry = toEntry(document);
+        String key = key(document.getTenantId(), document.getContentSha256(), hintKey(document.getDocTypeHint()),
+                version);
+        local.put(key, entry);
+        putShared(key, entry);
+    }
+
+    /** Stream the upload through SHA-256 without buffering it in memory. */
+    public static String sha256(MultipartFile file) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to hash " + file.getOriginalFilename(), e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // ─── Private Helpers ────────────────────────────────────────────────────
+
+    private void adoptVersion(String version) {
+        String previous = parserVersion.getAndSet(version);
+        if (!version.equals(previous)) {
+            log.info("Parser sidecar version changed {} -> {}; older parses no longer match", previous, version);
+        }
+    }
+
+    private static String key(String tenantId, String contentSha256, String hint, String version) {
+        return tenantId + ":" + version + ":" + hint + ":" + contentSha256;
+    }
+
+    private static Entry toEntry(ParsedDocument d) {
+        return new Entry(d.getId(), d.getDocType(), d.getParserVersion(), d.getParsedJson(), d.getParseDurationMs());
+    }
+
+    private Entry getShared(String key) {
+        if (redissonClient == null) {
+            return null;
+        }
+        try {
+            String json = redissonClient.<String>getBucket(SHARED_KEY_PREFIX + key, StringCodec.INSTANCE).get();
+            return json == null ? null : objectMapper.readValue(json, Entry.class);
+        } catch (Exception e) {
+            log.warn("Shared parse cache get failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void putShared(String key, Entry entry) {
+        if (redissonClient == null) {
+            return;
+        }
+        try {
+            redissonClient.<String>getBucket(SHARED_KEY_PREFIX + key, StringCodec.INSTANCE)
+                    .set(objectMapper.writeValueAsString(entry), sharedTtl);
+        } catch (Exception e) {
+            log.warn("Shared parse cache put failed: {}", e.getMessage());
+        }
+    }
+
+    private void count(String result, String tier) {
+        meterRegistry.counter("parser.cache.lookups", "result", result, "tier", tier).increment();
+    }
+}
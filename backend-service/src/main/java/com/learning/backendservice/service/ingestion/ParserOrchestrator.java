@@ -10,10 +10,10 @@ import com.learning.common.tenant.TenantContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.OffsetDateTime;
+import java.util.Optional;
 
 @Service
 public class ParserOrchestrator {
@@ -23,27 +23,44 @@ public class ParserOrchestrator {
     private final ParserClient parserClient;
     private final ParsedDocumentRepository documentRepository;
     private final ObjectMapper objectMapper;
+    private final ParseCache parseCache;
 
     // TODO: inject S3 StorageClient when available for WORM workflow
     // private final StorageClient storageClient;
 
     public ParserOrchestrator(ParserClient parserClient, 
                               ParsedDocumentRepository documentRepository,
-                              ObjectMapper objectMapper) {
+                              ObjectMapper objectMapper,
+                              ParseCache parseCache) {
         this.parserClient = parserClient;
         this.documentRepository = documentRepository;
         this.objectMapper = objectMapper;
+        this.parseCache = parseCache;
     }
 
     /**
      * Complete ingestion flow: 
+     * 0. Hash the content; reuse an earlier successful parse of identical bytes
+     *    (same tenant, same doc-type hint, same parser version) from {@link ParseCache}
+     *    — no sidecar call and no new row on a hit.
      * 1. Save RAW file to WORM storage (S3).
      * 2. Call python parser sidecar.
      * 3. Sync result to PostgreSQL (ParsedDocument).
+     *
+     * <p>Not transactional: the PENDING row and the final status are saved in two short
+     * transactions so no pooled connection is held during the sidecar call.
      */
-    @Transactional
     public ParsedDocument ingestDocument(MultipartFile file, String docTypeHint) {
         String tenantId = TenantContext.getCurrentTenant();
+
+        // 0. Content-addressed cache
+        String contentSha256 = ParseCache.sha256(file);
+        Optional<ParsedDocument> cached =
+                parseCache.lookup(tenantId, contentSha256, docTypeHint, file.getOriginalFilename());
+        if (cached.isPresent()) {
+            log.info("Parse cache hit for {} (sha256={}), sidecar skipped", file.getOriginalFilename(), contentSha256);
+            return cached.get();
+        }
         
         // 1. Upload to S3
         String s3Key = "tenant-" + tenantId + "/raw/" + file.getOriginalFilename();
@@ -57,6 +74,9 @@ public class ParserOrchestrator {
                 .tenantId(tenantId)
                 .s3RawKey(s3Key)
                 .originalFilename(file.getOriginalFilename())
+                .contentSha256(contentSha256)
+                .docTypeHint(ParseCache.hintKey(docTypeHint))
+                .parserVersion(parseCache.currentParserVersion())
                 .parseStatus("PENDING")
                 .docType(docTypeHint != null ? docTypeHint : "UNKNOWN")
                 .createdAt(OffsetDateTime.now())
@@ -84,6 +104,8 @@ public class ParserOrchestrator {
             parsedDocEntity.setErrorMessage("Exception: " + e.getMessage());
         }
 
-        return documentRepository.save(parsedDocEntity);
+        parsedDocEntity = documentRepository.save(parsedDocEntity);
+        parseCache.store(parsedDocEntity);
+        return parsedDocEntity;
     }
 }
@@ -0,0 +1,53 @@
+package com.learning.backendservice.service.job;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.learning.backendservice.engine.AnalysisMode;
+import com.learning.backendservice.engine.AuditUserParams;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Submission parameters of an async audit job, stored as the run's
+ * {@code input_metadata} JSONB so a worker on any replica can rebuild the call.
+ *
+ * <p>{@code asOnDate}, {@code mode} and {@code fileCount} keep the same keys as
+ * synchronous runs, so run listings render both kinds identically.
+ *
+ * @param files spooled files in upload order
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record AuditJobRequest(
+        LocalDate asOnDate,
+        AnalysisMode mode,
+        int fileCount,
+        boolean async,
+        boolean isQrmp,
+        boolean isNilReturn,
+        BigDecimal aggregateTurnover,
+        String stateCode,
+        List<SpooledFile> files
+) {
+
+    static AuditJobRequest of(AnalysisMode mode, LocalDate asOnDate,
+                              AuditUserParams userParams, List<SpooledFile> files) {
+        return new AuditJobRequest(asOnDate, mode, files.size(), true,
+                userParams.isQrmp(), userParams.isNilReturn(),
+                userParams.aggregateTurnover(), userParams.stateCode(), files);
+    }
+
+    AuditUserParams userParams() {
+        return new AuditUserParams(isQrmp, isNilReturn, aggregateTurnover, stateCode);
+    }
+
+    /**
+     * One spooled upload.
+     *
+     * @param filename    original client filename (drives format detection downstream)
+     * @param contentType client-supplied content type
+     * @param storedAs    file name inside the job's spool directory
+     */
+    public record SpooledFile(String filename, String contentType, String storedAs) {
+    }
+}
@@ -0,0 +1,347 @@
+package com.learning.backendservice.service.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learning.backendservice.config.AuditJobProperties;
+import com.learning.backendservice.config.UploadProperties;
+import com.learning.backendservice.dto.AuditJobResponse;
+import com.learning.backendservice.engine.AnalysisMode;
+import com.learning.backendservice.engine.AuditUserParams;
+import com.learning.backendservice.entity.AuditRun;
+import com.learning.backendservice.repository.AuditRunRepository;
+import com.learning.backendservice.service.AuditRunOrchestrator;
+import com.learning.backendservice.service.CreditClient;
+import com.learning.backendservice.util.UuidV7;
+import com.learning.common.infra.exception.NotFoundException;
+import com.learning.common.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Durable async audit jobs backed by {@code audit_runs}.
+ *
+ * <p>A job is an {@link AuditRun} row: submission inserts it as PENDING with the
+ * upload spooled to disk, {@link AuditJobWorker} claims it (RUNNING) and the
+ * pipeline completes it (SUCCESS) or the worker fails it (FAILED). Because the
+ * queue is the table, jobs survive restarts and any replica can pick them up.
+ *
+ * <p>Long-poll waiters are held in memory per replica. A waiter is released by
+ * the local worker when the job finishes, by the worker's poll tick when another
+ * replica finished it, or by its timeout — whichever comes first.
+ */
+@Service
+public class AuditJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditJobService.class);
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final AuditRunRepository runRepository;
+    private final AuditJobSpool spool;
+    private final CreditClient creditClient;
+    private final UploadProperties uploadProperties;
+    private final AuditJobProperties jobProperties;
+    private final ObjectMapper objectMapper;
+    private final int retentionDays;
+
+    private final Map<UUID, List<Waiter>> waiters = new ConcurrentHashMap<>();
+
+    public AuditJobService(AuditRunRepository runRepository,
+                           AuditJobSpool spool,
+                           CreditClient creditClient,
+                           UploadProperties uploadProperties,
+                           AuditJobProperties jobProperties,
+                           ObjectMapper objectMapper,
+                           @Value("${app.retention.days:7}") int retentionDays) {
+        this.runRepository = runRepository;
+        this.spool = spool;
+        this.creditClient = creditClient;
+        this.uploadProperties = uploadProperties;
+        this.jobProperties = jobProperties;
+        this.objectMapper = objectMapper;
+        this.retentionDays = retentionDays;
+    }
+
+    // ─── Submission ──────────────────────────────────────────────────────────
+
+    /**
+     * Validate, spool and enqueue an analysis. Returns immediately with the PENDING job.
+     *
+     * <p>The credit balance is checked up front so an obviously unaffordable job is
+     * rejected with 402 instead of failing later; credits are only consumed when the
+     * worker completes the run.
+     */
+    @Transactional
+    public AuditJobResponse submit(List<MultipartFile> files, AnalysisMode mode, LocalDate asOnDate,
+                                   String userId, AuditUserParams userParams) {
+        validateFiles(files);
+        creditClient.checkBalance(userId, AuditRunOrchestrator.creditsRequired(mode));
+
+        UUID jobId = UuidV7.generate();
+        List<AuditJobRequest.SpooledFile> spooled = spool.spool(jobId, files);
+        String spoolPath = spool.jobDirectory(jobId).toString();
+        deleteSpoolOnRollback(spoolPath);
+
+        OffsetDateTime now = OffsetDateTime.now();
+        AuditRun run = AuditRun.builder()
+                .id(jobId)
+                .tenantId(TenantContext.getCurrentTenant())
+                .userId(userId)
+                .analysisMode(mode.name())
+                .status("PENDING")
+                .inputMetadata(toJson(AuditJobRequest.of(mode, asOnDate, userParams, spooled)))
+                .spoolPath(spoolPath)
+                .createdAt(now)
+                .expiresAt(now.plus(retentionDays, ChronoUnit.DAYS))
+                .build();
+        run = runRepository.save(run);
+
+        log.info("Audit job queued: jobId={}, mode={}, files={}, userId={}", jobId, mode, files.size(), userId);
+        return toResponse(run);
+    }
+
+    // ─── Status ──────────────────────────────────────────────────────────────
+
+    /**
+     * Current status of a job owned by {@code userId}.
+     *
+     * @throws NotFoundException if the job doesn't exist or belongs to another user/tenant
+     */
+    public AuditJobResponse getJob(UUID jobId, String userId) {
+        return findJob(jobId, TenantContext.getCurrentTenant(), userId);
+    }
+
+    /**
+     * Long-poll: completes as soon as the job is SUCCESS/FAILED, or with the
+     * then-current status after {@code waitSeconds} (capped by
+     * {@code app.audit.jobs.max-long-poll}). {@code waitSeconds <= 0} answers immediately.
+     *
+     * @throws NotFoundException if the job doesn't exist or belongs to another user/tenant
+     */
+    public DeferredResult<AuditJobResponse> awaitJob(UUID jobId, String userId, long waitSeconds) {
+        String tenantId = TenantContext.getCurrentTenant();
+        AuditJobResponse current = findJob(jobId, tenantId, userId);
+        long timeoutMs = Math.min(waitSeconds * 1000, jobProperties.getMaxLongPoll().toMillis());
+        if (current.isTerminal() || timeoutMs <= 0) {
+            DeferredResult<AuditJobResponse> done = new DeferredResult<>();
+            done.setResult(current);
+            return done;
+        }
+
+        DeferredResult<AuditJobResponse> result = new DeferredResult<>(timeoutMs);
+        Waiter waiter = new Waiter(tenantId, userId, result);
+        waiters.computeIfAbsent(jobId, id -> new CopyOnWriteArrayList<>()).add(waiter);
+        result.onTimeout(() -> release(jobId, waiter));
+        result.onCompletion(() -> removeWaiter(jobId, waiter));
+
+        // The job may have finished between the first read and registration
+        AuditJobResponse recheck = findJob(jobId, tenantId, userId);
+        if (recheck.isTerminal()) {
+            result.setResult(recheck);
+        }
+        return result;
+    }
+
+    /** Release local long-poll waiters of a job that just finished on this replica. */
+    void jobFinished(UUID jobId) {
+        List<Waiter> pending = waiters.remove(jobId);
+        if (pending != null) {
+            pending.forEach(w -> release(jobId, w));
+        }
+    }
+
+    /** Release waiters whose job was finished by another replica. Called on every worker tick. */
+    void releaseFinishedWaiters() {
+        Set<UUID> ids = waiters.keySet();
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (AuditRun run : runRepository.findAllById(List.copyOf(ids))) {
+            if ("SUCCESS".equals(run.getStatus()) || "FAILED".equals(run.getStatus())) {
+                jobFinished(run.getId());
+            }
+        }
+    }
+
+    // ─── Worker side (cross-tenant) ──────────────────────────────────────────
+
+    /** Claim up to {@code limit} PENDING jobs, oldest first, and mark them RUNNING. */
+    @Transactional
+    public List<AuditRun> claim(int limit) {
+        List<UUID> ids = runRepository.lockPendingJobIds(limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        runRepository.markRunning(ids, OffsetDateTime.now());
+        return runRepository.findAllById(ids);
+    }
+
+    /**
+     * Refresh the heartbeat of jobs still executing on this replica.
+     *
+     * @param attempts claim attempt of each executing job, by job id
+     * @return ids of jobs that were requeued and claimed again since this replica claimed them
+     */
+    @Transactional
+    public Set<UUID> heartbeat(Map<UUID, Integer> attempts) {
+        OffsetDateTime now = OffsetDateTime.now();
+        Set<UUID> lost = new HashSet<>();
+        attempts.forEach((jobId, attempt) -> {
+            if (runRepository.heartbeat(jobId, attempt, now) == 0) {
+                lost.add(jobId);
+            }
+        });
+        return lost;
+    }
+
+    /**
+     * Mark a claimed job FAILED with a (truncated) reason.
+     *
+     * @return {@code false} if claim {@code attempt} no longer owns the job (it finished,
+     *         or was requeued and claimed again), in which case nothing changed
+     */
+    @Transactional
+    public boolean fail(UUID jobId, int attempt, String error) {
+        String message = error == null ? "Unknown error" : error;
+        if (message.length() > MAX_ERROR_LENGTH) {
+            message = message.substring(0, MAX_ERROR_LENGTH);
+        }
+        return runRepository.markFailed(jobId, attempt, message, OffsetDateTime.now()) == 1;
+    }
+
+    /**
+     * Requeue RUNNING jobs whose worker died (no heartbeat for
+     * {@code app.audit.jobs.stale-after}), or fail them once they have used up
+     * {@code app.audit.jobs.max-attempts}. Each flip is re-checked in its UPDATE, so a
+     * job another replica recovered, or whose worker heartbeated meanwhile, is skipped.
+     *
+     * @return number of jobs recovered or failed
+     */
+    @Transactional
+    public int recoverStaleJobs() {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime cutoff = now.minus(jobProperties.getStaleAfter());
+        int recovered = 0;
+        for (AuditRun run : runRepository.findStaleRunning(cutoff)) {
+            if (run.getAttempts() >= jobProperties.getMaxAttempts()) {
+                String error = "Job abandoned after " + run.getAttempts() + " attempts";
+                if (runRepository.abandonStale(run.getId(), error, cutoff, now) == 1) {
+                    log.warn("Audit job abandoned after {} attempts: jobId={}", run.getAttempts(), run.getId());
+                    spool.delete(run.getSpoolPath());
+                    recovered++;
+                }
+            } else if (runRepository.requeueStale(run.getId(), cutoff) == 1) {
+                log.warn("Requeueing stale audit job: jobId={}, startedAt={}, heartbeatAt={}",
+                        run.getId(), run.getStartedAt(), run.getHeartbeatAt());
+                recovered++;
+            }
+        }
+        return recovered;
+    }
+
+    /** Deserialize the submission parameters stored on a queued run. */
+    AuditJobRequest readRequest(AuditRun run) {
+        try {
+            return objectMapper.readValue(run.getInputMetadata(), AuditJobRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt job metadata for " + run.getId(), e);
+        }
+    }
+
+    // ─── Private Helpers ────────────────────────────────────────────────────
+
+    private AuditJobResponse findJob(UUID jobId, String tenantId, String userId) {
+        return runRepository.findByIdAndTenantIdAndUserId(jobId, tenantId, userId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new NotFoundException("Audit job not found: " + jobId));
+    }
+
+    private void release(UUID jobId, Waiter waiter) {
+        try {
+            waiter.result().setResult(findJob(jobId, waiter.tenantId(), waiter.userId()));
+        } catch (RuntimeException e) {
+            waiter.result().setErrorResult(e);
+        }
+    }
+
+    private void removeWaiter(UUID jobId, Waiter waiter) {
+        waiters.computeIfPresent(jobId, (id, list) -> {
+            list.remove(waiter);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    private void validateFiles(List<MultipartFile> files) {
+        if (files == null || files.isEmpty()) {
+            throw new IllegalArgumentException("No files provided");
+        }
+        if (files.size() > uploadProperties.getMaxFiles()) {
+            throw new IllegalArgumentException("Too many files. Max: " + uploadProperties.getMaxFiles());
+        }
+        long maxBytes = uploadProperties.getMaxFileSize().toBytes();
+        for (MultipartFile file : files) {
+            if (file.isEmpty()) {
+                throw new IllegalArgumentException("File is empty: " + file.getOriginalFilename());
+            }
+            if (file.getSize() > maxBytes) {
+                throw new IllegalArgumentException("File " + file.getOriginalFilename()
+                        + " exceeds max size " + uploadProperties.getMaxFileSize());
+            }
+        }
+    }
+
+    private void deleteSpoolOnRollback(String spoolPath) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    spool.delete(spoolPath);
+                }
+            }
+        });
+    }
+
+    private AuditJobResponse toResponse(AuditRun run) {
+        return AuditJobResponse.builder()
+                .jobId(run.getId().toString())
+                .status(run.getStatus())
+                .runId("SUCCESS".equals(run.getStatus()) ? run.getId().toString() : null)
+                .errorMessage(run.getErrorMessage())
+                .attempts(run.getAttempts())
+                .createdAt(run.getCreatedAt())
+                .startedAt(run.getStartedAt())
+                .completedAt(run.getCompletedAt())
+                .build();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize audit job metadata to JSON", e);
+        }
+    }
+
+    private record Waiter(String tenantId, String userId, DeferredResult<AuditJobResponse> result) {
+    }
+}
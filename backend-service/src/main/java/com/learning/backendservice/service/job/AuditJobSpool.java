@@ -0,0 +1,105 @@
+package com.learning.backendservice.service.job;
+
+import com.learning.backendservice.config.AuditJobProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Disk spool for async job uploads: {@code <spool-dir>/<jobId>/NN.upload}.
+ *
+ * <p>Files are streamed to disk (never buffered in heap) and stored under
+ * generated names, so client filenames cannot escape the job directory.
+ *
+ * <p>Without {@code app.audit.jobs.spool-dir} the spool is unconfigured and every
+ * submission is refused; {@link AuditJobWorker} does not start in that state.
+ */
+@Component
+@Slf4j
+public class AuditJobSpool {
+
+    private final Path root;
+
+    public AuditJobSpool(AuditJobProperties properties) {
+        String dir = properties.getSpoolDir();
+        this.root = dir == null || dir.isBlank() ? null : Paths.get(dir).toAbsolutePath().normalize();
+    }
+
+    /** Whether {@code app.audit.jobs.spool-dir} is set. */
+    public boolean isConfigured() {
+        return root != null;
+    }
+
+    /**
+     * Copy every upload into a fresh directory for {@code jobId}.
+     * On failure the partially written directory is removed.
+     *
+     * @return the spooled file descriptors, in upload order
+     */
+    public List<AuditJobRequest.SpooledFile> spool(UUID jobId, List<MultipartFile> files) {
+        Path dir = jobDirectory(jobId);
+        try {
+            Files.createDirectories(dir);
+            List<AuditJobRequest.SpooledFile> spooled = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                MultipartFile file = files.get(i);
+                String storedAs = String.format("%02d.upload", i);
+                try (InputStream in = file.getInputStream()) {
+                    Files.copy(in, dir.resolve(storedAs));
+                }
+                spooled.add(new AuditJobRequest.SpooledFile(
+                        file.getOriginalFilename(), file.getContentType(), storedAs));
+            }
+            return spooled;
+        } catch (IOException e) {
+            delete(dir.toString());
+            throw new UncheckedIOException("Failed to spool upload for job " + jobId, e);
+        }
+    }
+
+    /** Directory a job's files are spooled to. */
+    public Path jobDirectory(UUID jobId) {
+        if (root == null) {
+            throw new IllegalStateException("Async audit jobs are disabled: app.audit.jobs.spool-dir is not set");
+        }
+        return root.resolve(jobId.toString());
+    }
+
+    /** Re-open spooled files as {@link MultipartFile}s for the pipeline. */
+    public List<MultipartFile> open(String spoolPath, List<AuditJobRequest.SpooledFile> files) {
+        Path dir = Paths.get(spoolPath);
+        List<MultipartFile> opened = new ArrayList<>(files.size());
+        for (AuditJobRequest.SpooledFile f : files) {
+            Path path = dir.resolve(f.storedAs());
+            if (!Files.isRegularFile(path)) {
+                throw new IllegalStateException("Spooled file missing: " + path
+                        + " (is app.audit.jobs.spool-dir shared between replicas?)");
+            }
+            opened.add(new SpooledMultipartFile(path, f.filename(), f.contentType()));
+        }
+        return opened;
+    }
+
+    /** Best-effort removal of a job's spool directory. */
+    public void delete(String spoolPath) {
+        if (spoolPath == null) {
+            return;
+        }
+        try {
+            FileSystemUtils.deleteRecursively(Paths.get(spoolPath));
+        } catch (IOException e) {
+            log.warn("Failed to delete spool directory {}: {}", spoolPath, e.getMessage());
+        }
+    }
+}
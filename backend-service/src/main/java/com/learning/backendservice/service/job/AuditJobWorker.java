@@ -0,0 +1,161 @@
+package com.learning.backendservice.service.job;
+
+import com.learning.backendservice.config.AuditJobProperties;
+import com.learning.backendservice.entity.AuditRun;
+import com.learning.backendservice.service.AuditRunOrchestrator;
+import com.learning.common.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Polls the {@code audit_runs} queue and executes claimed jobs on the
+ * {@code auditJobExecutor} pool.
+ *
+ * <p>Each tick claims at most as many jobs as there are idle workers, so a
+ * replica never holds RUNNING jobs it cannot start; everything else stays
+ * PENDING for whichever replica frees up first. Throughput is therefore bounded
+ * by worker capacity rather than by request-time rejections.
+ *
+ * <p>While jobs execute, the tick also refreshes their {@code heartbeat_at} every
+ * {@code app.audit.jobs.heartbeat-interval}; stale recovery only requeues jobs whose
+ * heartbeat stopped, so a long-running job is never claimed twice. A worker that
+ * stalls past {@code stale-after} anyway loses its job to a new claim: heartbeats and
+ * completion are fenced on the claim's attempt number, so the superseded execution can
+ * neither complete the job nor delete the spool the new claim reads.
+ *
+ * <p>Refuses to start without {@code app.audit.jobs.spool-dir}: the spool must be
+ * storage every replica sees, since any replica may claim any job.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.audit.jobs", name = "worker-enabled", havingValue = "true", matchIfMissing = true)
+public class AuditJobWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditJobWorker.class);
+
+    private final AuditJobService jobService;
+    private final AuditRunOrchestrator orchestrator;
+    private final AuditJobSpool spool;
+    private final Executor executor;
+    private final int workers;
+    private final long heartbeatIntervalNanos;
+    /** Claim attempt of each job executing on this replica. */
+    private final Map<UUID, Integer> running = new ConcurrentHashMap<>();
+    private long lastHeartbeatNanos = System.nanoTime();
+
+    public AuditJobWorker(AuditJobService jobService,
+                          AuditRunOrchestrator orchestrator,
+                          AuditJobSpool spool,
+                          @Qualifier("auditJobExecutor") Executor executor,
+                          AuditJobProperties properties) {
+        if (!spool.isConfigured()) {
+            throw new IllegalStateException("app.audit.jobs.spool-dir must be set to storage shared by every "
+                    + "replica when app.audit.jobs.worker-enabled is true");
+        }
+        this.jobService = jobService;
+        this.orchestrator = orchestrator;
+        this.spool = spool;
+        this.executor = executor;
+        this.workers = Math.max(1, properties.getWorkers());
+        this.heartbeatIntervalNanos = properties.getHeartbeatInterval().toNanos();
+    }
+
+    /**
+     * One queue tick: heartbeat running jobs, recover orphans, release finished long-polls,
+     * claim work for idle workers.
+     */
+    @Scheduled(fixedDelayString = "${app.audit.jobs.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            heartbeatIfDue();
+            jobService.recoverStaleJobs();
+            jobService.releaseFinishedWaiters();
+
+            int idle = workers - running.size();
+            if (idle <= 0) {
+                return;
+            }
+            for (AuditRun job : jobService.claim(idle)) {
+                dispatch(job);
+            }
+        } catch (RuntimeException e) {
+            log.error("Audit job poll failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /** Number of jobs currently executing on this replica. */
+    public int inFlight() {
+        return running.size();
+    }
+
+    private void heartbeatIfDue() {
+        long now = System.nanoTime();
+        if (running.isEmpty() || now - lastHeartbeatNanos < heartbeatIntervalNanos) {
+            return;
+        }
+        Set<UUID> lost = jobService.heartbeat(Map.copyOf(running));
+        lastHeartbeatNanos = now;
+        for (UUID jobId : lost) {
+            log.warn("Audit job {} was reclaimed after a missed heartbeat; this execution will be discarded", jobId);
+        }
+    }
+
+    private void dispatch(AuditRun job) {
+        running.put(job.getId(), job.getAttempts());
+        try {
+            executor.execute(() -> execute(job));
+        } catch (RejectedExecutionException e) {
+            // Only happens during shutdown; stale recovery requeues the RUNNING row later
+            running.remove(job.getId());
+            log.warn("Audit job {} rejected by executor, left for stale recovery", job.getId());
+        }
+    }
+
+    void execute(AuditRun job) {
+        TenantContext.setCurrentTenant(job.getTenantId());
+        MDC.put("jobId", job.getId().toString());
+        // Lets ReadReplicaRouter keep the user's next reads on the primary
+        MDC.put("userId", job.getUserId());
+        long start = System.currentTimeMillis();
+        // Whether this claim finished the job; otherwise a newer claim owns it and its spool
+        boolean owned = true;
+        try {
+            AuditJobRequest request = jobService.readRequest(job);
+            List<MultipartFile> files = spool.open(job.getSpoolPath(), request.files());
+            orchestrator.analyzeQueuedRun(job.getId(), job.getAttempts(), files, request.mode(),
+                    request.asOnDate(), request.userParams());
+            log.info("Audit job succeeded: jobId={}, attempt={}, durationMs={}",
+                    job.getId(), job.getAttempts(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            owned = jobService.fail(job.getId(), job.getAttempts(), e.getMessage());
+            if (owned) {
+                log.warn("Audit job failed: jobId={}, attempt={}: {}",
+                        job.getId(), job.getAttempts(), e.getMessage(), e);
+            } else {
+                log.warn("Audit job attempt superseded: jobId={}, attempt={}: {}",
+                        job.getId(), job.getAttempts(), e.getMessage());
+            }
+        } finally {
+            if (owned) {
+                spool.delete(job.getSpoolPath());
+            }
+            running.remove(job.getId());
+            jobService.jobFinished(job.getId());
+            MDC.remove("jobId");
+            MDC.remove("userId");
+        }
+    }
+}
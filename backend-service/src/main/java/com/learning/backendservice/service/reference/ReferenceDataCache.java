@@ -0,0 +1,207 @@
+package com.learning.backendservice.service.reference;
+
+import com.learning.backendservice.domain.gstr1.ReliefWindowSnapshot;
+import com.learning.backendservice.domain.rule86b.Rule86bConfigSnapshot;
+import com.learning.backendservice.entity.LateFeeReliefWindow;
+import com.learning.backendservice.entity.ReconToleranceConfig;
+import com.learning.backendservice.entity.Rule86bConfig;
+import com.learning.backendservice.repository.LateFeeReliefWindowRepository;
+import com.learning.backendservice.repository.ReconToleranceConfigRepository;
+import com.learning.backendservice.repository.Rule86bConfigRepository;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the current {@link ReferenceDataSnapshot} so {@code ContextEnricher} builds
+ * {@code SharedResources} without touching the database.
+ *
+ * <p>The snapshot is loaded when the application is ready (or by the first run, whichever
+ * comes first) and reloaded:
+ * <ul>
+ *   <li>every {@code app.reference-data.refresh-ms}, bounding staleness after a direct
+ *       table edit;</li>
+ *   <li>on {@link #invalidate()} (admin endpoint), which reloads this pod and publishes
+ *       on the Redis topic {@value #TOPIC} so every other pod reloads too.</li>
+ * </ul>
+ * A failed reload keeps serving the previous snapshot. Without a Redis client, pods only
+ * converge on the scheduled reload.
+ */
+@Component
+public class ReferenceDataCache implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataCache.class);
+    static final String TOPIC = "referenceData:invalidate";
+
+    private static final Map<String, String> RELIEF_RETURN_TYPES = Map.of(
+            "GSTR1", "GSTR_1",
+            "GSTR3B", "GSTR_3B",
+            "GSTR9", "GSTR_9");
+    private static final List<String> FILER_TYPES = List.of("NIL", "NON_NIL");
+
+    private final LateFeeReliefWindowRepository reliefWindowRepository;
+    private final ReconToleranceConfigRepository reconToleranceRepository;
+    private final Rule86bConfigRepository rule86bConfigRepository;
+    private final RedissonClient redissonClient;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong versions = new AtomicLong();
+    private volatile ReferenceDataSnapshot current;
+    private Integer listenerId;
+
+    public ReferenceDataCache(LateFeeReliefWindowRepository reliefWindowRepository,
+                              ReconToleranceConfigRepository reconToleranceRepository,
+                              Rule86bConfigRepository rule86bConfigRepository,
+                              ObjectProvider<RedissonClient> redissonProvider,
+                              @Value("${app.reference-data.pubsub:true}") boolean pubsub) {
+        this.reliefWindowRepository = reliefWindowRepository;
+        this.reconToleranceRepository = reconToleranceRepository;
+        this.rule86bConfigRepository = rule86bConfigRepository;
+        this.redissonClient = pubsub ? redissonProvider.getIfAvailable() : null;
+        subscribe();
+    }
+
+    /** The current snapshot; loads it on first use if the startup load has not happened yet. */
+    public ReferenceDataSnapshot current() {
+        ReferenceDataSnapshot snapshot = current;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (this) {
+            if (current == null) {
+                current = load();
+            }
+            return current;
+        }
+    }
+
+    /** Reload now; failures propagate and the previous snapshot stays in place. */
+    public synchronized ReferenceDataSnapshot reload() {
+        ReferenceDataSnapshot snapshot = load();
+        current = snapshot;
+        return snapshot;
+    }
+
+    /** Admin invalidation: reload this pod, then tell the others to reload. */
+    public ReferenceDataSnapshot invalidate() {
+        ReferenceDataSnapshot snapshot = reload();
+        if (redissonClient != null) {
+            try {
+                long receivers = topic().publish(instanceId);
+                log.info("Reference data invalidation published to {} subscribers", receivers);
+            } catch (Exception e) {
+                log.warn("Reference data invalidation not published, other pods reload on schedule: {}",
+                        e.getMessage());
+            }
+        }
+        return snapshot;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        reloadQuietly("startup");
+    }
+
+    @Scheduled(fixedDelayString = "${app.reference-data.refresh-ms:600000}",
+            initialDelayString = "${app.reference-data.refresh-ms:600000}")
+    public void scheduledReload() {
+        reloadQuietly("schedule");
+    }
+
+    @Override
+    public void destroy() {
+        if (redissonClient != null && listenerId != null) {
+            try {
+                topic().removeListener(listenerId);
+            } catch (Exception e) {
+                log.debug("Reference data listener not removed: {}", e.getMessage());
+            }
+        }
+    }
+
+    // ─── Private Helpers ────────────────────────────────────────────────────
+
+    private void subscribe() {
+        if (redissonClient == null) {
+            return;
+        }
+        try {
+            // Redisson delivers on its event loop; reload elsewhere so the DB reads do not block it
+            listenerId = topic().addListener(String.class, (channel, origin) -> {
+                if (!instanceId.equals(origin)) {
+                    CompletableFuture.runAsync(() -> reloadQuietly("invalidation"));
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Reference data invalidation topic unavailable, relying on scheduled reloads: {}",
+                    e.getMessage());
+        }
+    }
+
+    private RTopic topic() {
+        return redissonClient.getTopic(TOPIC, StringCodec.INSTANCE);
+    }
+
+    private void reloadQuietly(String trigger) {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("Reference data reload ({}) failed, keeping version {}: {}",
+                    trigger, current != null ? current.version() : 0, e.getMessage());
+        }
+    }
+
+    private ReferenceDataSnapshot load() {
+        List<LateFeeReliefWindow> windows = reliefWindowRepository.findAll(Sort.by(Sort.Direction.DESC, "id"));
+        Map<String, List<ReliefWindowSnapshot>> reliefWindows = new HashMap<>();
+        RELIEF_RETURN_TYPES.forEach((returnType, keyPrefix) -> {
+            for (String filerType : FILER_TYPES) {
+                reliefWindows.put(keyPrefix + "_" + filerType, windows.stream()
+                        .filter(w -> returnType.equals(w.getReturnType()))
+                        .filter(w -> filerType.equals(w.getAppliesTo()) || "ALL".equals(w.getAppliesTo()))
+                        .map(w -> new ReliefWindowSnapshot(
+                                w.getNotificationNo(),
+                                w.getFeeCgstPerDay(),
+                                w.getFeeSgstPerDay(),
+                                w.getMaxCapCgst(),
+                                w.getMaxCapSgst()))
+                        .toList());
+            }
+        });
+
+        Map<String, ReferenceDataSnapshot.Tolerance> tolerances = new HashMap<>();
+        for (ReconToleranceConfig cfg : reconToleranceRepository.findAll()) {
+            tolerances.put(cfg.getTenantId(),
+                    new ReferenceDataSnapshot.Tolerance(cfg.getToleranceAmount(), cfg.getTolerancePercent()));
+        }
+
+        Map<String, Rule86bConfigSnapshot> rule86bConfigs = new HashMap<>();
+        for (Rule86bConfig cfg : rule86bConfigRepository.findAll()) {
+            rule86bConfigs.put(cfg.getTenantId(), new Rule86bConfigSnapshot(
+                    cfg.getTurnoverThreshold(), cfg.getCashPercentFloor(), cfg.getEffectiveFrom()));
+        }
+
+        ReferenceDataSnapshot snapshot = new ReferenceDataSnapshot(versions.incrementAndGet(),
+                OffsetDateTime.now(), Map.copyOf(reliefWindows), Map.copyOf(tolerances), Map.copyOf(rule86bConfigs));
+        log.info("Reference data loaded: version={}, reliefWindows={}, tolerances={}, rule86bConfigs={}",
+                snapshot.version(), windows.size(), tolerances.size(), rule86bConfigs.size());
+        return snapshot;
+    }
+}
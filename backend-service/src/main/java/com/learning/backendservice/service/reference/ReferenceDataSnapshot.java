@@ -0,0 +1,55 @@
+package com.learning.backendservice.service.reference;
+
+import com.learning.backendservice.domain.gstr1.ReliefWindowSnapshot;
+import com.learning.backendservice.domain.rule86b.Rule86bConfigSnapshot;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable copy of the reference tables read by {@code ContextEnricher}:
+ * {@code late_fee_relief_windows}, {@code recon_tolerance_config} and {@code rule86b_config}.
+ *
+ * <p>Replaced as a whole by {@link ReferenceDataCache} on every reload, never mutated, so a
+ * run sees one consistent version even while a reload is in progress.
+ *
+ * @param version         load sequence number within this pod, starting at 1
+ * @param loadedAt        when the tables were read
+ * @param reliefWindows   windows by {@code <GSTR_1|GSTR_3B|GSTR_9>_<NIL|NON_NIL>}, including
+ *                        {@code ALL} rows, highest id first
+ * @param tolerances      recon tolerance by tenant id ({@code DEFAULT} = platform default)
+ * @param rule86bConfigs  Rule 86B config by tenant id ({@code DEFAULT} = platform default)
+ */
+public record ReferenceDataSnapshot(
+        long version,
+        OffsetDateTime loadedAt,
+        Map<String, List<ReliefWindowSnapshot>> reliefWindows,
+        Map<String, Tolerance> tolerances,
+        Map<String, Rule86bConfigSnapshot> rule86bConfigs
+) {
+    static final String DEFAULT_TENANT = "DEFAULT";
+
+    /** Reconciliation tolerance of one tenant. */
+    public record Tolerance(BigDecimal amount, BigDecimal percent) {
+    }
+
+    /** Relief windows of one {@code <return>_<filer type>} bucket; empty when none apply. */
+    public List<ReliefWindowSnapshot> reliefWindows(String key) {
+        return reliefWindows.getOrDefault(key, List.of());
+    }
+
+    /** The tenant's tolerance, else the {@code DEFAULT} row. */
+    public Optional<Tolerance> tolerance(String tenantId) {
+        return Optional.ofNullable(tolerances.get(tenantId))
+                .or(() -> Optional.ofNullable(tolerances.get(DEFAULT_TENANT)));
+    }
+
+    /** The tenant's Rule 86B config, else the {@code DEFAULT} row. */
+    public Optional<Rule86bConfigSnapshot> rule86bConfig(String tenantId) {
+        return Optional.ofNullable(rule86bConfigs.get(tenantId))
+                .or(() -> Optional.ofNullable(rule86bConfigs.get(DEFAULT_TENANT)));
+    }
+}
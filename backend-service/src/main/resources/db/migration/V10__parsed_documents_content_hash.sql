@@ -0,0 +1,20 @@
+-- V10: Content-addressed parse cache on parsed_documents
+--
+-- ParserOrchestrator hashes every upload (SHA-256) and reuses the parsed_json of
+-- an earlier successful parse of the same bytes by the same parser version for
+-- the same tenant, instead of calling the parser sidecar again.
+--
+-- Rollback:
+--   DROP INDEX IF EXISTS idx_parsed_docs_content_hash;
+--   ALTER TABLE parsed_documents DROP COLUMN IF EXISTS content_sha256;
+
+ALTER TABLE parsed_documents
+    ADD COLUMN IF NOT EXISTS content_sha256 VARCHAR(64);
+
+COMMENT ON COLUMN parsed_documents.content_sha256 IS 'Hex SHA-256 of the raw upload; parse-cache key together with tenant_id and parser_version';
+
+-- Cache lookup: newest successful parse per (tenant, hash, version).
+-- Rows parsed before V10 have no hash and never match.
+CREATE INDEX IF NOT EXISTS idx_parsed_docs_content_hash
+    ON parsed_documents (tenant_id, content_sha256, parser_version, created_at DESC)
+    WHERE parse_status = 'SUCCESS' AND content_sha256 IS NOT NULL;
@@ -0,0 +1,40 @@
+-- V11: Transactional outbox for credit consumption
+--
+-- A completed audit run no longer calls auth-service synchronously to consume
+-- credits. The consume intent is inserted here in the same transaction as the
+-- audit_runs row, and CreditOutboxRelay delivers pending rows in batches to
+-- POST /api/v1/credits/consume/batch. idempotency_key is the key auth-service
+-- deduplicates on ("audit-" || run_id), so redelivery is never charged twice.
+--
+-- Rollback:
+--   DROP TABLE IF EXISTS credit_consume_outbox;
+
+CREATE TABLE IF NOT EXISTS credit_consume_outbox (
+    id               UUID         PRIMARY KEY,
+    run_id           UUID         NOT NULL REFERENCES audit_runs(id) ON DELETE CASCADE,
+    tenant_id        VARCHAR(64)  NOT NULL,
+    user_id          VARCHAR(255) NOT NULL,
+    credits          INT          NOT NULL CHECK (credits > 0),
+    reference_id     VARCHAR(255),
+    idempotency_key  VARCHAR(255) NOT NULL,
+    status           VARCHAR(20)  NOT NULL DEFAULT 'PENDING',  -- PENDING | DELIVERED | REJECTED
+    attempts         INT          NOT NULL DEFAULT 0,
+    last_error       TEXT,
+    created_at       TIMESTAMPTZ  NOT NULL DEFAULT NOW(),
+    next_attempt_at  TIMESTAMPTZ  NOT NULL DEFAULT NOW(),
+    delivered_at     TIMESTAMPTZ,
+    CONSTRAINT uq_credit_consume_outbox_idempotency UNIQUE (idempotency_key)
+);
+
+COMMENT ON TABLE credit_consume_outbox IS 'Credit consume intents awaiting delivery to auth-service';
+COMMENT ON COLUMN credit_consume_outbox.next_attempt_at IS 'Earliest next delivery; pushed forward while a relay holds the row and on retry backoff';
+
+-- Relay claim order: due PENDING rows, oldest first. Partial index keeps it tiny.
+CREATE INDEX IF NOT EXISTS idx_credit_outbox_pending_due
+    ON credit_consume_outbox (next_attempt_at)
+    WHERE status = 'PENDING';
+
+-- Balance pre-check: credits already committed to runs but not yet debited.
+CREATE INDEX IF NOT EXISTS idx_credit_outbox_pending_user
+    ON credit_consume_outbox (user_id)
+    WHERE status = 'PENDING';
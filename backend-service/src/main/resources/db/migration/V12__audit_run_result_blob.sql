@@ -0,0 +1,23 @@
+-- V12: Compressed storage for large audit results
+--
+-- Results whose JSON is at least app.persistence.result-compression.threshold are
+-- written by AuditResultCodec as zstd-compressed Smile (binary JSON with shared
+-- string values) into result_blob, with result_data left NULL. result_format says
+-- which column holds the result; every run written before V12 is JSONB.
+--
+-- Rollback (only once no SMILE_ZSTD rows remain):
+--   ALTER TABLE audit_runs DROP CONSTRAINT IF EXISTS chk_audit_runs_result_format;
+--   ALTER TABLE audit_runs DROP COLUMN IF EXISTS result_blob;
+--   ALTER TABLE audit_runs DROP COLUMN IF EXISTS result_format;
+
+ALTER TABLE audit_runs
+    ADD COLUMN IF NOT EXISTS result_format VARCHAR(16) NOT NULL DEFAULT 'JSONB',
+    ADD COLUMN IF NOT EXISTS result_blob   BYTEA;
+
+ALTER TABLE audit_runs
+    ADD CONSTRAINT chk_audit_runs_result_format CHECK (result_format IN ('JSONB', 'SMILE_ZSTD'));
+
+-- Already zstd-compressed: store out of line without another pglz pass
+ALTER TABLE audit_runs ALTER COLUMN result_blob SET STORAGE EXTERNAL;
+
+COMMENT ON COLUMN audit_runs.result_format IS 'JSONB: result in result_data; SMILE_ZSTD: zstd-compressed Smile in result_blob';
@@ -0,0 +1,129 @@
+-- V13: Daily range partitions on audit_runs, audit_findings and audit_run_rule_results
+--
+-- Retention used to be one DELETE of every expired run, cascading row by row into
+-- findings and rule results: minutes of WAL, dead tuples and autovacuum work every
+-- night. The three tables are now partitioned by the run's expiry day (UTC), so
+-- RetentionScheduler drops whole partitions once their day has passed and only
+-- deletes, in small batches, the rows of today's and the DEFAULT partitions.
+--
+-- A partitioned table's primary key and every foreign key into it must contain the
+-- partition key, so:
+--   * audit_runs            PRIMARY KEY (id, expires_at)
+--   * audit_findings,
+--     audit_run_rule_results carry run_expires_at (= the run's expires_at), are
+--                            partitioned on it and reference (run_id, run_expires_at).
+--   * credit_consume_outbox  loses its foreign key to audit_runs; RetentionScheduler
+--                            purges settled intents instead of ON DELETE CASCADE.
+-- id alone stays unique in practice (UUID v7), and is what JPA addresses rows by.
+--
+-- create_audit_partitions(from, to) creates the partitions of each day in [from, to]
+-- for all three tables and is called by AuditPartitionManager ahead of time. Rows
+-- whose day has no partition land in the DEFAULT partitions.
+--
+-- Rollback: One-way migration (tables are rebuilt). Restore from DB backup if needed.
+
+-- ── 1. Move the current tables aside ────────────────────────────────────────
+ALTER TABLE credit_consume_outbox DROP CONSTRAINT IF EXISTS credit_consume_outbox_run_id_fkey;
+
+ALTER TABLE audit_findings         RENAME TO audit_findings_v12;
+ALTER TABLE audit_run_rule_results RENAME TO audit_run_rule_results_v12;
+ALTER TABLE audit_runs             RENAME TO audit_runs_v12;
+
+-- ── 2. Partitioned tables (columns, defaults, CHECKs and comments as before) ─
+CREATE TABLE audit_runs (
+    LIKE audit_runs_v12 INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING STORAGE INCLUDING COMMENTS
+) PARTITION BY RANGE (expires_at);
+
+CREATE TABLE audit_findings (
+    LIKE audit_findings_v12 INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING STORAGE INCLUDING COMMENTS,
+    run_expires_at TIMESTAMPTZ NOT NULL
+) PARTITION BY RANGE (run_expires_at);
+
+CREATE TABLE audit_run_rule_results (
+    LIKE audit_run_rule_results_v12 INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING STORAGE INCLUDING COMMENTS,
+    run_expires_at TIMESTAMPTZ NOT NULL
+) PARTITION BY RANGE (run_expires_at);
+
+COMMENT ON TABLE  audit_runs                        IS 'Generic audit run tracking — all GST rule types; partitioned by expiry day';
+COMMENT ON TABLE  audit_findings                    IS 'Individual compliance findings from audit runs; partitioned like audit_runs';
+COMMENT ON COLUMN audit_findings.run_expires_at     IS 'Parent run''s expires_at — partition key and part of the foreign key';
+COMMENT ON COLUMN audit_run_rule_results.run_expires_at IS 'Parent run''s expires_at — partition key and part of the foreign key';
+
+-- ── 3. Partition maintenance ────────────────────────────────────────────────
+CREATE OR REPLACE FUNCTION create_audit_partitions(from_day DATE, to_day DATE)
+RETURNS INT
+LANGUAGE plpgsql AS $$
+DECLARE
+    day     DATE;
+    from_ts TIMESTAMPTZ;
+    to_ts   TIMESTAMPTZ;
+    parent  TEXT;
+    created INT := 0;
+BEGIN
+    FOR day IN SELECT d::date FROM generate_series(from_day::timestamp, to_day::timestamp, INTERVAL '1 day') AS d LOOP
+        from_ts := day::timestamp AT TIME ZONE 'UTC';
+        to_ts   := (day + 1)::timestamp AT TIME ZONE 'UTC';
+        -- Parent first: the children's partitions reference it
+        FOREACH parent IN ARRAY ARRAY['audit_runs', 'audit_findings', 'audit_run_rule_results'] LOOP
+            IF to_regclass(parent || to_char(day, '"_p"YYYYMMDD')) IS NULL THEN
+                EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                               parent || to_char(day, '"_p"YYYYMMDD'), parent, from_ts, to_ts);
+                created := created + 1;
+            END IF;
+        END LOOP;
+    END LOOP;
+    RETURN created;
+END;
+$$;
+
+COMMENT ON FUNCTION create_audit_partitions(DATE, DATE) IS
+    'Creates missing <table>_pYYYYMMDD partitions of audit_runs, audit_findings and audit_run_rule_results';
+
+-- Days that can still receive rows: today through the latest existing expiry (capped
+-- at a year). Older, already expired rows go to DEFAULT and are purged in batches.
+SELECT create_audit_partitions(
+    CURRENT_DATE,
+    LEAST(GREATEST((SELECT MAX(expires_at) FROM audit_runs_v12)::date, CURRENT_DATE + 14), CURRENT_DATE + 366));
+
+CREATE TABLE audit_runs_default             PARTITION OF audit_runs             DEFAULT;
+CREATE TABLE audit_findings_default         PARTITION OF audit_findings         DEFAULT;
+CREATE TABLE audit_run_rule_results_default PARTITION OF audit_run_rule_results DEFAULT;
+
+-- ── 4. Copy the data ────────────────────────────────────────────────────────
+INSERT INTO audit_runs SELECT * FROM audit_runs_v12;
+
+INSERT INTO audit_findings
+SELECT f.*, r.expires_at FROM audit_findings_v12 f JOIN audit_runs_v12 r ON r.id = f.run_id;
+
+INSERT INTO audit_run_rule_results
+SELECT rr.*, r.expires_at FROM audit_run_rule_results_v12 rr JOIN audit_runs_v12 r ON r.id = rr.run_id;
+
+DROP TABLE audit_findings_v12;
+DROP TABLE audit_run_rule_results_v12;
+DROP TABLE audit_runs_v12;
+
+-- ── 5. Keys and indexes (created on every partition) ────────────────────────
+ALTER TABLE audit_runs ADD PRIMARY KEY (id, expires_at);
+
+ALTER TABLE audit_findings ADD PRIMARY KEY (id, run_expires_at);
+ALTER TABLE audit_findings
+    ADD CONSTRAINT fk_audit_findings_run FOREIGN KEY (run_id, run_expires_at)
+        REFERENCES audit_runs (id, expires_at) ON DELETE CASCADE;
+
+ALTER TABLE audit_run_rule_results ADD PRIMARY KEY (id, run_expires_at);
+ALTER TABLE audit_run_rule_results
+    ADD CONSTRAINT fk_audit_run_rule_results_run FOREIGN KEY (run_id, run_expires_at)
+        REFERENCES audit_runs (id, expires_at) ON DELETE CASCADE;
+
+CREATE INDEX idx_audit_runs_tenant          ON audit_runs (tenant_id, created_at DESC);
+CREATE INDEX idx_audit_runs_expires         ON audit_runs (expires_at);
+CREATE INDEX idx_audit_runs_user            ON audit_runs (user_id,   created_at DESC);
+CREATE INDEX idx_audit_runs_rules_executed  ON audit_runs USING GIN (rules_executed);
+CREATE INDEX idx_audit_runs_pending_queue   ON audit_runs (created_at)  WHERE status = 'PENDING';
+CREATE INDEX idx_audit_runs_running_started ON audit_runs (started_at) WHERE status = 'RUNNING';
+
+CREATE INDEX idx_findings_run             ON audit_findings (run_id);
+CREATE INDEX idx_findings_tenant_severity ON audit_findings (tenant_id, severity);
+
+CREATE INDEX idx_run_rule_results_run_id ON audit_run_rule_results (run_id);
+CREATE INDEX idx_run_rule_results_tenant ON audit_run_rule_results (tenant_id);
@@ -0,0 +1,29 @@
+-- V14: Keyset indexes for paging a run's findings
+--
+-- GET /api/v1/audit/runs/{id}/findings pages through a run's findings ordered by
+-- impact_amount DESC, id DESC, continuing after the last (impact_amount, id) of the
+-- previous page (AuditFindingPageReader). Each index below serves that order for
+-- one optional filter, so any page is a bounded index range scan. The unfiltered
+-- index also serves run_id lookups and the cascade from audit_runs, replacing
+-- idx_findings_run.
+--
+-- Rollback:
+--   DROP INDEX IF EXISTS idx_findings_run_period_impact;
+--   DROP INDEX IF EXISTS idx_findings_run_rule_impact;
+--   DROP INDEX IF EXISTS idx_findings_run_severity_impact;
+--   DROP INDEX IF EXISTS idx_findings_run_impact;
+--   CREATE INDEX idx_findings_run ON audit_findings (run_id);
+
+CREATE INDEX IF NOT EXISTS idx_findings_run_impact
+    ON audit_findings (run_id, impact_amount DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_findings_run_severity_impact
+    ON audit_findings (run_id, severity, impact_amount DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_findings_run_rule_impact
+    ON audit_findings (run_id, rule_id, impact_amount DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_findings_run_period_impact
+    ON audit_findings (run_id, compliance_period, impact_amount DESC, id DESC);
+
+DROP INDEX IF EXISTS idx_findings_run;
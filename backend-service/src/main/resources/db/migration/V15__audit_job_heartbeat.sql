@@ -0,0 +1,28 @@
+-- V15: Heartbeat for RUNNING async jobs
+--
+-- Stale-job recovery used to requeue a RUNNING job once it had been claimed for
+-- longer than app.audit.jobs.stale-after, so a job that legitimately ran longer
+-- was claimed a second time and executed twice. Workers now refresh heartbeat_at
+-- every app.audit.jobs.heartbeat-interval while a job runs, and recovery only
+-- requeues jobs whose heartbeat is older than stale-after. The requeue itself is
+-- guarded on status = 'RUNNING' AND heartbeat_at < cutoff, so two replicas can
+-- never both recover the same job.
+--
+-- Rollback:
+--   DROP INDEX IF EXISTS idx_audit_runs_running_heartbeat;
+--   CREATE INDEX idx_audit_runs_running_started ON audit_runs (started_at) WHERE status = 'RUNNING';
+--   ALTER TABLE audit_runs DROP COLUMN IF EXISTS heartbeat_at;
+
+ALTER TABLE audit_runs ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMPTZ;
+
+COMMENT ON COLUMN audit_runs.heartbeat_at IS 'Last liveness signal from the worker executing the run (async jobs only)';
+
+-- Jobs running during the upgrade count from their claim
+UPDATE audit_runs SET heartbeat_at = started_at WHERE status = 'RUNNING' AND heartbeat_at IS NULL;
+
+-- Stale-claim recovery now scans RUNNING rows by heartbeat instead of claim time
+CREATE INDEX IF NOT EXISTS idx_audit_runs_running_heartbeat
+    ON audit_runs (heartbeat_at)
+    WHERE status = 'RUNNING';
+
+DROP INDEX IF EXISTS idx_audit_runs_running_started;
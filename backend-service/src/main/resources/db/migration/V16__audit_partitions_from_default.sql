@@ -0,0 +1,88 @@
+-- V16: Create audit partitions for days that already have rows in DEFAULT
+--
+-- V13's create_audit_partitions ran CREATE TABLE ... PARTITION OF for every day of
+-- its range in one call. If DEFAULT already held rows for a day (its partition was
+-- missing when they were written), PostgreSQL rejected that day with check_violation
+-- and the whole call failed. No later day got a partition, new runs kept landing in
+-- DEFAULT, and retention fell back to row-by-row deletes for good.
+--
+-- create_audit_partition(day) now creates one day's three partitions:
+--   1. Lock the DEFAULT partitions against writes for the rest of the transaction.
+--   2. Move the day's finding and rule-result rows out of DEFAULT into standalone
+--      tables. They go first: the runs they reference can then leave DEFAULT without
+--      ON DELETE CASCADE removing them.
+--   3. Move the day's runs into a standalone table and attach it as the run partition.
+--   4. Attach the child tables, which re-validates their foreign keys.
+-- With nothing to move this costs the same as before; CREATE ... PARTITION OF
+-- takes the same lock to scan DEFAULT.
+--
+-- create_audit_partitions(from, to) calls it per day in a subtransaction, so a day
+-- that still fails is skipped with a WARNING instead of failing the days after it.
+-- RetentionScheduler calls it one day per transaction.
+--
+-- Rollback:
+--   DROP FUNCTION IF EXISTS create_audit_partition(DATE);
+--   Re-run the CREATE OR REPLACE FUNCTION create_audit_partitions block of V13.
+
+CREATE OR REPLACE FUNCTION create_audit_partition(day DATE)
+RETURNS INT
+LANGUAGE plpgsql AS $$
+DECLARE
+    from_ts  TIMESTAMPTZ := day::timestamp AT TIME ZONE 'UTC';
+    to_ts    TIMESTAMPTZ := (day + 1)::timestamp AT TIME ZONE 'UTC';
+    suffix   TEXT        := to_char(day, '"_p"YYYYMMDD');
+    children TEXT[]      := ARRAY['audit_findings', 'audit_run_rule_results'];
+    child    TEXT;
+BEGIN
+    -- The three partitions of a day are only ever created together
+    IF to_regclass('audit_runs' || suffix) IS NOT NULL THEN
+        RETURN 0;
+    END IF;
+
+    LOCK TABLE audit_runs_default, audit_findings_default, audit_run_rule_results_default IN EXCLUSIVE MODE;
+
+    FOREACH child IN ARRAY children LOOP
+        EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING STORAGE)',
+                       child || suffix, child);
+        EXECUTE format('WITH moved AS (DELETE FROM %I WHERE run_expires_at >= %L AND run_expires_at < %L RETURNING *) '
+                       'INSERT INTO %I SELECT * FROM moved',
+                       child || '_default', from_ts, to_ts, child || suffix);
+    END LOOP;
+
+    EXECUTE format('CREATE TABLE %I (LIKE audit_runs INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING STORAGE)',
+                   'audit_runs' || suffix);
+    EXECUTE format('WITH moved AS (DELETE FROM audit_runs_default WHERE expires_at >= %L AND expires_at < %L RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved',
+                   from_ts, to_ts, 'audit_runs' || suffix);
+    EXECUTE format('ALTER TABLE audit_runs ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   'audit_runs' || suffix, from_ts, to_ts);
+
+    FOREACH child IN ARRAY children LOOP
+        EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                       child, child || suffix, from_ts, to_ts);
+    END LOOP;
+
+    RETURN 3;
+END;
+$$;
+
+COMMENT ON FUNCTION create_audit_partition(DATE) IS
+    'Creates the <table>_pYYYYMMDD partitions of one day, moving that day''s rows out of the DEFAULT partitions';
+
+CREATE OR REPLACE FUNCTION create_audit_partitions(from_day DATE, to_day DATE)
+RETURNS INT
+LANGUAGE plpgsql AS $$
+DECLARE
+    day     DATE;
+    created INT := 0;
+BEGIN
+    FOR day IN SELECT d::date FROM generate_series(from_day::timestamp, to_day::timestamp, INTERVAL '1 day') AS d LOOP
+        BEGIN
+            created := created + create_audit_partition(day);
+        EXCEPTION WHEN check_violation OR foreign_key_violation THEN
+            RAISE WARNING 'Audit partitions of % not created: %', day, SQLERRM;
+        END;
+    END LOOP;
+    RETURN created;
+END;
+$$;
@@ -0,0 +1,26 @@
+-- V17: Add the doc-type hint to the parse-cache key
+--
+-- The sidecar parses with the caller's doc_type_hint and returns the doc_type it
+-- settled on, so the same bytes uploaded under another hint may parse differently.
+-- The V10 cache key (tenant, hash, parser version) ignored the hint, and a re-upload
+-- under a different hint got the earlier parse and its doc_type.
+--
+-- ParserOrchestrator records the hint it passed ('NONE' when it passed none).
+-- Rows parsed before V17 have no hint and never match; they are parsed once more.
+--
+-- Rollback:
+--   DROP INDEX IF EXISTS idx_parsed_docs_content_hash;
+--   ALTER TABLE parsed_documents DROP COLUMN IF EXISTS doc_type_hint;
+--   Re-run the CREATE INDEX of V10.
+
+ALTER TABLE parsed_documents
+    ADD COLUMN IF NOT EXISTS doc_type_hint VARCHAR(30);
+
+COMMENT ON COLUMN parsed_documents.doc_type_hint IS 'doc_type_hint sent to the parser sidecar (NONE if none); part of the parse-cache key';
+
+DROP INDEX IF EXISTS idx_parsed_docs_content_hash;
+
+-- Cache lookup: newest successful parse per (tenant, hash, hint, version)
+CREATE INDEX IF NOT EXISTS idx_parsed_docs_content_hash
+    ON parsed_documents (tenant_id, content_sha256, doc_type_hint, parser_version, created_at DESC)
+    WHERE parse_status = 'SUCCESS' AND content_sha256 IS NOT NULL AND doc_type_hint IS NOT NULL;
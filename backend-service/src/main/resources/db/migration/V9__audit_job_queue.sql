@@ -0,0 +1,37 @@
+-- V9: Durable async job queue on audit_runs
+--
+-- Async submissions (POST /api/v1/audit/analyze?async=true) insert a PENDING
+-- audit_runs row and spool the uploaded files to disk. Workers claim rows with
+-- SELECT ... FOR UPDATE SKIP LOCKED, move them to RUNNING and finish them as
+-- SUCCESS or FAILED, so the queue survives restarts without a broker.
+--
+-- Rollback:
+--   DROP INDEX IF EXISTS idx_audit_runs_running_started;
+--   DROP INDEX IF EXISTS idx_audit_runs_pending_queue;
+--   ALTER TABLE audit_runs DROP COLUMN IF EXISTS error_message;
+--   ALTER TABLE audit_runs DROP COLUMN IF EXISTS spool_path;
+--   ALTER TABLE audit_runs DROP COLUMN IF EXISTS attempts;
+--   ALTER TABLE audit_runs DROP COLUMN IF EXISTS started_at;
+
+-- ── 1. Job bookkeeping columns ────────────────────────────────────────────
+ALTER TABLE audit_runs
+    ADD COLUMN IF NOT EXISTS started_at    TIMESTAMPTZ,
+    ADD COLUMN IF NOT EXISTS attempts      INT NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS spool_path    VARCHAR(500),
+    ADD COLUMN IF NOT EXISTS error_message TEXT;
+
+COMMENT ON COLUMN audit_runs.started_at IS 'When a worker last claimed the run (async jobs only)';
+COMMENT ON COLUMN audit_runs.attempts IS 'Number of times a worker claimed the run';
+COMMENT ON COLUMN audit_runs.spool_path IS 'Directory holding the spooled upload until the job finishes';
+COMMENT ON COLUMN audit_runs.error_message IS 'Failure reason for FAILED async jobs';
+
+-- ── 2. Queue indexes ──────────────────────────────────────────────────────
+-- Claim order: oldest PENDING first. Partial index keeps it tiny.
+CREATE INDEX IF NOT EXISTS idx_audit_runs_pending_queue
+    ON audit_runs (created_at)
+    WHERE status = 'PENDING';
+
+-- Stale-claim recovery scans RUNNING rows by claim time.
+CREATE INDEX IF NOT EXISTS idx_audit_runs_running_started
+    ON audit_runs (started_at)
+    WHERE status = 'RUNNING';
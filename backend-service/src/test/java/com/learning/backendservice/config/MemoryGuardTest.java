@@ -0,0 +1,71 @@
+package com.learning.backendservice.config;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemoryGuardTest {
+
+    private static final String XLSX = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    @Test
+    void xlsxEstimateAddsTheSharedStringsTable() throws IOException {
+        byte[] workbook = workbookWithDistinctStrings(20_000);
+        MockMultipartFile file = new MockMultipartFile("file", "ledger.xlsx", XLSX, workbook);
+
+        long part = sharedStringsPartSize(workbook);
+
+        assertThat(part).isGreaterThan(workbook.length); // strings compress well
+        assertThat(MemoryGuard.sharedStringsBytes(file)).isEqualTo(part);
+        assertThat(MemoryGuard.estimatedPeakBytes(file)).isEqualTo(workbook.length + 2 * part);
+    }
+
+    @Test
+    void unreadableXlsxFallsBackToFileSize() {
+        MockMultipartFile file = new MockMultipartFile("file", "ledger.xlsx", XLSX, "not a zip".getBytes());
+
+        assertThat(MemoryGuard.estimatedPeakBytes(file)).isEqualTo(file.getSize());
+    }
+
+    @Test
+    void legacyXlsIsBudgetedAtDomAmplification() {
+        MockMultipartFile file = new MockMultipartFile("file", "ledger.xls", "application/vnd.ms-excel", new byte[1000]);
+
+        assertThat(MemoryGuard.estimatedPeakBytes(file)).isEqualTo(7_000);
+    }
+
+    private static byte[] workbookWithDistinctStrings(int rows) throws IOException {
+        try (XSSFWorkbook wb = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = wb.createSheet("Ledger");
+            for (int i = 0; i < rows; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("Supplier " + i);
+                row.createCell(1).setCellValue("INV/" + i);
+            }
+            wb.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static long sharedStringsPartSize(byte[] workbook) throws IOException {
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(workbook))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.getName().equals("xl/sharedStrings.xml")) {
+                    return zip.readAllBytes().length;
+                }
+            }
+        }
+        throw new AssertionError("no shared strings part");
+    }
+}
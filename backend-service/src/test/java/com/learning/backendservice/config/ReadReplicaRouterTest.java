@@ -0,0 +1,230 @@
+package com.learning.backendservice.config;
+
+import com.learning.common.constants.HeaderNames;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ReadReplicaRouter")
+class ReadReplicaRouterTest {
+
+    @Mock private DataSource primary;
+    @Mock private DataSource replica;
+    @Mock private Connection primaryConnection;
+    @Mock private Connection replicaConnection;
+
+    private ReadReplicaRouter router;
+    private DataSource routed;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        router = new ReadReplicaRouter(replica, Duration.ofSeconds(10), Duration.ofMinutes(1));
+        routed = router.route(primary);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static void onRequestOf(String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HeaderNames.USER_ID, userId);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    /** Open a connection through the routed DataSource and make it fetch its physical target. */
+    private void use(boolean readOnly) throws SQLException {
+        try (Connection con = routed.getConnection()) {
+            con.setReadOnly(readOnly);
+            con.createStatement();
+        }
+    }
+
+    @Test
+    @DisplayName("Without a replica the primary pool is used as is")
+    void noReplicaKeepsPrimary() {
+        ReadReplicaRouter disabled = new ReadReplicaRouter(null, Duration.ofSeconds(10), Duration.ofSeconds(2));
+
+        assertThat(disabled.route(primary)).isSameAs(primary);
+    }
+
+    @Test
+    @DisplayName("Read-only request transactions go to the replica, writes to the primary")
+    void readOnlyRequestReadsFromReplica() throws SQLException {
+        onRequestOf("user-1");
+        use(true);
+        verify(replica).getConnection();
+        verify(primary, never()).getConnection();
+
+        onRequestOf("user-2");
+        use(false);
+        verify(primary).getConnection();
+    }
+
+    /** Run {@code sql} on a read-write connection, as an auto-commit statement unless a transaction is active. */
+    private void write(String sql) throws SQLException {
+        try (Connection con = routed.getConnection()) {
+            con.prepareStatement(sql);
+        }
+    }
+
+    @Test
+    @DisplayName("A user's reads stay on the primary right after their own write")
+    void readsStickToPrimaryAfterOwnWrite() throws SQLException {
+        onRequestOf("user-1");
+        write("UPDATE audit_runs SET status = ? WHERE id = ?");
+        use(true);
+
+        verify(primary, times(2)).getConnection();
+        verify(replica, never()).getConnection();
+
+        onRequestOf("user-2");
+        use(true);
+        verify(replica).getConnection();
+    }
+
+    @Test
+    @DisplayName("A read-write checkout that only reads does not pin the user to the primary")
+    void readOnlyWorkOnPrimaryDoesNotStick() throws SQLException {
+        when(primaryConnection.createStatement()).thenReturn(mock(Statement.class));
+        onRequestOf("user-1");
+        try (Connection con = routed.getConnection()) {
+            con.prepareStatement("SELECT * FROM audit_runs WHERE id = ?");
+            con.createStatement().executeQuery("SELECT 1");
+        }
+        use(true);
+
+        verify(replica).getConnection();
+    }
+
+    @Test
+    @DisplayName("A write through a plain statement pins the user too")
+    void plainStatementWriteSticks() throws SQLException {
+        when(primaryConnection.createStatement()).thenReturn(mock(Statement.class));
+        onRequestOf("user-1");
+        try (Connection con = routed.getConnection()) {
+            con.createStatement().executeUpdate("DELETE FROM audit_runs WHERE expires_at < now()");
+        }
+        use(true);
+
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("A write in a transaction pins the user only once it commits")
+    void transactionalWriteSticksAfterCommit() throws SQLException {
+        onRequestOf("user-1");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            write("INSERT INTO audit_runs (id) VALUES (?)");
+            use(true);
+            verify(replica, times(1)).getConnection();
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        use(true);
+
+        verify(replica, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("A rolled-back write does not pin the user")
+    void rolledBackWriteDoesNotStick() throws SQLException {
+        onRequestOf("user-1");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            write("DELETE FROM audit_runs WHERE id = ?");
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        use(true);
+
+        verify(replica).getConnection();
+    }
+
+    @Test
+    @DisplayName("Recognises data-changing statements, including writing CTEs")
+    void classifiesWrites() {
+        assertThat(ReadReplicaRouter.isWrite("  insert into t values (1)")).isTrue();
+        assertThat(ReadReplicaRouter.isWrite("UPDATE t SET a = 1")).isTrue();
+        assertThat(ReadReplicaRouter.isWrite("delete from t")).isTrue();
+        assertThat(ReadReplicaRouter.isWrite("COPY t FROM STDIN")).isTrue();
+        assertThat(ReadReplicaRouter.isWrite("WITH w AS (SELECT 1) UPDATE t SET a = 1")).isTrue();
+        assertThat(ReadReplicaRouter.isWrite("SELECT * FROM t FOR UPDATE")).isFalse();
+        assertThat(ReadReplicaRouter.isWrite("WITH w AS (SELECT 1) SELECT * FROM w")).isFalse();
+        assertThat(ReadReplicaRouter.isWrite(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Background threads always read from the primary")
+    void backgroundReadsFromPrimary() throws SQLException {
+        use(true);
+
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("A replica lagging beyond max-lag is skipped until it catches up")
+    void laggingReplicaFallsBackToPrimary() throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet lag = mock(ResultSet.class);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(lag);
+        when(lag.getLong(1)).thenReturn(30_000L, 0L);
+
+        router.checkLag();
+        onRequestOf("user-1");
+        use(true);
+        verify(primary).getConnection();
+
+        router.checkLag();
+        use(true);
+        verify(replica, times(3)).getConnection();
+    }
+
+    @Test
+    @DisplayName("A replica refusing connections falls back to the primary")
+    void unreachableReplicaFallsBackToPrimary() throws SQLException {
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        onRequestOf("user-1");
+
+        use(true);
+        use(true);
+
+        verify(replica, times(1)).getConnection();
+        verify(primary, times(2)).getConnection();
+    }
+}
@@ -1,8 +1,12 @@
 package com.learning.backendservice.controller;
 
+import com.fasterxml.jackson.databind.util.RawValue;
 import com.learning.backendservice.BaseControllerTest;
+import com.learning.backendservice.dto.AuditFindingPageResponse;
+import com.learning.backendservice.dto.AuditFindingResponse;
 import com.learning.backendservice.dto.AuditRunResponse;
 import com.learning.backendservice.engine.AuditRuleRegistry;
+import com.learning.backendservice.repository.AuditFindingPageReader;
 import com.learning.backendservice.service.AuditRunService;
 import com.learning.backendservice.util.UuidV7;
 import com.learning.common.constants.HeaderNames;
@@ -14,13 +18,14 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -64,7 +69,7 @@ class AuditRunControllerTest extends BaseControllerTest {
                 .id(runId.toString())
                 .ruleId("RULE_A")
                 .status("COMPLETED")
-                .resultData(Map.of("key", "value"))
+                .resultData(new RawValue("{\"key\":\"value\"}"))
                 .build();
 
         when(auditRunService.getRun(eq(runId), any())).thenReturn(response);
@@ -88,4 +93,32 @@ class AuditRunControllerTest extends BaseControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    @DisplayName("GET /runs/{id}/findings should return a filtered page with its cursor")
+    void shouldReturnFindingsPage() throws Exception {
+        UUID runId = UuidV7.generate();
+        AuditFindingPageResponse response = AuditFindingPageResponse.builder()
+                .findings(List.of(AuditFindingResponse.builder()
+                        .id(UuidV7.generate().toString())
+                        .severity("CRITICAL")
+                        .impactAmount(new BigDecimal("1500.50"))
+                        .build()))
+                .nextCursor("next")
+                .build();
+
+        when(auditRunService.listFindings(eq(runId), eq("user123"),
+                eq(new AuditFindingPageReader.Filter("CRITICAL", null, null)), isNull(), eq(20)))
+                .thenReturn(response);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/v1/audit/runs/" + runId + "/findings")
+                        .param("severity", "CRITICAL")
+                        .param("limit", "20")
+                        .header(HeaderNames.USER_ID, "user123")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.findings.size()").value(1))
+                .andExpect(jsonPath("$.findings[0].severity").value("CRITICAL"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
 }
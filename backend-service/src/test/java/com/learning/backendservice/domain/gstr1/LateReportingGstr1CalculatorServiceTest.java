@@ -4,6 +4,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
@@ -161,6 +162,29 @@ class LateReportingGstr1CalculatorServiceTest {
         assertThat(result.totalInterest()).isEqualByComparingTo(bd("79.89"));
     }
 
+    // ── Test 8: Amount beyond the paise kernel's range ────────────────────────
+
+    @Test
+    @DisplayName("Tax beyond the long-paise range falls back to BigDecimal instead of failing")
+    void hugeTaxAmount_fallsBackToBigDecimal() {
+        // 1e17 rupees = 1e19 paise, past Long.MAX_VALUE; 30 days late as in Test 2
+        BigDecimal hugeTax = bd("100000000000000000");
+        InvoiceRow huge = invoice("INV-301", LocalDate.of(2024, 3, 1),
+                bd("0"), hugeTax, bd("0"), bd("0"), bd("0"), bd("18"));
+        InvoiceRow normal = invoice("INV-302", LocalDate.of(2024, 3, 1),
+                bd("10000"), bd("900"), bd("900"), bd("0"), bd("0"), bd("18"));
+
+        LateReportingGstr1Result result = service.calculate(
+                input(YearMonth.of(2024, 4), false, List.of(huge, normal)));
+
+        BigDecimal expected = hugeTax.multiply(bd("0.18")).multiply(bd("30"))
+                .divide(bd("365"), 2, RoundingMode.HALF_UP);
+        assertThat(result.belatedInvoices().get(0).interestAmount()).isEqualByComparingTo(expected);
+        assertThat(result.belatedInvoices().get(1).interestAmount()).isEqualByComparingTo(bd("26.63"));
+        assertThat(result.totalInterest()).isEqualByComparingTo(expected.add(bd("26.63")));
+        assertThat(result.totalTaxAtRisk()).isEqualByComparingTo(hugeTax.add(bd("1800")));
+    }
+
     // ── Helpers ───────────────────────────────────────────────────────────────
 
     private InvoiceRow invoice(String no, LocalDate date, BigDecimal taxable,
@@ -4,9 +4,14 @@ import com.learning.backendservice.domain.shared.PurchaseRegisterRow;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -139,6 +144,158 @@ class ItcReconciliationServiceTest {
         assertThat(result.totalItcAtRisk()).isEqualByComparingTo("20"); // 2 from amount mismatch + 18 from missing in 2b
     }
 
+    @Test
+    void testFuzzyMatchPrefersCandidateWithinToleranceAcrossBuckets() {
+        List<PurchaseRegisterRow> books = List.of(row("G_TYPO", "INV-9", "1000", "90.60", "90.00", "0")); // 180.60
+        List<PurchaseRegisterRow> gstr2b = List.of(
+                row("G_A", "INV9", "1000", "95", "95", "0"),        // 190 — outside tolerance
+                row("G_B", "INV/9", "1000", "90", "90", "0"));      // 180 — within 1.00, neighbouring bucket
+
+        ItcRecoResult result = service.reconcile(new ItcRecoInput("MYGSTIN", TAX_PERIOD, FY, books, gstr2b, TOLERANCE));
+
+        ItcMismatch fuzzy = result.mismatches().stream()
+                .filter(m -> m.type() == ItcMismatchType.GSTIN_MISMATCH).findFirst().orElseThrow();
+        assertThat(fuzzy.gstr2bRow().supplierGstin()).isEqualTo("G_B");
+        assertThat(result.mismatches()).extracting(ItcMismatch::type)
+                .containsExactlyInAnyOrder(ItcMismatchType.GSTIN_MISMATCH, ItcMismatchType.MISSING_IN_BOOKS);
+    }
+
+    @Test
+    void testIndexedMatchingIsIdenticalToFullScan() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            List<PurchaseRegisterRow> books = randomRows(random, 1 + random.nextInt(40));
+            List<PurchaseRegisterRow> gstr2b = randomRows(random, 1 + random.nextInt(40));
+            BigDecimal tolerance = List.of(bd("0"), bd("0.005"), bd("1.00"), bd("5")).get(random.nextInt(4));
+            ItcRecoInput input = new ItcRecoInput("MYGSTIN", TAX_PERIOD, FY, books, gstr2b, tolerance);
+
+            assertThat(service.reconcile(input)).as("round %d", round).isEqualTo(fullScanReconcile(input));
+        }
+    }
+
+    @Test
+    void testFuzzyComparisonsGrowLinearlyTo100kRows() {
+        // Mostly fuzzy traffic: the book GSTIN never matches, so every row takes the fuzzy path
+        long small = comparisonsShifted(12_500);
+        long large = comparisonsShifted(100_000);
+
+        // One candidate per normalized invoice number: n comparisons, where the old O(n·m)
+        // scan made about n·m/2
+        assertThat(small).isEqualTo(12_500);
+        assertThat(large).isEqualTo(100_000);
+    }
+
+    private long comparisonsShifted(int n) {
+        ItcReconciliationService counted = new ItcReconciliationService();
+        ItcRecoResult result = reconcileShifted(counted, n);
+        assertThat(result.mismatches()).hasSize(n)
+                .allMatch(m -> m.type() == ItcMismatchType.GSTIN_MISMATCH);
+        return counted.candidateComparisons();
+    }
+
+    private ItcRecoResult reconcileShifted(ItcReconciliationService service, int n) {
+        List<PurchaseRegisterRow> books = new ArrayList<>(n);
+        List<PurchaseRegisterRow> gstr2b = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String tax = String.valueOf(i % 500);
+            books.add(row("BOOKS" + (i % 97), "INV/" + i, "1000", tax, tax, "0"));
+            gstr2b.add(row("PORTAL" + (i % 89), "inv-" + i, "1000", tax, tax, "0"));
+        }
+        return service.reconcile(new ItcRecoInput("MYGSTIN", TAX_PERIOD, FY, books, gstr2b, TOLERANCE));
+    }
+
+    private List<PurchaseRegisterRow> randomRows(Random random, int n) {
+        List<PurchaseRegisterRow> rows = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String gstin = "G" + random.nextInt(4);
+            String sep = List.of("", "-", "/", " ").get(random.nextInt(4));
+            String inv = (random.nextBoolean() ? "inv" : "INV") + sep + random.nextInt(8);
+            String cgst = BigDecimal.valueOf(random.nextInt(400), 2).add(bd("90")).toPlainString();
+            rows.add(row(gstin, inv, "1000", cgst, "90", "0"));
+        }
+        return rows;
+    }
+
+    /** The original O(n·m) implementation, kept as the oracle for the indexed version. */
+    private static ItcRecoResult fullScanReconcile(ItcRecoInput input) {
+        int scale = 2;
+        RoundingMode rm = RoundingMode.HALF_UP;
+        List<ItcMismatch> mismatches = new ArrayList<>();
+        BigDecimal tolerance = input.reconToleranceAmount();
+        Map<String, PurchaseRegisterRow> unmapped2b = new HashMap<>();
+        for (PurchaseRegisterRow row : input.gstr2bRows()) {
+            unmapped2b.put(fullScanKey(row.supplierGstin(), row.invoiceNo()), row);
+        }
+        int matchedCount = 0;
+        BigDecimal totalItcAtRisk = BigDecimal.ZERO;
+        for (PurchaseRegisterRow bRow : input.purchaseRegisterRows()) {
+            String exactKey = fullScanKey(bRow.supplierGstin(), bRow.invoiceNo());
+            if (unmapped2b.containsKey(exactKey)) {
+                PurchaseRegisterRow gRow = unmapped2b.remove(exactKey);
+                BigDecimal delta = bRow.totalTax().setScale(scale, rm)
+                        .subtract(gRow.totalTax().setScale(scale, rm)).setScale(scale, rm);
+                if (delta.abs().compareTo(tolerance) <= 0) {
+                    matchedCount++;
+                } else {
+                    mismatches.add(new ItcMismatch(bRow.invoiceNo(), bRow.supplierGstin(), bRow, gRow,
+                            ItcMismatchType.AMOUNT_MISMATCH, delta));
+                    if (delta.compareTo(BigDecimal.ZERO) > 0) {
+                        totalItcAtRisk = totalItcAtRisk.add(delta);
+                    }
+                }
+            } else {
+                String normInv = fullScanNormalize(bRow.invoiceNo());
+                BigDecimal bTax = bRow.totalTax().setScale(scale, rm);
+                PurchaseRegisterRow fuzzyMatch = null;
+                String fuzzyKey = null;
+                for (Map.Entry<String, PurchaseRegisterRow> entry : unmapped2b.entrySet()) {
+                    PurchaseRegisterRow candidate = entry.getValue();
+                    if (fullScanNormalize(candidate.invoiceNo()).equals(normInv)
+                            && bTax.subtract(candidate.totalTax().setScale(scale, rm)).abs().compareTo(tolerance) <= 0) {
+                        fuzzyMatch = candidate;
+                        fuzzyKey = entry.getKey();
+                        break;
+                    }
+                }
+                if (fuzzyMatch != null) {
+                    unmapped2b.remove(fuzzyKey);
+                    mismatches.add(new ItcMismatch(bRow.invoiceNo(), bRow.supplierGstin(), bRow, fuzzyMatch,
+                            ItcMismatchType.GSTIN_MISMATCH, BigDecimal.ZERO));
+                } else {
+                    BigDecimal risk = bRow.totalTax().setScale(scale, rm);
+                    mismatches.add(new ItcMismatch(bRow.invoiceNo(), bRow.supplierGstin(), bRow, null,
+                            ItcMismatchType.MISSING_IN_2B, risk));
+                    totalItcAtRisk = totalItcAtRisk.add(risk);
+                }
+            }
+        }
+        for (PurchaseRegisterRow gRow : unmapped2b.values()) {
+            mismatches.add(new ItcMismatch(gRow.invoiceNo(), gRow.supplierGstin(), null, gRow,
+                    ItcMismatchType.MISSING_IN_BOOKS, gRow.totalTax().setScale(scale, rm).negate()));
+        }
+        return new ItcRecoResult(input.taxPeriod(), mismatches, totalItcAtRisk, matchedCount,
+                input.purchaseRegisterRows().size(), input.gstr2bRows().size(),
+                narrativeOf(mismatches, matchedCount, totalItcAtRisk));
+    }
+
+    private static String narrativeOf(List<ItcMismatch> mismatches, int matchedCount, BigDecimal risk) {
+        if (mismatches.isEmpty()) {
+            return String.format("Perfect match. All %d invoices from Books are present in GSTR-2B. ITC fully eligible.", matchedCount);
+        }
+        long missingIn2b = mismatches.stream().filter(m -> m.type() == ItcMismatchType.MISSING_IN_2B).count();
+        long amtMismatch = mismatches.stream().filter(m -> m.type() == ItcMismatchType.AMOUNT_MISMATCH).count();
+        return String.format("Reconciliation complete: %d matched perfectly. %d invoices missing in 2B. %d invoices have amount mismatches. Total ITC at Risk: ₹%.2f per Section 16(2)(aa).",
+                matchedCount, missingIn2b, amtMismatch, risk);
+    }
+
+    private static String fullScanKey(String gstin, String inv) {
+        return (gstin == null ? "" : gstin.trim().toUpperCase()) + "|" + fullScanNormalize(inv);
+    }
+
+    private static String fullScanNormalize(String inv) {
+        return inv == null ? "" : inv.replaceAll("[^a-zA-Z0-9]", "").toUpperCase();
+    }
+
     private PurchaseRegisterRow row(String gstin, String invNo, String taxVal, String cgst, String sgst, String igst) {
         return new PurchaseRegisterRow(
                 gstin, invNo, LocalDate.of(2024, 4, 1),
@@ -0,0 +1,316 @@
+package com.learning.backendservice.domain.ledger;
+
+import com.learning.backendservice.exception.LedgerParseException;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link StreamingLedgerExcelParser}.
+ *
+ * <p>Every fixture is parsed by both the streaming parser and the DOM-based
+ * {@link LedgerExcelParser}; the two must return identical entries (or fail with the
+ * same message) across the clean-header, offset-header and multi-ledger formats.
+ */
+@DisplayName("StreamingLedgerExcelParser — DOM Parity")
+class StreamingLedgerExcelParserTest {
+
+    private StreamingLedgerExcelParser streaming;
+    private LedgerExcelParser dom;
+
+    @BeforeEach
+    void setUp() {
+        streaming = new StreamingLedgerExcelParser();
+        dom = new LedgerExcelParser();
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    //  HELPER METHODS
+    // ═══════════════════════════════════════════════════════════════
+
+    private byte[] toBytes(Workbook workbook) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        workbook.write(out);
+        workbook.close();
+        return out.toByteArray();
+    }
+
+    private void setCells(Row row, Object... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof String s) {
+                row.createCell(i).setCellValue(s);
+            } else if (values[i] instanceof Number n) {
+                row.createCell(i).setCellValue(n.doubleValue());
+            }
+        }
+    }
+
+    private List<LedgerEntry> assertParity(byte[] bytes, String filename) {
+        List<LedgerEntry> expected = dom.parse(new ByteArrayInputStream(bytes), filename);
+        List<LedgerEntry> actual = streaming.parse(new ByteArrayInputStream(bytes), filename);
+        assertThat(actual).isEqualTo(expected);
+        return actual;
+    }
+
+    private void assertSameFailure(byte[] bytes, String filename, String messageFragment) {
+        assertThatThrownBy(() -> dom.parse(new ByteArrayInputStream(bytes), filename))
+                .isInstanceOf(LedgerParseException.class)
+                .hasMessageContaining(messageFragment);
+        assertThatThrownBy(() -> streaming.parse(new ByteArrayInputStream(bytes), filename))
+                .isInstanceOf(LedgerParseException.class)
+                .hasMessageContaining(messageFragment);
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    //  1. FORMAT PARITY
+    // ═══════════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Format Parity with DOM Parser")
+    class FormatParity {
+
+        @Test
+        @DisplayName("Clean header with invoice, supplier fallback and total rows → identical entries")
+        void cleanHeader() throws Exception {
+            Workbook wb = new XSSFWorkbook();
+            Sheet sheet = wb.createSheet();
+            setCells(sheet.createRow(0), "Date", "Vch No.", "Debit", "Credit", "Name");
+            setCells(sheet.createRow(1), 44652.0, "INV-001", null, 1000.0, "KD");
+            setCells(sheet.createRow(2), 44653.0, 77.0, 250.5, null, "");
+            setCells(sheet.createRow(3), "not-a-date", "X", 10.0, null, "KD");
+            setCells(sheet.createRow(4), 44654.0, "Y", 0.0, 0.0, "KD");
+            setCells(sheet.createRow(6), "15-Jan-2023", "₹ 1,200.00", "1,500.25", null, "Vendor B");
+            setCells(sheet.createRow(7), "Total", "", 2750.75, 1000.0, "");
+
+            List<LedgerEntry> entries = assertParity(toBytes(wb), "KD STEEL.xlsx");
+
+            assertThat(entries).hasSize(3);
+            assertThat(entries.get(1).getSupplier()).isEqualTo("KD STEEL");
+            assertThat(entries.get(1).getInvoiceNumber()).isEqualTo("77.0");
+        }
+
+        @Test
+        @DisplayName("Offset header after metadata rows → identical entries")
+        void offsetHeader() throws Exception {
+            Workbook wb = new XSSFWorkbook();
+            Sheet sheet = wb.createSheet();
+            setCells(sheet.createRow(0), "Acme Corp Financial Report");
+            setCells(sheet.createRow(1), "FY 2022-23");
+            setCells(sheet.createRow(5), "Date", "Debit", "Credit", "Supplier", "Ref");
+            setCells(sheet.createRow(6), 44652.0, 5000.0, null, "Vendor X", "R1");
+            setCells(sheet.createRow(7), 44653.0, null, 3000.0, "Vendor Y", "R2");
+
+            assertThat(assertParity(toBytes(wb), "test.xlsx")).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("Position-based fallback (4 columns, no credit header) → identical entries")
+        void positionBased() throws Exception {
+            Workbook wb = new XSSFWorkbook();
+            Sheet sheet = wb.createSheet();
+            setCells(sheet.createRow(0), "Date", "Amount Out", "Amount In", "Vendor");
+            setCells(sheet.createRow(1), 44652.0, 1000.0, null, "Supplier X");
+            setCells(sheet.createRow(2), 44653.0, null, 500.0, null);
+
+            assertThat(assertParity(toBytes(wb), "fallback.xlsx")).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("Multi-ledger sections incl. missing sub-header and closing rows → identical entries")
+        void multiLedger() throws Exception {
+            Workbook wb = new XSSFWorkbook();
+            Sheet sheet = wb.createSheet();
+            setCells(sheet.createRow(0), "Sancus Networks 20-21");
+            setCells(sheet.createRow(1), "Ledger:", "VENDOR A", "FY 2022");
+            setCells(sheet.createRow(2), "Some random text without date header");
+            setCells(sheet.createRow(3), 44652.0, "To", "Bank", "Payment", "1", 1000.0, null, null);
+            setCells(sheet.createRow(4), "Ledger:", "AARUSH ENTERPRISES\r\n", "FY 2022");
+            setCells(sheet.createRow(5), "", "95-D Shivam Enclave");
+            setCells(sheet.createRow(6), "Date", "Particulars", "", "Vch Type", "Vch No.", "Debit", "Credit", "Balance");
+            setCells(sheet.createRow(7), 44123.0, "To", "Icici Bank", "Payment", "fassai", 10000.0, null, 10000.0);
+            setCells(sheet.createRow(8), 44136.0, "By", "Professional Fees", "Journal", "1026", null, 14100.0, null);
+            setCells(sheet.createRow(9), "Closing Balance", "", "", "", "", null, null, 4000.0);
+            setCells(sheet.createRow(10), "Ledger:", "", "FY 2022");
+            setCells(sheet.createRow(11), "Date", "Particulars", "", "Vch Type", "Vch No.", "Debit", "Credit", "Balance");
+            setCells(sheet.createRow(12), 44700.0, "By", "Purchase", "Journal", "2", null, 3000.0, null);
+
+            List<LedgerEntry> entries = assertParity(toBytes(wb), "CREDITORS.xlsx");
+
+            assertThat(entries).extracting(LedgerEntry::getSupplier)
+                    .containsExactly("AARUSH ENTERPRISES", "AARUSH ENTERPRISES", "CREDITORS");
+        }
+
+        @Test
+        @DisplayName("Ledger: marker after a valid header → header rows discarded, multi-ledger wins")
+        void markerAfterHeaderSwitchesToMultiLedger() throws Exception {
+            Workbook wb = new XSSFWorkbook();
+            Sheet sheet = wb.createSheet();
+            setCells(sheet.createRow(0), "Date", "Debit", "Credit", "Name", "Ref");
+            setCells(sheet.createRow(1), 44652.0, 1000.0, null, "Ignored", "R");
+            setCells(sheet.createRow(30), "Ledger:", "VENDOR B", "FY 2022");
+            setCells(sheet.createRow(31), "Date", "Particulars", "", "Vch Type", "Vch No.", "Debit", "Credit", "Balance");
+            setCells(sheet.createRow(32), 44700.0, "To", "Bank", "Payment", "2", 2000.0, null, null);
+
+            List<LedgerEntry> entries = assertParity(toBytes(wb), "test.xlsx");
+
+            assertThat(entries).singleElement()
+                    .extracting(LedgerEntry::getSupplier).isEqualTo("VENDOR B");
+        }
+
+        @Test
+        @DisplayName("Date-formatted numeric cells → decoded to the same LocalDate as the DOM parser")
+        void dateFormattedCells() throws Exception {
+            Workbook wb = new XSSFWorkbook();
+            CellStyle dateStyle = wb.createCellStyle();
+            dateStyle.setDataFormat(wb.getCreationHelper().createDataFormat().getFormat("dd-mmm-yy"));
+            Sheet sheet = wb.createSheet();
+            setCells(sheet.createRow(0), "Date", "Debit", "Credit", "Name", "Ref");
+            Row row = sheet.createRow(1);
+            setCells(row, 44652.0, 1000.0, null, "KD", "R1");
+            row.getCell(0).setCellStyle(dateStyle);
+            Row formulaRow = sheet.createRow(2);
+            setCells(formulaRow, 44653.0, null, null, "KD", "R2");
+            formulaRow.createCell(2).setCellFormula("100+23.5");
+
+            List<LedgerEntry> entries = assertParity(toBytes(wb), "test.xlsx");
+
+            assertThat(entries.get(0).getDate()).isEqualTo(LocalDate.of(2022, 4, 1));
+        }
+
+        @Test
+        @DisplayName("SXSSF inline-string workbook → parsed like shared-string workbook")
+        void inlineStrings() throws Exception {
+            SXSSFWorkbook wb = new SXSSFWorkbook();
+            Sheet sheet = wb.createSheet();
+            setCells(sheet.createRow(0), "Date", "Debit", "Credit", "Name", "Ref");
+            setCells(sheet.createRow(1), "01/04/2022", 1000.0, null, "Inline Vendor", "R1");
+
+            List<LedgerEntry> entries = streaming.parse(new ByteArrayInputStream(toBytes(wb)), "inline.xlsx");
+
+            assertThat(entries).singleElement().satisfies(e -> {
+                assertThat(e.getSupplier()).isEqualTo("Inline Vendor");
+                assertThat(e.getDate()).isEqualTo(LocalDate.of(2022, 4, 1));
+                assertThat(e.getAmount().compareTo(BigDecimal.valueOf(1000))).isZero();
+            });
+        }
+
+        @Test
+        @DisplayName("Legacy .xls (OLE2) workbook → delegated to DOM parser")
+        void legacyXlsDelegated() throws Exception {
+            Workbook wb = new HSSFWorkbook();
+            Sheet sheet = wb.createSheet();
+            setCells(sheet.createRow(0), "Date", "Debit", "Credit", "Name");
+            setCells(sheet.createRow(1), 44652.0, 1000.0, null, "KD");
+
+            assertThat(assertParity(toBytes(wb), "legacy.xls")).hasSize(1);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    //  2. ERROR PARITY
+    // ═══════════════════════════════════════════════════════════════
+
+    @Nested
+    @DisplayName("Error Parity with DOM Parser")
+    class ErrorParity {
+
+        @Test
+        @DisplayName("Empty sheet → 'empty'")
+        void emptySheet() throws Exception {
+            Workbook wb = new XSSFWorkbook();
+            wb.createSheet();
+            assertSameFailure(toBytes(wb), "empty.xlsx", "empty");
+        }
+
+        @Test
+        @DisplayName("Header beyond scan depth → 'Could not find a header row'")
+        void headerBeyondScanDepth() throws Exception {
+            Workbook wb = new XSSFWorkbook();
+            Sheet sheet = wb.createSheet();
+            for (int i = 0; i < 25; i++) {
+                setCells(sheet.createRow(i), "metadata line " + i);
+            }
+            setCells(sheet.createRow(25), "Date", "Debit", "Credit");
+            setCells(sheet.createRow(26), 44652.0, 1000.0, null);
+            assertSameFailure(toBytes(wb), "test.xlsx", "First row: metadata line 0");
+        }
+
+        @Test
+        @DisplayName("Date column but no Debit/Credit → 'Debit or Credit'")
+        void noDebitCredit() throws Exception {
+            Workbook wb = new XSSFWorkbook();
+            Sheet sheet = wb.createSheet();
+            setCells(sheet.createRow(0), "Date", "Description", "Reference", "Type", "Category");
+            setCells(sheet.createRow(1), 44652.0, "Invoice", "INV-001", "Sales", "General");
+            assertSameFailure(toBytes(wb), "test.xlsx", "Debit or Credit");
+        }
+
+        @Test
+        @DisplayName("Multi-ledger with no data rows → 'No valid entries'")
+        void multiLedgerAllEmpty() throws Exception {
+            Workbook wb = new XSSFWorkbook();
+            Sheet sheet = wb.createSheet();
+            setCells(sheet.createRow(0), "Ledger:", "VENDOR A", "FY 2022");
+            setCells(sheet.createRow(1), "Date", "Particulars", "", "Vch Type", "Vch No.", "Debit", "Credit", "Balance");
+            setCells(sheet.createRow(2), "", "", "", "", "", null, null, null);
+            assertSameFailure(toBytes(wb), "test.xlsx", "No valid entries");
+        }
+
+        @Test
+        @DisplayName("Row count above STREAMING_MAX_ROWS → rejected while streaming")
+        void rowLimit() throws Exception {
+            SXSSFWorkbook wb = new SXSSFWorkbook();
+            Sheet sheet = wb.createSheet();
+            setCells(sheet.createRow(0), "Date", "Debit", "Credit", "Name", "Ref");
+            for (int i = 1; i <= LedgerExcelParser.STREAMING_MAX_ROWS; i++) {
+                setCells(sheet.createRow(i), 44652.0, 1.0);
+            }
+            byte[] bytes = toBytes(wb);
+
+            assertThatThrownBy(() -> streaming.parse(new ByteArrayInputStream(bytes), "huge.xlsx"))
+                    .isInstanceOf(LedgerParseException.class)
+                    .hasMessageContaining("maximum row limit");
+        }
+
+        @Test
+        @DisplayName("Entry count above the DOM cap is accepted while streaming")
+        void largeExportAccepted() throws Exception {
+            SXSSFWorkbook wb = new SXSSFWorkbook();
+            Sheet sheet = wb.createSheet();
+            setCells(sheet.createRow(0), "Date", "Debit", "Credit", "Name", "Ref");
+            int rows = LedgerExcelParser.MAX_ENTRIES_PER_FILE + 5_000;
+            for (int i = 1; i <= rows; i++) {
+                setCells(sheet.createRow(i), 44652.0, 1.0, null, "VENDOR A", "INV-" + i);
+            }
+            byte[] bytes = toBytes(wb);
+
+            assertThat(streaming.parse(new ByteArrayInputStream(bytes), "tally.xlsx")).hasSize(rows);
+        }
+
+        @Test
+        @DisplayName("Not a spreadsheet → LedgerParseException")
+        void garbageInput() {
+            byte[] bytes = "definitely not excel".getBytes();
+            assertThatThrownBy(() -> streaming.parse(new ByteArrayInputStream(bytes), "x.xlsx"))
+                    .isInstanceOf(LedgerParseException.class);
+        }
+    }
+}
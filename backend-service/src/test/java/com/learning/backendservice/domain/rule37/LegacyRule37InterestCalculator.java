@@ -0,0 +1,347 @@
+package com.learning.backendservice.domain.rule37;
+
+import com.learning.backendservice.domain.ledger.LedgerEntry;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Verbatim copy of the original list-based FIFO implementation of
+ * {@link Rule37InterestCalculationService}, kept as the oracle for its differential tests.
+ */
+class LegacyRule37InterestCalculator implements Rule37InterestCalculator {
+
+    private static final MathContext MC = MathContext.DECIMAL64;
+    private static final int SCALE = 2;
+    private static final RoundingMode RM = RoundingMode.HALF_UP;
+
+    private static final BigDecimal ITC_NUMERATOR = new BigDecimal("18");
+    private static final BigDecimal ITC_DENOMINATOR = new BigDecimal("118");
+    private static final BigDecimal INTEREST_RATE = new BigDecimal("0.18");
+    private static final BigDecimal DAYS_IN_YEAR = new BigDecimal("365");
+
+    private static final int DAYS_THRESHOLD = 180;
+    private static final int AT_RISK_THRESHOLD = 150;
+
+    private static final BigDecimal AMOUNT_EPSILON = new BigDecimal("0.001");
+
+    @Override
+    public CalculationSummary calculate(List<LedgerEntry> entries, LocalDate asOnDate) {
+        var queues = partitionBySupplier(entries);
+        var results = processAllSuppliers(queues, asOnDate);
+        return buildSummary(results, asOnDate);
+    }
+
+    private SupplierQueues partitionBySupplier(List<LedgerEntry> entries) {
+        Map<String, List<MutableLedgerItem>> purchases = new LinkedHashMap<>();
+        Map<String, List<MutableLedgerItem>> payments = new LinkedHashMap<>();
+
+        entries.stream()
+                .sorted(Comparator.comparing(LedgerEntry::getDate))
+                .forEach(entry -> {
+            var map = entry.getEntryType() == LedgerEntry.LedgerEntryType.PURCHASE
+                    ? purchases
+                    : payments;
+            map.computeIfAbsent(entry.getSupplier(), k -> new ArrayList<>())
+                    .add(new MutableLedgerItem(entry.getDate(),
+                            entry.getAmount(), entry.getInvoiceNumber()));
+        });
+
+        return new SupplierQueues(purchases, payments);
+    }
+
+    private List<InterestRow> processAllSuppliers(SupplierQueues queues, LocalDate asOnDate) {
+        List<InterestRow> results = new ArrayList<>();
+
+        queues.purchases().forEach((supplier, purchaseQueue) -> {
+            var paymentQueue = new ArrayList<>(
+                    queues.payments().getOrDefault(supplier, List.of()));
+            var pQueue = new ArrayList<>(purchaseQueue);
+
+            processFifoMatching(supplier, pQueue, paymentQueue, asOnDate, results);
+            processUnpaidPurchases(supplier, pQueue, asOnDate, results);
+        });
+
+        return results;
+    }
+
+    private void processFifoMatching(String supplier, List<MutableLedgerItem> purchases,
+            List<MutableLedgerItem> payments, LocalDate asOnDate, List<InterestRow> results) {
+
+        while (!purchases.isEmpty() && !payments.isEmpty()) {
+            var purchase = purchases.getFirst();
+            var payment = payments.getFirst();
+            BigDecimal matched = purchase.amount().min(payment.amount());
+            int delayDays = daysBetween(purchase.date(), payment.date());
+            LocalDate itcAvailmentDate = calculateItcAvailmentDate(purchase.date());
+            int interestDays = Math.max(0, daysBetween(itcAvailmentDate, payment.date()));
+
+            if (delayDays > DAYS_THRESHOLD) {
+                results.add(createInterestRow(supplier, purchase.date(), payment.date(),
+                        matched, purchase.originalAmount(), delayDays, interestDays, InterestRow.InterestStatus.PAID_LATE, 
+                        purchase.invoiceNumber(), itcAvailmentDate, asOnDate));
+            } else {
+                // On-time payment — no interest/ITC but included for complete report
+                results.add(createOnTimeRow(supplier, purchase.date(), payment.date(),
+                        matched, purchase.originalAmount(), delayDays, purchase.invoiceNumber(), asOnDate));
+            }
+
+            purchase.reduceBy(matched);
+            payment.reduceBy(matched);
+            if (purchase.isExhausted())
+                purchases.removeFirst();
+            if (payment.isExhausted())
+                payments.removeFirst();
+        }
+    }
+
+    private void processUnpaidPurchases(String supplier, List<MutableLedgerItem> purchases,
+            LocalDate asOnDate, List<InterestRow> results) {
+
+        for (MutableLedgerItem purchase : purchases) {
+            int days = daysBetween(purchase.date(), asOnDate);
+            LocalDate itcAvailmentDate = calculateItcAvailmentDate(purchase.date());
+            int interestDays = Math.max(0, daysBetween(itcAvailmentDate, asOnDate));
+
+            if (days > DAYS_THRESHOLD) {
+                results.add(createInterestRow(
+                        supplier, purchase.date(), null, purchase.amount(), purchase.originalAmount(),
+                        days, interestDays, InterestRow.InterestStatus.UNPAID, purchase.invoiceNumber(), itcAvailmentDate, asOnDate));
+            } else if (days > AT_RISK_THRESHOLD) {
+                results.add(createAtRiskRow(
+                        supplier, purchase.date(), purchase.amount(), purchase.originalAmount(), days, purchase.invoiceNumber(), asOnDate));
+            } else {
+                // Safe unpaid — within 180 days, included for complete report
+                results.add(createSafeUnpaidRow(
+                        supplier, purchase.date(), purchase.amount(), purchase.originalAmount(), days, purchase.invoiceNumber(), asOnDate));
+            }
+        }
+    }
+
+    private InterestRow createInterestRow(String supplier, LocalDate purchaseDate,
+            LocalDate paymentDate, BigDecimal principal, BigDecimal originalAmount, int delayDays, int interestDays,
+            InterestRow.InterestStatus status, String invoiceNumber, LocalDate itcAvailmentDate, LocalDate asOnDate) {
+
+        LocalDate deadline = purchaseDate.plusDays(DAYS_THRESHOLD);
+        var itcInterest = computeItcAndInterest(principal, interestDays);
+
+        return InterestRow.builder()
+                .supplier(supplier)
+                .invoiceNumber(invoiceNumber)
+                .purchaseDate(purchaseDate)
+                .paymentDate(paymentDate)
+                .originalInvoiceValue(originalAmount.setScale(SCALE, RM))
+                .principal(principal.setScale(SCALE, RM))
+                .delayDays(delayDays)
+                .itcAmount(itcInterest.itcAmount())
+                .interest(itcInterest.interest())
+                .status(status)
+                .paymentDeadline(deadline)
+                .riskCategory(categorizeRisk(delayDays))
+                .gstr3bPeriod(formatGstr3bPeriod(deadline))
+                .daysToDeadline(daysBetween(asOnDate, deadline))
+                .itcAvailmentDate(itcAvailmentDate)
+                .build();
+    }
+
+    private InterestRow createAtRiskRow(String supplier, LocalDate purchaseDate,
+            BigDecimal principal, BigDecimal originalAmount, int delayDays, String invoiceNumber, LocalDate asOnDate) {
+
+        LocalDate deadline = purchaseDate.plusDays(DAYS_THRESHOLD);
+        LocalDate itcAvailmentDate = calculateItcAvailmentDate(purchaseDate);
+
+        // GST-014: Show potential ITC at risk so user sees what's at stake.
+        // Interest stays at zero — obligation not triggered until 180 days breached.
+        BigDecimal potentialItc = principal.multiply(ITC_NUMERATOR, MC)
+                .divide(ITC_DENOMINATOR, SCALE, RM);
+
+        return InterestRow.builder()
+                .supplier(supplier)
+                .invoiceNumber(invoiceNumber)
+                .purchaseDate(purchaseDate)
+                .paymentDate(null)
+                .originalInvoiceValue(originalAmount.setScale(SCALE, RM))
+                .principal(principal.setScale(SCALE, RM))
+                .delayDays(delayDays)
+                .itcAmount(potentialItc)
+                .interest(BigDecimal.ZERO)
+                .status(InterestRow.InterestStatus.UNPAID)
+                .paymentDeadline(deadline)
+                .riskCategory(InterestRow.RiskCategory.AT_RISK)
+                .gstr3bPeriod(formatGstr3bPeriod(deadline))
+                .daysToDeadline(daysBetween(asOnDate, deadline))
+                .itcAvailmentDate(itcAvailmentDate)
+                .build();
+    }
+
+    private InterestRow createOnTimeRow(String supplier, LocalDate purchaseDate,
+            LocalDate paymentDate, BigDecimal principal, BigDecimal originalAmount, int delayDays, String invoiceNumber, LocalDate asOnDate) {
+
+        LocalDate deadline = purchaseDate.plusDays(DAYS_THRESHOLD);
+
+        return InterestRow.builder()
+                .supplier(supplier)
+                .invoiceNumber(invoiceNumber)
+                .purchaseDate(purchaseDate)
+                .paymentDate(paymentDate)
+                .originalInvoiceValue(originalAmount.setScale(SCALE, RM))
+                .principal(principal.setScale(SCALE, RM))
+                .delayDays(delayDays)
+                .itcAmount(BigDecimal.ZERO)
+                .interest(BigDecimal.ZERO)
+                .status(InterestRow.InterestStatus.PAID_ON_TIME)
+                .paymentDeadline(deadline)
+                .riskCategory(InterestRow.RiskCategory.SAFE)
+                .gstr3bPeriod(formatGstr3bPeriod(deadline))
+                .daysToDeadline(daysBetween(asOnDate, deadline))
+                .itcAvailmentDate(null)
+                .build();
+    }
+
+    private InterestRow createSafeUnpaidRow(String supplier, LocalDate purchaseDate,
+            BigDecimal principal, BigDecimal originalAmount, int delayDays, String invoiceNumber, LocalDate asOnDate) {
+
+        LocalDate deadline = purchaseDate.plusDays(DAYS_THRESHOLD);
+
+        return InterestRow.builder()
+                .supplier(supplier)
+                .invoiceNumber(invoiceNumber)
+                .purchaseDate(purchaseDate)
+                .paymentDate(null)
+                .originalInvoiceValue(originalAmount.setScale(SCALE, RM))
+                .principal(principal.setScale(SCALE, RM))
+                .delayDays(delayDays)
+                .itcAmount(BigDecimal.ZERO)
+                .interest(BigDecimal.ZERO)
+                .status(InterestRow.InterestStatus.UNPAID)
+                .paymentDeadline(deadline)
+                .riskCategory(InterestRow.RiskCategory.SAFE)
+                .gstr3bPeriod(formatGstr3bPeriod(deadline))
+                .daysToDeadline(daysBetween(asOnDate, deadline))
+                .itcAvailmentDate(null)
+                .build();
+    }
+
+    private CalculationSummary buildSummary(List<InterestRow> results, LocalDate asOnDate) {
+        BigDecimal totalInterest = results.stream()
+                .map(InterestRow::getInterest)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        BigDecimal totalItcReversal = results.stream()
+                .filter(r -> r.getStatus() == InterestRow.InterestStatus.UNPAID
+                        && r.getRiskCategory() == InterestRow.RiskCategory.BREACHED)
+                .map(InterestRow::getItcAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        var atRiskRows = results.stream()
+                .filter(r -> r.getRiskCategory() == InterestRow.RiskCategory.AT_RISK)
+                .toList();
+
+        BigDecimal atRiskAmount = atRiskRows.stream()
+                .map(InterestRow::getPrincipal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        long breachedCount = results.stream()
+                .filter(r -> r.getRiskCategory() == InterestRow.RiskCategory.BREACHED)
+                .count();
+
+        return CalculationSummary.builder()
+                .totalInterest(totalInterest.setScale(SCALE, RM))
+                .totalItcReversal(totalItcReversal.setScale(SCALE, RM))
+                .details(results)
+                .atRiskCount(atRiskRows.size())
+                .atRiskAmount(atRiskAmount.setScale(SCALE, RM))
+                .breachedCount((int) breachedCount)
+                .calculationDate(asOnDate)
+                .build();
+    }
+
+    private static ItcInterest computeItcAndInterest(BigDecimal principal, int interestDays) {
+        BigDecimal itcAmount = principal.multiply(ITC_NUMERATOR, MC)
+                .divide(ITC_DENOMINATOR, SCALE, RM);
+        BigDecimal interest = itcAmount.multiply(INTEREST_RATE, MC)
+                .multiply(BigDecimal.valueOf(interestDays), MC)
+                .divide(DAYS_IN_YEAR, SCALE, RM);
+        return new ItcInterest(itcAmount, interest);
+    }
+
+    private static InterestRow.RiskCategory categorizeRisk(int delayDays) {
+        if (delayDays <= AT_RISK_THRESHOLD)
+            return InterestRow.RiskCategory.SAFE;
+        if (delayDays <= DAYS_THRESHOLD)
+            return InterestRow.RiskCategory.AT_RISK;
+        return InterestRow.RiskCategory.BREACHED;
+    }
+
+    private static String formatGstr3bPeriod(LocalDate deadline) {
+        LocalDate reportingMonth = deadline.plusMonths(1);
+        Month month = reportingMonth.getMonth();
+        return month.getDisplayName(TextStyle.SHORT, Locale.ENGLISH) + " " + reportingMonth.getYear();
+    }
+
+    private static int daysBetween(LocalDate from, LocalDate to) {
+        return (int) ChronoUnit.DAYS.between(from, to);
+    }
+
+    private static LocalDate calculateItcAvailmentDate(LocalDate purchaseDate) {
+        // As per GST rules, ITC is typically availed in GSTR-3B filed on the 20th of the subsequent month
+        return purchaseDate.plusMonths(1).withDayOfMonth(20);
+    }
+
+    private record ItcInterest(BigDecimal itcAmount, BigDecimal interest) {
+    }
+
+    private record SupplierQueues(
+            Map<String, List<MutableLedgerItem>> purchases,
+            Map<String, List<MutableLedgerItem>> payments) {
+    }
+
+    private static final class MutableLedgerItem {
+        private final LocalDate date;
+        private final BigDecimal originalAmount;
+        private final String invoiceNumber;
+        private BigDecimal amount;
+
+        MutableLedgerItem(LocalDate date, BigDecimal amount, String invoiceNumber) {
+            this.date = date;
+            this.amount = amount;
+            this.originalAmount = amount;
+            this.invoiceNumber = invoiceNumber;
+        }
+
+        LocalDate date() {
+            return date;
+        }
+
+        BigDecimal amount() {
+            return amount;
+        }
+
+        BigDecimal originalAmount() {
+            return originalAmount;
+        }
+
+        String invoiceNumber() {
+            return invoiceNumber;
+        }
+
+        void reduceBy(BigDecimal value) {
+            this.amount = this.amount.subtract(value);
+        }
+
+        boolean isExhausted() {
+            return amount.compareTo(AMOUNT_EPSILON) <= 0;
+        }
+    }
+}
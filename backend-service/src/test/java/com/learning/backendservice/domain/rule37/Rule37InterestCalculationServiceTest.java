@@ -1,6 +1,7 @@
 package com.learning.backendservice.domain.rule37;
 
 import com.learning.backendservice.domain.ledger.LedgerEntry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -10,6 +11,9 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -356,4 +360,96 @@ class Rule37InterestCalculationServiceTest {
             assertEquals(1, summary.getAtRiskCount(), "Should count 1 AT_RISK entry");
         }
     }
+
+    @Nested
+    @DisplayName("Large Ledgers — indexed FIFO and parallel suppliers")
+    class LargeLedgers {
+
+        private ExecutorService pool;
+
+        @BeforeEach
+        void startPool() {
+            pool = Executors.newFixedThreadPool(3);
+        }
+
+        @AfterEach
+        void stopPool() {
+            pool.shutdownNow();
+        }
+
+        private List<LedgerEntry> randomLedger(Random random, int size, int suppliers) {
+            List<LedgerEntry> entries = new ArrayList<>(size);
+            LocalDate start = LocalDate.of(2023, 4, 1);
+            for (int i = 0; i < size; i++) {
+                LocalDate date = start.plusDays(random.nextInt(790));
+                String supplier = "Supplier " + random.nextInt(suppliers);
+                BigDecimal amount = BigDecimal.valueOf(random.nextInt(5_000_000), 2);
+                LedgerEntry.LedgerEntryType type = random.nextInt(3) == 0
+                        ? LedgerEntry.LedgerEntryType.PAYMENT : LedgerEntry.LedgerEntryType.PURCHASE;
+                entries.add(new LedgerEntry(date, "INV-" + i, type, supplier, amount));
+            }
+            return entries;
+        }
+
+        @Test
+        @DisplayName("Sequential and parallel results are identical to the original list-based FIFO")
+        void identicalToLegacy() {
+            var legacy = new LegacyRule37InterestCalculator();
+            var parallel = new Rule37InterestCalculationService(pool, 4);
+            Random random = new Random(37);
+
+            for (int round = 0; round < 50; round++) {
+                var entries = randomLedger(random, 1 + random.nextInt(400), 1 + random.nextInt(12));
+                CalculationSummary expected = legacy.calculate(entries, AS_ON_DATE);
+                assertEquals(expected, service.calculate(entries, AS_ON_DATE), "sequential, round " + round);
+            }
+
+            var large = randomLedger(random, Rule37InterestCalculationService.PARALLEL_THRESHOLD * 3, 300);
+            assertEquals(legacy.calculate(large, AS_ON_DATE), parallel.calculate(large, AS_ON_DATE));
+        }
+
+        @Test
+        @DisplayName("Same-day entries keep ledger order and suppliers follow their earliest purchase")
+        void tieOrdering() {
+            LocalDate day = LocalDate.of(2024, 9, 1);
+            var entries = List.of(
+                    payment(day, 100, "Supplier B"),
+                    purchase(day.plusDays(1), 300, "Supplier A"),
+                    purchase(day, 200, "Supplier B"),
+                    purchase(day, 50, "Supplier C"),
+                    purchase(day, 75, "Supplier B"),
+                    payment(day.plusDays(200), 500, "Supplier A"));
+
+            assertEquals(new LegacyRule37InterestCalculator().calculate(entries, AS_ON_DATE),
+                    service.calculate(entries, AS_ON_DATE));
+            assertEquals(List.of("Supplier B", "Supplier B", "Supplier B", "Supplier C", "Supplier A"),
+                    service.calculate(entries, AS_ON_DATE).getDetails().stream().map(InterestRow::getSupplier).toList());
+        }
+
+        @Test
+        @DisplayName("A large single-supplier ledger matches the original list-based FIFO")
+        void singleSupplierIdenticalToLegacy() {
+            // Every entry on one supplier: the case where removeFirst() on an ArrayList went
+            // quadratic. Linear scaling is tracked by the "single" mix of Rule37CalculationBenchmark.
+            var parallel = new Rule37InterestCalculationService(pool, 4);
+            var entries = singleSupplierLedger(Rule37InterestCalculationService.PARALLEL_THRESHOLD * 2);
+
+            CalculationSummary expected = new LegacyRule37InterestCalculator().calculate(entries, AS_ON_DATE);
+
+            assertEquals(expected, service.calculate(entries, AS_ON_DATE));
+            assertEquals(expected, parallel.calculate(entries, AS_ON_DATE));
+        }
+
+        private List<LedgerEntry> singleSupplierLedger(int size) {
+            List<LedgerEntry> entries = new ArrayList<>(size);
+            LocalDate start = LocalDate.of(2023, 4, 1);
+            for (int i = 0; i < size; i++) {
+                LocalDate date = start.plusDays(i % 700);
+                entries.add(i % 2 == 0
+                        ? purchase(date, 1_000, "Distributor")
+                        : payment(date.plusDays(i % 400), 1_000, "Distributor"));
+            }
+            return entries;
+        }
+    }
 }
@@ -0,0 +1,203 @@
+package com.learning.backendservice.domain.shared;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Differential tests: every {@link Paise} operation must return exactly (value and scale)
+ * what the {@link BigDecimal} expression it replaces returns, or {@link Paise#INEXACT}.
+ */
+@DisplayName("Paise fixed-point kernel")
+class PaiseTest {
+
+    private static final MathContext MC = MathContext.DECIMAL64;
+    private static final RoundingMode RM = RoundingMode.HALF_UP;
+    private static final int SAMPLES = 200_000;
+
+    /** Amounts across scales 0–4, signs, tie digits and magnitudes up to the DECIMAL64 edge. */
+    private static List<BigDecimal> amounts(long seed) {
+        Random random = new Random(seed);
+        List<BigDecimal> amounts = new ArrayList<>(List.of(
+                new BigDecimal("0"), new BigDecimal("0.00"), new BigDecimal("0.005"), new BigDecimal("-0.005"),
+                new BigDecimal("1.00"), new BigDecimal("118.00"), new BigDecimal("59.00"),
+                new BigDecimal("99999999999999.99"), new BigDecimal("555555555555555.55"),
+                new BigDecimal("-123456789012.34"), new BigDecimal("1000.000"), new BigDecimal("12.3450")));
+        for (int i = 0; i < SAMPLES; i++) {
+            int digits = 1 + random.nextInt(17);
+            long unscaled = (long) (random.nextDouble() * Math.pow(10, digits));
+            if (random.nextInt(5) == 0) {
+                unscaled = -unscaled;
+            }
+            amounts.add(BigDecimal.valueOf(unscaled, random.nextInt(5)));
+        }
+        return amounts;
+    }
+
+    @Nested
+    @DisplayName("Rule 37 — DECIMAL64 ITC and interest chain")
+    class Rule37Formulas {
+
+        @Test
+        @DisplayName("ITC share 18/118 matches principal.multiply(18, MC).divide(118, 2, HALF_UP)")
+        void itcShare() {
+            int fastPath = 0;
+            for (BigDecimal principal : amounts(1)) {
+                BigDecimal expected = principal.multiply(new BigDecimal("18"), MC)
+                        .divide(new BigDecimal("118"), 2, RM);
+                long paise = Paise.exact(principal);
+                long itc = paise == Paise.INEXACT ? Paise.INEXACT : Paise.ratioDecimal64(paise, 18, 118);
+                if (itc != Paise.INEXACT) {
+                    fastPath++;
+                    assertThat(Paise.toRupees(itc)).as("principal %s", principal).isEqualTo(expected);
+                }
+            }
+            assertThat(fastPath).isGreaterThan(SAMPLES / 2);
+        }
+
+        @Test
+        @DisplayName("Interest matches itc.multiply(0.18, MC).multiply(days, MC).divide(365, 2, HALF_UP)")
+        void interest() {
+            Random random = new Random(2);
+            int fastPath = 0;
+            for (BigDecimal amount : amounts(3)) {
+                BigDecimal itc = amount.setScale(2, RM);
+                int days = random.nextInt(4_000);
+                BigDecimal expected = itc.multiply(new BigDecimal("0.18"), MC)
+                        .multiply(BigDecimal.valueOf(days), MC)
+                        .divide(new BigDecimal("365"), 2, RM);
+                long interest = Paise.simpleInterestDecimal64(Paise.exact(itc), 18, days);
+                if (interest != Paise.INEXACT) {
+                    fastPath++;
+                    assertThat(Paise.toRupees(interest)).as("itc %s days %d", itc, days).isEqualTo(expected);
+                }
+            }
+            assertThat(fastPath).isGreaterThan(SAMPLES / 2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Section 50 interest, fees and caps — exact BigDecimal chains")
+    class ExactFormulas {
+
+        @Test
+        @DisplayName("Interest matches amount.multiply(0.18).multiply(days).divide(365, 2, HALF_UP)")
+        void simpleInterest() {
+            Random random = new Random(4);
+            for (BigDecimal amount : amounts(5)) {
+                int days = random.nextInt(4_000);
+                BigDecimal expected = amount.multiply(new BigDecimal("0.18"))
+                        .multiply(BigDecimal.valueOf(days))
+                        .divide(new BigDecimal("365"), 2, RM);
+                long interest = Paise.simpleInterest(Paise.exact(amount), 18, days);
+                if (interest != Paise.INEXACT) {
+                    assertThat(Paise.toRupees(interest)).as("amount %s days %d", amount, days).isEqualTo(expected);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Rounded tax amount matches setScale(2, HALF_UP)")
+        void round() {
+            for (BigDecimal amount : amounts(6)) {
+                long paise = Paise.round(amount);
+                if (paise == Paise.INEXACT) {
+                    assertThat(amount.setScale(2, RM).precision()).isGreaterThan(18);
+                } else {
+                    assertThat(Paise.toRupees(paise)).isEqualTo(amount.setScale(2, RM));
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Per-day fee always equals dailyRate.multiply(days).setScale(2, HALF_UP)")
+        void perDay() {
+            Random random = new Random(7);
+            for (BigDecimal rate : amounts(8)) {
+                long days = random.nextInt(2_000);
+                assertThat(Paise.perDay(rate, days))
+                        .isEqualTo(rate.multiply(BigDecimal.valueOf(days)).setScale(2, RM));
+            }
+        }
+
+        @Test
+        @DisplayName("0.25% turnover cap matches turnover.multiply(0.0025).setScale(2, HALF_UP)")
+        void turnoverCap() {
+            for (BigDecimal turnover : amounts(9)) {
+                long cap = Paise.ratio(Paise.exact(turnover), 25, 10_000);
+                if (cap != Paise.INEXACT) {
+                    assertThat(Paise.toRupees(cap))
+                            .isEqualTo(turnover.multiply(new BigDecimal("0.0025")).setScale(2, RM));
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Reconciliation percentages and rounding primitives")
+    class Primitives {
+
+        @Test
+        @DisplayName("Percent matches |delta|.divide(denominator, 10, HALF_UP).multiply(100).setScale(2, HALF_UP)")
+        void percent() {
+            List<BigDecimal> a = amounts(10);
+            List<BigDecimal> b = amounts(11);
+            int fastPath = 0;
+            for (int i = 0; i < a.size(); i++) {
+                BigDecimal g1 = a.get(i).setScale(2, RM);
+                BigDecimal g3b = b.get(i).setScale(2, RM);
+                BigDecimal delta = g1.subtract(g3b).abs();
+                BigDecimal denominator = g1.abs().max(g3b.abs());
+                if (denominator.signum() == 0) {
+                    continue;
+                }
+                BigDecimal expected = delta.divide(denominator, 10, RM)
+                        .multiply(new BigDecimal("100")).setScale(2, RM);
+                long hundredths = Paise.percentHundredths(Paise.exact(delta), Paise.exact(denominator));
+                if (hundredths != Paise.INEXACT) {
+                    fastPath++;
+                    assertThat(Paise.toRupees(hundredths)).as("%s vs %s", g1, g3b).isEqualTo(expected);
+                }
+            }
+            assertThat(fastPath).isGreaterThan(SAMPLES / 4);
+        }
+
+        @Test
+        @DisplayName("divideHalfUp rounds half away from zero like BigDecimal HALF_UP")
+        void divideHalfUp() {
+            Random random = new Random(12);
+            for (int i = 0; i < SAMPLES; i++) {
+                long n = random.nextLong() >> random.nextInt(63);
+                long d = random.nextLong() >> (1 + random.nextInt(62));
+                if (d == 0) {
+                    continue;
+                }
+                BigDecimal expected = BigDecimal.valueOf(n).divide(BigDecimal.valueOf(d), 0, RM);
+                assertThat(Paise.divideHalfUp(n, d)).as("%d / %d", n, d).isEqualTo(expected.longValueExact());
+            }
+            assertThat(Paise.divideHalfUp(5, 2)).isEqualTo(3);
+            assertThat(Paise.divideHalfUp(-5, 2)).isEqualTo(-3);
+            assertThat(Paise.divideHalfUp(5, -2)).isEqualTo(-3);
+        }
+
+        @Test
+        @DisplayName("Non-paise amounts and overflow are reported as INEXACT")
+        void inexact() {
+            assertThat(Paise.exact(new BigDecimal("10.005"))).isEqualTo(Paise.INEXACT);
+            assertThat(Paise.exact(new BigDecimal("10.0050"))).isEqualTo(Paise.INEXACT);
+            assertThat(Paise.exact(new BigDecimal("10.0500"))).isEqualTo(1005);
+            assertThat(Paise.exact(new BigDecimal("1E+30"))).isEqualTo(Paise.INEXACT);
+            assertThat(Paise.multiply(Long.MAX_VALUE / 2, 3)).isEqualTo(Paise.INEXACT);
+            assertThat(Paise.ratioDecimal64(1_000_000_000_000_000L, 18, 118)).isEqualTo(Paise.INEXACT);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.learning.backendservice.engine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learning.backendservice.config.TenantContextTaskDecorator;
+import com.learning.backendservice.entity.ParsedDocument;
+import com.learning.backendservice.exception.LedgerParseException;
+import com.learning.backendservice.service.ingestion.ParserOrchestrator;
+import com.learning.common.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DocumentTypeResolver")
+class DocumentTypeResolverTest {
+
+    @Mock private ParserOrchestrator parserOrchestrator;
+
+    private ThreadPoolTaskExecutor pool;
+    private DocumentTypeResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(3);
+        pool.setMaxPoolSize(3);
+        pool.setTaskDecorator(new TenantContextTaskDecorator());
+        pool.initialize();
+        resolver = new DocumentTypeResolver(parserOrchestrator, new ObjectMapper(), pool);
+        TenantContext.setCurrentTenant("tenant-a");
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+        TenantContext.clear();
+    }
+
+    private static MultipartFile pdf(String name) {
+        return new MockMultipartFile("files", name, "application/pdf", new byte[]{1});
+    }
+
+    private static ParsedDocument parsed(String docType, String period) {
+        return ParsedDocument.builder()
+                .parseStatus("SUCCESS")
+                .docType(docType)
+                .parsedJson("{\"gstin\":\"29ABCDE1234F1Z5\",\"tax_period\":\"" + period + "\"}")
+                .build();
+    }
+
+    private static ParsedDocument failed(String error) {
+        return ParsedDocument.builder().parseStatus("FAILED").errorMessage(error).build();
+    }
+
+    @Test
+    @DisplayName("Parses files concurrently under the caller's tenant and keeps upload order")
+    void concurrentInOrder() {
+        CountDownLatch allInFlight = new CountDownLatch(3);
+        Set<String> tenants = ConcurrentHashMap.newKeySet();
+        when(parserOrchestrator.ingestDocument(any(), any())).thenAnswer(i -> {
+            MultipartFile f = i.getArgument(0);
+            tenants.add(TenantContext.getCurrentTenant());
+            allInFlight.countDown();
+            assertThat(allInFlight.await(5, TimeUnit.SECONDS)).as("sidecar calls overlap").isTrue();
+            return switch (f.getOriginalFilename()) {
+                case "apr.pdf" -> parsed("GSTR3B_PDF", "04-2024");
+                case "may.pdf" -> parsed("GSTR1_PDF", "05-2024");
+                default -> parsed("GSTR2B_PDF", "06-2024");
+            };
+        });
+
+        List<AuditDocument> docs = resolver.resolveAll(
+                List.of(pdf("apr.pdf"), pdf("may.pdf"), pdf("jun.pdf")), AnalysisMode.GSTR_RULES_ANALYSIS);
+
+        assertThat(docs).extracting(AuditDocument::originalFilename).containsExactly("apr.pdf", "may.pdf", "jun.pdf");
+        assertThat(docs).extracting(AuditDocument::taxPeriod)
+                .containsExactly(YearMonth.of(2024, 4), YearMonth.of(2024, 5), YearMonth.of(2024, 6));
+        assertThat(docs.get(0).documentType()).isEqualTo(DocumentType.GSTR_3B);
+        assertThat(tenants).containsExactly("tenant-a");
+    }
+
+    @Test
+    @DisplayName("Reports every failed file in one exception after all files were attempted")
+    void aggregatesErrors() {
+        when(parserOrchestrator.ingestDocument(any(), any())).thenAnswer(i -> {
+            MultipartFile f = i.getArgument(0);
+            return switch (f.getOriginalFilename()) {
+                case "bad1.pdf" -> failed("unreadable");
+                case "bad2.pdf" -> failed("encrypted");
+                default -> parsed("GSTR1_PDF", "05-2024");
+            };
+        });
+
+        assertThatThrownBy(() -> resolver.resolveAll(
+                List.of(pdf("bad1.pdf"), pdf("ok.pdf"), pdf("bad2.pdf")), AnalysisMode.GSTR_RULES_ANALYSIS))
+                .isInstanceOf(LedgerParseException.class)
+                .hasMessageContaining("2 of 3 documents")
+                .hasMessageContaining("bad1.pdf")
+                .hasMessageContaining("unreadable")
+                .hasMessageContaining("bad2.pdf")
+                .hasMessageContaining("encrypted");
+        verify(parserOrchestrator, times(3)).ingestDocument(any(), any());
+    }
+
+    @Test
+    @DisplayName("A single failure surfaces the original parse error")
+    void singleFailureUnwrapped() {
+        when(parserOrchestrator.ingestDocument(any(), any())).thenAnswer(i -> {
+            MultipartFile f = i.getArgument(0);
+            return "bad.pdf".equals(f.getOriginalFilename()) ? failed("unreadable") : parsed("GSTR1_PDF", "05-2024");
+        });
+
+        assertThatThrownBy(() -> resolver.resolveAll(
+                List.of(pdf("ok.pdf"), pdf("bad.pdf")), AnalysisMode.GSTR_RULES_ANALYSIS))
+                .isInstanceOf(LedgerParseException.class)
+                .hasMessage("Failed to parse document bad.pdf: unreadable");
+    }
+
+    @Test
+    @DisplayName("Ledger mode wraps raw files without calling the sidecar")
+    void ledgerModeSkipsSidecar() {
+        List<AuditDocument> docs = resolver.resolveAll(
+                List.of(pdf("a.xlsx"), pdf("b.xlsx")), AnalysisMode.LEDGER_ANALYSIS);
+
+        assertThat(docs).extracting(AuditDocument::documentType)
+                .containsOnly(DocumentType.PURCHASE_LEDGER);
+        verifyNoInteractions(parserOrchestrator);
+    }
+}
@@ -1,13 +1,22 @@
 package com.learning.backendservice.engine;
 
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -173,4 +182,174 @@ class PipelineExecutorTest {
         BigDecimal expected = new BigDecimal("6912.75");
         assertEquals(0, expected.compareTo(result.totalImpact()));
     }
+
+    // ── Parallel execution ───────────────────────────────────────────────────
+
+    /** Rule that blocks on a latch, records start/finish, and optionally declares dependencies. */
+    static class ProbeRule extends SuccessfulRule {
+        private final Set<String> dependsOn;
+        private final Runnable body;
+        private final List<String> events;
+
+        ProbeRule(String ruleId, int order, Set<String> dependsOn, List<String> events, Runnable body) {
+            super(ruleId, order, BigDecimal.ONE);
+            this.dependsOn = dependsOn;
+            this.events = events;
+            this.body = body;
+        }
+
+        @Override public Set<String> getDependsOn() { return dependsOn; }
+
+        @Override
+        public AuditRuleResult<String> execute(String input, AuditContext context) {
+            events.add("start:" + getRuleId());
+            body.run();
+            events.add("end:" + getRuleId());
+            return super.execute(input, context);
+        }
+    }
+
+    static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("latch timed out — rules did not overlap");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Nested
+    @DisplayName("Parallel execution")
+    class Parallel {
+
+        private ExecutorService pool;
+        private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+        @BeforeEach
+        void setUp() {
+            pool = Executors.newFixedThreadPool(4);
+        }
+
+        @AfterEach
+        void tearDown() {
+            pool.shutdownNow();
+        }
+
+        private PipelineExecutor executor(String... ruleIds) {
+            List<InputResolver<?>> resolvers = new ArrayList<>();
+            for (String id : ruleIds) {
+                resolvers.add(new FixedStringResolver(id));
+            }
+            return new PipelineExecutor(new InputResolverRegistry(resolvers), pool, 4);
+        }
+
+        @Test
+        @DisplayName("Independent rules run at the same time")
+        void independentRulesOverlap() {
+            CountDownLatch bothRunning = new CountDownLatch(2);
+            Runnable rendezvous = () -> { bothRunning.countDown(); await(bothRunning); };
+            var a = new ProbeRule("A", 10, Set.of(), events, rendezvous);
+            var b = new ProbeRule("B", 50, Set.of(), events, rendezvous);
+
+            PipelineResult result = executor("A", "B").execute(List.of(a, b), ctx());
+
+            assertEquals(List.of("A", "B"), result.rulesExecuted());
+            assertTrue(result.ruleResults().stream().allMatch(r -> "SUCCESS".equals(r.status())));
+        }
+
+        @Test
+        @DisplayName("Results keep input order even when later rules finish first")
+        void deterministicOrder() {
+            CountDownLatch lastFinished = new CountDownLatch(1);
+            var slow = new ProbeRule("SLOW", 10, Set.of(), events, () -> await(lastFinished));
+            var mid = new ProbeRule("MID", 20, Set.of(), events, () -> { });
+            var fast = new ProbeRule("FAST", 30, Set.of(), events, lastFinished::countDown);
+
+            PipelineResult result = executor("SLOW", "MID", "FAST").execute(List.of(slow, mid, fast), ctx());
+
+            assertTrue(events.indexOf("start:FAST") < events.indexOf("end:SLOW"));
+            assertEquals(List.of("SLOW", "MID", "FAST"), result.rulesExecuted());
+            assertEquals(List.of("SLOW", "MID", "FAST"),
+                    result.allFindings().stream().map(AuditFinding::ruleId).toList());
+        }
+
+        @Test
+        @DisplayName("Declared dependency starts only after its prerequisite finished")
+        void declaredDependency() {
+            var base = new ProbeRule("BASE", 50, Set.of(), events, () -> sleep(50));
+            var dependent = new ProbeRule("DEPENDENT", 20, Set.of("BASE", "NOT_IN_RUN"), events, () -> { });
+
+            PipelineResult result = executor("BASE", "DEPENDENT").execute(List.of(dependent, base), ctx());
+
+            assertTrue(events.indexOf("end:BASE") < events.indexOf("start:DEPENDENT"));
+            assertEquals(List.of("DEPENDENT", "BASE"), result.rulesExecuted());
+        }
+
+        @Test
+        @DisplayName("Pre-check rules gate every later rule")
+        void preCheckBand() {
+            var preCheck = new ProbeRule("PRE", 5, Set.of(), events, () -> sleep(50));
+            var a = new ProbeRule("A", 10, Set.of(), events, () -> { });
+            var b = new ProbeRule("B", 60, Set.of(), events, () -> { });
+
+            executor("PRE", "A", "B").execute(List.of(preCheck, a, b), ctx());
+
+            int preEnd = events.indexOf("end:PRE");
+            assertTrue(preEnd < events.indexOf("start:A"));
+            assertTrue(preEnd < events.indexOf("start:B"));
+        }
+
+        @Test
+        @DisplayName("A failing rule is isolated and its dependents still run")
+        void failureIsolation() {
+            var failing = new FailingRule();
+            var dependent = new ProbeRule("AFTER_FAIL", 60, Set.of("FAILING_RULE"), events, () -> { });
+            var other = new SuccessfulRule("OTHER", 10, new BigDecimal("10.00"));
+
+            PipelineResult result = executor("FAILING_RULE", "AFTER_FAIL", "OTHER")
+                    .execute(List.of(other, failing, dependent), ctx());
+
+            assertEquals(List.of("SUCCESS", "FAILED", "SUCCESS"),
+                    result.ruleResults().stream().map(RuleExecutionResult::status).toList());
+            assertEquals(0, new BigDecimal("11.00").compareTo(result.totalImpact()));
+        }
+
+        @Test
+        @DisplayName("Dependency cycle falls back to sequential input order")
+        void cycleFallsBackToSequential() {
+            var a = new ProbeRule("A", 10, Set.of("B"), events, () -> { });
+            var b = new ProbeRule("B", 20, Set.of("A"), events, () -> { });
+
+            PipelineResult result = executor("A", "B").execute(List.of(a, b), ctx());
+
+            assertEquals(List.of("start:A", "end:A", "start:B", "end:B"), events);
+            assertEquals(2, result.allFindings().size());
+        }
+
+        @Test
+        @DisplayName("Saturated pool runs rules inline instead of failing them")
+        void rejectionRunsInline() {
+            var a = new SuccessfulRule("A", 10, BigDecimal.ONE);
+            var b = new SuccessfulRule("B", 20, BigDecimal.ONE);
+            var registry = new InputResolverRegistry(List.of(
+                    new FixedStringResolver("A"), new FixedStringResolver("B")));
+            java.util.concurrent.Executor rejecting = task -> {
+                throw new java.util.concurrent.RejectedExecutionException("full");
+            };
+
+            PipelineResult result = new PipelineExecutor(registry, rejecting, 4).execute(List.of(a, b), ctx());
+
+            assertTrue(result.ruleResults().stream().allMatch(r -> "SUCCESS".equals(r.status())));
+        }
+    }
+
+    static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package com.learning.backendservice.engine.rules;
 
+import com.learning.backendservice.config.MemoryGuard;
+import com.learning.backendservice.config.TenantContextTaskDecorator;
 import com.learning.backendservice.domain.ledger.LedgerFileProcessor;
 import com.learning.backendservice.domain.ledger.LedgerFileProcessor.ProcessingOutcome;
 import com.learning.backendservice.domain.rule37.InterestRow;
@@ -9,11 +11,13 @@ import com.learning.backendservice.engine.AuditContext;
 import com.learning.backendservice.engine.AuditFinding;
 import com.learning.backendservice.engine.AuditRuleResult;
 import com.learning.backendservice.exception.LedgerParseException;
+import com.learning.common.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockMultipartFile;
@@ -22,7 +26,13 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,13 +46,13 @@ class Rule37AuditRuleTest {
     @Mock
     private LedgerFileProcessor ledgerFileProcessor;
 
-    @InjectMocks
     private Rule37AuditRule rule37AuditRule;
 
     private AuditContext context;
 
     @BeforeEach
     void setUp() {
+        rule37AuditRule = new Rule37AuditRule(ledgerFileProcessor);
         context = AuditContext.of(
                 "tenant123",
                 "user1",
@@ -147,4 +157,128 @@ class Rule37AuditRuleTest {
         LedgerParseException ex = assertThrows(LedgerParseException.class, () -> rule37AuditRule.execute(files, context));
         assertTrue(ex.getMessage().contains("Processing failed"));
     }
+
+    @Nested
+    @DisplayName("Parallel file processing")
+    class ParallelProcessing {
+
+        private ExecutorService executor;
+        private MemoryGuard memoryGuard;
+
+        @BeforeEach
+        void setUpPool() {
+            executor = Executors.newFixedThreadPool(4);
+            memoryGuard = new MemoryGuard(64L * 1024 * 1024);
+        }
+
+        @AfterEach
+        void tearDownPool() {
+            executor.shutdownNow();
+            TenantContext.clear();
+        }
+
+        private Rule37AuditRule parallelRule(LedgerFileProcessor processor, int parallelism) {
+            TenantContextTaskDecorator decorator = new TenantContextTaskDecorator();
+            return new Rule37AuditRule(processor, task -> executor.execute(decorator.decorate(task)),
+                    memoryGuard, parallelism);
+        }
+
+        private List<MultipartFile> files(int n) {
+            List<MultipartFile> files = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                files.add(new MockMultipartFile("f" + i, "ledger-" + i + ".xlsx",
+                        "application/vnd.ms-excel", ("file-" + i).getBytes()));
+            }
+            return files;
+        }
+
+        private LedgerResult cleanResult(String name) {
+            CalculationSummary summary = new CalculationSummary();
+            summary.setTotalItcReversal(BigDecimal.ONE);
+            summary.setTotalInterest(BigDecimal.ZERO);
+            summary.setDetails(List.of());
+            return LedgerResult.builder().ledgerName(name).summary(summary).build();
+        }
+
+        @Test
+        @DisplayName("Results keep upload order even when later files finish first")
+        void deterministicOrdering() {
+            int budgetBefore = memoryGuard.availableBudgetMb();
+            LedgerFileProcessor slowFirst = new LedgerFileProcessor() {
+                @Override
+                public LedgerResult process(InputStream in, String filename, LocalDate asOnDate) {
+                    return processWithLedgerCount(in, filename, asOnDate).result();
+                }
+
+                @Override
+                public ProcessingOutcome processWithLedgerCount(InputStream in, String filename, LocalDate asOnDate) {
+                    int index = Integer.parseInt(filename.replaceAll("\\D", ""));
+                    sleep((8 - index) * 10L);
+                    return new ProcessingOutcome(cleanResult(filename), index + 1);
+                }
+            };
+
+            AuditRuleResult<List<LedgerResult>> result = parallelRule(slowFirst, 4).execute(files(8), context);
+
+            assertEquals(List.of("ledger-0.xlsx", "ledger-1.xlsx", "ledger-2.xlsx", "ledger-3.xlsx",
+                            "ledger-4.xlsx", "ledger-5.xlsx", "ledger-6.xlsx", "ledger-7.xlsx"),
+                    result.ruleSpecificOutput().stream().map(LedgerResult::getLedgerName).toList());
+            assertEquals(36, result.creditsConsumed());
+            assertEquals(0, new BigDecimal("8").compareTo(result.totalImpact()));
+            assertEquals(budgetBefore, memoryGuard.availableBudgetMb(), "all heap reservations released");
+        }
+
+        @Test
+        @DisplayName("Tenant context and bounded parallelism are honoured on worker threads")
+        void tenantPropagatedAndBounded() {
+            TenantContext.setCurrentTenant("tenant-xyz");
+            Set<String> tenantsSeen = ConcurrentHashMap.newKeySet();
+            AtomicInteger inFlight = new AtomicInteger();
+            AtomicInteger maxInFlight = new AtomicInteger();
+
+            when(ledgerFileProcessor.processWithLedgerCount(any(InputStream.class), anyString(), any(LocalDate.class)))
+                    .thenAnswer(inv -> {
+                        tenantsSeen.add(TenantContext.getCurrentTenant());
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        sleep(20);
+                        inFlight.decrementAndGet();
+                        return new ProcessingOutcome(cleanResult(inv.getArgument(1)), 1);
+                    });
+
+            parallelRule(ledgerFileProcessor, 2).execute(files(6), context);
+
+            assertEquals(Set.of("tenant-xyz"), tenantsSeen);
+            assertTrue(maxInFlight.get() <= 2, "at most 2 files of one upload in flight");
+        }
+
+        @Test
+        @DisplayName("First LedgerParseException fails the whole upload fast")
+        void failFastOnParseError() {
+            AtomicInteger started = new AtomicInteger();
+            when(ledgerFileProcessor.processWithLedgerCount(any(InputStream.class), anyString(), any(LocalDate.class)))
+                    .thenAnswer(inv -> {
+                        started.incrementAndGet();
+                        String name = inv.getArgument(1);
+                        if (name.equals("ledger-0.xlsx")) {
+                            throw new LedgerParseException("Bad header in " + name);
+                        }
+                        sleep(50);
+                        return new ProcessingOutcome(cleanResult(name), 1);
+                    });
+
+            LedgerParseException ex = assertThrows(LedgerParseException.class,
+                    () -> parallelRule(ledgerFileProcessor, 2).execute(files(10), context));
+
+            assertTrue(ex.getMessage().contains("ledger-0.xlsx"));
+            assertTrue(started.get() < 10, "remaining files are not started after a failure");
+        }
+
+        private static void sleep(long ms) {
+            try {
+                Thread.sleep(ms);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
 }
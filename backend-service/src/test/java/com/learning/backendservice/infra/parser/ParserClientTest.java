@@ -112,4 +112,21 @@ class ParserClientTest {
         // Assert
         assertThat(response).isNull(); // Returns early when enabled=false
     }
+
+    @Test
+    void testParserVersion_ReadFromHealth() throws Exception {
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("{\"status\": \"up\", \"version\": \"1.2.0\"}")
+                .addHeader("Content-Type", "application/json"));
+
+        assertThat(parserClient.parserVersion()).isEqualTo("1.2.0");
+        assertThat(mockWebServer.takeRequest().getPath()).isEqualTo("/health");
+    }
+
+    @Test
+    void testParserVersion_NullWhenSidecarFails() {
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+
+        assertThat(parserClient.parserVersion()).isNull();
+    }
 }
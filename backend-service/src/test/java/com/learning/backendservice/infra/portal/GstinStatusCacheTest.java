@@ -0,0 +1,202 @@
+package com.learning.backendservice.infra.portal;
+
+import com.learning.backendservice.repository.GstinStatusCacheStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("GstinStatusCache")
+class GstinStatusCacheTest {
+
+    private static final long PORTAL_LATENCY_MS = 20;
+    private static final int FETCH_PARALLELISM = 16;
+
+    @Mock private GstinStatusCacheStore store;
+
+    private StubPortal portal;
+    private ExecutorService lookupExecutor;
+    private GstinStatusCache cache;
+
+    /** Local stand-in for the portal: fixed latency per call, counts calls per GSTIN and calls in flight. */
+    static class StubPortal extends PortalClient {
+        final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+        final Set<String> failing = ConcurrentHashMap.newKeySet();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+
+        @Override
+        public GstinStatus getGstinStatus(String gstin) {
+            calls.computeIfAbsent(gstin, g -> new AtomicInteger()).incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(PORTAL_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            if (failing.contains(gstin)) {
+                throw new IllegalStateException("portal timeout");
+            }
+            return super.getGstinStatus(gstin);
+        }
+
+        int totalCalls() {
+            return calls.values().stream().mapToInt(AtomicInteger::get).sum();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        portal = new StubPortal();
+        lookupExecutor = Executors.newFixedThreadPool(FETCH_PARALLELISM);
+        cache = new GstinStatusCache(portal, store, lookupExecutor, new SimpleMeterRegistry(),
+                Duration.ofDays(7), Duration.ofMinutes(10), Duration.ofDays(1), 10_000);
+        when(store.findFresh(anyCollection(), any())).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        lookupExecutor.shutdownNow();
+    }
+
+    private static Set<String> gstins(int count) {
+        Set<String> gstins = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            gstins.add(String.format("29AAAAA%04dA1Z5", i));
+        }
+        return gstins;
+    }
+
+    private static GstinStatusCacheStore.Row row(String gstin, String status, OffsetDateTime expiresAt) {
+        return new GstinStatusCacheStore.Row(gstin, status, null, expiresAt.minusDays(7), expiresAt);
+    }
+
+    @Test
+    @DisplayName("800 supplier misses are fetched concurrently, once each, and stored in one batch")
+    void bulkMissesFetchedConcurrently() {
+        Set<String> suppliers = gstins(800);
+
+        Map<String, PortalClient.GstinStatus> statuses = cache.getGstinStatuses(suppliers);
+
+        assertThat(statuses).hasSize(800);
+        assertThat(portal.totalCalls()).isEqualTo(800);
+        assertThat(portal.calls.values()).allSatisfy(calls -> assertThat(calls).hasValue(1));
+        // Overlapping calls, but never more than the lookup pool allows
+        assertThat(portal.maxInFlight.get()).isBetween(2, FETCH_PARALLELISM);
+        verify(store, times(1)).findFresh(anyCollection(), any());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<GstinStatusCacheStore.Row>> rows = ArgumentCaptor.forClass(List.class);
+        verify(store).upsert(any(), rows.capture());
+        assertThat(rows.getValue()).hasSize(800);
+    }
+
+    @Test
+    @DisplayName("Repeated lookups are served locally without the table or the portal")
+    void repeatedLookupServedLocally() {
+        Set<String> suppliers = gstins(50);
+        cache.getGstinStatuses(suppliers);
+
+        cache.getGstinStatuses(suppliers);
+
+        assertThat(portal.totalCalls()).isEqualTo(50);
+        verify(store, times(1)).findFresh(anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("Fresh table rows are used without calling the portal")
+    void tableRowsServeMisses() {
+        OffsetDateTime expiresAt = OffsetDateTime.now().plusDays(5);
+        when(store.findFresh(anyCollection(), any())).thenReturn(List.of(
+                row("29AAAAA0000A1Z5", "CANCELLED", expiresAt)));
+
+        Map<String, PortalClient.GstinStatus> statuses = cache.getGstinStatuses(Set.of("29AAAAA0000A1Z5"));
+
+        assertThat(statuses.get("29AAAAA0000A1Z5").status()).isEqualTo("CANCELLED");
+        assertThat(portal.totalCalls()).isZero();
+        verify(store, never()).upsert(any(), any());
+    }
+
+    @Test
+    @DisplayName("Failed portal lookups are negatively cached and never stored")
+    void failuresNegativelyCached() {
+        portal.failing.add("29AAAAA0001A1Z5");
+        portal.setStubStatus("29AAAAA0000A1Z5", "CANCELLED", LocalDate.of(2024, 3, 31));
+        Set<String> suppliers = Set.of("29AAAAA0000A1Z5", "29AAAAA0001A1Z5");
+
+        Map<String, PortalClient.GstinStatus> first = cache.getGstinStatuses(suppliers);
+        Map<String, PortalClient.GstinStatus> second = cache.getGstinStatuses(suppliers);
+
+        assertThat(first).containsOnlyKeys("29AAAAA0000A1Z5");
+        assertThat(second).containsOnlyKeys("29AAAAA0000A1Z5");
+        assertThat(portal.calls.get("29AAAAA0001A1Z5")).hasValue(1);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<GstinStatusCacheStore.Row>> rows = ArgumentCaptor.forClass(List.class);
+        verify(store).upsert(any(), rows.capture());
+        assertThat(rows.getValue()).extracting(GstinStatusCacheStore.Row::gstin).containsExactly("29AAAAA0000A1Z5");
+    }
+
+    @Test
+    @DisplayName("Entries close to expiry are served and refreshed in the background")
+    void refreshAheadBeforeExpiry() throws InterruptedException {
+        when(store.findFresh(anyCollection(), any())).thenReturn(List.of(
+                row("29AAAAA0000A1Z5", "ACTIVE", OffsetDateTime.now().plusHours(2))));
+        portal.setStubStatus("29AAAAA0000A1Z5", "CANCELLED", LocalDate.of(2024, 3, 31));
+
+        Map<String, PortalClient.GstinStatus> statuses = cache.getGstinStatuses(Set.of("29AAAAA0000A1Z5"));
+
+        assertThat(statuses.get("29AAAAA0000A1Z5").status()).isEqualTo("ACTIVE");
+        verify(store, timeout(2000)).upsert(any(), argThat(rows -> rows.size() == 1
+                && rows.get(0).status().equals("CANCELLED")));
+        String refreshed = null;
+        for (int i = 0; i < 100 && !"CANCELLED".equals(refreshed); i++) {
+            Thread.sleep(20);
+            refreshed = cache.getGstinStatuses(Set.of("29AAAAA0000A1Z5")).get("29AAAAA0000A1Z5").status();
+        }
+        assertThat(refreshed).isEqualTo("CANCELLED");
+        assertThat(portal.totalCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("An unavailable table falls through to the portal")
+    void tableFailureFallsThroughToPortal() {
+        when(store.findFresh(anyCollection(), any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        Map<String, PortalClient.GstinStatus> statuses = cache.getGstinStatuses(Set.of("29AAAAA0000A1Z5"));
+
+        assertThat(statuses).containsKey("29AAAAA0000A1Z5");
+        assertThat(portal.totalCalls()).isEqualTo(1);
+        verify(store).upsert(eq("default"), any());
+    }
+}
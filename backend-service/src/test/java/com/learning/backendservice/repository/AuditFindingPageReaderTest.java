@@ -0,0 +1,69 @@
+package com.learning.backendservice.repository;
+
+import com.learning.backendservice.entity.AuditRunFinding;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditFindingPageReader")
+class AuditFindingPageReaderTest {
+
+    private static final UUID RUN_ID = UUID.randomUUID();
+    private static final OffsetDateTime EXPIRES_AT = OffsetDateTime.parse("2024-04-07T00:00:00Z");
+
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private AuditFindingPageReader reader;
+
+    @BeforeEach
+    void setUp() {
+        reader = new AuditFindingPageReader(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("First unfiltered page: run, partition and tenant predicates only")
+    void firstPage() {
+        reader.page(RUN_ID, EXPIRES_AT, "tenant-1", new AuditFindingPageReader.Filter(null, " ", null), null, 51);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).query(sql.capture(), ArgumentMatchers.<RowMapper<AuditRunFinding>>any(), args.capture());
+        assertThat(sql.getValue())
+                .endsWith("WHERE run_id = ? AND run_expires_at = ? AND tenant_id = ? "
+                        + "ORDER BY impact_amount DESC, id DESC LIMIT ?");
+        assertThat(args.getValue()).containsExactly(RUN_ID, EXPIRES_AT, "tenant-1", 51);
+    }
+
+    @Test
+    @DisplayName("Filters and cursor become predicates in a fixed order")
+    void filteredPageAfterCursor() {
+        UUID lastId = UUID.randomUUID();
+        reader.page(RUN_ID, EXPIRES_AT, "tenant-1",
+                new AuditFindingPageReader.Filter("CRITICAL", "RULE_37_ITC_REVERSAL", "FY: 2024-25"),
+                new AuditFindingPageReader.Cursor(new BigDecimal("1500.50"), lastId), 11);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbcTemplate).query(sql.capture(), ArgumentMatchers.<RowMapper<AuditRunFinding>>any(), args.capture());
+        assertThat(sql.getValue())
+                .contains("AND severity = ? AND rule_id = ? AND compliance_period = ? "
+                        + "AND (impact_amount, id) < (?, ?) ORDER BY impact_amount DESC, id DESC LIMIT ?");
+        assertThat(args.getValue()).containsExactly(RUN_ID, EXPIRES_AT, "tenant-1", "CRITICAL",
+                "RULE_37_ITC_REVERSAL", "FY: 2024-25", new BigDecimal("1500.50"), lastId, 11);
+    }
+}
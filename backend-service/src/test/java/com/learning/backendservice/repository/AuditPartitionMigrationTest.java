@@ -0,0 +1,174 @@
+package com.learning.backendservice.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Migrates V12-shaped audit data through V13 (partitioning) to the latest schema, then
+ * exercises partition creation over DEFAULT rows and partition drops. Runs the real
+ * Flyway migrations, unlike {@code BaseIntegrationTest}, which lets Hibernate create
+ * the schema.
+ */
+@Testcontainers
+@DisplayName("Audit partition migrations (V12 → V13 → latest)")
+class AuditPartitionMigrationTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(DockerImageName.parse("postgres:16.4-alpine"))
+                    .withDatabaseName("test")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    private PGSimpleDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private AuditPartitionManager partitionManager;
+    private LocalDate today;
+
+    /** Expires in three days: V13 gives its day a partition. */
+    private UUID current;
+    /** Expired two days ago: V13 leaves it in DEFAULT. */
+    private UUID expired;
+    /** Expires past V13's one-year cap: V13 leaves it in DEFAULT. */
+    private UUID distant;
+
+    @BeforeEach
+    void migrateV12Data() {
+        dataSource = new PGSimpleDataSource();
+        dataSource.setURL(postgres.getJdbcUrl());
+        dataSource.setUser(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        partitionManager = new AuditPartitionManager(jdbcTemplate);
+        today = LocalDate.now(ZoneOffset.UTC);
+
+        flyway("12").clean();
+        flyway("12").migrate();
+
+        current = insertV12Run(today.plusDays(3), 2);
+        expired = insertV12Run(today.minusDays(2), 1);
+        distant = insertV12Run(today.plusDays(400), 1);
+
+        flyway("latest").migrate();
+    }
+
+    @Test
+    @DisplayName("V13 copies every row and routes it to its day partition or DEFAULT")
+    void shouldPartitionV12Data() {
+        assertEquals(3, count("audit_runs"));
+        assertEquals(4, count("audit_findings"));
+        assertEquals(3, count("audit_run_rule_results"));
+
+        assertEquals("audit_runs" + suffix(today.plusDays(3)), partitionOf("audit_runs", "id", current));
+        assertEquals("audit_findings" + suffix(today.plusDays(3)), partitionOf("audit_findings", "run_id", current));
+        assertEquals("audit_runs_default", partitionOf("audit_runs", "id", expired));
+        assertEquals("audit_runs_default", partitionOf("audit_runs", "id", distant));
+        assertTrue(partitionManager.partitionDays().contains(today.plusDays(14)));
+    }
+
+    @Test
+    @DisplayName("Creating a day that already has rows in DEFAULT moves them into the new partitions")
+    void shouldMoveDefaultRowsIntoNewPartition() {
+        LocalDate day = today.plusDays(400);
+
+        assertEquals(3, partitionManager.createPartitions(day));
+
+        assertEquals("audit_runs" + suffix(day), partitionOf("audit_runs", "id", distant));
+        assertEquals("audit_findings" + suffix(day), partitionOf("audit_findings", "run_id", distant));
+        assertEquals("audit_run_rule_results" + suffix(day),
+                partitionOf("audit_run_rule_results", "run_id", distant));
+        assertEquals(3, count("audit_runs"));
+        assertEquals(4, count("audit_findings"));
+        assertEquals(0, partitionManager.createPartitions(day), "already created");
+    }
+
+    @Test
+    @DisplayName("A range spanning a day with DEFAULT rows creates every day of the range")
+    void shouldCreateWholeRangeAcrossDefaultRows() {
+        Integer created = jdbcTemplate.queryForObject("SELECT create_audit_partitions(?, ?)", Integer.class,
+                today.plusDays(399), today.plusDays(401));
+
+        assertEquals(9, created);
+        assertTrue(partitionManager.partitionDays().containsAll(
+                List.of(today.plusDays(399), today.plusDays(400), today.plusDays(401))));
+        assertEquals("audit_runs" + suffix(today.plusDays(400)), partitionOf("audit_runs", "id", distant));
+    }
+
+    @Test
+    @DisplayName("Dropping an expired day removes its runs with their findings and rule results")
+    void shouldDropExpiredPartition() {
+        LocalDate day = today.minusDays(2);
+        partitionManager.createPartitions(day);
+        assertEquals("audit_runs" + suffix(day), partitionOf("audit_runs", "id", expired));
+
+        partitionManager.dropPartitions(day);
+
+        assertFalse(partitionManager.partitionDays().contains(day));
+        assertEquals(0, countFor("audit_runs", "id", expired));
+        assertEquals(0, countFor("audit_findings", "run_id", expired));
+        assertEquals(0, countFor("audit_run_rule_results", "run_id", expired));
+        assertEquals(2, count("audit_runs"));
+    }
+
+    // ─── Helpers ────────────────────────────────────────────────────────────
+
+    private Flyway flyway(String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .table("flyway_schema_history_backend")
+                .cleanDisabled(false)
+                .target(target)
+                .load();
+    }
+
+    /** A run in the V12 (unpartitioned) schema with {@code findings} findings and one rule result. */
+    private UUID insertV12Run(LocalDate expiryDay, int findings) {
+        UUID runId = UUID.randomUUID();
+        OffsetDateTime expiresAt = expiryDay.atTime(12, 0).atOffset(ZoneOffset.UTC);
+        jdbcTemplate.update("INSERT INTO audit_runs (id, tenant_id, user_id, status, expires_at) "
+                + "VALUES (?, 'tenant-1', 'user-1', 'SUCCESS', ?)", runId, expiresAt);
+        for (int i = 0; i < findings; i++) {
+            jdbcTemplate.update("INSERT INTO audit_findings (id, run_id, tenant_id, rule_id, severity, description) "
+                    + "VALUES (?, ?, 'tenant-1', 'RULE_37_ITC_REVERSAL', 'HIGH', 'Violation')", UUID.randomUUID(), runId);
+        }
+        jdbcTemplate.update("INSERT INTO audit_run_rule_results (id, run_id, tenant_id, rule_id) "
+                + "VALUES (?, ?, 'tenant-1', 'RULE_37_ITC_REVERSAL')", UUID.randomUUID(), runId);
+        return runId;
+    }
+
+    private static String suffix(LocalDate day) {
+        return "_p" + DateTimeFormatter.BASIC_ISO_DATE.format(day);
+    }
+
+    private String partitionOf(String table, String runColumn, UUID runId) {
+        return jdbcTemplate.queryForObject("SELECT DISTINCT tableoid::regclass::text FROM " + table
+                + " WHERE " + runColumn + " = ?", String.class, runId);
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    private int countFor(String table, String runColumn, UUID runId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + runColumn + " = ?",
+                Integer.class, runId);
+    }
+}
@@ -0,0 +1,179 @@
+package com.learning.backendservice.repository;
+
+import com.learning.backendservice.entity.AuditRun;
+import com.learning.backendservice.entity.AuditRunFinding;
+import com.learning.backendservice.entity.AuditRunRuleResult;
+import com.learning.backendservice.util.UuidV7;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditResultBulkWriter")
+class AuditResultBulkWriterTest {
+
+    private static final int COPY_THRESHOLD = 10;
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2024, 3, 31, 10, 15, 30, 0, ZoneOffset.ofHoursMinutes(5, 30));
+    private static final OffsetDateTime EXPIRES_AT = NOW.plusDays(7);
+
+    @Mock private EntityManager entityManager;
+    @Mock private JdbcTemplate jdbcTemplate;
+
+    private AuditResultBulkWriter writer;
+    private AuditRun run;
+
+    @BeforeEach
+    void setUp() {
+        writer = new AuditResultBulkWriter(entityManager, jdbcTemplate, COPY_THRESHOLD);
+        run = AuditRun.builder().id(UuidV7.generate()).tenantId("tenant-1").expiresAt(EXPIRES_AT).build();
+    }
+
+    private List<AuditRunFinding> findings(int count) {
+        List<AuditRunFinding> findings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            findings.add(AuditRunFinding.builder()
+                    .id(UuidV7.generate())
+                    .auditRun(run)
+                    .tenantId("tenant-1")
+                    .ruleId("RULE_37_ITC_REVERSAL")
+                    .severity("HIGH")
+                    .impactAmount(new BigDecimal("1500.50"))
+                    .description("Unpaid invoice INV-" + i)
+                    .createdAt(NOW)
+                    .build());
+        }
+        return findings;
+    }
+
+    @Test
+    @DisplayName("Does nothing for an empty finding set")
+    void emptyFindings() {
+        writer.insertFindings(List.of());
+
+        verifyNoInteractions(entityManager, jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Flushes the run, then inserts small finding sets as a JDBC batch")
+    @SuppressWarnings("unchecked")
+    void batchesBelowThreshold() throws Exception {
+        List<AuditRunFinding> findings = findings(COPY_THRESHOLD - 1);
+
+        writer.insertFindings(findings);
+
+        ArgumentCaptor<ParameterizedPreparedStatementSetter<AuditRunFinding>> setter =
+                ArgumentCaptor.forClass(ParameterizedPreparedStatementSetter.class);
+        InOrder order = inOrder(entityManager, jdbcTemplate);
+        order.verify(entityManager).flush();
+        order.verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO audit_findings"), eq(findings),
+                eq(AuditResultBulkWriter.BATCH_SIZE), setter.capture());
+        verify(jdbcTemplate, never()).execute(any(ConnectionCallback.class));
+
+        PreparedStatement ps = mock(PreparedStatement.class);
+        setter.getValue().setValues(ps, findings.get(0));
+        verify(ps).setObject(1, findings.get(0).getId());
+        verify(ps).setObject(2, run.getId());
+        verify(ps).setString(3, "tenant-1");
+        verify(ps).setBigDecimal(8, new BigDecimal("1500.50"));
+        verify(ps).setBoolean(11, false);
+        verify(ps).setObject(12, NOW);
+        verify(ps).setObject(13, EXPIRES_AT);
+    }
+
+    @Test
+    @DisplayName("Streams finding sets at the threshold with COPY, one line per finding")
+    @SuppressWarnings("unchecked")
+    void copiesAtThreshold() throws Exception {
+        List<AuditRunFinding> findings = findings(COPY_THRESHOLD);
+        ByteArrayOutputStream copied = new ByteArrayOutputStream();
+        CopyIn copyIn = mock(CopyIn.class);
+        doAnswer(i -> {
+            copied.write(i.<byte[]>getArgument(0), i.getArgument(1), i.getArgument(2));
+            return null;
+        }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        when(copyIn.endCopy()).thenReturn((long) COPY_THRESHOLD);
+        CopyManager copyManager = mock(CopyManager.class);
+        when(copyManager.copyIn(startsWith("COPY audit_findings"))).thenReturn(copyIn);
+        PGConnection pgConnection = mock(PGConnection.class);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        Connection connection = mock(Connection.class);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(i -> i.<ConnectionCallback<Long>>getArgument(0).doInConnection(connection));
+
+        writer.insertFindings(findings);
+
+        verify(entityManager).flush();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), any());
+        verify(copyIn).endCopy();
+        String[] lines = copied.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(COPY_THRESHOLD);
+        assertThat(lines[0].split("\t", -1))
+                .containsExactly(findings.get(0).getId().toString(), run.getId().toString(), "tenant-1",
+                        "RULE_37_ITC_REVERSAL", "HIGH", "\\N", "\\N", "1500.50", "Unpaid invoice INV-0",
+                        "\\N", "f", "2024-03-31T10:15:30+05:30", "2024-04-07T10:15:30+05:30");
+    }
+
+    @Test
+    @DisplayName("COPY rows escape backslash, tab and line breaks in free text")
+    void copyRowEscaping() {
+        AuditRunFinding finding = findings(1).get(0);
+        finding.setDescription("Line 1\nLine 2\r\tC:\\ledger");
+        finding.setImpactAmount(new BigDecimal("1E+3"));
+        finding.setAutoFixAvailable(true);
+
+        StringBuilder sb = new StringBuilder();
+        AuditResultBulkWriter.appendCopyRow(sb, finding);
+
+        String[] columns = sb.toString().split("\t", -1);
+        assertThat(columns).hasSize(13);
+        assertThat(columns[7]).isEqualTo("1000");
+        assertThat(columns[8]).isEqualTo("Line 1\\nLine 2\\r\\tC:\\\\ledger");
+        assertThat(columns[10]).isEqualTo("t");
+        assertThat(sb).endsWith("\n");
+    }
+
+    @Test
+    @DisplayName("Inserts rule results as a JDBC batch after flushing the run")
+    void ruleResults() {
+        List<AuditRunRuleResult> results = List.of(AuditRunRuleResult.builder()
+                .id(UuidV7.generate())
+                .auditRun(run)
+                .ruleId("GSTR1_LATE_FEE")
+                .createdAt(NOW)
+                .build());
+
+        writer.insertRuleResults(results);
+
+        InOrder order = inOrder(entityManager, jdbcTemplate);
+        order.verify(entityManager).flush();
+        order.verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO audit_run_rule_results"), eq(results),
+                eq(AuditResultBulkWriter.BATCH_SIZE), any());
+    }
+}
@@ -1,9 +1,12 @@
 package com.learning.backendservice.repository;
 
 import com.learning.backendservice.BaseIntegrationTest;
+import com.learning.backendservice.dto.AuditFindingPageResponse;
 import com.learning.backendservice.entity.AuditRun;
 import com.learning.backendservice.entity.AuditRunFinding;
+import com.learning.backendservice.service.AuditRunService;
 import com.learning.backendservice.util.UuidV7;
+import com.learning.common.tenant.TenantContext;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +15,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +32,12 @@ class AuditRunRepositoryTest extends BaseIntegrationTest {
     @Autowired
     private AuditRunRepository auditRunRepository;
 
+    @Autowired
+    private AuditFindingPageReader findingPageReader;
+
+    @Autowired
+    private AuditRunService auditRunService;
+
     @Test
     @DisplayName("Should save and retrieve AuditRun with Findings (UUID v7 PKs)")
     void shouldSaveAndRetrieveAuditRunWithFindings() {
@@ -128,6 +139,41 @@ class AuditRunRepositoryTest extends BaseIntegrationTest {
         assertEquals(run1.getId(), runs.get(1).getId());
     }
 
+    @Test
+    @DisplayName("Should list run summaries by user and rule without loading result data")
+    void shouldListSummaries() {
+        AuditRun run = new AuditRun();
+        run.setId(UuidV7.generate());
+        run.setTenantId("tenant-summary");
+        run.setStatus("SUCCESS");
+        run.setUserId("summary-user");
+        run.setCreatedAt(OffsetDateTime.now());
+        run.setExpiresAt(OffsetDateTime.now().plusDays(7));
+        run.setRulesExecuted(new String[]{"RULE_A", "RULE_B"});
+        run.setInputMetadata("{\"filename\": \"ledger.xlsx\"}");
+        run.setResultData("[{\"supplier\": \"Acme\"}]");
+        auditRunRepository.saveAndFlush(run);
+        entityManager.clear();
+
+        var pageable = org.springframework.data.domain.PageRequest.of(0, 10,
+                org.springframework.data.domain.Sort.by(org.springframework.data.domain.Sort.Direction.DESC, "createdAt"));
+        List<AuditRunSummary> all = auditRunRepository.findSummaries("tenant-summary", "summary-user", pageable).getContent();
+        assertEquals(1, all.size());
+        assertEquals(run.getId(), all.get(0).getId());
+        assertArrayEquals(new String[]{"RULE_A", "RULE_B"}, all.get(0).getRulesExecuted());
+        assertTrue(all.get(0).getInputMetadata().contains("ledger.xlsx"));
+
+        assertEquals(1, auditRunRepository.findSummariesByRuleId("tenant-summary", "summary-user", "RULE_B", pageable)
+                .getTotalElements());
+        assertEquals(0, auditRunRepository.findSummariesByRuleId("tenant-summary", "summary-user", "RULE_C", pageable)
+                .getTotalElements());
+
+        // result_data is lazy on the entity: loading the run leaves it unselected until read
+        AuditRun loaded = auditRunRepository.findById(run.getId()).orElseThrow();
+        assertFalse(org.hibernate.Hibernate.isPropertyInitialized(loaded, "resultData"));
+        assertTrue(loaded.getResultData().contains("Acme"));
+    }
+
     @Test
     @DisplayName("Should bulk delete expired runs and cascade findings")
     void shouldDeleteExpiredRuns() {
@@ -181,7 +227,7 @@ class AuditRunRepositoryTest extends BaseIntegrationTest {
         auditRunRepository.saveAllAndFlush(List.of(expiredRun, activeRun));
 
         // Act
-        int deletedCount = auditRunRepository.deleteByExpiresAtBefore(OffsetDateTime.now());
+        int deletedCount = auditRunRepository.deleteExpiredBatch(OffsetDateTime.now(), 100);
 
         // Assert
         assertEquals(1, deletedCount);
@@ -195,4 +241,117 @@ class AuditRunRepositoryTest extends BaseIntegrationTest {
         assertNull(entityManager.find(AuditRunFinding.class, finding1.getId()), "Finding 1 should be gone");
         assertNotNull(entityManager.find(AuditRunFinding.class, finding2.getId()), "Finding 2 should remain");
     }
+
+    @Test
+    @DisplayName("Should requeue a job by heartbeat age, once, and never while it heartbeats")
+    void shouldRequeueStaleJobsByHeartbeat() {
+        OffsetDateTime now = OffsetDateTime.now();
+        AuditRun silent = runningJob(now.minusHours(2), now.minusMinutes(10));
+        AuditRun longLived = runningJob(now.minusHours(2), now.minusSeconds(20));
+        auditRunRepository.saveAllAndFlush(List.of(silent, longLived));
+
+        OffsetDateTime cutoff = now.minusMinutes(5);
+        assertEquals(List.of(silent.getId()),
+                auditRunRepository.findStaleRunning(cutoff).stream().map(AuditRun::getId).toList());
+
+        assertEquals(0, auditRunRepository.requeueStale(longLived.getId(), cutoff), "live job keeps its claim");
+        assertEquals(1, auditRunRepository.requeueStale(silent.getId(), cutoff));
+        assertEquals(0, auditRunRepository.requeueStale(silent.getId(), cutoff), "second recoverer loses");
+        assertEquals(0, auditRunRepository.abandonStale(silent.getId(), "late", cutoff, now));
+
+        assertEquals(1, auditRunRepository.heartbeat(longLived.getId(), 1, now));
+        assertEquals(0, auditRunRepository.heartbeat(silent.getId(), 1, now), "only RUNNING jobs heartbeat");
+        entityManager.clear();
+        assertEquals("PENDING", auditRunRepository.findById(silent.getId()).orElseThrow().getStatus());
+        assertEquals("RUNNING", auditRunRepository.findById(longLived.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should fence heartbeats and completion on the claim attempt that owns a job")
+    void shouldFenceJobOnClaimAttempt() {
+        OffsetDateTime now = OffsetDateTime.now();
+        AuditRun job = runningJob(now.minusHours(1), now.minusMinutes(10));
+        auditRunRepository.saveAndFlush(job);
+        // Attempt 1 stalled: the job was requeued and claimed again as attempt 2
+        assertEquals(1, auditRunRepository.requeueStale(job.getId(), now.minusMinutes(5)));
+        assertEquals(1, auditRunRepository.markRunning(List.of(job.getId()), now));
+
+        assertEquals(0, auditRunRepository.heartbeat(job.getId(), 1, now));
+        assertTrue(auditRunRepository.lockOwnedJob(job.getId(), 1).isEmpty());
+        assertEquals(0, auditRunRepository.markFailed(job.getId(), 1, "stalled", now));
+
+        assertEquals(1, auditRunRepository.heartbeat(job.getId(), 2, now));
+        assertEquals(Optional.of(job.getId()), auditRunRepository.lockOwnedJob(job.getId(), 2));
+        assertEquals(1, auditRunRepository.markFailed(job.getId(), 2, "failed", now));
+    }
+
+    @Test
+    @DisplayName("Should page findings by cursor without gaps or duplicates when impact amounts tie")
+    void shouldPageFindingsAcrossTiedImpactAmounts() {
+        AuditRun run = new AuditRun();
+        run.setId(UuidV7.generate());
+        run.setTenantId("tenant-pages");
+        run.setUserId("page-user");
+        run.setRulesExecuted(new String[]{"RULE_A"});
+        run.setAnalysisMode("LEDGER_ANALYSIS");
+        run.setStatus("SUCCESS");
+        run.setCreatedAt(OffsetDateTime.now());
+        run.setExpiresAt(OffsetDateTime.now().plusDays(7).truncatedTo(ChronoUnit.MICROS));
+        List<AuditRunFinding> findings = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            AuditRunFinding finding = new AuditRunFinding();
+            finding.setId(UuidV7.generate());
+            finding.setAuditRun(run);
+            finding.setTenantId(run.getTenantId());
+            finding.setRuleId("RULE_A");
+            finding.setSeverity("HIGH");
+            // Three amounts only, so most page boundaries fall inside a tie
+            finding.setImpactAmount(new BigDecimal(new String[]{"500.00", "250.00", "250.00"}[i % 3]));
+            finding.setDescription("Violation " + i);
+            finding.setAutoFixAvailable(false);
+            finding.setCreatedAt(OffsetDateTime.now());
+            findings.add(finding);
+        }
+        run.setFindings(findings);
+        auditRunRepository.saveAndFlush(run);
+        entityManager.clear();
+
+        AuditFindingPageReader.Filter any = new AuditFindingPageReader.Filter(null, null, null);
+        List<String> all = findingPageReader.page(run.getId(), run.getExpiresAt(), "tenant-pages", any, null, 100)
+                .stream().map(f -> f.getId().toString()).toList();
+
+        TenantContext.setCurrentTenant("tenant-pages");
+        try {
+            List<String> paged = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                AuditFindingPageResponse page = auditRunService.listFindings(run.getId(), "page-user", any, cursor, 5);
+                page.getFindings().forEach(f -> paged.add(f.getId()));
+                cursor = page.getNextCursor();
+                pages++;
+            } while (cursor != null);
+
+            assertEquals(5, pages);
+            assertEquals(23, all.size());
+            assertEquals(all, paged, "pages concatenate to the single-query order");
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private AuditRun runningJob(OffsetDateTime startedAt, OffsetDateTime heartbeatAt) {
+        AuditRun run = new AuditRun();
+        run.setId(UuidV7.generate());
+        run.setTenantId("tenant-jobs");
+        run.setUserId("job-user");
+        run.setAnalysisMode("LEDGER_ANALYSIS");
+        run.setStatus("RUNNING");
+        run.setAttempts(1);
+        run.setCreatedAt(startedAt);
+        run.setStartedAt(startedAt);
+        run.setHeartbeatAt(heartbeatAt);
+        run.setExpiresAt(startedAt.plusDays(7));
+        return run;
+    }
 }
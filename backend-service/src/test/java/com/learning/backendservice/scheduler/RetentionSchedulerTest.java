@@ -1,6 +1,8 @@
 package com.learning.backendservice.scheduler;
 
+import com.learning.backendservice.repository.AuditPartitionManager;
 import com.learning.backendservice.repository.AuditRunRepository;
+import com.learning.backendservice.repository.CreditConsumeOutboxRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -8,36 +10,90 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
-@DisplayName("RetentionScheduler — daily cleanup of expired audit runs")
+@DisplayName("RetentionScheduler — partition maintenance and daily cleanup of expired audit runs")
 class RetentionSchedulerTest {
 
+    private static final int BATCH_SIZE = 100;
+
+    @Mock
+    private AuditPartitionManager partitionManager;
+
     @Mock
     private AuditRunRepository auditRunRepository;
 
+    @Mock
+    private CreditConsumeOutboxRepository outboxRepository;
+
     private RetentionScheduler scheduler;
+    private LocalDate today;
 
     @BeforeEach
     void setUp() {
-        scheduler = new RetentionScheduler(auditRunRepository);
+        scheduler = new RetentionScheduler(partitionManager, auditRunRepository, outboxRepository, 7, 3, BATCH_SIZE);
+        today = LocalDate.now(ZoneOffset.UTC);
+    }
+
+    @Test
+    @DisplayName("Should create partitions day by day through retention plus lookahead days")
+    void shouldCreatePartitionsAhead() {
+        scheduler.createPartitions();
+
+        for (int i = 0; i <= 10; i++) {
+            verify(partitionManager).createPartitions(today.plusDays(i));
+        }
+        verify(partitionManager, times(11)).createPartitions(any(LocalDate.class));
+    }
+
+    @Test
+    @DisplayName("Should keep creating later days when one day fails")
+    void shouldContinueWhenOneDayFails() {
+        when(partitionManager.createPartitions(any(LocalDate.class))).thenReturn(3);
+        doThrow(new QueryTimeoutException("lock timeout")).when(partitionManager).createPartitions(today.plusDays(2));
+
+        assertDoesNotThrow(() -> scheduler.createPartitions());
+
+        verify(partitionManager).createPartitions(today.plusDays(3));
+        verify(partitionManager).createPartitions(today.plusDays(10));
+    }
+
+    @Test
+    @DisplayName("Should drop partitions of past days only")
+    void shouldDropPastPartitions() {
+        when(partitionManager.partitionDays())
+                .thenReturn(List.of(today.minusDays(2), today.minusDays(1), today, today.plusDays(7)));
+
+        scheduler.purgeExpiredRuns();
+
+        verify(partitionManager).dropPartitions(today.minusDays(2));
+        verify(partitionManager).dropPartitions(today.minusDays(1));
+        verify(partitionManager, never()).dropPartitions(today);
+        verify(partitionManager, never()).dropPartitions(today.plusDays(7));
     }
 
     @Test
-    @DisplayName("Should delete expired runs when they exist")
-    void shouldDeleteExpiredRuns() {
-        when(auditRunRepository.deleteByExpiresAtBefore(any(OffsetDateTime.class))).thenReturn(5);
+    @DisplayName("Should delete remaining expired runs in batches until a short batch")
+    void shouldDeleteExpiredRunsInBatches() {
+        when(auditRunRepository.deleteExpiredBatch(any(OffsetDateTime.class), eq(BATCH_SIZE)))
+                .thenReturn(BATCH_SIZE, BATCH_SIZE, 5);
 
         scheduler.purgeExpiredRuns();
 
         ArgumentCaptor<OffsetDateTime> cutoffCaptor = ArgumentCaptor.forClass(OffsetDateTime.class);
-        verify(auditRunRepository).deleteByExpiresAtBefore(cutoffCaptor.capture());
+        verify(auditRunRepository, times(3)).deleteExpiredBatch(cutoffCaptor.capture(), eq(BATCH_SIZE));
 
         OffsetDateTime cutoff = cutoffCaptor.getValue();
         assertTrue(cutoff.isBefore(OffsetDateTime.now().plusSeconds(1)),
@@ -47,11 +103,34 @@ class RetentionSchedulerTest {
     }
 
     @Test
-    @DisplayName("Should complete silently when no expired runs exist")
+    @DisplayName("Should purge settled credit intents older than the retention period")
+    void shouldPurgeSettledIntents() {
+        scheduler.purgeExpiredRuns();
+
+        ArgumentCaptor<OffsetDateTime> cutoffCaptor = ArgumentCaptor.forClass(OffsetDateTime.class);
+        verify(outboxRepository).deleteSettledBatch(cutoffCaptor.capture(), eq(BATCH_SIZE));
+        assertTrue(cutoffCaptor.getValue().isBefore(OffsetDateTime.now().minusDays(7).plusSeconds(1)));
+    }
+
+    @Test
+    @DisplayName("Should fall back to batched deletes when a partition cannot be dropped")
+    void shouldContinueWhenDropFails() {
+        when(partitionManager.partitionDays()).thenReturn(List.of(today.minusDays(2), today.minusDays(1)));
+        doThrow(new QueryTimeoutException("lock timeout")).when(partitionManager).dropPartitions(today.minusDays(2));
+
+        assertDoesNotThrow(() -> scheduler.purgeExpiredRuns());
+
+        verify(partitionManager).dropPartitions(today.minusDays(1));
+        verify(auditRunRepository).deleteExpiredBatch(any(OffsetDateTime.class), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should complete silently when nothing has expired")
     void shouldHandleNoExpiredRuns() {
-        when(auditRunRepository.deleteByExpiresAtBefore(any(OffsetDateTime.class))).thenReturn(0);
+        when(partitionManager.partitionDays()).thenReturn(List.of(today, today.plusDays(1)));
 
         assertDoesNotThrow(() -> scheduler.purgeExpiredRuns());
-        verify(auditRunRepository).deleteByExpiresAtBefore(any(OffsetDateTime.class));
+        verify(partitionManager, never()).dropPartitions(any());
+        verify(auditRunRepository).deleteExpiredBatch(any(OffsetDateTime.class), anyInt());
     }
 }
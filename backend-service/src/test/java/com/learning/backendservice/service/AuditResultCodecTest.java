@@ -0,0 +1,147 @@
+package com.learning.backendservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learning.backendservice.entity.AuditRun;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AuditResultCodec")
+class AuditResultCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AuditResultCodec codec =
+            new AuditResultCodec(objectMapper, true, DataSize.ofKilobytes(4), 3);
+
+    /** Rule 37-shaped rows: few suppliers, repeated ISO dates. */
+    private static List<Map<String, Object>> ledgerRows(int count) {
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(Map.of(
+                    "supplier", "Supplier " + (i % 7) + " Private Limited",
+                    "purchaseDate", "2024-0" + (1 + i % 9) + "-15",
+                    "paymentDate", "2024-12-31",
+                    "principal", 1000 + i,
+                    "interest", (1000 + i) * 0.18));
+        }
+        return rows;
+    }
+
+    /** The result as it is written into a response body. */
+    private String responseJson(AuditRun run) throws Exception {
+        return objectMapper.writeValueAsString(codec.resultJson(run));
+    }
+
+    @Test
+    @DisplayName("Keeps results below the threshold as JSONB")
+    void smallResultStaysJsonb() throws Exception {
+        AuditRun run = new AuditRun();
+
+        codec.write(run, ledgerRows(2));
+
+        assertThat(run.getResultFormat()).isEqualTo(AuditResultCodec.FORMAT_JSONB);
+        assertThat(run.getResultBlob()).isNull();
+        assertThat(responseJson(run)).isEqualTo(run.getResultData());
+    }
+
+    @Test
+    @DisplayName("Compresses large results and decodes them to the same JSON")
+    void largeResultRoundTrips() throws Exception {
+        List<Map<String, Object>> rows = ledgerRows(5_000);
+        String json = objectMapper.writeValueAsString(rows);
+        AuditRun run = new AuditRun();
+
+        codec.write(run, rows);
+
+        assertThat(run.getResultFormat()).isEqualTo(AuditResultCodec.FORMAT_SMILE_ZSTD);
+        assertThat(run.getResultData()).isNull();
+        assertThat(run.getResultBlob().length).isLessThan(json.length() / 5);
+        assertThat(objectMapper.readTree(responseJson(run))).isEqualTo(objectMapper.readTree(json));
+        assertThat(codec.read(run, new TypeReference<List<Map<String, Object>>>() {})).hasSize(5_000);
+    }
+
+    @Test
+    @DisplayName("Measures the threshold in UTF-8 bytes, not characters")
+    void thresholdCountsBytes() throws Exception {
+        // 1,500 characters but 4,500 bytes: three bytes per Devanagari letter
+        String name = "क".repeat(1_500);
+        assertThat(objectMapper.writeValueAsString(name).length()).isLessThan(4 * 1024);
+        AuditRun run = new AuditRun();
+
+        codec.write(run, Map.of("supplier", name));
+
+        assertThat(run.getResultFormat()).isEqualTo(AuditResultCodec.FORMAT_SMILE_ZSTD);
+        assertThat(codec.read(run, new TypeReference<Map<String, String>>() {})).containsEntry("supplier", name);
+    }
+
+    @Test
+    @DisplayName("Keeps decimals exact through compression")
+    void decimalsSurviveCompression() throws Exception {
+        List<BigDecimal> amounts = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            amounts.add(new BigDecimal("12345678901234567.8" + i));
+        }
+        AuditRun run = new AuditRun();
+
+        codec.write(run, amounts);
+
+        assertThat(run.getResultFormat()).isEqualTo(AuditResultCodec.FORMAT_SMILE_ZSTD);
+        assertThat(responseJson(run)).isEqualTo(objectMapper.writeValueAsString(amounts));
+    }
+
+    @Test
+    @DisplayName("Decodes a compressed result into the generator it is serialised with")
+    void compressedResultStreamsIntoGenerator() throws Exception {
+        List<Map<String, Object>> rows = ledgerRows(5_000);
+        AuditRun run = new AuditRun();
+        codec.write(run, rows);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        try (JsonGenerator generator = objectMapper.createGenerator(body)) {
+            generator.writeStartObject();
+            generator.writeStringField("id", "run-1");
+            generator.writeFieldName("resultData");
+            codec.resultJson(run).serialize(generator, objectMapper.getSerializerProvider());
+            generator.writeEndObject();
+        }
+
+        JsonNode response = objectMapper.readTree(body.toByteArray());
+        assertThat(response.get("id").asText()).isEqualTo("run-1");
+        assertThat(response.get("resultData")).isEqualTo(objectMapper.valueToTree(rows));
+    }
+
+    @Test
+    @DisplayName("Writes JSONB when compression is disabled, and clears a previous blob")
+    void disabled() {
+        AuditResultCodec plain = new AuditResultCodec(objectMapper, false, DataSize.ofKilobytes(4), 3);
+        AuditRun run = new AuditRun();
+        codec.write(run, ledgerRows(5_000));
+
+        plain.write(run, ledgerRows(5_000));
+
+        assertThat(run.getResultFormat()).isEqualTo(AuditResultCodec.FORMAT_JSONB);
+        assertThat(run.getResultBlob()).isNull();
+        assertThat(run.getResultData()).startsWith("[{");
+    }
+
+    @Test
+    @DisplayName("A run without a result reads as null")
+    void nullResult() {
+        AuditRun run = new AuditRun();
+
+        codec.write(run, null);
+
+        assertThat(codec.resultJson(run)).isNull();
+    }
+}
@@ -3,7 +3,6 @@ package com.learning.backendservice.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.learning.backendservice.config.MemoryGuard;
 import com.learning.backendservice.config.UploadProperties;
-import com.learning.backendservice.dto.CreditWalletResponse;
 import com.learning.backendservice.dto.UploadResult;
 import com.learning.backendservice.engine.AuditContext;
 import com.learning.backendservice.engine.AuditRule;
@@ -11,9 +10,10 @@ import com.learning.backendservice.engine.AuditRuleRegistry;
 import com.learning.backendservice.engine.DocumentTypeResolver;
 import com.learning.backendservice.engine.AuditRuleResult;
 import com.learning.backendservice.entity.AuditRun;
-import com.learning.backendservice.repository.AuditFindingRepository;
+import com.learning.backendservice.exception.InsufficientCreditsException;
 import com.learning.backendservice.repository.AuditRunRepository;
 import com.learning.backendservice.repository.LateFeeReliefWindowRepository;
+import com.learning.backendservice.service.credit.CreditOutboxService;
 import com.learning.backendservice.service.ingestion.ParserOrchestrator;
 import com.learning.common.tenant.TenantContext;
 import org.junit.jupiter.api.AfterEach;
@@ -31,7 +31,6 @@ import org.springframework.web.multipart.MultipartFile;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -45,16 +44,15 @@ class AuditRunOrchestratorTest {
 
     @Mock private AuditRuleRegistry ruleRegistry;
     @Mock private AuditRunRepository runRepository;
-    @Mock private AuditFindingRepository findingRepository;
+    @Mock private AuditRunPersistenceService persistenceService;
     @Mock private UploadProperties uploadProperties;
-    @Mock private CreditClient creditClient;
+    @Mock private CreditOutboxService creditOutbox;
     @Mock private MemoryGuard memoryGuard;
     @Mock private ParserOrchestrator parserOrchestrator;
     @Mock private LateFeeReliefWindowRepository reliefWindowRepository;
     @Mock private com.learning.backendservice.engine.RuleResolutionEngine ruleResolutionEngine;
     @Mock private com.learning.backendservice.engine.PipelineExecutor pipelineExecutor;
     @Mock private ContextEnricher contextEnricher;
-    @Mock private com.learning.backendservice.repository.AuditRunRuleResultRepository ruleResultRepository;
     @Mock private DocumentTypeResolver documentTypeResolver;
 
     @Mock private AuditRule<List<MultipartFile>, Object> dummyRule;
@@ -70,10 +68,11 @@ class AuditRunOrchestratorTest {
         lenient().when(uploadProperties.getMaxFileSize()).thenReturn(DataSize.ofMegabytes(10));
 
         orchestrator = new AuditRunOrchestrator(
-                ruleRegistry, runRepository, findingRepository,
-                uploadProperties, creditClient, memoryGuard, new ObjectMapper(),
+                ruleRegistry, runRepository, persistenceService,
+                uploadProperties, creditOutbox, memoryGuard, new ObjectMapper(),
+                new AuditResultCodec(new ObjectMapper(), true, DataSize.ofKilobytes(256), 3),
                 parserOrchestrator, reliefWindowRepository,
-                ruleResolutionEngine, pipelineExecutor, contextEnricher, ruleResultRepository,
+                ruleResolutionEngine, pipelineExecutor, contextEnricher,
                 documentTypeResolver, 7, 50);
 
                 
@@ -86,7 +85,7 @@ class AuditRunOrchestratorTest {
     }
 
     @Test
-    @DisplayName("Should orchestrate upload, execute rule, consume credits, and save entity")
+    @DisplayName("Should orchestrate upload, execute rule, and save entity with its credit intent")
     void shouldOrchestrateUpload() {
         MultipartFile file = new MockMultipartFile("file", "test.xlsx", "text/plain", "data".getBytes());
         LocalDate asOnDate = LocalDate.parse("2024-03-31");
@@ -100,14 +99,10 @@ class AuditRunOrchestratorTest {
         AuditRuleResult<Object> ruleResult = new AuditRuleResult<>(List.of(), List.of("data"), new BigDecimal("100"), 1);
         when(dummyRule.execute(anyList(), any(AuditContext.class))).thenReturn(ruleResult);
 
-        when(runRepository.save(any(AuditRun.class))).thenAnswer(i -> {
-            AuditRun r = i.getArgument(0);
-            if (r.getId() == null) r.setId(UUID.randomUUID());
-            return r;
-        });
+        when(persistenceService.saveCompletedRun(any(AuditRun.class), anyList(), anyList()))
+                .thenAnswer(i -> i.getArgument(0));
 
-        CreditWalletResponse walletResponse = new CreditWalletResponse(100, 1, 99);
-        when(creditClient.consumeCredits(eq(userId), eq(1), anyString(), anyString())).thenReturn(walletResponse);
+        when(creditOutbox.checkBalance(userId, 1)).thenReturn(100);
 
         UploadResult uploadResult = orchestrator.processUpload(List.of(file), asOnDate, ruleId, userId);
 
@@ -116,13 +111,13 @@ class AuditRunOrchestratorTest {
         assertEquals(1, uploadResult.getCreditsConsumed());
 
         verify(memoryGuard).checkMemoryBudget(anyList());
-        verify(creditClient).checkBalance(userId, 1);
-        verify(findingRepository).saveAll(anyList());
-        
+        verify(creditOutbox).checkBalance(userId, 1);
+
         ArgumentCaptor<AuditRun> runCaptor = ArgumentCaptor.forClass(AuditRun.class);
-        verify(runRepository).save(runCaptor.capture());
+        verify(persistenceService).saveCompletedRun(runCaptor.capture(), eq(List.of()), anyList());
         assertArrayEquals(new String[]{ruleId}, runCaptor.getValue().getRulesExecuted());
         assertEquals("tenant123", runCaptor.getValue().getTenantId());
+        assertEquals(1, runCaptor.getValue().getCreditsConsumed());
     }
 
     @Test
@@ -139,4 +134,25 @@ class AuditRunOrchestratorTest {
         
         assertTrue(ex.getMessage().contains("Maximum saved audit runs"));
     }
+
+    @Test
+    @DisplayName("Should reject before saving when the balance pre-check fails")
+    void shouldNotSaveRunWhenBalanceTooLow() {
+        MultipartFile file = new MockMultipartFile("file", "test.xlsx", "text/plain", "data".getBytes());
+        String ruleId = "DUMMY_RULE";
+        String userId = "user1";
+
+        when(ruleRegistry.hasRule(ruleId)).thenReturn(true);
+        when(ruleRegistry.getRule(ruleId)).thenReturn((AuditRule) dummyRule);
+        when(runRepository.countByTenantId("tenant123")).thenReturn(10L);
+        when(dummyRule.execute(anyList(), any(AuditContext.class)))
+                .thenReturn(new AuditRuleResult<>(List.of(), List.of("data"), new BigDecimal("100"), 1));
+        when(creditOutbox.checkBalance(userId, 1))
+                .thenThrow(new InsufficientCreditsException("Insufficient credits: need 1 but only 0 available"));
+
+        assertThrows(InsufficientCreditsException.class,
+                () -> orchestrator.processUpload(List.of(file), LocalDate.parse("2024-03-31"), ruleId, userId));
+
+        verifyNoInteractions(persistenceService);
+    }
 }
@@ -0,0 +1,105 @@
+package com.learning.backendservice.service;
+
+import com.learning.backendservice.entity.AuditRun;
+import com.learning.backendservice.entity.AuditRunFinding;
+import com.learning.backendservice.entity.AuditRunRuleResult;
+import com.learning.backendservice.repository.AuditFindingRepository;
+import com.learning.backendservice.repository.AuditResultBulkWriter;
+import com.learning.backendservice.repository.AuditRunRepository;
+import com.learning.backendservice.repository.AuditRunRuleResultRepository;
+import com.learning.backendservice.repository.CreditConsumeOutboxRepository;
+import com.learning.backendservice.util.UuidV7;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditRunPersistenceService")
+class AuditRunPersistenceServiceTest {
+
+    @Mock private AuditRunRepository runRepository;
+    @Mock private AuditFindingRepository findingRepository;
+    @Mock private AuditRunRuleResultRepository ruleResultRepository;
+    @Mock private AuditResultBulkWriter resultWriter;
+    @Mock private CreditConsumeOutboxRepository outboxRepository;
+
+    private AuditRunPersistenceService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AuditRunPersistenceService(runRepository, findingRepository, ruleResultRepository, resultWriter,
+                outboxRepository);
+    }
+
+    @Test
+    @DisplayName("Saves the run, its rule results, findings and credit intent in that order")
+    void saveCompletedRun() {
+        AuditRun run = AuditRun.builder().id(UuidV7.generate()).tenantId("tenant-1").userId("user-1")
+                .creditsConsumed(20).build();
+        List<AuditRunRuleResult> ruleResults = List.of(AuditRunRuleResult.builder().auditRun(run).build());
+        List<AuditRunFinding> findings = List.of(AuditRunFinding.builder().auditRun(run).build());
+        when(runRepository.save(run)).thenReturn(run);
+
+        AuditRun saved = service.saveCompletedRun(run, ruleResults, findings);
+
+        assertThat(saved).isSameAs(run);
+        InOrder order = inOrder(runRepository, resultWriter, outboxRepository);
+        order.verify(runRepository).save(run);
+        order.verify(resultWriter).insertRuleResults(ruleResults);
+        order.verify(resultWriter).insertFindings(findings);
+        String key = "audit-" + run.getId();
+        order.verify(outboxRepository).enqueue(any(UUID.class), eq(run.getId()), eq("tenant-1"), eq("user-1"),
+                eq(20), eq(key), eq(key), any(OffsetDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Records no credit intent for a run that costs nothing")
+    void saveFreeRun() {
+        AuditRun run = AuditRun.builder().id(UuidV7.generate()).creditsConsumed(0).build();
+        when(runRepository.save(run)).thenReturn(run);
+
+        service.saveCompletedRun(run, List.of(), List.of());
+
+        verifyNoInteractions(outboxRepository);
+    }
+
+    @Test
+    @DisplayName("Completes a queued job only while the worker's claim attempt still owns it")
+    void saveCompletedJob() {
+        AuditRun run = AuditRun.builder().id(UuidV7.generate()).creditsConsumed(0).build();
+        when(runRepository.lockOwnedJob(run.getId(), 2)).thenReturn(Optional.of(run.getId()));
+        when(runRepository.save(run)).thenReturn(run);
+
+        assertThat(service.saveCompletedJob(run, 2, List.of(), List.of())).isSameAs(run);
+
+        when(runRepository.lockOwnedJob(run.getId(), 1)).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> service.saveCompletedJob(run, 1, List.of(), List.of()))
+                .isInstanceOf(IllegalStateException.class);
+        verify(runRepository, times(1)).save(run);
+    }
+
+    @Test
+    @DisplayName("Fails a rejected run in place and drops its findings and rule results")
+    void compensate() {
+        UUID runId = UuidV7.generate();
+
+        service.compensate(runId, "Credit consumption failed");
+
+        verify(findingRepository).deleteByRunId(runId);
+        verify(ruleResultRepository).deleteByRunId(runId);
+        verify(runRepository).markCompletedRunFailed(runId, "Credit consumption failed");
+    }
+}
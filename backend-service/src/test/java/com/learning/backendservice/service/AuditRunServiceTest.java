@@ -1,11 +1,16 @@
 package com.learning.backendservice.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.learning.backendservice.dto.AuditFindingPageResponse;
 import com.learning.backendservice.dto.AuditRunResponse;
 import com.learning.backendservice.engine.AuditRule;
 import com.learning.backendservice.engine.AuditRuleRegistry;
 import com.learning.backendservice.entity.AuditRun;
+import com.learning.backendservice.entity.AuditRunFinding;
+import com.learning.backendservice.repository.AuditFindingPageReader;
 import com.learning.backendservice.repository.AuditRunRepository;
+import com.learning.backendservice.repository.AuditRunSummary;
 import com.learning.common.infra.exception.NotFoundException;
 import com.learning.common.tenant.TenantContext;
 import org.junit.jupiter.api.AfterEach;
@@ -21,12 +26,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.util.unit.DataSize;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -46,12 +57,18 @@ class AuditRunServiceTest {
     @Mock
     private AuditRule<?, ?> dummyRule;
 
+    @Mock
+    private AuditFindingPageReader findingReader;
+
     @Spy
-    private ObjectMapper objectMapper = new ObjectMapper();
+    private AuditResultCodec resultCodec =
+            new AuditResultCodec(new ObjectMapper(), true, DataSize.ofKilobytes(256), 3);
 
     @InjectMocks
     private AuditRunService auditRunService;
 
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @BeforeEach
     void setUp() {
         TenantContext.setCurrentTenant("tenant-123");
@@ -62,21 +79,27 @@ class AuditRunServiceTest {
         TenantContext.clear();
     }
 
+    private static AuditRunSummary summary(UUID runId, String ruleId, String inputMetadata) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", runId);
+        row.put("userId", "user1");
+        row.put("rulesExecuted", new String[]{ruleId});
+        row.put("status", "SUCCESS");
+        row.put("totalImpactAmount", BigDecimal.TEN);
+        row.put("creditsConsumed", 1);
+        row.put("inputMetadata", inputMetadata);
+        row.put("createdAt", OffsetDateTime.now());
+        row.put("expiresAt", OffsetDateTime.now().plusDays(7));
+        return new SpelAwareProxyProjectionFactory().createProjection(AuditRunSummary.class, row);
+    }
+
     @Test
     @DisplayName("Should list runs for tenant")
     void shouldListRuns() {
         UUID runId = UUID.randomUUID();
-        AuditRun run = new AuditRun();
-        run.setId(runId);
-        run.setTenantId("tenant-123");
-        run.setRulesExecuted(new String[]{"RULE_A"});
-        run.setAnalysisMode("LEDGER_ANALYSIS");
-        run.setTotalImpactAmount(BigDecimal.TEN);
-        run.setCreatedAt(OffsetDateTime.now());
-
         Pageable pageable = PageRequest.of(0, 10);
-        when(runRepository.findByTenantIdAndUserId("tenant-123", "user1", pageable))
-                .thenReturn(new PageImpl<>(List.of(run)));
+        when(runRepository.findSummaries("tenant-123", "user1", pageable))
+                .thenReturn(new PageImpl<>(List.of(summary(runId, "RULE_A", null))));
 
         lenient().when(ruleRegistry.getRule("RULE_A")).thenReturn((AuditRule) dummyRule);
         lenient().when(dummyRule.getDisplayName()).thenReturn("Dummy Rule A");
@@ -90,11 +113,27 @@ class AuditRunServiceTest {
         assertEquals("RULE_A", res.getRuleId());
         assertEquals("Dummy Rule A", res.getRuleDisplayName());
         assertNull(res.getResultData()); // list shouldn't include result data
+        verify(runRepository, never()).findByTenantId(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should list runs filtered by rule and write input metadata as raw JSON")
+    void shouldListRunsByRuleWithRawMetadata() throws Exception {
+        UUID runId = UUID.randomUUID();
+        String metadata = "{\"asOnDate\":\"2024-03-31\",\"filename\":\"ledger.xlsx\"}";
+        Pageable pageable = PageRequest.of(0, 10);
+        when(runRepository.findSummariesByRuleId("tenant-123", "user1", "RULE_A", pageable))
+                .thenReturn(new PageImpl<>(List.of(summary(runId, "RULE_A", metadata))));
+        lenient().when(ruleRegistry.getRule("RULE_A")).thenThrow(new IllegalArgumentException("Unknown"));
+
+        AuditRunResponse res = auditRunService.listRuns("user1", "RULE_A", pageable).getContent().get(0);
+
+        assertTrue(objectMapper.writeValueAsString(res).contains("\"inputMetadata\":" + metadata));
     }
 
     @Test
     @DisplayName("Should get run by id")
-    void shouldGetRunById() {
+    void shouldGetRunById() throws Exception {
         UUID runId = UUID.randomUUID();
         AuditRun run = new AuditRun();
         run.setId(runId);
@@ -113,6 +152,31 @@ class AuditRunServiceTest {
         assertEquals(runId.toString(), res.getId());
         assertEquals("RULE_A", res.getRuleDisplayName()); // Fallback to ruleId
         assertNotNull(res.getResultData()); // getRun includes result data
+        assertTrue(objectMapper.writeValueAsString(res).contains("\"resultData\":{\"key\":\"value\"}"));
+    }
+
+    @Test
+    @DisplayName("Should write a compressed result into the run response")
+    void shouldWriteCompressedResultIntoResponse() throws Exception {
+        UUID runId = UUID.randomUUID();
+        AuditRun run = new AuditRun();
+        run.setId(runId);
+        run.setTenantId("tenant-123");
+        run.setRulesExecuted(new String[]{"RULE_A"});
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            rows.add(Map.of("supplier", "Supplier " + (i % 7), "interest", i));
+        }
+        resultCodec.write(run, rows);
+        assertEquals(AuditResultCodec.FORMAT_SMILE_ZSTD, run.getResultFormat());
+
+        when(runRepository.findByIdAndTenantIdAndUserId(runId, "tenant-123", "user1")).thenReturn(Optional.of(run));
+        lenient().when(ruleRegistry.getRule("RULE_A")).thenThrow(new IllegalArgumentException("Unknown"));
+
+        AuditRunResponse res = auditRunService.getRun(runId, "user1");
+
+        JsonNode body = objectMapper.readTree(objectMapper.writeValueAsString(res));
+        assertEquals(objectMapper.valueToTree(rows), body.get("resultData"));
     }
 
     @Test
@@ -156,4 +220,79 @@ class AuditRunServiceTest {
         assertNotNull(result);
         assertEquals(run, result);
     }
+
+    private static List<AuditRunFinding> findings(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> AuditRunFinding.builder()
+                        .id(UUID.randomUUID())
+                        .ruleId("RULE_37_ITC_REVERSAL")
+                        .severity("HIGH")
+                        .impactAmount(BigDecimal.valueOf(1000 - i, 2))
+                        .description("Finding " + i)
+                        .build())
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Should page findings and hand out a cursor after the last row")
+    void shouldPageFindings() {
+        UUID runId = UUID.randomUUID();
+        OffsetDateTime expiresAt = OffsetDateTime.now().plusDays(7);
+        AuditRun run = AuditRun.builder().id(runId).expiresAt(expiresAt).build();
+        when(runRepository.findByIdAndTenantIdAndUserId(runId, "tenant-123", "user1")).thenReturn(Optional.of(run));
+        List<AuditRunFinding> rows = findings(3);
+        AuditFindingPageReader.Filter filter = new AuditFindingPageReader.Filter("HIGH", null, null);
+        when(findingReader.page(runId, expiresAt, "tenant-123", filter, null, 3)).thenReturn(rows);
+
+        AuditFindingPageResponse page = auditRunService.listFindings(runId, "user1", filter, null, 2);
+
+        assertEquals(2, page.getFindings().size());
+        assertEquals(rows.get(1).getId().toString(), page.getFindings().get(1).getId());
+        assertEquals(new AuditFindingPageReader.Cursor(rows.get(1).getImpactAmount(), rows.get(1).getId()),
+                AuditRunService.decodeCursor(page.getNextCursor()));
+    }
+
+    @Test
+    @DisplayName("Should continue after the cursor and omit it on the last page")
+    void shouldContinueFromCursor() {
+        UUID runId = UUID.randomUUID();
+        AuditRun run = AuditRun.builder().id(runId).expiresAt(OffsetDateTime.now()).build();
+        when(runRepository.findByIdAndTenantIdAndUserId(runId, "tenant-123", "user1")).thenReturn(Optional.of(run));
+        AuditRunFinding last = findings(1).get(0);
+        AuditFindingPageReader.Filter filter = new AuditFindingPageReader.Filter(null, null, null);
+        when(findingReader.page(eq(runId), any(), eq("tenant-123"), eq(filter), any(), eq(51)))
+                .thenReturn(findings(1));
+
+        AuditFindingPageResponse page = auditRunService.listFindings(
+                runId, "user1", filter, AuditRunService.encodeCursor(last), 50);
+
+        assertEquals(1, page.getFindings().size());
+        assertNull(page.getNextCursor());
+        verify(findingReader).page(eq(runId), any(), eq("tenant-123"), eq(filter),
+                eq(new AuditFindingPageReader.Cursor(last.getImpactAmount(), last.getId())), eq(51));
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed findings cursor")
+    void shouldRejectMalformedCursor() {
+        UUID runId = UUID.randomUUID();
+        when(runRepository.findByIdAndTenantIdAndUserId(runId, "tenant-123", "user1"))
+                .thenReturn(Optional.of(AuditRun.builder().id(runId).build()));
+        AuditFindingPageReader.Filter filter = new AuditFindingPageReader.Filter(null, null, null);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> auditRunService.listFindings(runId, "user1", filter, "not-a-cursor", 50));
+        verifyNoInteractions(findingReader);
+    }
+
+    @Test
+    @DisplayName("Should throw NotFoundException when listing findings of another user's run")
+    void shouldThrowNotFoundOnFindings() {
+        UUID runId = UUID.randomUUID();
+        when(runRepository.findByIdAndTenantIdAndUserId(any(), any(), any())).thenReturn(Optional.empty());
+        AuditFindingPageReader.Filter filter = new AuditFindingPageReader.Filter(null, null, null);
+
+        assertThrows(NotFoundException.class, () -> auditRunService.listFindings(runId, "user1", filter, null, 50));
+        verifyNoInteractions(findingReader);
+    }
 }
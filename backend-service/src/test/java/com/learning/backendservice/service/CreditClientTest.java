@@ -1,5 +1,6 @@
 package com.learning.backendservice.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.learning.backendservice.dto.CreditWalletResponse;
 import com.learning.backendservice.exception.InsufficientCreditsException;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +14,8 @@ import reactor.core.publisher.Mono;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -47,6 +50,8 @@ class CreditClientTest {
 
     private CreditClient creditClient;
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     @BeforeEach
     void setUp() {
         when(webClientBuilder.baseUrl(anyString())).thenReturn(webClientBuilder);
@@ -107,6 +112,46 @@ class CreditClientTest {
         assertTrue(exception.getMessage().contains("Credit service error: 500 Internal Server Error"));
     }
 
+    @Test
+    void consumeBatch_returnsPerItemResults() {
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("/api/v1/credits/consume/batch")).thenReturn(requestBodySpec);
+        when(requestBodySpec.bodyValue(any())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(any(Class.class))).thenAnswer(i -> Mono.just(
+                objectMapper.readValue("""
+                        {"results":[
+                          {"idempotencyKey":"audit-1","status":"CONSUMED","wallet":{"total":10,"used":1,"remaining":9}},
+                          {"idempotencyKey":"audit-2","status":"INSUFFICIENT_CREDITS","error":"Insufficient credits"}
+                        ]}""", i.<Class<?>>getArgument(0))));
+
+        List<CreditClient.ConsumeResult> results = creditClient.consumeBatch(List.of(
+                new CreditClient.ConsumeRequest("user123", 1, "audit-1", "audit-1"),
+                new CreditClient.ConsumeRequest("user456", 20, "audit-2", "audit-2")));
+
+        assertEquals(2, results.size());
+        assertEquals(CreditClient.ConsumeStatus.CONSUMED, results.get(0).status());
+        assertEquals(9, results.get(0).wallet().getRemaining());
+        assertEquals(CreditClient.ConsumeStatus.INSUFFICIENT_CREDITS, results.get(1).status());
+    }
+
+    @Test
+    void consumeBatch_serverError_throwsRuntimeException() {
+        WebClientResponseException mockException = WebClientResponseException.create(
+                503, "Service Unavailable", null, "Down".getBytes(), null);
+
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("/api/v1/credits/consume/batch")).thenReturn(requestBodySpec);
+        when(requestBodySpec.bodyValue(any())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(any(Class.class))).thenReturn(Mono.error(mockException));
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () ->
+                creditClient.consumeBatch(List.of(new CreditClient.ConsumeRequest("user123", 1, "audit-1", "audit-1"))));
+
+        assertTrue(exception.getMessage().contains("Credit service error: 503 Service Unavailable"));
+    }
+
     @Test
     void checkBalance_success() {
         CreditWalletResponse mockResponse = new CreditWalletResponse(10, 2, 8);
@@ -0,0 +1,107 @@
+package com.learning.backendservice.service.credit;
+
+import com.learning.backendservice.dto.CreditWalletResponse;
+import com.learning.backendservice.entity.CreditConsumeOutbox;
+import com.learning.backendservice.service.CreditClient;
+import com.learning.backendservice.service.CreditClient.ConsumeRequest;
+import com.learning.backendservice.service.CreditClient.ConsumeResult;
+import com.learning.backendservice.service.CreditClient.ConsumeStatus;
+import com.learning.backendservice.util.UuidV7;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CreditOutboxRelay")
+class CreditOutboxRelayTest {
+
+    @Mock private CreditOutboxService outboxService;
+    @Mock private CreditClient creditClient;
+
+    private CreditOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new CreditOutboxRelay(outboxService, creditClient, 3);
+    }
+
+    private static CreditConsumeOutbox intent(String userId, int credits) {
+        UUID runId = UuidV7.generate();
+        return CreditConsumeOutbox.builder()
+                .id(UuidV7.generate())
+                .runId(runId)
+                .userId(userId)
+                .credits(credits)
+                .referenceId("audit-" + runId)
+                .idempotencyKey("audit-" + runId)
+                .build();
+    }
+
+    private static ConsumeResult result(CreditConsumeOutbox intent, ConsumeStatus status, String error) {
+        return new ConsumeResult(intent.getIdempotencyKey(), status,
+                status == ConsumeStatus.CONSUMED ? new CreditWalletResponse(100, 20, 80) : null, error);
+    }
+
+    @Test
+    @DisplayName("Delivers a batch in one call and records each item's outcome")
+    @SuppressWarnings("unchecked")
+    void deliversBatch() {
+        CreditConsumeOutbox consumed = intent("user-1", 20);
+        CreditConsumeOutbox rejected = intent("user-2", 20);
+        CreditConsumeOutbox failed = intent("user-3", 1);
+        when(outboxService.claim(3)).thenReturn(List.of(consumed, rejected, failed), List.of());
+        when(creditClient.consumeBatch(anyList())).thenReturn(List.of(
+                result(consumed, ConsumeStatus.CONSUMED, null),
+                result(rejected, ConsumeStatus.INSUFFICIENT_CREDITS, "Insufficient credits"),
+                result(failed, ConsumeStatus.FAILED, "Lock timeout")));
+
+        relay.poll();
+
+        ArgumentCaptor<List<ConsumeRequest>> items = ArgumentCaptor.forClass(List.class);
+        verify(creditClient).consumeBatch(items.capture());
+        assertThat(items.getValue()).extracting(ConsumeRequest::idempotencyKey)
+                .containsExactly(consumed.getIdempotencyKey(), rejected.getIdempotencyKey(),
+                        failed.getIdempotencyKey());
+        verify(outboxService).markDelivered(List.of(consumed.getId()));
+        verify(outboxService).reject(rejected, "Insufficient credits");
+        verify(outboxService).retryLater(failed, "Lock timeout");
+        // A full batch means more may be due: the relay claims again in the same tick
+        verify(outboxService, times(2)).claim(3);
+    }
+
+    @Test
+    @DisplayName("Retries every item of a batch auth-service could not take")
+    void retriesWholeBatchOnError() {
+        CreditConsumeOutbox first = intent("user-1", 20);
+        CreditConsumeOutbox second = intent("user-1", 1);
+        when(outboxService.claim(3)).thenReturn(List.of(first, second));
+        when(creditClient.consumeBatch(anyList())).thenThrow(new RuntimeException("Credit service unavailable"));
+
+        relay.poll();
+
+        verify(outboxService).retryLater(first, "Credit service unavailable");
+        verify(outboxService).retryLater(second, "Credit service unavailable");
+        verify(outboxService, never()).markDelivered(anyList());
+        verify(outboxService, never()).reject(any(), any());
+    }
+
+    @Test
+    @DisplayName("Does not call auth-service when nothing is due")
+    void idle() {
+        when(outboxService.claim(3)).thenReturn(List.of());
+
+        relay.poll();
+
+        verifyNoInteractions(creditClient);
+    }
+}
@@ -0,0 +1,107 @@
+package com.learning.backendservice.service.credit;
+
+import com.learning.backendservice.dto.CreditWalletResponse;
+import com.learning.backendservice.entity.CreditConsumeOutbox;
+import com.learning.backendservice.exception.InsufficientCreditsException;
+import com.learning.backendservice.repository.CreditConsumeOutboxRepository;
+import com.learning.backendservice.service.AuditRunPersistenceService;
+import com.learning.backendservice.service.CreditClient;
+import com.learning.backendservice.util.UuidV7;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CreditOutboxService")
+class CreditOutboxServiceTest {
+
+    private static final String USER = "user-1";
+
+    @Mock private CreditConsumeOutboxRepository outboxRepository;
+    @Mock private CreditClient creditClient;
+    @Mock private AuditRunPersistenceService persistenceService;
+
+    private CreditOutboxService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CreditOutboxService(outboxRepository, creditClient, persistenceService,
+                Duration.ofSeconds(60), Duration.ofMinutes(5));
+    }
+
+    private static CreditConsumeOutbox intent(int attempts) {
+        UUID runId = UuidV7.generate();
+        return CreditConsumeOutbox.builder()
+                .id(UuidV7.generate())
+                .runId(runId)
+                .userId(USER)
+                .credits(20)
+                .idempotencyKey("audit-" + runId)
+                .attempts(attempts)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Balance pre-check subtracts credits of runs not yet debited")
+    void checkBalanceSubtractsPending() {
+        when(creditClient.getWallet(USER)).thenReturn(new CreditWalletResponse(50, 10, 40));
+        when(outboxRepository.sumPendingCredits(USER)).thenReturn(20L);
+
+        assertThat(service.checkBalance(USER, 20)).isEqualTo(20);
+        assertThatThrownBy(() -> service.checkBalance(USER, 21))
+                .isInstanceOf(InsufficientCreditsException.class)
+                .hasMessage("Insufficient credits: need 21 but only 20 available");
+    }
+
+    @Test
+    @DisplayName("Claim leases the locked intents before returning them")
+    void claimLeases() {
+        List<UUID> ids = List.of(UuidV7.generate());
+        when(outboxRepository.lockDueIds(any(OffsetDateTime.class), eq(100))).thenReturn(ids);
+
+        service.claim(100);
+
+        ArgumentCaptor<OffsetDateTime> until = ArgumentCaptor.forClass(OffsetDateTime.class);
+        verify(outboxRepository).lease(eq(ids), until.capture());
+        assertThat(until.getValue()).isAfter(OffsetDateTime.now().plusSeconds(50));
+        verify(outboxRepository).findAllById(ids);
+    }
+
+    @Test
+    @DisplayName("Rejecting an intent compensates its run once")
+    void rejectCompensates() {
+        CreditConsumeOutbox intent = intent(0);
+        when(outboxRepository.markRejected(eq(intent.getId()), anyString(), any())).thenReturn(1, 0);
+
+        service.reject(intent, "Insufficient credits");
+        service.reject(intent, "Insufficient credits");
+
+        verify(persistenceService, times(1))
+                .compensate(intent.getRunId(), "Credit consumption failed: Insufficient credits");
+    }
+
+    @Test
+    @DisplayName("Retry backoff doubles from 5s and is capped")
+    void backoff() {
+        assertThat(service.backoff(0)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(service.backoff(3)).isEqualTo(Duration.ofSeconds(40));
+        assertThat(service.backoff(30)).isEqualTo(Duration.ofMinutes(5));
+
+        CreditConsumeOutbox intent = intent(1);
+        service.retryLater(intent, "timeout");
+        verify(outboxRepository).scheduleRetry(eq(intent.getId()), eq("timeout"), any(OffsetDateTime.class));
+    }
+}
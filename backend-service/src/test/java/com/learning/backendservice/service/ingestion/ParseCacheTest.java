@@ -0,0 +1,240 @@
+package com.learning.backendservice.service.ingestion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learning.backendservice.dto.parser.ParsedDocumentResponse;
+import com.learning.backendservice.entity.ParsedDocument;
+import com.learning.backendservice.infra.parser.ParserClient;
+import com.learning.backendservice.repository.ParsedDocumentRepository;
+import com.learning.common.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ParseCache")
+class ParseCacheTest {
+
+    private static final String TENANT = "tenant-a";
+
+    @Mock private ParsedDocumentRepository repository;
+    @Mock private ParserClient parserClient;
+    @Mock private ObjectProvider<RedissonClient> redissonProvider;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        TenantContext.setCurrentTenant(TENANT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private ParseCache cache(boolean shared) {
+        return new ParseCache(repository, parserClient, redissonProvider, objectMapper, meterRegistry,
+                true, shared, Duration.ofHours(1), 16, "1.0");
+    }
+
+    private static MockMultipartFile gstr1(String name) {
+        return new MockMultipartFile("files", name, "application/pdf", "gstr1-content".getBytes());
+    }
+
+    private static ParsedDocumentResponse success(String version) {
+        return new ParsedDocumentResponse("SUCCESS", "GSTR1_PDF", "0.98",
+                Map.of("gstin", "29ABCDE1234F1Z5"), 1200, version, null);
+    }
+
+    private double lookups(String result, String tier) {
+        var counter = meterRegistry.find("parser.cache.lookups").tag("result", result).tag("tier", tier).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Nested
+    @DisplayName("ParserOrchestrator.ingestDocument")
+    class Ingest {
+
+        private ParserOrchestrator orchestrator;
+
+        @BeforeEach
+        void setUp() {
+            orchestrator = new ParserOrchestrator(parserClient, repository, objectMapper, cache(false));
+            lenient().when(repository.save(any())).thenAnswer(i -> i.getArgument(0));
+        }
+
+        @Test
+        @DisplayName("Second upload of identical bytes is served locally without a sidecar call or new row")
+        void localHitSkipsSidecar() {
+            when(parserClient.extract(any(), any())).thenReturn(success("1.0"));
+
+            ParsedDocument first = orchestrator.ingestDocument(gstr1("apr.pdf"), null);
+            ParsedDocument second = orchestrator.ingestDocument(gstr1("apr-copy.pdf"), null);
+
+            verify(parserClient, times(1)).extract(any(), any());
+            verify(repository, times(2)).save(any());
+            assertThat(first.getContentSha256()).hasSize(64);
+            assertThat(second.getId()).isEqualTo(first.getId());
+            assertThat(second.getOriginalFilename()).isEqualTo("apr-copy.pdf");
+            assertThat(second.getParsedJson()).isEqualTo(first.getParsedJson());
+            assertThat(second.getParseStatus()).isEqualTo("SUCCESS");
+            assertThat(lookups("hit", "local")).isEqualTo(1);
+            assertThat(lookups("miss", "none")).isEqualTo(1);
+            assertThat(meterRegistry.get("parser.cache.saved.duration").counter().count()).isEqualTo(1200);
+        }
+
+        @Test
+        @DisplayName("Failed parses are not cached")
+        void failuresNotCached() {
+            when(parserClient.extract(any(), any())).thenReturn(
+                    new ParsedDocumentResponse("FAILED", null, null, null, 0, "1.0", null));
+
+            orchestrator.ingestDocument(gstr1("apr.pdf"), null);
+            orchestrator.ingestDocument(gstr1("apr.pdf"), null);
+
+            verify(parserClient, times(2)).extract(any(), any());
+        }
+
+        @Test
+        @DisplayName("The same bytes under another doc-type hint are parsed again")
+        void hintScoped() {
+            when(parserClient.extract(any(), any())).thenReturn(success("1.0"));
+
+            orchestrator.ingestDocument(gstr1("apr.pdf"), "gstr1");
+            ParsedDocument unhinted = orchestrator.ingestDocument(gstr1("apr.pdf"), null);
+            orchestrator.ingestDocument(gstr1("apr.pdf"), "gstr1");
+
+            verify(parserClient).extract(any(), eq("gstr1"));
+            verify(parserClient).extract(any(), isNull());
+            assertThat(unhinted.getDocTypeHint()).isEqualTo("NONE");
+            assertThat(lookups("hit", "local")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Hits are scoped to the uploading tenant")
+        void tenantScoped() {
+            when(parserClient.extract(any(), any())).thenReturn(success("1.0"));
+
+            orchestrator.ingestDocument(gstr1("apr.pdf"), null);
+            TenantContext.setCurrentTenant("tenant-b");
+            orchestrator.ingestDocument(gstr1("apr.pdf"), null);
+
+            verify(parserClient, times(2)).extract(any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Tiers and versions")
+    class Tiers {
+
+        @Test
+        @DisplayName("Falls back to the newest successful row in parsed_documents")
+        void dbTierHit() {
+            ParseCache cache = cache(false);
+            UUID id = UUID.randomUUID();
+            when(repository.findFirstByTenantIdAndContentSha256AndDocTypeHintAndParserVersionAndParseStatusOrderByCreatedAtDesc(
+                    TENANT, "abc", "gstr1", "1.0", "SUCCESS"))
+                    .thenReturn(Optional.of(ParsedDocument.builder()
+                            .id(id).tenantId(TENANT).docType("GSTR1_PDF").parserVersion("1.0")
+                            .parseStatus("SUCCESS").parsedJson("{}").parseDurationMs(900).build()));
+
+            assertThat(cache.lookup(TENANT, "abc", "gstr1", "x.pdf")).get()
+                    .extracting(ParsedDocument::getId).isEqualTo(id);
+            assertThat(cache.lookup(TENANT, "abc", "gstr1", "x.pdf")).isPresent();
+
+            assertThat(lookups("hit", "db")).isEqualTo(1);
+            assertThat(lookups("hit", "local")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("A new sidecar version stops earlier parses from matching")
+        void versionChangeInvalidates() {
+            ParseCache cache = cache(false);
+            cache.store(ParsedDocument.builder().id(UUID.randomUUID()).tenantId(TENANT).contentSha256("abc")
+                    .parserVersion("1.0").parseStatus("SUCCESS").parsedJson("{}").build());
+            assertThat(cache.lookup(TENANT, "abc", null, "x.pdf")).isPresent();
+
+            cache.store(ParsedDocument.builder().id(UUID.randomUUID()).tenantId(TENANT).contentSha256("other")
+                    .parserVersion("2.0").parseStatus("SUCCESS").parsedJson("{}").build());
+
+            assertThat(cache.currentParserVersion()).isEqualTo("2.0");
+            assertThat(cache.lookup(TENANT, "abc", null, "x.pdf")).isEmpty();
+            verify(repository).findFirstByTenantIdAndContentSha256AndDocTypeHintAndParserVersionAndParseStatusOrderByCreatedAtDesc(
+                    TENANT, "abc", "NONE", "2.0", "SUCCESS");
+        }
+
+        @Test
+        @DisplayName("Keys on the sidecar's reported version from startup, not the configured default")
+        void versionFromSidecarAtStartup() {
+            ParseCache cache = cache(false);
+            when(parserClient.parserVersion()).thenReturn("1.4");
+
+            cache.resolveParserVersion();
+
+            assertThat(cache.currentParserVersion()).isEqualTo("1.4");
+        }
+
+        @Test
+        @DisplayName("Keeps the configured version when the sidecar does not answer")
+        void configuredVersionWithoutSidecar() {
+            ParseCache cache = cache(false);
+            when(parserClient.parserVersion()).thenReturn(null);
+
+            cache.resolveParserVersion();
+
+            assertThat(cache.currentParserVersion()).isEqualTo("1.0");
+        }
+
+        @Test
+        @DisplayName("Shared tier round-trips entries through Redis as JSON")
+        @SuppressWarnings("unchecked")
+        void sharedTierRoundTrip() {
+            RedissonClient redisson = mock(RedissonClient.class);
+            RBucket<Object> bucket = mock(RBucket.class);
+            AtomicReference<Object> stored = new AtomicReference<>();
+            when(redissonProvider.getIfAvailable()).thenReturn(redisson);
+            when(redisson.getBucket(anyString(), eq(StringCodec.INSTANCE))).thenReturn(bucket);
+            doAnswer(i -> { stored.set(i.getArgument(0)); return null; })
+                    .when(bucket).set(any(), any(Duration.class));
+            when(bucket.get()).thenAnswer(i -> stored.get());
+
+            UUID id = UUID.randomUUID();
+            cache(true).store(ParsedDocument.builder().id(id).tenantId(TENANT).contentSha256("abc")
+                    .docType("GSTR1_PDF").parserVersion("1.0").parseStatus("SUCCESS")
+                    .parsedJson("{\"gstin\":\"29ABCDE1234F1Z5\"}").parseDurationMs(700).build());
+
+            // A second pod: empty local tier, same Redis
+            Optional<ParsedDocument> hit = cache(true).lookup(TENANT, "abc", null, "y.pdf");
+
+            assertThat(hit).isPresent();
+            assertThat(hit.get().getId()).isEqualTo(id);
+            assertThat(hit.get().getParsedJson()).isEqualTo("{\"gstin\":\"29ABCDE1234F1Z5\"}");
+            assertThat(lookups("hit", "shared")).isEqualTo(1);
+            verify(redisson, atLeastOnce()).getBucket(eq("parseCache:tenant-a:1.0:NONE:abc"), eq(StringCodec.INSTANCE));
+            verifyNoInteractions(repository);
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package com.learning.backendservice.service.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.learning.backendservice.config.AuditJobProperties;
+import com.learning.backendservice.config.UploadProperties;
+import com.learning.backendservice.dto.AuditJobResponse;
+import com.learning.backendservice.engine.AnalysisMode;
+import com.learning.backendservice.engine.AuditUserParams;
+import com.learning.backendservice.entity.AuditRun;
+import com.learning.backendservice.exception.InsufficientCreditsException;
+import com.learning.backendservice.repository.AuditRunRepository;
+import com.learning.backendservice.service.AuditRunOrchestrator;
+import com.learning.backendservice.service.CreditClient;
+import com.learning.common.infra.exception.NotFoundException;
+import com.learning.common.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditJobService")
+class AuditJobServiceTest {
+
+    private static final String TENANT = "tenant123";
+    private static final String USER = "user1";
+    private static final LocalDate AS_ON = LocalDate.of(2025, 3, 31);
+
+    @Mock private AuditRunRepository runRepository;
+    @Mock private CreditClient creditClient;
+    @Mock private AuditRunOrchestrator orchestrator;
+
+    @TempDir Path spoolRoot;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private AuditJobProperties jobProperties;
+    private AuditJobSpool spool;
+    private AuditJobService service;
+
+    @BeforeEach
+    void setUp() {
+        jobProperties = new AuditJobProperties();
+        jobProperties.setSpoolDir(spoolRoot.toString());
+        jobProperties.setMaxAttempts(2);
+        spool = new AuditJobSpool(jobProperties);
+        service = new AuditJobService(runRepository, spool, creditClient, new UploadProperties(),
+                jobProperties, objectMapper, 7);
+        TenantContext.setCurrentTenant(TENANT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private static MultipartFile file(String name, String content) {
+        return new MockMultipartFile("files", name, "application/octet-stream", content.getBytes());
+    }
+
+    private AuditRun submitted() {
+        when(runRepository.save(any(AuditRun.class))).thenAnswer(i -> i.getArgument(0));
+        service.submit(List.of(file("a.xlsx", "first"), file("b.pdf", "second")),
+                AnalysisMode.GSTR_RULES_ANALYSIS, AS_ON, USER,
+                new AuditUserParams(true, false, new BigDecimal("5000000"), null));
+        ArgumentCaptor<AuditRun> captor = ArgumentCaptor.forClass(AuditRun.class);
+        verify(runRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    @Nested
+    @DisplayName("submit")
+    class Submit {
+
+        @Test
+        @DisplayName("spools files and persists a PENDING run carrying the request")
+        void spoolsAndQueues() throws Exception {
+            AuditRun run = submitted();
+
+            assertThat(run.getStatus()).isEqualTo("PENDING");
+            assertThat(run.getTenantId()).isEqualTo(TENANT);
+            assertThat(run.getUserId()).isEqualTo(USER);
+            assertThat(run.getSpoolPath()).isEqualTo(spoolRoot.resolve(run.getId().toString()).toString());
+            verify(creditClient).checkBalance(USER, 20);
+
+            AuditJobRequest request = service.readRequest(run);
+            assertThat(request.mode()).isEqualTo(AnalysisMode.GSTR_RULES_ANALYSIS);
+            assertThat(request.asOnDate()).isEqualTo(AS_ON);
+            assertThat(request.userParams())
+                    .isEqualTo(new AuditUserParams(true, false, new BigDecimal("5000000"), null));
+
+            List<MultipartFile> reopened = spool.open(run.getSpoolPath(), request.files());
+            assertThat(reopened).extracting(MultipartFile::getOriginalFilename)
+                    .containsExactly("a.xlsx", "b.pdf");
+            assertThat(new String(reopened.get(1).getBytes())).isEqualTo("second");
+        }
+
+        @Test
+        @DisplayName("rejects before spooling when credits are insufficient")
+        void insufficientCredits() {
+            when(creditClient.checkBalance(USER, 1)).thenThrow(new InsufficientCreditsException("no credits"));
+
+            assertThatThrownBy(() -> service.submit(List.of(file("a.xlsx", "x")),
+                    AnalysisMode.LEDGER_ANALYSIS, AS_ON, USER, AuditUserParams.defaults()))
+                    .isInstanceOf(InsufficientCreditsException.class);
+            verify(runRepository, never()).save(any());
+            assertThat(spoolRoot.toFile().list()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("rejects empty files")
+        void rejectsEmptyFile() {
+            assertThatThrownBy(() -> service.submit(List.of(file("a.xlsx", "")),
+                    AnalysisMode.LEDGER_ANALYSIS, AS_ON, USER, AuditUserParams.defaults()))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("worker lifecycle")
+    class WorkerLifecycle {
+
+        @Test
+        @DisplayName("claim locks pending ids and marks them RUNNING")
+        void claimMarksRunning() {
+            UUID id = UUID.randomUUID();
+            AuditRun run = AuditRun.builder().id(id).status("RUNNING").build();
+            when(runRepository.lockPendingJobIds(3)).thenReturn(List.of(id));
+            when(runRepository.findAllById(List.of(id))).thenReturn(List.of(run));
+
+            assertThat(service.claim(3)).containsExactly(run);
+            verify(runRepository).markRunning(eq(List.of(id)), any(OffsetDateTime.class));
+        }
+
+        @Test
+        @DisplayName("claim does nothing when the queue is empty")
+        void claimEmptyQueue() {
+            when(runRepository.lockPendingJobIds(anyInt())).thenReturn(List.of());
+
+            assertThat(service.claim(4)).isEmpty();
+            verify(runRepository, never()).markRunning(any(), any());
+        }
+
+        @Test
+        @DisplayName("stale jobs are requeued until max attempts, then failed")
+        void recoverStaleJobs() {
+            jobProperties.setStaleAfter(Duration.ofMinutes(5));
+            AuditRun retry = AuditRun.builder().id(UUID.randomUUID()).status("RUNNING").attempts(1).build();
+            AuditRun exhausted = AuditRun.builder().id(UUID.randomUUID()).status("RUNNING").attempts(2).build();
+            when(runRepository.findStaleRunning(any())).thenReturn(List.of(retry, exhausted));
+            when(runRepository.requeueStale(eq(retry.getId()), any())).thenReturn(1);
+            when(runRepository.abandonStale(eq(exhausted.getId()), anyString(), any(), any())).thenReturn(1);
+
+            assertThat(service.recoverStaleJobs()).isEqualTo(2);
+            ArgumentCaptor<String> error = ArgumentCaptor.forClass(String.class);
+            verify(runRepository).abandonStale(eq(exhausted.getId()), error.capture(), any(), any());
+            assertThat(error.getValue()).contains("2 attempts");
+        }
+
+        @Test
+        @DisplayName("stale cutoff is applied to the heartbeat in both the scan and the guarded flip")
+        void recoverUsesHeartbeatCutoff() {
+            jobProperties.setStaleAfter(Duration.ofMinutes(5));
+            AuditRun run = AuditRun.builder().id(UUID.randomUUID()).status("RUNNING").attempts(1).build();
+            ArgumentCaptor<OffsetDateTime> scanCutoff = ArgumentCaptor.forClass(OffsetDateTime.class);
+            when(runRepository.findStaleRunning(scanCutoff.capture())).thenReturn(List.of(run));
+
+            OffsetDateTime before = OffsetDateTime.now().minusMinutes(5);
+            service.recoverStaleJobs();
+
+            assertThat(scanCutoff.getValue()).isBetween(before, OffsetDateTime.now().minusMinutes(5));
+            verify(runRepository).requeueStale(run.getId(), scanCutoff.getValue());
+        }
+
+        @Test
+        @DisplayName("a job another replica recovered, or that heartbeated since the scan, is left alone")
+        void recoverSkipsLostRace() {
+            AuditRun requeuedElsewhere = AuditRun.builder().id(UUID.randomUUID()).status("RUNNING").attempts(1).build();
+            AuditRun exhaustedElsewhere = AuditRun.builder().id(UUID.randomUUID()).status("RUNNING")
+                    .attempts(2).spoolPath(spoolRoot.resolve("job").toString()).build();
+            when(runRepository.findStaleRunning(any())).thenReturn(List.of(requeuedElsewhere, exhaustedElsewhere));
+            when(runRepository.requeueStale(any(), any())).thenReturn(0);
+            when(runRepository.abandonStale(any(), anyString(), any(), any())).thenReturn(0);
+
+            assertThat(service.recoverStaleJobs()).isZero();
+        }
+
+        @Test
+        @DisplayName("heartbeat is fenced on each job's claim attempt and reports jobs claimed again")
+        void heartbeat() {
+            UUID kept = UUID.randomUUID();
+            UUID reclaimed = UUID.randomUUID();
+            when(runRepository.heartbeat(eq(kept), eq(1), any(OffsetDateTime.class))).thenReturn(1);
+            when(runRepository.heartbeat(eq(reclaimed), eq(2), any(OffsetDateTime.class))).thenReturn(0);
+
+            assertThat(service.heartbeat(Map.of())).isEmpty();
+            assertThat(service.heartbeat(Map.of(kept, 1, reclaimed, 2))).containsExactly(reclaimed);
+        }
+
+        @Test
+        @DisplayName("failure reason is truncated to fit the column")
+        void failTruncates() {
+            UUID id = UUID.randomUUID();
+            when(runRepository.markFailed(eq(id), eq(1), anyString(), any())).thenReturn(1);
+
+            assertThat(service.fail(id, 1, "x".repeat(5000))).isTrue();
+
+            ArgumentCaptor<String> error = ArgumentCaptor.forClass(String.class);
+            verify(runRepository).markFailed(eq(id), eq(1), error.capture(), any());
+            assertThat(error.getValue()).hasSize(2000);
+        }
+    }
+
+    @Nested
+    @DisplayName("status and long-poll")
+    class Status {
+
+        private AuditRun run(UUID id, String status) {
+            return AuditRun.builder().id(id).tenantId(TENANT).userId(USER).status(status).build();
+        }
+
+        @Test
+        @DisplayName("unknown or foreign job is not found")
+        void notFound() {
+            UUID id = UUID.randomUUID();
+            when(runRepository.findByIdAndTenantIdAndUserId(id, TENANT, USER)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> service.getJob(id, USER)).isInstanceOf(NotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("finished job answers immediately with the run id")
+        void terminalAnswersImmediately() {
+            UUID id = UUID.randomUUID();
+            when(runRepository.findByIdAndTenantIdAndUserId(id, TENANT, USER))
+                    .thenReturn(Optional.of(run(id, "SUCCESS")));
+
+            DeferredResult<AuditJobResponse> result = service.awaitJob(id, USER, 30);
+
+            assertThat(result.hasResult()).isTrue();
+            AuditJobResponse response = (AuditJobResponse) result.getResult();
+            assertThat(response.getRunId()).isEqualTo(id.toString());
+        }
+
+        @Test
+        @DisplayName("pending job is released when the worker finishes it")
+        void releasedOnFinish() {
+            UUID id = UUID.randomUUID();
+            when(runRepository.findByIdAndTenantIdAndUserId(id, TENANT, USER))
+                    .thenReturn(Optional.of(run(id, "PENDING")))
+                    .thenReturn(Optional.of(run(id, "RUNNING")))
+                    .thenReturn(Optional.of(run(id, "FAILED")));
+
+            DeferredResult<AuditJobResponse> result = service.awaitJob(id, USER, 30);
+            assertThat(result.hasResult()).isFalse();
+
+            TenantContext.clear(); // worker threads release waiters without a request tenant
+            service.jobFinished(id);
+
+            assertThat(result.hasResult()).isTrue();
+            assertThat(((AuditJobResponse) result.getResult()).getStatus()).isEqualTo("FAILED");
+        }
+
+        @Test
+        @DisplayName("waiters of jobs finished on another replica are released on the poll tick")
+        void releasedByPollTick() {
+            UUID id = UUID.randomUUID();
+            when(runRepository.findByIdAndTenantIdAndUserId(id, TENANT, USER))
+                    .thenReturn(Optional.of(run(id, "RUNNING")))
+                    .thenReturn(Optional.of(run(id, "RUNNING")))
+                    .thenReturn(Optional.of(run(id, "SUCCESS")));
+            when(runRepository.findAllById(List.of(id))).thenReturn(List.of(run(id, "SUCCESS")));
+
+            DeferredResult<AuditJobResponse> result = service.awaitJob(id, USER, 30);
+            service.releaseFinishedWaiters();
+
+            assertThat(((AuditJobResponse) result.getResult()).getStatus()).isEqualTo("SUCCESS");
+        }
+    }
+
+    @Nested
+    @DisplayName("AuditJobWorker")
+    class Worker {
+
+        private AuditRun claimedJob() throws Exception {
+            AuditRun run = submitted();
+            run.setStatus("RUNNING");
+            run.setAttempts(1);
+            return run;
+        }
+
+        private AuditJobWorker worker() {
+            return new AuditJobWorker(service, orchestrator, spool, Runnable::run, jobProperties);
+        }
+
+        @Test
+        @DisplayName("runs the queued pipeline under the job's tenant and clears the spool")
+        void executesJob() throws Exception {
+            AuditRun job = claimedJob();
+            String[] tenantSeen = new String[1];
+            when(orchestrator.analyzeQueuedRun(eq(job.getId()), eq(1), any(), any(), any(), any()))
+                    .thenAnswer(i -> {
+                        tenantSeen[0] = TenantContext.getCurrentTenant();
+                        List<MultipartFile> files = i.getArgument(2);
+                        assertThat(files).hasSize(2);
+                        return null;
+                    });
+            TenantContext.clear();
+
+            worker().execute(job);
+
+            assertThat(tenantSeen[0]).isEqualTo(TENANT);
+            assertThat(Files.exists(Path.of(job.getSpoolPath()))).isFalse();
+            verify(runRepository, never()).markFailed(any(), anyInt(), anyString(), any());
+        }
+
+        @Test
+        @DisplayName("marks the job FAILED when the pipeline throws")
+        void failsJob() throws Exception {
+            AuditRun job = claimedJob();
+            when(orchestrator.analyzeQueuedRun(any(), anyInt(), any(), any(), any(), any()))
+                    .thenThrow(new IllegalArgumentException("No applicable rules"));
+            when(runRepository.markFailed(eq(job.getId()), eq(1), eq("No applicable rules"), any())).thenReturn(1);
+
+            worker().execute(job);
+
+            verify(runRepository).markFailed(eq(job.getId()), eq(1), eq("No applicable rules"), any());
+            assertThat(Files.exists(Path.of(job.getSpoolPath()))).isFalse();
+        }
+
+        @Test
+        @DisplayName("a superseded attempt leaves the job and its spool to the claim that replaced it")
+        void supersededAttemptKeepsSpool() throws Exception {
+            AuditRun job = claimedJob();
+            when(orchestrator.analyzeQueuedRun(any(), anyInt(), any(), any(), any(), any()))
+                    .thenThrow(new IllegalStateException("no longer owned by attempt 1"));
+            when(runRepository.markFailed(eq(job.getId()), eq(1), anyString(), any())).thenReturn(0);
+
+            AuditJobWorker worker = worker();
+            worker.execute(job);
+
+            assertThat(Files.exists(Path.of(job.getSpoolPath()))).isTrue();
+            assertThat(worker.inFlight()).isZero();
+        }
+
+        @Test
+        @DisplayName("refuses to start without a spool directory")
+        void requiresSpoolDir() {
+            jobProperties.setSpoolDir(null);
+            AuditJobSpool unconfigured = new AuditJobSpool(jobProperties);
+
+            assertThatThrownBy(() -> new AuditJobWorker(service, orchestrator, unconfigured, Runnable::run,
+                    jobProperties))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("spool-dir");
+        }
+
+        @Test
+        @DisplayName("heartbeats the jobs it is executing once the interval has passed")
+        void heartbeatsRunningJobs() throws Exception {
+            jobProperties.setHeartbeatInterval(Duration.ZERO);
+            AuditRun job = claimedJob();
+            List<UUID> heartbeated = new ArrayList<>();
+            when(runRepository.heartbeat(any(), anyInt(), any())).thenAnswer(i -> {
+                heartbeated.add(i.getArgument(0));
+                return 1;
+            });
+            when(runRepository.findStaleRunning(any())).thenReturn(List.of());
+            when(runRepository.findAllById(any())).thenReturn(List.of(job));
+            when(runRepository.lockPendingJobIds(anyInt())).thenReturn(List.of(job.getId()), List.of());
+            BlockingQueue<Runnable> held = new LinkedBlockingQueue<>();
+            AuditJobWorker worker = new AuditJobWorker(service, orchestrator, spool, held::add, jobProperties);
+
+            worker.poll(); // claims and dispatches; the job is held "running"
+            worker.poll(); // heartbeats it
+
+            assertThat(worker.inFlight()).isEqualTo(1);
+            assertThat(heartbeated).containsExactly(job.getId());
+
+            held.remove().run();
+            worker.poll();
+
+            assertThat(worker.inFlight()).isZero();
+            verify(runRepository, times(1)).heartbeat(eq(job.getId()), eq(1), any());
+        }
+
+        @Test
+        @DisplayName("never claims more jobs than it has idle workers")
+        void claimsOnlyIdleCapacity() {
+            jobProperties.setWorkers(3);
+            when(runRepository.findStaleRunning(any())).thenReturn(List.of());
+            when(runRepository.lockPendingJobIds(3)).thenReturn(List.of());
+
+            worker().poll();
+
+            verify(runRepository).lockPendingJobIds(3);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.learning.backendservice.service.reference;
+
+import com.learning.backendservice.entity.LateFeeReliefWindow;
+import com.learning.backendservice.entity.ReconToleranceConfig;
+import com.learning.backendservice.entity.Rule86bConfig;
+import com.learning.backendservice.repository.LateFeeReliefWindowRepository;
+import com.learning.backendservice.repository.ReconToleranceConfigRepository;
+import com.learning.backendservice.repository.Rule86bConfigRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.MessageListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("ReferenceDataCache")
+class ReferenceDataCacheTest {
+
+    @Mock private LateFeeReliefWindowRepository reliefWindowRepository;
+    @Mock private ReconToleranceConfigRepository reconToleranceRepository;
+    @Mock private Rule86bConfigRepository rule86bConfigRepository;
+    @Mock private ObjectProvider<RedissonClient> redissonProvider;
+    @Mock private RedissonClient redissonClient;
+    @Mock private RTopic topic;
+
+    @BeforeEach
+    void setUp() {
+        when(reliefWindowRepository.findAll(any(Sort.class))).thenReturn(List.of(
+                window(3, "GSTR1", "NIL", "N3"),
+                window(2, "GSTR1", "ALL", "N2"),
+                window(1, "GSTR3B", "NON_NIL", "N1")));
+        when(reconToleranceRepository.findAll()).thenReturn(List.of(
+                ReconToleranceConfig.builder().tenantId("DEFAULT").build(),
+                ReconToleranceConfig.builder().tenantId("tenant-a").toleranceAmount(new BigDecimal("10.00")).build()));
+        when(rule86bConfigRepository.findAll()).thenReturn(List.of(
+                Rule86bConfig.builder().tenantId("DEFAULT").build()));
+        when(redissonClient.getTopic(anyString(), any())).thenReturn(topic);
+    }
+
+    private static LateFeeReliefWindow window(int id, String returnType, String appliesTo, String notificationNo) {
+        return LateFeeReliefWindow.builder()
+                .id(id).returnType(returnType).appliesTo(appliesTo).notificationNo(notificationNo)
+                .feeCgstPerDay(BigDecimal.ZERO).feeSgstPerDay(BigDecimal.ZERO)
+                .build();
+    }
+
+    private ReferenceDataCache cache(boolean withRedis) {
+        when(redissonProvider.getIfAvailable()).thenReturn(withRedis ? redissonClient : null);
+        return new ReferenceDataCache(reliefWindowRepository, reconToleranceRepository, rule86bConfigRepository,
+                redissonProvider, true);
+    }
+
+    @Test
+    @DisplayName("Loads once and serves relief buckets, tenant overrides and DEFAULT fallbacks from memory")
+    void snapshotServedFromMemory() {
+        ReferenceDataCache cache = cache(false);
+
+        ReferenceDataSnapshot first = cache.current();
+        ReferenceDataSnapshot second = cache.current();
+
+        assertThat(second).isSameAs(first);
+        verify(reliefWindowRepository, times(1)).findAll(any(Sort.class));
+        assertThat(first.reliefWindows("GSTR_1_NIL")).extracting("notificationNo").containsExactly("N3", "N2");
+        assertThat(first.reliefWindows("GSTR_1_NON_NIL")).extracting("notificationNo").containsExactly("N2");
+        assertThat(first.reliefWindows("GSTR_3B_NON_NIL")).extracting("notificationNo").containsExactly("N1");
+        assertThat(first.reliefWindows("GSTR_9_NIL")).isEmpty();
+        assertThat(first.tolerance("tenant-a")).get().extracting("amount").isEqualTo(new BigDecimal("10.00"));
+        assertThat(first.tolerance("tenant-b")).get().extracting("amount").isEqualTo(new BigDecimal("1.00"));
+        assertThat(first.rule86bConfig("tenant-b")).isPresent();
+    }
+
+    @Test
+    @DisplayName("A failed reload keeps serving the previous version")
+    void failedReloadKeepsPreviousSnapshot() {
+        ReferenceDataCache cache = cache(false);
+        ReferenceDataSnapshot loaded = cache.current();
+        when(reconToleranceRepository.findAll()).thenThrow(new DataAccessResourceFailureException("down"));
+
+        cache.scheduledReload();
+        assertThatThrownBy(cache::reload).isInstanceOf(DataAccessResourceFailureException.class);
+
+        assertThat(cache.current()).isSameAs(loaded);
+    }
+
+    @Test
+    @DisplayName("Invalidation reloads locally with a new version and notifies other pods")
+    void invalidatePublishes() {
+        ReferenceDataCache cache = cache(true);
+        long before = cache.current().version();
+
+        ReferenceDataSnapshot reloaded = cache.invalidate();
+
+        assertThat(reloaded.version()).isGreaterThan(before);
+        assertThat(cache.current()).isSameAs(reloaded);
+        verify(topic).publish(anyString());
+    }
+
+    @Test
+    @DisplayName("Invalidations from other pods trigger a reload, its own are ignored")
+    @SuppressWarnings("unchecked")
+    void reloadsOnOtherPodsInvalidation() {
+        ArgumentCaptor<MessageListener<String>> listener = ArgumentCaptor.forClass(MessageListener.class);
+        ReferenceDataCache cache = cache(true);
+        verify(topic).addListener(eq(String.class), listener.capture());
+        long loaded = cache.current().version();
+
+        cache.invalidate();
+        ArgumentCaptor<String> ownOrigin = ArgumentCaptor.forClass(String.class);
+        verify(topic).publish(ownOrigin.capture());
+        listener.getValue().onMessage(ReferenceDataCache.TOPIC, ownOrigin.getValue());
+        listener.getValue().onMessage(ReferenceDataCache.TOPIC, "another-pod");
+
+        verify(reliefWindowRepository, after(500).times(3)).findAll(any(Sort.class));
+        assertThat(cache.current().version()).isGreaterThanOrEqualTo(loaded + 1);
+    }
+}
@@ -57,7 +57,7 @@ public final class CacheNames {
     /**
      * [DISTRIBUTED] Cache for user's all permissions.
      * Key: userId
-     * Value: Set<String> (permission strings)
+     * Value: super-admin flag + Set<String> (permission strings)
      * TTL: 10 minutes
      */
     public static final String USER_ALL_PERMISSIONS = "userAllPermissions";
@@ -1,10 +1,16 @@
 package com.learning.common.infra.cache;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RedissonClient;
 import org.redisson.spring.cache.RedissonSpringCacheManager;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
@@ -32,17 +38,27 @@ import java.util.Map;
  * </ul>
  * 
  * <p>
+ * With {@code app.cache.near-cache.enabled}, each DISTRIBUTED cache becomes a
+ * {@link NearCache}: a per-pod Caffeine level in front of Redisson, invalidated
+ * over Redis pub/sub, so repeated hits skip the network round-trip.
+ * </p>
+ * 
+ * <p>
+ * TTL and max size come from {@link CommonCacheProperties} per cache; the Redis
+ * level stays unbounded unless {@code remote-max-size} is set. Caffeine levels
+ * export Micrometer statistics tagged {@code level=local}.
+ * </p>
+ * 
+ * <p>
  * If Redisson is not available, falls back to Caffeine for all caches.
  * </p>
  */
 @Slf4j
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CommonCacheProperties.class)
 public class CommonCacheConfiguration {
 
-    private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
-    private static final long DEFAULT_MAX_SIZE = 1000;
-
     /**
      * Primary cache manager with hybrid routing.
      * Uses Redisson for distributed caches when available, Caffeine for local
@@ -51,16 +67,20 @@ public class CommonCacheConfiguration {
     @Bean
     @Primary
     public CacheManager cacheManager(
-            org.springframework.beans.factory.ObjectProvider<RedissonClient> redissonProvider) {
+            ObjectProvider<RedissonClient> redissonProvider,
+            CommonCacheProperties properties,
+            ObjectProvider<MeterRegistry> meterRegistryProvider) {
 
         RedissonClient redissonClient = redissonProvider.getIfAvailable();
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
 
         if (redissonClient != null && !redissonClient.isShutdown()) {
-            log.info("✅ Redisson available - using hybrid caching (Redisson + Caffeine)");
-            return createHybridCacheManager(redissonClient);
+            log.info("✅ Redisson available - using hybrid caching (Redisson + Caffeine), nearCache={}",
+                    properties.getNearCache().isEnabled());
+            return createHybridCacheManager(redissonClient, properties, meterRegistry);
         } else {
             log.info("⚠️ Redisson not available - using Caffeine for all caches");
-            return createCaffeineCacheManager();
+            return createCaffeineCacheManager(properties, meterRegistry);
         }
     }
 
@@ -74,25 +94,45 @@ public class CommonCacheConfiguration {
         return new CaffeineCacheService();
     }
 
-    private CacheManager createHybridCacheManager(RedissonClient redissonClient) {
+    private CacheManager createHybridCacheManager(RedissonClient redissonClient,
+                                                  CommonCacheProperties properties,
+                                                  MeterRegistry meterRegistry) {
         SimpleCacheManager cacheManager = new SimpleCacheManager();
         List<Cache> caches = new ArrayList<>();
 
         // Redisson caches for distributed
         Map<String, org.redisson.spring.cache.CacheConfig> redissonCacheConfigs = new HashMap<>();
         for (String cacheName : CacheNames.DISTRIBUTED_CACHES) {
+            CommonCacheProperties.Spec spec = properties.spec(cacheName);
             org.redisson.spring.cache.CacheConfig config = new org.redisson.spring.cache.CacheConfig();
-            config.setTTL(DEFAULT_TTL.toMillis());
+            config.setTTL(spec.getTtl().toMillis());
             config.setMaxIdleTime(0); // No idle timeout
+            config.setMaxSize(Math.toIntExact(spec.getRemoteMaxSize())); // 0 = unbounded
             redissonCacheConfigs.put(cacheName, config);
         }
 
         RedissonSpringCacheManager redissonCacheManager = new RedissonSpringCacheManager(redissonClient,
                 redissonCacheConfigs);
 
+        boolean nearCache = properties.getNearCache().isEnabled();
         for (String cacheName : CacheNames.DISTRIBUTED_CACHES) {
             Cache redissonCache = redissonCacheManager.getCache(cacheName);
-            if (redissonCache != null) {
+            if (redissonCache == null) {
+                continue;
+            }
+            if (nearCache) {
+                CommonCacheProperties.Spec spec = properties.spec(cacheName);
+                Duration localTtl = spec.getLocalTtl().compareTo(spec.getTtl()) < 0 ? spec.getLocalTtl() : spec.getTtl();
+                caches.add(new NearCache(cacheName, redissonCache,
+                        Caffeine.newBuilder()
+                                .expireAfterWrite(localTtl)
+                                .maximumSize(spec.getMaxSize())
+                                .recordStats()
+                                .build(),
+                        redissonClient.getTopic(NearCache.TOPIC_PREFIX + cacheName),
+                        meterRegistry));
+                log.debug("Registered DISTRIBUTED cache: {} (Caffeine near-cache + Redisson)", cacheName);
+            } else {
                 caches.add(redissonCache);
                 log.debug("Registered DISTRIBUTED cache: {} (Redisson)", cacheName);
             }
@@ -100,13 +140,7 @@ public class CommonCacheConfiguration {
 
         // Caffeine caches for local
         for (String cacheName : CacheNames.LOCAL_CACHES) {
-            CaffeineCache caffeineCache = new CaffeineCache(cacheName,
-                    Caffeine.newBuilder()
-                            .expireAfterWrite(DEFAULT_TTL)
-                            .maximumSize(DEFAULT_MAX_SIZE)
-                            .recordStats()
-                            .build());
-            caches.add(caffeineCache);
+            caches.add(localCache(cacheName, properties.spec(cacheName), meterRegistry));
             log.debug("Registered LOCAL cache: {} (Caffeine)", cacheName);
         }
 
@@ -115,13 +149,28 @@ public class CommonCacheConfiguration {
         return cacheManager;
     }
 
-    private CacheManager createCaffeineCacheManager() {
+    private CacheManager createCaffeineCacheManager(CommonCacheProperties properties, MeterRegistry meterRegistry) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.setCacheNames(CacheNames.all());
+        CommonCacheProperties.Spec defaults = properties.getDefaults();
         cacheManager.setCaffeine(Caffeine.newBuilder()
-                .expireAfterWrite(DEFAULT_TTL)
-                .maximumSize(DEFAULT_MAX_SIZE)
+                .expireAfterWrite(defaults.getTtl())
+                .maximumSize(defaults.getMaxSize())
                 .recordStats());
+        for (String cacheName : CacheNames.all()) {
+            CaffeineCache cache = localCache(cacheName, properties.spec(cacheName), meterRegistry);
+            cacheManager.registerCustomCache(cacheName, cache.getNativeCache());
+        }
         return cacheManager;
     }
+
+    private CaffeineCache localCache(String cacheName, CommonCacheProperties.Spec spec, MeterRegistry meterRegistry) {
+        CaffeineCache cache = new CaffeineCache(cacheName,
+                Caffeine.newBuilder()
+                        .expireAfterWrite(spec.getTtl())
+                        .maximumSize(spec.getMaxSize())
+                        .recordStats()
+                        .build());
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.getNativeCache(), cacheName, Tags.of("level", "local"));
+        return cache;
+    }
 }
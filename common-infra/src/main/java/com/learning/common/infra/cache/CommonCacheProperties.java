@@ -0,0 +1,90 @@
+package com.learning.common.infra.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache sizing and near-cache settings for {@link CommonCacheConfiguration}.
+ *
+ * <p>Any field left unset on a cache falls back to {@code defaults}:</p>
+ *
+ * <pre>
+ * app:
+ *   cache:
+ *     near-cache:
+ *       enabled: true
+ *     defaults:
+ *       ttl: 10m
+ *       max-size: 1000
+ *       local-ttl: 1m
+ *     caches:
+ *       userAllPermissions:
+ *         ttl: 30m
+ *         remote-max-size: 50000
+ * </pre>
+ */
+@ConfigurationProperties(prefix = "app.cache")
+@Getter
+@Setter
+public class CommonCacheProperties {
+
+    private NearCache nearCache = new NearCache();
+    private Spec defaults = new Spec(Duration.ofMinutes(10), 1000L, Duration.ofMinutes(1), 0L);
+    private Map<String, Spec> caches = new HashMap<>();
+
+    /**
+     * Effective settings of one cache: its own overrides, else {@code defaults}.
+     */
+    public Spec spec(String cacheName) {
+        Spec override = caches.get(cacheName);
+        if (override == null) {
+            return defaults;
+        }
+        return new Spec(
+                override.getTtl() != null ? override.getTtl() : defaults.getTtl(),
+                override.getMaxSize() != null ? override.getMaxSize() : defaults.getMaxSize(),
+                override.getLocalTtl() != null ? override.getLocalTtl() : defaults.getLocalTtl(),
+                override.getRemoteMaxSize() != null ? override.getRemoteMaxSize() : defaults.getRemoteMaxSize());
+    }
+
+    @Getter
+    @Setter
+    public static class NearCache {
+        /** Put a per-pod Caffeine level in front of each Redisson-backed cache. */
+        private boolean enabled = false;
+    }
+
+    @Getter
+    @Setter
+    public static class Spec {
+        /** Entry lifetime; in Redis for distributed caches, in Caffeine for local ones. */
+        private Duration ttl;
+        /** Maximum entries of the Caffeine level: a local cache, or the per-pod copy of a near-cache. */
+        private Long maxSize;
+        /**
+         * Near-cache only: lifetime of the per-pod copy. Bounds staleness if an
+         * invalidation message is lost, e.g. during a Redis reconnect.
+         */
+        private Duration localTtl;
+        /**
+         * Distributed caches only: maximum entries kept in Redis, evicted LRU beyond that.
+         * {@code 0} leaves the Redis level unbounded, limited by {@code ttl} alone.
+         */
+        private Long remoteMaxSize;
+
+        public Spec() {
+        }
+
+        public Spec(Duration ttl, Long maxSize, Duration localTtl, Long remoteMaxSize) {
+            this.ttl = ttl;
+            this.maxSize = maxSize;
+            this.localTtl = localTtl;
+            this.remoteMaxSize = remoteMaxSize;
+        }
+    }
+}
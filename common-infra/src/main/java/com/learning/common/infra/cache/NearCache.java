@@ -0,0 +1,259 @@
+package com.learning.common.infra.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.Nullable;
+
+import java.io.Serializable;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-level cache: a per-pod Caffeine copy in front of a shared (Redisson) cache.
+ *
+ * <h2>Reads</h2>
+ * Served from the local level when present; a local miss reads the shared level and
+ * keeps a local copy.
+ *
+ * <h2>Writes</h2>
+ * Go to the shared level, then publish an invalidation on the Redis topic
+ * {@code cache:invalidate:<name>} so every other pod drops its local copy (the
+ * {@code RLocalCachedMap} invalidation model). A lost message leaves a stale local
+ * copy for at most the local TTL.
+ *
+ * <h2>Invalidation generation</h2>
+ * A read that misses locally may fetch a value from the shared level just before
+ * another pod evicts it; the invalidation then finds no local copy to drop, and the
+ * read would store the old value for the whole local TTL. Every invalidation, received
+ * or local, therefore bumps a per-cache generation, and a read keeps its local copy
+ * only if the generation it saw before the shared fetch is still current.
+ *
+ * <h2>Metrics</h2>
+ * {@code cache.gets{result}}, {@code cache.puts} and {@code cache.evictions} per
+ * {@code level} ({@code local} = Caffeine statistics, {@code remote} = shared level),
+ * plus {@code cache.invalidations.received} for messages from other pods.
+ */
+@Slf4j
+public class NearCache implements Cache {
+
+    static final String TOPIC_PREFIX = "cache:invalidate:";
+
+    /** Invalidation message; {@code key == null} clears the whole cache. */
+    record Invalidation(String origin, @Nullable Object key) implements Serializable {
+    }
+
+    private final String name;
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> local;
+    private final RTopic topic;
+    private final String instanceId = UUID.randomUUID().toString();
+    /** Bumped before every local invalidation; see "Invalidation generation" above. */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter remotePuts;
+    private final Counter remoteEvictions;
+    private final Counter invalidationsReceived;
+
+    public NearCache(String name,
+                     Cache remote,
+                     com.github.benmanes.caffeine.cache.Cache<Object, ValueWrapper> local,
+                     RTopic topic,
+                     MeterRegistry meterRegistry) {
+        this.name = name;
+        this.remote = remote;
+        this.local = local;
+        this.topic = topic;
+
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name, Tags.of("level", "local"));
+        Tags remoteTags = Tags.of("cache", name, "level", "remote");
+        this.remoteHits = meterRegistry.counter("cache.gets", remoteTags.and("result", "hit"));
+        this.remoteMisses = meterRegistry.counter("cache.gets", remoteTags.and("result", "miss"));
+        this.remotePuts = meterRegistry.counter("cache.puts", remoteTags);
+        this.remoteEvictions = meterRegistry.counter("cache.evictions", remoteTags);
+        this.invalidationsReceived = meterRegistry.counter("cache.invalidations.received", "cache", name);
+
+        subscribe();
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        ValueWrapper cached = local.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long seen = generation.get();
+        ValueWrapper shared = remote.get(key);
+        if (shared == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        putLocal(key, shared.get(), seen);
+        return shared;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = local.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        long seen = generation.get();
+        // The shared level serializes concurrent loads of the same key across pods
+        boolean[] loaded = {false};
+        T value = remote.get(key, () -> {
+            loaded[0] = true;
+            return valueLoader.call();
+        });
+        if (loaded[0]) {
+            remoteMisses.increment();
+            remotePuts.increment();
+        } else {
+            remoteHits.increment();
+        }
+        putLocal(key, value, seen);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        remote.put(key, value);
+        remotePuts.increment();
+        generation.incrementAndGet();
+        local.put(key, new SimpleValueWrapper(value));
+        publish(key);
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        long seen = generation.get();
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        if (existing == null) {
+            remotePuts.increment();
+            generation.incrementAndGet();
+            local.put(key, new SimpleValueWrapper(value));
+            publish(key);
+        } else {
+            putLocal(key, existing.get(), seen);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        remoteEvictions.increment();
+        invalidateLocal(key);
+        publish(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = remote.evictIfPresent(key);
+        if (present) {
+            remoteEvictions.increment();
+        }
+        invalidateLocal(key);
+        publish(key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        invalidateLocal(null);
+        publish(null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean present = remote.invalidate();
+        invalidateLocal(null);
+        publish(null);
+        return present;
+    }
+
+    // ─── Private Helpers ────────────────────────────────────────────────────
+
+    private void subscribe() {
+        try {
+            topic.addListener(Invalidation.class, (channel, message) -> {
+                if (instanceId.equals(message.origin())) {
+                    return;
+                }
+                invalidationsReceived.increment();
+                invalidateLocal(message.key());
+            });
+        } catch (Exception e) {
+            log.warn("Near-cache invalidation topic unavailable for {}, local copies expire with their TTL: {}",
+                    name, e.getMessage());
+        }
+    }
+
+    /**
+     * Keep a local copy of a value read from the shared level while the generation is
+     * still {@code seen}. Checked after the put: an invalidation that lands in between
+     * has bumped the generation, and the copy is dropped again.
+     */
+    private void putLocal(Object key, @Nullable Object value, long seen) {
+        local.put(key, new SimpleValueWrapper(value));
+        if (generation.get() != seen) {
+            local.invalidate(key);
+        }
+    }
+
+    /** Drop a local copy ({@code key == null}: all of them), bumping the generation first. */
+    private void invalidateLocal(@Nullable Object key) {
+        generation.incrementAndGet();
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    private void publish(@Nullable Object key) {
+        try {
+            topic.publish(new Invalidation(instanceId, key));
+        } catch (Exception e) {
+            log.warn("Near-cache invalidation not published for {}:{}, other pods refresh within the local TTL: {}",
+                    name, key, e.getMessage());
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.learning.common.infra.cache;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.redisson.api.RedissonClient;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.cache.CacheManager;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -28,13 +31,43 @@ class CommonCacheConfigurationTest {
             public RedissonClient getIfUnique() { return null; }
         };
 
-        CacheManager cacheManager = config.cacheManager(nullProvider);
+        CacheManager cacheManager = config.cacheManager(nullProvider, new CommonCacheProperties(),
+                emptyMeterRegistryProvider());
 
         assertThat(cacheManager.getCache(CacheNames.PERMISSIONS))
                 .as("Permissions cache should exist")
                 .isNotNull();
     }
 
+    @Test
+    void cacheSpecFallsBackToDefaultsPerField() {
+        CommonCacheProperties properties = new CommonCacheProperties();
+        CommonCacheProperties.Spec override = new CommonCacheProperties.Spec();
+        override.setTtl(Duration.ofMinutes(30));
+        properties.getCaches().put(CacheNames.USER_ALL_PERMISSIONS, override);
+
+        CommonCacheProperties.Spec spec = properties.spec(CacheNames.USER_ALL_PERMISSIONS);
+
+        assertThat(spec.getTtl()).isEqualTo(Duration.ofMinutes(30));
+        assertThat(spec.getMaxSize()).isEqualTo(1000L);
+        assertThat(spec.getLocalTtl()).isEqualTo(Duration.ofMinutes(1));
+        assertThat(spec.getRemoteMaxSize()).as("Redis level unbounded unless set").isZero();
+        assertThat(properties.spec(CacheNames.PERMISSIONS).getTtl()).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    private static ObjectProvider<MeterRegistry> emptyMeterRegistryProvider() {
+        return new ObjectProvider<>() {
+            @Override
+            public MeterRegistry getObject() { throw new UnsupportedOperationException(); }
+            @Override
+            public MeterRegistry getObject(Object... args) { throw new UnsupportedOperationException(); }
+            @Override
+            public MeterRegistry getIfAvailable() { return null; }
+            @Override
+            public MeterRegistry getIfUnique() { return null; }
+        };
+    }
+
     @Test
     void cacheNamesAreCorrectConstants() {
         // Verify the constants match expected values (prevents typos)
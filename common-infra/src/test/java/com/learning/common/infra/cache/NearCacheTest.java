@@ -0,0 +1,137 @@
+package com.learning.common.infra.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RTopic;
+import org.redisson.api.listener.MessageListener;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Two pods sharing one remote level and one invalidation topic.
+ */
+class NearCacheTest {
+
+    private static final String NAME = CacheNames.USER_ALL_PERMISSIONS;
+
+    private final List<MessageListener<NearCache.Invalidation>> listeners = new CopyOnWriteArrayList<>();
+    private Cache remote;
+    private Cache remoteSpy;
+    private MeterRegistry registryA;
+    private NearCache podA;
+    private NearCache podB;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCache(NAME);
+        remoteSpy = spy(remote);
+        registryA = new SimpleMeterRegistry();
+        podA = pod(registryA);
+        podB = pod(new SimpleMeterRegistry());
+    }
+
+    @SuppressWarnings("unchecked")
+    private NearCache pod(MeterRegistry registry) {
+        RTopic topic = mock(RTopic.class);
+        when(topic.addListener(eq(NearCache.Invalidation.class), any(MessageListener.class))).thenAnswer(inv -> {
+            listeners.add(inv.getArgument(1));
+            return listeners.size();
+        });
+        when(topic.publish(any())).thenAnswer(inv -> {
+            listeners.forEach(l -> l.onMessage(NearCache.TOPIC_PREFIX + NAME, inv.getArgument(0)));
+            return (long) listeners.size();
+        });
+        return new NearCache(NAME, remoteSpy,
+                Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(1)).maximumSize(100).recordStats().build(),
+                topic, registry);
+    }
+
+    @Test
+    void repeatedReadsAreServedLocally() {
+        remote.put("u1", "perms-v1");
+
+        podA.get("u1");
+        podA.get("u1");
+        podA.get("u1");
+
+        verify(remoteSpy, times(1)).get("u1");
+        assertThat(registryA.get("cache.gets").tags("level", "remote", "result", "hit").counter().count())
+                .isEqualTo(1.0);
+        assertThat(registryA.get("cache.gets").tags("level", "local", "result", "hit").functionCounter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void valueLoaderRunsOncePerKeyAcrossLevels() {
+        int[] loads = {0};
+
+        assertThat(podA.get("u1", () -> "perms-" + ++loads[0])).isEqualTo("perms-1");
+        assertThat(podA.get("u1", () -> "perms-" + ++loads[0])).isEqualTo("perms-1");
+        assertThat(podB.get("u1", () -> "perms-" + ++loads[0])).isEqualTo("perms-1");
+
+        assertThat(loads[0]).isEqualTo(1);
+        assertThat(registryA.get("cache.gets").tags("level", "remote", "result", "miss").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void evictionOnOnePodDropsTheOtherPodsLocalCopy() {
+        podA.put("u1", "perms-v1");
+        assertThat(podB.get("u1").get()).isEqualTo("perms-v1");
+
+        podA.evict("u1");
+        remote.put("u1", "perms-v2");
+
+        assertThat(podB.get("u1").get()).isEqualTo("perms-v2");
+        assertThat(registryA.get("cache.evictions").tags("level", "remote").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void valueReadBeforeAnotherPodsEvictionIsNotKeptLocally() {
+        remote.put("u1", "perms-v1");
+        // Pod A revokes and publishes while pod B's shared read is in flight
+        doAnswer(inv -> {
+            Object read = inv.callRealMethod();
+            podA.evict("u1");
+            remote.put("u1", "perms-v2");
+            return read;
+        }).doCallRealMethod().when(remoteSpy).get("u1");
+
+        assertThat(podB.get("u1").get()).isEqualTo("perms-v1");
+
+        assertThat(podB.get("u1").get()).isEqualTo("perms-v2");
+    }
+
+    @Test
+    void clearOnOnePodClearsEveryLocalLevel() {
+        podA.put("u1", "perms-v1");
+        podB.get("u1");
+
+        podA.clear();
+
+        assertThat(podA.get("u1")).isNull();
+        assertThat(podB.get("u1")).isNull();
+    }
+
+    @Test
+    void ownInvalidationsDoNotClearTheFreshLocalCopy() {
+        podA.put("u1", "perms-v1");
+        clearInvocations(remoteSpy);
+
+        podA.get("u1");
+
+        verify(remoteSpy, never()).get("u1");
+    }
+}